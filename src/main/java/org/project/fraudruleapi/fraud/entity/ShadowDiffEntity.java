@@ -0,0 +1,54 @@
+package org.project.fraudruleapi.fraud.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(schema = "fraud", name = "shadow_diffs")
+public class ShadowDiffEntity {
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("candidate_rule_id")
+    private String candidateRuleId;
+
+    @Column("candidate_version")
+    private Long candidateVersion;
+
+    @Column("transaction_id")
+    private String transactionId;
+
+    @Column("champion_severity")
+    private String championSeverity;
+
+    @Column("challenger_severity")
+    private String challengerSeverity;
+
+    @Column("champion_score")
+    private int championScore;
+
+    @Column("challenger_score")
+    private int challengerScore;
+
+    @Column("added_rules")
+    private String addedRules;
+
+    @Column("removed_rules")
+    private String removedRules;
+
+    @Column("detected_at")
+    private Instant detectedAt;
+}
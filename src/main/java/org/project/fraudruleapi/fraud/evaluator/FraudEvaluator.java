@@ -3,13 +3,20 @@ package org.project.fraudruleapi.fraud.evaluator;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.BatchMatches;
+import org.project.fraudruleapi.fraud.evaluator.compiler.ColumnarBatch;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.EvaluationContext;
+import org.project.fraudruleapi.fraud.evaluator.regex.RegexBudgetExceededException;
 import org.project.fraudruleapi.fraud.evaluator.strategy.ConditionEvaluator;
 import org.project.fraudruleapi.fraud.evaluator.strategy.ConditionEvaluatorFactory;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.EvaluationResult;
 import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.RuleMatch;
+import org.project.fraudruleapi.fraud.model.RuleSetEvaluation;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.rules.model.RuleDto;
 import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
@@ -20,39 +27,71 @@ import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class FraudEvaluator {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int COST_SAMPLE_MASK = 63;
+    private static final int MAX_RISK_SCORE = 100;
+    private static final String[] SEVERITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
 
     private final ConditionEvaluatorFactory evaluatorFactory;
     private final ApplicationConfiguration config;
+    private final int parallelism;
+    private final ExecutorService ruleExecutor;
+    private final PartitionedRuleEvaluator partitioned;
 
-    private final ExecutorService virtualExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    public FraudEvaluator(ConditionEvaluatorFactory evaluatorFactory, ApplicationConfiguration config) {
+        this.evaluatorFactory = evaluatorFactory;
+        this.config = config;
+        int configured = config.getFraud().getEvaluation().getParallelThreads();
+        this.parallelism = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIds = new AtomicInteger();
+        this.ruleExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "rule-eval-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.partitioned = config.getFraud().getEvaluation().isPartitioned()
+                ? new PartitionedRuleEvaluator(parallelism, config.getFraud().getEvaluation().getRingBufferSize())
+                : null;
+    }
 
     @PreDestroy
     public void shutdown() {
-        virtualExecutor.shutdown();
+        if (partitioned != null) {
+            partitioned.shutdown();
+        }
+        ruleExecutor.shutdown();
         try {
-            if (!virtualExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                virtualExecutor.shutdownNow();
+            if (!ruleExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                ruleExecutor.shutdownNow();
             }
         } catch (InterruptedException e) {
-            virtualExecutor.shutdownNow();
+            ruleExecutor.shutdownNow();
             Thread.currentThread().interrupt();
         }
     }
 
     public List<RuleDefinition> getRules(final RuleDto ruleDto) {
+        if (ruleDto.getDefinitions() != null) {
+            return ruleDto.getDefinitions();
+        }
         try {
             JsonNode rulesNode = ruleDto.getData().get("rules");
             if (rulesNode == null || rulesNode.isNull()) {
@@ -66,71 +105,394 @@ public class FraudEvaluator {
         }
     }
 
-    public List<EvaluationResult> evaluateAllRules(List<RuleDefinition> rules, TransactionDto transaction) {
-        int parallelThreshold = config.getFraud().getEvaluation().getParallelThreshold();
-        long timeoutMs = config.getFraud().getEvaluation().getTimeoutMs();
+    public MatchedRules evaluateAllRules(List<RuleDefinition> rules, TransactionDto transaction) {
+        List<CompiledRule> interpreted = rules.stream()
+                .map(rule -> CompiledRule.of(rule, context -> evaluateCondition(rule.condition(), context.transaction())))
+                .toList();
+        return evaluate(interpreted, null, () -> new EvaluationContext(transaction, 0)).matched();
+    }
 
-        if (rules.size() >= parallelThreshold) {
-            return evaluateParallel(rules, transaction, timeoutMs);
+    /**
+     * Evaluates every rule of a compiled rule set against a whole batch of
+     * transactions, for replay and backfill. Gives the same matches as
+     * {@link #evaluateAllRules} called per transaction; a rule that fails on a
+     * transaction is reported for that transaction in
+     * {@link BatchMatches#failedRules} instead.
+     */
+    public BatchMatches evaluateBatch(CompiledRuleSet ruleSet, List<TransactionDto> transactions) {
+        Instant start = Instant.now();
+        BatchMatches matches = new ColumnarBatch(transactions,
+                cond -> evaluatorFactory.getEvaluatorOrThrow(cond.type()).compile(cond)).evaluate(ruleSet);
+        log.debug("Batch evaluation of {} rules over {} transactions completed in {}ms",
+                ruleSet.getRules().size(), transactions.size(), Duration.between(start, Instant.now()).toMillis());
+        int failed = matches.failedTransactions().cardinality();
+        if (failed > 0) {
+            log.warn("{} of {} transactions in the batch could not be evaluated by every rule", failed, transactions.size());
         }
-        return evaluateSequential(rules, transaction);
+        return matches;
     }
 
-    private List<EvaluationResult> evaluateSequential(List<RuleDefinition> rules, TransactionDto transaction) {
-        Instant start = Instant.now();
-        List<EvaluationResult> results = rules.stream()
-                .filter(rule -> evaluateCondition(rule.condition(), transaction))
-                .map(rule -> EvaluationResult.builder()
-                        .ruleId(rule.id())
-                        .ruleName(rule.name())
-                        .description(rule.description())
-                        .matched(true)
-                        .weight(rule.weight() > 0 ? rule.weight() : 25)
-                        .evaluationTimeMs(Duration.between(start, Instant.now()).toMillis())
-                        .build())
-                .collect(Collectors.toList());
-
-        log.debug("Sequential evaluation of {} rules completed in {}ms, {} matched",
-                rules.size(), Duration.between(start, Instant.now()).toMillis(), results.size());
-        return results;
-    }
-
-    private List<EvaluationResult> evaluateParallel(List<RuleDefinition> rules,
-                                                     TransactionDto transaction,
-                                                     long timeoutMs) {
-        Instant start = Instant.now();
+    /**
+     * Evaluates a compiled rule set. Matches are collected without allocating
+     * per rule; {@link MatchedRules} builds the detailed results on demand.
+     */
+    public RuleSetEvaluation evaluateRuleSet(CompiledRuleSet ruleSet, TransactionDto transaction) {
+        if (ruleSet.isGenerated()) {
+            return evaluateGenerated(ruleSet, transaction);
+        }
+        return evaluate(ruleSet.getRules(), ruleSet.candidateMask(transaction), () -> ruleSet.newContext(transaction));
+    }
 
-        List<CompletableFuture<EvaluationResult>> futures = rules.stream()
-                .map(rule -> CompletableFuture.supplyAsync(() -> {
-                    Instant ruleStart = Instant.now();
-                    boolean matched = evaluateCondition(rule.condition(), transaction);
-                    return EvaluationResult.builder()
-                            .ruleId(rule.id())
-                            .ruleName(rule.name())
-                            .description(rule.description())
-                            .matched(matched)
-                            .weight(rule.weight() > 0 ? rule.weight() : 25)
-                            .evaluationTimeMs(Duration.between(ruleStart, Instant.now()).toMillis())
-                            .build();
-                }, virtualExecutor))
-                .toList();
+    /**
+     * Evaluates every rule pack that applies to a transaction and merges the
+     * matches, in pack order.
+     */
+    public RuleSetEvaluation evaluateRuleSets(List<CompiledRuleSet> ruleSets, TransactionDto transaction) {
+        if (ruleSets.size() == 1) {
+            return evaluateRuleSet(ruleSets.getFirst(), transaction);
+        }
+        RuleSetEvaluation merged = RuleSetEvaluation.complete(MatchedRules.none());
+        for (CompiledRuleSet ruleSet : ruleSets) {
+            merged = merged.plus(evaluateRuleSet(ruleSet, transaction));
+        }
+        return merged;
+    }
+
+    /**
+     * Evaluates rule packs entirely on the calling thread, never fanning out
+     * to the evaluation workers or applying the timeout. For background work
+     * such as shadow evaluation, whose CPU must stay on its own thread.
+     */
+    public MatchedRules evaluateInline(List<CompiledRuleSet> ruleSets, TransactionDto transaction) {
+        MatchedRules merged = MatchedRules.none();
+        for (CompiledRuleSet ruleSet : ruleSets) {
+            merged = merged.plus((ruleSet.isGenerated()
+                    ? evaluateGenerated(ruleSet, transaction)
+                    : evaluateSequential(ruleSet.getRules(), ruleSet.candidateMask(transaction),
+                            ruleSet.newContext(transaction))).matched());
+        }
+        return merged;
+    }
+
+    /**
+     * Decision-only evaluation. Starts from the score the built-in
+     * {@code checks} already add and visits rules by descending weight,
+     * stopping as soon as the transaction is flagged and the remaining weight
+     * can no longer move the capped score into another severity band. The
+     * severity and fraud flag match {@link #evaluateRuleSet}; the risk score
+     * is only a lower bound within that band, and the matched rules list only
+     * holds the rules that were evaluated before stopping.
+     */
+    public RuleSetEvaluation evaluateDecision(CompiledRuleSet ruleSet, TransactionDto transaction, List<RuleMatch> checks) {
+        return evaluateDecision(List.of(ruleSet), transaction, checks);
+    }
+
+    /**
+     * Decision-only evaluation over several rule packs. A pack can only settle
+     * early once the weight of the packs after it is counted as still to come.
+     */
+    public RuleSetEvaluation evaluateDecision(List<CompiledRuleSet> ruleSets, TransactionDto transaction, List<RuleMatch> checks) {
+        int score = 0;
+        for (RuleMatch check : checks) {
+            score += check.weight();
+        }
+        boolean flagged = !checks.isEmpty();
+        int laterWeight = 0;
+        for (CompiledRuleSet ruleSet : ruleSets) {
+            laterWeight += ruleSet.remainingWeight(0);
+        }
+
+        RuleSetEvaluation evaluation = RuleSetEvaluation.complete(MatchedRules.none());
+        for (CompiledRuleSet ruleSet : ruleSets) {
+            laterWeight -= ruleSet.remainingWeight(0);
+            RuleSetEvaluation pack = decide(ruleSet, transaction, score, flagged, laterWeight);
+            score += pack.matched().totalWeight();
+            flagged |= !pack.matched().isEmpty();
+            evaluation = evaluation.plus(pack);
+        }
+        return new RuleSetEvaluation(evaluation.matched().withChecks(checks), evaluation.unevaluatedRules());
+    }
+
+    private RuleSetEvaluation decide(CompiledRuleSet ruleSet, TransactionDto transaction,
+                                int score, boolean flagged, int laterWeight) {
+        long start = System.nanoTime();
+        List<CompiledRule> rules = ruleSet.getRules();
+        BitSet candidates = ruleSet.candidateMask(transaction);
+        EvaluationContext context = ruleSet.newContext(transaction);
+        boolean sampleCost = (ThreadLocalRandom.current().nextInt() & COST_SAMPLE_MASK) == 0;
+        MatchedRules.Accumulator accumulator = MatchedRules.accumulator(rules.size());
+        List<String> unevaluated = List.of();
+        int visited = 0;
+        for (; visited < rules.size(); visited++) {
+            if (flagged && isSettled(score, ruleSet.remainingWeight(visited) + laterWeight)) {
+                break;
+            }
+            int position = ruleSet.decisionRule(visited);
+            if (!isCandidate(candidates, position)) {
+                continue;
+            }
+            CompiledRule rule = rules.get(position);
+            try {
+                if (evaluateTimed(rule, context, sampleCost)) {
+                    accumulator.add(position, rule);
+                    score += rule.weight();
+                    flagged = true;
+                }
+            } catch (RegexBudgetExceededException e) {
+                unevaluated = unevaluated(unevaluated, rule);
+            }
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (log.isDebugEnabled()) {
+            log.debug("Decision-only evaluation of {} settled after {} of {} rules in {}ms, score {}",
+                    ruleSet.getRuleId(), visited, rules.size(), elapsedMs, Math.min(score, MAX_RISK_SCORE));
+        }
+        return new RuleSetEvaluation(accumulator.snapshot(rules, elapsedMs), unevaluated);
+    }
+
+    private boolean isSettled(int score, int remainingWeight) {
+        return score >= MAX_RISK_SCORE
+                || severityBand(score) == severityBand(Math.min(score + remainingWeight, MAX_RISK_SCORE));
+    }
+
+    /**
+     * Evaluates the rules at the positions set in {@code candidates}, or all
+     * of them when it is {@code null}. Iterating positions in the full list
+     * keeps the per-transaction path free of candidate list copies.
+     */
+    private RuleSetEvaluation evaluate(List<CompiledRule> rules, BitSet candidates, Supplier<EvaluationContext> contexts) {
+        var evaluationConfig = config.getFraud().getEvaluation();
+        int candidateCount = candidates == null ? rules.size() : candidates.cardinality();
+
+        if (partitioned != null && candidateCount >= evaluationConfig.getPartitionThreshold()) {
+            return partitioned.evaluate(rules, candidates, contexts, evaluationConfig.getTimeoutMs());
+        }
+        if (candidateCount >= evaluationConfig.getParallelThreshold()) {
+            List<Chunk> chunks = chunk(rules, candidates,
+                    TimeUnit.MICROSECONDS.toNanos(evaluationConfig.getMinChunkCostMicros()));
+            if (chunks.size() > 1) {
+                return evaluateParallel(rules, candidates, chunks, contexts, evaluationConfig.getTimeoutMs());
+            }
+        }
+        return evaluateSequential(rules, candidates, contexts.get());
+    }
+
+    private static boolean isCandidate(BitSet candidates, int position) {
+        return candidates == null || candidates.get(position);
+    }
+
+    private RuleSetEvaluation evaluateSequential(List<CompiledRule> rules, BitSet candidates, EvaluationContext context) {
+        long start = System.nanoTime();
+        boolean sampleCost = (ThreadLocalRandom.current().nextInt() & COST_SAMPLE_MASK) == 0;
+        MatchedRules.Accumulator accumulator = MatchedRules.accumulator(rules.size());
+        List<String> unevaluated = List.of();
+        for (int i = 0; i < rules.size(); i++) {
+            if (!isCandidate(candidates, i)) {
+                continue;
+            }
+            CompiledRule rule = rules.get(i);
+            try {
+                if (evaluateTimed(rule, context, sampleCost)) {
+                    accumulator.add(i, rule);
+                }
+            } catch (RegexBudgetExceededException e) {
+                unevaluated = unevaluated(unevaluated, rule);
+            }
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (log.isDebugEnabled()) {
+            log.debug("Sequential evaluation of {} rules completed in {}ms, {} matched",
+                    rules.size(), elapsedMs, accumulator.count());
+        }
+        return new RuleSetEvaluation(accumulator.snapshot(rules, elapsedMs), unevaluated);
+    }
+
+    private RuleSetEvaluation evaluateGenerated(CompiledRuleSet ruleSet, TransactionDto transaction) {
+        long start = System.nanoTime();
+        List<CompiledRule> rules = ruleSet.getRules();
+        MatchedRules.Accumulator accumulator = MatchedRules.accumulator(rules.size());
+        try {
+            ruleSet.matchGenerated(transaction, accumulator.words());
+        } catch (RegexBudgetExceededException e) {
+            // the generated class evaluates every rule in one call, so go rule by rule to isolate the ones over budget
+            return evaluateSequential(rules, ruleSet.candidateMask(transaction), ruleSet.newContext(transaction));
+        }
+        accumulator.tally(rules);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (log.isDebugEnabled()) {
+            log.debug("Generated evaluation of {} rules completed in {}ms, {} matched",
+                    rules.size(), elapsedMs, accumulator.count());
+        }
+        return RuleSetEvaluation.complete(accumulator.snapshot(rules, elapsedMs));
+    }
+
+    private static List<String> unevaluated(List<String> unevaluated, CompiledRule rule) {
+        List<String> ids = unevaluated.isEmpty() ? new ArrayList<>() : unevaluated;
+        ids.add(rule.id());
+        return ids;
+    }
+
+    /**
+     * Splits rules into contiguous chunks of roughly equal estimated cost, at
+     * most one per worker thread and none cheaper than {@code minChunkCostNanos},
+     * so that cheap rule sets are not fanned out at all. Only candidates count
+     * towards the cost of a chunk.
+     */
+    private List<Chunk> chunk(List<CompiledRule> rules, BitSet candidates, long minChunkCostNanos) {
+        long totalCost = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            if (isCandidate(candidates, i)) {
+                totalCost += rules.get(i).cost().estimateNanos();
+            }
+        }
+        long target = Math.max(totalCost / parallelism, minChunkCostNanos);
+        if (totalCost < 2 * target) {
+            return List.of(new Chunk(0, rules.size()));
+        }
+
+        List<Chunk> chunks = new ArrayList<>();
+        int from = 0;
+        long chunkCost = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            if (!isCandidate(candidates, i)) {
+                continue;
+            }
+            chunkCost += rules.get(i).cost().estimateNanos();
+            if (chunkCost >= target && chunks.size() < parallelism - 1) {
+                chunks.add(new Chunk(from, i + 1));
+                from = i + 1;
+                chunkCost = 0;
+            }
+        }
+        if (from < rules.size()) {
+            chunks.add(new Chunk(from, rules.size()));
+        }
+        return chunks;
+    }
+
+    private RuleSetEvaluation evaluateParallel(List<CompiledRule> rules,
+                                               BitSet candidates,
+                                               List<Chunk> chunks,
+                                               Supplier<EvaluationContext> contexts,
+                                               long timeoutMs) {
+        long start = System.nanoTime();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        // workers can outlive this call, and the mask is reused by this thread's next transaction
+        BitSet mask = candidates == null ? null : (BitSet) candidates.clone();
+
+        List<ChunkProgress> progress = new ArrayList<>(chunks.size());
+        List<Future<?>> futures = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            ChunkProgress chunkProgress = new ChunkProgress(rules.subList(chunk.from(), chunk.to()), chunk.from(), mask);
+            progress.add(chunkProgress);
+            futures.add(ruleExecutor.submit(() -> chunkProgress.run(contexts.get(), cancelled, deadline)));
+        }
 
         try {
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                    .get(timeoutMs, TimeUnit.MILLISECONDS);
-        } catch (Exception e) {
-            log.warn("Parallel evaluation timed out or failed, some results may be incomplete", e);
+            for (Future<?> future : futures) {
+                future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            log.warn("Parallel evaluation exceeded {}ms, cancelling outstanding chunks", timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Parallel evaluation chunk failed", e.getCause());
+        } finally {
+            cancelled.set(true);
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        MatchedRules.Accumulator accumulator = MatchedRules.accumulator(rules.size());
+        List<String> unevaluated = new ArrayList<>();
+        for (ChunkProgress chunkProgress : progress) {
+            chunkProgress.collect(accumulator, unevaluated);
         }
 
-        List<EvaluationResult> results = futures.stream()
-                .filter(f -> f.isDone() && !f.isCompletedExceptionally())
-                .map(CompletableFuture::join)
-                .filter(EvaluationResult::matched)
-                .collect(Collectors.toList());
+        if (!unevaluated.isEmpty()) {
+            log.warn("{} rules were not evaluated: {}", unevaluated.size(), unevaluated);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.debug("Parallel evaluation of {} chunks completed in {}ms, {} matched",
+                chunks.size(), elapsedMs, accumulator.count());
+        return new RuleSetEvaluation(accumulator.snapshot(rules, elapsedMs), unevaluated);
+    }
 
-        log.debug("Parallel evaluation of {} rules completed in {}ms, {} matched",
-                rules.size(), Duration.between(start, Instant.now()).toMillis(), results.size());
-        return results;
+    static boolean evaluateTimed(CompiledRule rule, EvaluationContext context, boolean sampleCost) {
+        if (!sampleCost) {
+            return rule.condition().matches(context);
+        }
+        long ruleStart = System.nanoTime();
+        boolean matched = rule.condition().matches(context);
+        rule.cost().record(System.nanoTime() - ruleStart);
+        return matched;
+    }
+
+    /**
+     * Evaluates one chunk on a worker thread. Each finished rule is written to
+     * its slot before the volatile {@code completed} counter moves past it, so
+     * the caller can safely read every slot below the counter at any time,
+     * even while the worker is still running after the deadline.
+     */
+    private static final class ChunkProgress {
+        private final List<CompiledRule> rules;
+        private final int offset;
+        private final BitSet candidates;
+        private final boolean[] matched;
+        private final boolean[] failed;
+        private volatile int completed;
+
+        private ChunkProgress(List<CompiledRule> rules, int offset, BitSet candidates) {
+            this.rules = rules;
+            this.offset = offset;
+            this.candidates = candidates;
+            this.matched = new boolean[rules.size()];
+            this.failed = new boolean[rules.size()];
+        }
+
+        private void run(EvaluationContext context, AtomicBoolean cancelled, long deadline) {
+            for (int i = 0; i < rules.size(); i++) {
+                if (cancelled.get() || System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                if (isCandidate(candidates, offset + i)) {
+                    CompiledRule rule = rules.get(i);
+                    try {
+                        matched[i] = evaluateTimed(rule, context, true);
+                    } catch (RegexBudgetExceededException e) {
+                        failed[i] = true;
+                    } catch (RuntimeException e) {
+                        log.warn("Rule {} failed during parallel evaluation: {}", rule.id(), e.getMessage());
+                        failed[i] = true;
+                    }
+                }
+                completed = i + 1;
+            }
+        }
+
+        private void collect(MatchedRules.Accumulator accumulator, List<String> unevaluated) {
+            int done = completed;
+            for (int i = 0; i < rules.size(); i++) {
+                if (!isCandidate(candidates, offset + i)) {
+                    continue;
+                }
+                if (i >= done || failed[i]) {
+                    unevaluated.add(rules.get(i).id());
+                } else if (matched[i]) {
+                    accumulator.add(offset + i, rules.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Positions {@code [from, to)} of the rules evaluated by one worker.
+     */
+    private record Chunk(int from, int to) {
     }
 
     public boolean evaluateCondition(Condition cond, TransactionDto transactionDto) {
@@ -179,22 +541,26 @@ public class FraudEvaluator {
         if (matchedRules == null || matchedRules.isEmpty()) {
             return 0;
         }
-        int totalWeight = matchedRules.stream()
-                .mapToInt(EvaluationResult::weight)
-                .sum();
-        return Math.min(totalWeight, 100);
+        int totalWeight = matchedRules instanceof MatchedRules matches
+                ? matches.totalWeight()
+                : matchedRules.stream().mapToInt(EvaluationResult::weight).sum();
+        return Math.min(totalWeight, MAX_RISK_SCORE);
     }
 
     public String determineSeverity(int riskScore) {
+        return SEVERITIES[severityBand(riskScore)];
+    }
+
+    private int severityBand(int riskScore) {
         var riskConfig = config.getFraud().getRisk();
         if (riskScore >= riskConfig.getHighThreshold()) {
-            return "CRITICAL";
+            return 3;
         } else if (riskScore >= riskConfig.getMediumThreshold()) {
-            return "HIGH";
+            return 2;
         } else if (riskScore >= riskConfig.getLowThreshold()) {
-            return "MEDIUM";
+            return 1;
         }
-        return "LOW";
+        return 0;
     }
 }
 
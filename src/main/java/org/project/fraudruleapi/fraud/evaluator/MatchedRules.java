@@ -0,0 +1,235 @@
+package org.project.fraudruleapi.fraud.evaluator;
+
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.model.EvaluationResult;
+import org.project.fraudruleapi.fraud.model.RuleMatch;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The rules a transaction matched, held as a bitset over the evaluated rule
+ * list plus the weight they add up to. Risk scoring and the response only
+ * need {@link #totalWeight()} and {@link #ruleIds()}; the
+ * {@link EvaluationResult}s are built on first element access, when fraud
+ * events are persisted or details are returned.
+ */
+public final class MatchedRules extends AbstractList<EvaluationResult> implements RandomAccess {
+
+    private static final MatchedRules NONE = new MatchedRules(List.of(), new long[0], 0, 0, 0, List.of());
+    private static final ThreadLocal<Accumulator> ACCUMULATOR = ThreadLocal.withInitial(Accumulator::new);
+
+    private final List<CompiledRule> rules;
+    private final long[] words;
+    private final int ruleCount;
+    private final int ruleWeight;
+    private final long evaluationTimeMs;
+    private final List<RuleMatch> checks;
+    // volatile so a MatchedRules handed to the shadow thread never sees a partly filled array;
+    // two threads may still both materialize, producing equal results
+    private volatile EvaluationResult[] materialized;
+
+    private MatchedRules(List<CompiledRule> rules, long[] words, int ruleCount, int ruleWeight,
+                         long evaluationTimeMs, List<RuleMatch> checks) {
+        this.rules = rules;
+        this.words = words;
+        this.ruleCount = ruleCount;
+        this.ruleWeight = ruleWeight;
+        this.evaluationTimeMs = evaluationTimeMs;
+        this.checks = checks;
+    }
+
+    public static MatchedRules none() {
+        return NONE;
+    }
+
+    /**
+     * Every rule in {@code matched} counted as a match.
+     */
+    public static MatchedRules of(List<CompiledRule> matched) {
+        Accumulator accumulator = accumulator(matched.size());
+        for (int i = 0; i < matched.size(); i++) {
+            accumulator.add(i, matched.get(i));
+        }
+        return accumulator.snapshot(matched, 0);
+    }
+
+    /**
+     * The calling thread's accumulator, cleared for {@code ruleCount} rules.
+     * It is only valid until the next call on the same thread.
+     */
+    static Accumulator accumulator(int ruleCount) {
+        Accumulator accumulator = ACCUMULATOR.get();
+        accumulator.reset(ruleCount);
+        return accumulator;
+    }
+
+    public MatchedRules withChecks(List<RuleMatch> fired) {
+        if (fired.isEmpty()) {
+            return this;
+        }
+        List<RuleMatch> combined = new ArrayList<>(checks.size() + fired.size());
+        combined.addAll(checks);
+        combined.addAll(fired);
+        return new MatchedRules(rules, words, ruleCount, ruleWeight, evaluationTimeMs, combined);
+    }
+
+    /**
+     * The matches of this and another evaluation, for transactions routed to
+     * more than one rule pack. Only copies when both sides matched something.
+     */
+    public MatchedRules plus(MatchedRules other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        List<CompiledRule> joined = new ArrayList<>(rules.size() + other.rules.size());
+        joined.addAll(rules);
+        joined.addAll(other.rules);
+        long[] joinedWords = Arrays.copyOf(words, (joined.size() + 63) >>> 6);
+        int offset = rules.size();
+        for (int word = 0; word < other.words.length; word++) {
+            for (long bits = other.words[word]; bits != 0; bits &= bits - 1) {
+                int index = offset + (word << 6) + Long.numberOfTrailingZeros(bits);
+                joinedWords[index >>> 6] |= 1L << index;
+            }
+        }
+        List<RuleMatch> joinedChecks = new ArrayList<>(checks.size() + other.checks.size());
+        joinedChecks.addAll(checks);
+        joinedChecks.addAll(other.checks);
+        return new MatchedRules(joined, joinedWords, ruleCount + other.ruleCount, ruleWeight + other.ruleWeight,
+                evaluationTimeMs + other.evaluationTimeMs, joinedChecks);
+    }
+
+    /**
+     * The built-in checks that fired, without the rule matches.
+     */
+    public List<RuleMatch> checks() {
+        return checks;
+    }
+
+    public int totalWeight() {
+        int total = ruleWeight;
+        for (RuleMatch check : checks) {
+            total += check.weight();
+        }
+        return total;
+    }
+
+    public List<String> ruleIds() {
+        if (isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = new ArrayList<>(size());
+        for (int word = 0; word < words.length; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                ids.add(rules.get((word << 6) + Long.numberOfTrailingZeros(bits)).id());
+            }
+        }
+        for (RuleMatch check : checks) {
+            ids.add(check.ruleId());
+        }
+        return ids;
+    }
+
+    @Override
+    public int size() {
+        return ruleCount + checks.size();
+    }
+
+    @Override
+    public EvaluationResult get(int index) {
+        if (index >= ruleCount) {
+            return checks.get(index - ruleCount).toResult();
+        }
+        EvaluationResult[] results = materialized;
+        if (results == null) {
+            results = materializeRules();
+            materialized = results;
+        }
+        return results[index];
+    }
+
+    private EvaluationResult[] materializeRules() {
+        EvaluationResult[] results = new EvaluationResult[ruleCount];
+        int next = 0;
+        for (int word = 0; word < words.length; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                CompiledRule rule = rules.get((word << 6) + Long.numberOfTrailingZeros(bits));
+                results[next++] = EvaluationResult.builder()
+                        .ruleId(rule.id())
+                        .ruleName(rule.name())
+                        .description(rule.description())
+                        .matched(true)
+                        .weight(rule.weight())
+                        .evaluationTimeMs(evaluationTimeMs)
+                        .build();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reusable per-thread match bitset and weight total. Evaluation writes
+     * into it without allocating; {@link #snapshot} copies out only the words
+     * that are needed, and nothing at all when no rule matched.
+     */
+    static final class Accumulator {
+        private long[] words = new long[1];
+        private int wordCount;
+        private int count;
+        private int weight;
+
+        private void reset(int ruleCount) {
+            wordCount = (ruleCount + 63) >>> 6;
+            if (words.length < wordCount) {
+                words = new long[wordCount];
+            } else {
+                Arrays.fill(words, 0, wordCount, 0L);
+            }
+            count = 0;
+            weight = 0;
+        }
+
+        void add(int index, CompiledRule rule) {
+            words[index >>> 6] |= 1L << index;
+            count++;
+            weight += rule.weight();
+        }
+
+        /**
+         * Exposes the raw bitset for engines that fill it directly; call
+         * {@link #tally} afterwards.
+         */
+        long[] words() {
+            return words;
+        }
+
+        void tally(List<CompiledRule> rules) {
+            count = 0;
+            weight = 0;
+            for (int word = 0; word < wordCount; word++) {
+                for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                    count++;
+                    weight += rules.get((word << 6) + Long.numberOfTrailingZeros(bits)).weight();
+                }
+            }
+        }
+
+        int count() {
+            return count;
+        }
+
+        MatchedRules snapshot(List<CompiledRule> rules, long evaluationTimeMs) {
+            if (count == 0) {
+                return NONE;
+            }
+            return new MatchedRules(rules, Arrays.copyOf(words, wordCount), count, weight, evaluationTimeMs, List.of());
+        }
+    }
+}
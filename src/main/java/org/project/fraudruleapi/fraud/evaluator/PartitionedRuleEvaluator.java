@@ -0,0 +1,390 @@
+package org.project.fraudruleapi.fraud.evaluator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.EvaluationContext;
+import org.project.fraudruleapi.fraud.evaluator.regex.RegexBudgetExceededException;
+import org.project.fraudruleapi.fraud.model.RuleSetEvaluation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates very large rule lists on a fixed set of long-lived platform
+ * threads. Slices are taken over the positions of the full, stable rule list
+ * and worker {@code k} always takes the {@code k}-th slice, skipping the rules
+ * that are not candidates for the transaction, so the same rules stay hot in
+ * the same core's cache across transactions. Slices are aligned to 64 rules,
+ * which lets every worker write its own words of the shared match bitset.
+ * Evaluation contexts are not thread-safe, so each worker evaluates its slice
+ * with its own context and shared subexpressions and index lookups are done
+ * at most once per worker rather than once per transaction.
+ * <p>
+ * Transactions are handed over through a pre-allocated ring of slots, in the
+ * style of a disruptor: a caller claims a sequence with one atomic increment,
+ * fills the slot and publishes it, and every worker reads every published slot
+ * in order. Nothing is allocated or locked on the hand-off. The last party to
+ * finish with a slot, either the caller after collecting or a worker still
+ * running past the deadline, hands it back to the producers. A caller only
+ * claims a sequence once its slot is free, so one that gives up waiting at
+ * its deadline leaves no gap for the workers to stall on.
+ */
+@Slf4j
+final class PartitionedRuleEvaluator {
+
+    private static final int COST_SAMPLE_MASK = 63;
+    private static final int SPIN_TRIES = 200;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Slot[] ring;
+    private final int mask;
+    private final Worker[] workers;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile boolean running = true;
+
+    PartitionedRuleEvaluator(int workerCount, int ringSize) {
+        if (Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring buffer size must be a power of two, got " + ringSize);
+        }
+        this.ring = new Slot[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            ring[i] = new Slot(i, ringSize, workerCount);
+        }
+        this.mask = ringSize - 1;
+        this.workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+        log.info("Started {} partitioned rule evaluation workers with a ring of {} slots", workerCount, ringSize);
+    }
+
+    /**
+     * Evaluates the rules at the positions set in {@code candidates}, or all
+     * of them when it is {@code null}. The mask is copied into the slot, so
+     * the caller may reuse it once this returns.
+     */
+    RuleSetEvaluation evaluate(List<CompiledRule> rules, BitSet candidates, Supplier<EvaluationContext> contexts,
+                               long timeoutMs) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        long sequence = claim(deadline);
+        if (sequence < 0) {
+            List<String> unevaluated = new ArrayList<>();
+            for (int i = 0; i < rules.size(); i++) {
+                if (candidates == null || candidates.get(i)) {
+                    unevaluated.add(rules.get(i).id());
+                }
+            }
+            log.warn("No free partitioned evaluation slot within {}ms, {} rules were not evaluated",
+                    timeoutMs, unevaluated.size());
+            return new RuleSetEvaluation(MatchedRules.none(), unevaluated);
+        }
+        Slot slot = ring[(int) sequence & mask];
+        slot.prepare(rules, candidates, contexts, deadline, sliceSize(rules.size()), Thread.currentThread());
+        slot.published = sequence;
+        for (Worker worker : workers) {
+            if (worker.sleeping) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+
+        boolean interrupted = false;
+        while (slot.pending.get() > 1) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                log.warn("Partitioned evaluation exceeded {}ms, cancelling outstanding slices", timeoutMs);
+                break;
+            }
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                interrupted = true;
+                break;
+            }
+        }
+        slot.cancelled = true;
+
+        MatchedRules.Accumulator accumulator = MatchedRules.accumulator(rules.size());
+        List<String> unevaluated = new ArrayList<>(0);
+        slot.collect(accumulator, unevaluated);
+        slot.leave();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!unevaluated.isEmpty()) {
+            log.warn("{} rules were not evaluated: {}", unevaluated.size(), unevaluated);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (log.isDebugEnabled()) {
+            log.debug("Partitioned evaluation of {} rules on {} workers completed in {}ms, {} matched",
+                    rules.size(), workers.length, elapsedMs, accumulator.count());
+        }
+        return new RuleSetEvaluation(accumulator.snapshot(rules, elapsedMs), unevaluated);
+    }
+
+    void shutdown() {
+        running = false;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claims the next sequence once its slot has been handed back, or returns
+     * {@code -1} when the deadline passes first, e.g. behind a stuck slice.
+     */
+    private long claim(long deadline) {
+        for (int idle = 0; ; idle++) {
+            long sequence = claimed.get();
+            if (ring[(int) sequence & mask].free == sequence) {
+                if (claimed.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+            } else if (System.nanoTime() - deadline > 0) {
+                return -1;
+            } else {
+                backOff(idle);
+            }
+        }
+    }
+
+    /**
+     * Rules per worker, rounded up to whole bitset words.
+     */
+    private int sliceSize(int ruleCount) {
+        int words = (ruleCount + 63) >>> 6;
+        return ((words + workers.length - 1) / workers.length) << 6;
+    }
+
+    private static void backOff(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * One transaction in flight. Plain fields are written by the caller before
+     * the volatile {@code published} store and read by workers after loading
+     * it; each worker publishes its progress through {@code completed} after
+     * writing the bits it covers.
+     */
+    private static final class Slot {
+        private final int ringSize;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicIntegerArray completed;
+        private volatile long published = -1;
+        private volatile long free;
+        private volatile boolean cancelled;
+
+        private List<CompiledRule> rules;
+        // a copy of the caller's candidate mask, reused across transactions
+        private final BitSet candidates = new BitSet();
+        private boolean allCandidates;
+        private Supplier<EvaluationContext> contexts;
+        private Thread caller;
+        private long deadline;
+        private int sliceSize;
+        private boolean sampleCost;
+        private long[] matchedWords = new long[0];
+        private long[] failedWords = new long[0];
+
+        private Slot(int index, int ringSize, int workerCount) {
+            this.ringSize = ringSize;
+            this.free = index;
+            this.completed = new AtomicIntegerArray(workerCount);
+        }
+
+        private void prepare(List<CompiledRule> rules, BitSet candidates, Supplier<EvaluationContext> contexts,
+                             long deadline, int sliceSize, Thread caller) {
+            int wordCount = (rules.size() + 63) >>> 6;
+            if (matchedWords.length < wordCount) {
+                matchedWords = new long[wordCount];
+                failedWords = new long[wordCount];
+            } else {
+                Arrays.fill(matchedWords, 0, wordCount, 0L);
+                Arrays.fill(failedWords, 0, wordCount, 0L);
+            }
+            for (int i = 0; i < completed.length(); i++) {
+                completed.setPlain(i, 0);
+            }
+            this.rules = rules;
+            this.allCandidates = candidates == null;
+            this.candidates.clear();
+            if (candidates != null) {
+                this.candidates.or(candidates);
+            }
+            this.contexts = contexts;
+            this.caller = caller;
+            this.deadline = deadline;
+            this.sliceSize = sliceSize;
+            this.sampleCost = (ThreadLocalRandom.current().nextInt() & COST_SAMPLE_MASK) == 0;
+            this.cancelled = false;
+            pending.set(completed.length() + 1);
+        }
+
+        private void evaluateSlice(int worker) {
+            int from = worker * sliceSize;
+            int to = Math.min(from + sliceSize, rules.size());
+            int first = allCandidates ? from : candidates.nextSetBit(from);
+            if (first < 0 || first >= to) {
+                completed.setRelease(worker, Math.max(to - from, 0));
+                return;
+            }
+            EvaluationContext context = contexts.get();
+            for (int i = from; i < to; i++) {
+                // the deadline is only read once per bitset word to keep clock reads off the hot loop
+                if ((i & 63) == 0 && (cancelled || System.nanoTime() - deadline > 0)) {
+                    return;
+                }
+                if (isCandidate(i)) {
+                    CompiledRule rule = rules.get(i);
+                    try {
+                        if (FraudEvaluator.evaluateTimed(rule, context, sampleCost)) {
+                            matchedWords[i >>> 6] |= 1L << i;
+                        }
+                    } catch (RegexBudgetExceededException e) {
+                        failedWords[i >>> 6] |= 1L << i;
+                    } catch (RuntimeException e) {
+                        log.warn("Rule {} failed during partitioned evaluation: {}", rule.id(), e.getMessage());
+                        failedWords[i >>> 6] |= 1L << i;
+                    }
+                }
+                completed.setRelease(worker, i - from + 1);
+            }
+        }
+
+        private boolean isCandidate(int position) {
+            return allCandidates || candidates.get(position);
+        }
+
+        /**
+         * Copies out every rule a worker has finished. Bits above a worker's
+         * {@code completed} mark may still be changing and are masked off.
+         */
+        private void collect(MatchedRules.Accumulator accumulator, List<String> unevaluated) {
+            for (int worker = 0; worker < completed.length(); worker++) {
+                int from = worker * sliceSize;
+                int to = Math.min(from + sliceSize, rules.size());
+                if (from >= to) {
+                    break;
+                }
+                int done = from + completed.getAcquire(worker);
+                for (int word = from >>> 6; word << 6 < done; word++) {
+                    long below = done - (word << 6) >= 64 ? -1L : (1L << (done - (word << 6))) - 1;
+                    for (long bits = matchedWords[word] & below; bits != 0; bits &= bits - 1) {
+                        int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        accumulator.add(index, rules.get(index));
+                    }
+                    for (long bits = failedWords[word] & below; bits != 0; bits &= bits - 1) {
+                        unevaluated.add(rules.get((word << 6) + Long.numberOfTrailingZeros(bits)).id());
+                    }
+                }
+                for (int i = done; i < to; i++) {
+                    if (isCandidate(i)) {
+                        unevaluated.add(rules.get(i).id());
+                    }
+                }
+            }
+        }
+
+        private void finishSlice() {
+            int left = pending.decrementAndGet();
+            if (left == 1 && !cancelled) {
+                LockSupport.unpark(caller);
+            } else if (left == 0) {
+                release();
+            }
+        }
+
+        private void leave() {
+            if (pending.decrementAndGet() == 0) {
+                release();
+            }
+        }
+
+        private void release() {
+            long next = published + ringSize;
+            rules = null;
+            contexts = null;
+            caller = null;
+            free = next;
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final int index;
+        private final Thread thread;
+        private volatile boolean sleeping;
+
+        private Worker(int index) {
+            this.index = index;
+            this.thread = new Thread(this, "rule-partition-" + (index + 1));
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            for (long next = 0; running; next++) {
+                Slot slot = ring[(int) next & mask];
+                if (!awaitPublished(slot, next)) {
+                    return;
+                }
+                try {
+                    slot.evaluateSlice(index);
+                } catch (RuntimeException e) {
+                    log.error("Partitioned evaluation worker {} failed on a slice", index, e);
+                } finally {
+                    slot.finishSlice();
+                }
+            }
+        }
+
+        private boolean awaitPublished(Slot slot, long sequence) {
+            for (int idle = 0; slot.published != sequence; idle++) {
+                if (!running) {
+                    return false;
+                }
+                if (idle < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    // producers check the flag after publishing, so a slot published
+                    // between the flag and the re-check still unparks this thread
+                    sleeping = true;
+                    if (slot.published != sequence && running) {
+                        LockSupport.park(this);
+                    }
+                    sleeping = false;
+                }
+            }
+            return true;
+        }
+    }
+}
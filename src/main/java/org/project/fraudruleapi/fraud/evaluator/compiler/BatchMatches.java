@@ -0,0 +1,80 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Outcome of evaluating a rule list over a batch of transactions: one bitmap
+ * per rule, with bit {@code t} set when the rule matched transaction {@code t},
+ * and one per rule of the transactions it could not be evaluated on.
+ */
+public final class BatchMatches {
+
+    private final List<String> ruleIds;
+    private final long[][] bitmaps;
+    private final long[][] failures;
+    private final int size;
+
+    BatchMatches(List<String> ruleIds, long[][] bitmaps, long[][] failures, int size) {
+        this.ruleIds = List.copyOf(ruleIds);
+        this.bitmaps = bitmaps;
+        this.failures = failures;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int ruleCount() {
+        return ruleIds.size();
+    }
+
+    public String ruleId(int rule) {
+        return ruleIds.get(rule);
+    }
+
+    public boolean matches(int rule, int transaction) {
+        return (bitmaps[rule][transaction >>> 6] & (1L << transaction)) != 0;
+    }
+
+    public BitSet matches(int rule) {
+        return BitSet.valueOf(bitmaps[rule]);
+    }
+
+    public List<String> matchedRules(int transaction) {
+        List<String> matched = new ArrayList<>();
+        for (int rule = 0; rule < bitmaps.length; rule++) {
+            if (matches(rule, transaction)) {
+                matched.add(ruleIds.get(rule));
+            }
+        }
+        return matched;
+    }
+
+    public boolean failed(int rule, int transaction) {
+        return (failures[rule][transaction >>> 6] & (1L << transaction)) != 0;
+    }
+
+    public List<String> failedRules(int transaction) {
+        List<String> failed = new ArrayList<>();
+        for (int rule = 0; rule < failures.length; rule++) {
+            if (failed(rule, transaction)) {
+                failed.add(ruleIds.get(rule));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * The transactions at least one rule could not be evaluated on.
+     */
+    public BitSet failedTransactions() {
+        BitSet failed = new BitSet(size);
+        for (long[] failure : failures) {
+            failed.or(BitSet.valueOf(failure));
+        }
+        return failed;
+    }
+}
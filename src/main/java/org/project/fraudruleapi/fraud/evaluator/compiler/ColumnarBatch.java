@@ -0,0 +1,273 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.evaluator.field.FieldType;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.evaluator.strategy.AbstractConditionEvaluator;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Evaluates rules over a batch of transactions at once. Every condition
+ * node yields a bitmap over the batch; AND/OR/NOT combine bitmaps word by
+ * word. Numeric comparisons and enum equality run as tight loops over
+ * primitive columns extracted once per referenced field, a shape the JIT
+ * can vectorise; every other leaf falls back to its compiled predicate, row
+ * by row. For a compiled rule set those are the predicates it already holds,
+ * so lookup sets are not rebuilt per batch; any other leaf is compiled once
+ * per batch.
+ * <p>
+ * Each operand only sees the rows still undecided by the operands before
+ * it, so a leaf is evaluated for exactly the transactions the interpreted
+ * evaluator would reach. A row on which a leaf cannot be evaluated is
+ * reported as failed for that rule instead of failing the whole batch.
+ */
+public final class ColumnarBatch {
+
+    private static final double NULL_PLACEHOLDER = 0.0;
+
+    private final List<TransactionDto> transactions;
+    private final Function<Condition, CompiledPredicate> fallback;
+    private final int size;
+    private final int words;
+    private final Map<TransactionField, NumericColumn> numericColumns = new EnumMap<>(TransactionField.class);
+    private final Map<TransactionField, int[]> ordinalColumns = new EnumMap<>(TransactionField.class);
+    private final Map<Condition, CompiledPredicate> predicates = new HashMap<>();
+    // rows on which the rule being evaluated failed
+    private long[] failed;
+
+    public ColumnarBatch(List<TransactionDto> transactions, Function<Condition, CompiledPredicate> fallback) {
+        this.transactions = List.copyOf(transactions);
+        this.fallback = fallback;
+        this.size = transactions.size();
+        this.words = (size + 63) >>> 6;
+    }
+
+    /**
+     * Evaluates the rules a rule set was compiled from, reusing its compiled
+     * leaf predicates.
+     */
+    public BatchMatches evaluate(CompiledRuleSet ruleSet) {
+        predicates.putAll(ruleSet.getLeaves());
+        return evaluate(ruleSet.getDefinitions());
+    }
+
+    public BatchMatches evaluate(List<RuleDefinition> rules) {
+        long[] all = allRows();
+        List<String> ruleIds = new ArrayList<>(rules.size());
+        long[][] bitmaps = new long[rules.size()][];
+        long[][] failures = new long[rules.size()][];
+        for (int i = 0; i < bitmaps.length; i++) {
+            ruleIds.add(rules.get(i).id());
+            failed = new long[words];
+            long[] matched = evaluate(rules.get(i).condition(), all);
+            for (int w = 0; w < words; w++) {
+                matched[w] &= ~failed[w];
+            }
+            bitmaps[i] = matched;
+            failures[i] = failed;
+        }
+        return new BatchMatches(ruleIds, bitmaps, failures, size);
+    }
+
+    private long[] evaluate(Condition cond, long[] active) {
+        if (cond == null || isEmpty(active)) {
+            return new long[words];
+        }
+
+        List<Condition> operands = cond.operands() == null ? List.of() : cond.operands();
+        return switch (cond.type()) {
+            case AND -> {
+                long[] remaining = active.clone();
+                for (Condition operand : operands) {
+                    remaining = evaluate(operand, remaining);
+                }
+                yield remaining;
+            }
+            case OR -> {
+                long[] undecided = active.clone();
+                long[] matched = new long[words];
+                for (Condition operand : operands) {
+                    long[] result = evaluate(operand, undecided);
+                    for (int w = 0; w < words; w++) {
+                        matched[w] |= result[w];
+                        undecided[w] &= ~result[w];
+                    }
+                }
+                yield matched;
+            }
+            case NOT -> {
+                if (operands.isEmpty()) {
+                    yield active.clone();
+                }
+                long[] result = evaluate(operands.getFirst(), active);
+                for (int w = 0; w < words; w++) {
+                    result[w] = active[w] & ~result[w];
+                }
+                yield result;
+            }
+            default -> evaluateLeaf(cond, active);
+        };
+    }
+
+    private long[] evaluateLeaf(Condition cond, long[] active) {
+        TransactionField field = TransactionField.resolve(cond.field()).orElse(null);
+        if (field != null && field.getType().isNumeric()) {
+            long[] result = compareNumeric(cond, field, active);
+            if (result != null) return result;
+        }
+        if (field != null && field.getType() == FieldType.ENUM
+                && (cond.type() == ConditionType.EQUALS || cond.type() == ConditionType.NOT_EQUALS)) {
+            return compareOrdinal(cond, field, active);
+        }
+
+        CompiledPredicate predicate = predicates.computeIfAbsent(cond, fallback);
+        long[] result = new long[words];
+        for (int w = 0; w < words; w++) {
+            for (long bits = active[w]; bits != 0; bits &= bits - 1) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(bits);
+                try {
+                    if (predicate.test(transactions.get(row))) {
+                        result[w] |= 1L << row;
+                    }
+                } catch (RuntimeException e) {
+                    failed[w] |= 1L << row;
+                }
+            }
+        }
+        return result;
+    }
+
+    private long[] compareNumeric(Condition cond, TransactionField field, long[] active) {
+        double lower;
+        double upper = 0;
+        ConditionType type = cond.type();
+        switch (type) {
+            case GREATER_THAN, GREATER_THAN_OR_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL -> {
+                Double threshold = AbstractConditionEvaluator.tryParseToDouble(cond.value());
+                if (threshold == null) return null;
+                lower = threshold;
+            }
+            case BETWEEN -> {
+                if (!(cond.value() instanceof List<?> range) || range.size() != 2) return null;
+                Double min = AbstractConditionEvaluator.tryParseToDouble(range.get(0));
+                Double max = AbstractConditionEvaluator.tryParseToDouble(range.get(1));
+                if (min == null || max == null) return null;
+                lower = min;
+                upper = max;
+            }
+            default -> {
+                return null;
+            }
+        }
+
+        // a null field matches no comparison, as in AbstractConditionEvaluator
+        NumericColumn column = numericColumn(field);
+        double[] values = column.values;
+        long[] result = new long[words];
+        for (int w = 0; w < words; w++) {
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            switch (type) {
+                case GREATER_THAN -> {
+                    for (int j = 0; j < end; j++) bits |= (Double.compare(values[base + j], lower) > 0 ? 1L : 0L) << j;
+                }
+                case GREATER_THAN_OR_EQUAL -> {
+                    for (int j = 0; j < end; j++) bits |= (Double.compare(values[base + j], lower) >= 0 ? 1L : 0L) << j;
+                }
+                case LESS_THAN -> {
+                    for (int j = 0; j < end; j++) bits |= (Double.compare(values[base + j], lower) < 0 ? 1L : 0L) << j;
+                }
+                case LESS_THAN_OR_EQUAL -> {
+                    for (int j = 0; j < end; j++) bits |= (Double.compare(values[base + j], lower) <= 0 ? 1L : 0L) << j;
+                }
+                default -> {
+                    for (int j = 0; j < end; j++) {
+                        double value = values[base + j];
+                        bits |= (Double.compare(value, lower) >= 0 && Double.compare(value, upper) <= 0 ? 1L : 0L) << j;
+                    }
+                }
+            }
+            result[w] = bits & active[w] & ~column.nulls[w];
+        }
+        return result;
+    }
+
+    private long[] compareOrdinal(Condition cond, TransactionField field, long[] active) {
+        Object condVal = cond.value();
+        boolean equals = cond.type() == ConditionType.EQUALS;
+        int ordinal = field.ordinalOf(String.valueOf(condVal));
+        // a null field equals only a null literal, as in EqualsEvaluator / NotEqualsEvaluator
+        long onNull = equals == (condVal == null) ? 1L : 0L;
+
+        int[] ordinals = ordinalColumn(field);
+        long[] result = new long[words];
+        for (int w = 0; w < words; w++) {
+            int base = w << 6;
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int j = 0; j < end; j++) {
+                int value = ordinals[base + j];
+                long hit = value < 0 ? onNull : ((value == ordinal) == equals ? 1L : 0L);
+                bits |= hit << j;
+            }
+            result[w] = bits & active[w];
+        }
+        return result;
+    }
+
+    private NumericColumn numericColumn(TransactionField field) {
+        return numericColumns.computeIfAbsent(field, f -> {
+            double[] values = new double[size];
+            long[] nulls = new long[words];
+            for (int row = 0; row < size; row++) {
+                TransactionDto transaction = transactions.get(row);
+                if (f.isNull(transaction)) {
+                    values[row] = NULL_PLACEHOLDER;
+                    nulls[row >>> 6] |= 1L << row;
+                } else {
+                    values[row] = f.readDouble(transaction);
+                }
+            }
+            return new NumericColumn(values, nulls);
+        });
+    }
+
+    private int[] ordinalColumn(TransactionField field) {
+        return ordinalColumns.computeIfAbsent(field, f -> {
+            int[] ordinals = new int[size];
+            for (int row = 0; row < size; row++) {
+                ordinals[row] = f.readOrdinal(transactions.get(row));
+            }
+            return ordinals;
+        });
+    }
+
+    private long[] allRows() {
+        long[] all = new long[words];
+        for (int w = 0; w < words; w++) {
+            int remaining = size - (w << 6);
+            all[w] = remaining >= 64 ? -1L : (1L << remaining) - 1;
+        }
+        return all;
+    }
+
+    private static boolean isEmpty(long[] rows) {
+        for (long word : rows) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    private record NumericColumn(double[] values, long[] nulls) {
+    }
+}
@@ -0,0 +1,98 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+
+public interface CompiledCondition {
+
+    CompiledCondition ALWAYS_TRUE = context -> true;
+    CompiledCondition ALWAYS_FALSE = context -> false;
+
+    boolean matches(EvaluationContext context);
+
+    default boolean matches(TransactionDto transaction) {
+        return matches(new EvaluationContext(transaction, 0));
+    }
+
+    final class Leaf implements CompiledCondition {
+        private final CompiledPredicate predicate;
+        private final String label;
+
+        public Leaf(CompiledPredicate predicate) {
+            this(predicate, "LEAF");
+        }
+
+        public Leaf(CompiledPredicate predicate, String label) {
+            this.predicate = predicate;
+            this.label = label;
+        }
+
+        @Override
+        public boolean matches(EvaluationContext context) {
+            return predicate.test(context.transaction());
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    final class And extends Junction {
+        public And(CompiledCondition[] operands) {
+            super("AND", operands, false);
+        }
+    }
+
+    final class Or extends Junction {
+        public Or(CompiledCondition[] operands) {
+            super("OR", operands, true);
+        }
+    }
+
+    final class Not implements CompiledCondition {
+        private final CompiledCondition operand;
+
+        public Not(CompiledCondition operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean matches(EvaluationContext context) {
+            return !operand.matches(context);
+        }
+
+        @Override
+        public String toString() {
+            return "NOT(" + operand + ")";
+        }
+    }
+
+    final class Memoized implements CompiledCondition {
+        private final int slot;
+        private final CompiledCondition delegate;
+
+        public Memoized(int slot, CompiledCondition delegate) {
+            this.slot = slot;
+            this.delegate = delegate;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        @Override
+        public boolean matches(EvaluationContext context) {
+            if (context.isEvaluated(slot)) {
+                return context.result(slot);
+            }
+            boolean result = delegate.matches(context);
+            context.record(slot, result);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
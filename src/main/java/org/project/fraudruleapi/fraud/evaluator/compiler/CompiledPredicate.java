@@ -0,0 +1,9 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+
+@FunctionalInterface
+public interface CompiledPredicate {
+
+    boolean test(TransactionDto transaction);
+}
@@ -0,0 +1,24 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+
+public record CompiledRule(
+        String id,
+        String name,
+        String description,
+        int weight,
+        CompiledCondition condition,
+        RuleCost cost) {
+
+    private static final int DEFAULT_WEIGHT = 25;
+
+    public static CompiledRule of(RuleDefinition rule, CompiledCondition condition) {
+        return new CompiledRule(
+                rule.id(),
+                rule.name(),
+                rule.description(),
+                rule.weight() > 0 ? rule.weight() : DEFAULT_WEIGHT,
+                condition,
+                new RuleCost());
+    }
+}
@@ -0,0 +1,224 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.rules.model.RuleDto;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, ready-to-evaluate form of one version of the active rule document.
+ * Built once by {@link RuleCompiler} and shared by every transaction until the
+ * rule document changes.
+ */
+public final class CompiledRuleSet {
+
+    private final String ruleId;
+    private final Long version;
+    private final List<CompiledRule> rules;
+    private final int memoSlots;
+    private final RuleIndex index;
+    private final ThresholdIndex thresholds;
+    private final StringPatternIndex patterns;
+    private final List<Junction> junctions;
+    private final GeneratedRuleSet generated;
+    // what this set was compiled from, so that the next version can reuse it
+    private final List<RuleDefinition> definitions;
+    private final Map<Condition, CompiledPredicate> leaves;
+    private final int[] decisionOrder;
+    private final int[] remainingWeight;
+    private final Instant compiledAt;
+
+    public CompiledRuleSet(String ruleId, Long version, List<CompiledRule> rules) {
+        this(ruleId, version, rules, 0, RuleIndex.EMPTY, ThresholdIndex.EMPTY, StringPatternIndex.EMPTY, List.of(), null,
+                List.of(), Map.of());
+    }
+
+    CompiledRuleSet(String ruleId,
+                    Long version,
+                    List<CompiledRule> rules,
+                    int memoSlots,
+                    RuleIndex index,
+                    ThresholdIndex thresholds,
+                    StringPatternIndex patterns,
+                    List<Junction> junctions,
+                    GeneratedRuleSet generated,
+                    List<RuleDefinition> definitions,
+                    Map<Condition, CompiledPredicate> leaves) {
+        this.ruleId = ruleId;
+        this.version = version;
+        this.rules = List.copyOf(rules);
+        this.memoSlots = memoSlots;
+        this.index = index;
+        this.thresholds = thresholds;
+        this.patterns = patterns;
+        this.junctions = List.copyOf(junctions);
+        this.generated = generated;
+        this.definitions = definitions;
+        this.leaves = leaves;
+        this.decisionOrder = decisionOrder(this.rules);
+        this.remainingWeight = new int[this.rules.size() + 1];
+        for (int k = this.rules.size() - 1; k >= 0; k--) {
+            remainingWeight[k] = remainingWeight[k + 1] + this.rules.get(decisionOrder[k]).weight();
+        }
+        this.compiledAt = Instant.now();
+    }
+
+    private static int[] decisionOrder(List<CompiledRule> rules) {
+        Integer[] positions = new Integer[rules.size()];
+        Arrays.setAll(positions, i -> i);
+        Arrays.sort(positions, (a, b) -> Integer.compare(rules.get(b).weight(), rules.get(a).weight()));
+        return Arrays.stream(positions).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * The same compiled rules under a new document version, for a version
+     * whose rule definitions did not change. Learned costs and operand
+     * orderings carry over.
+     */
+    CompiledRuleSet withVersion(Long newVersion) {
+        return new CompiledRuleSet(ruleId, newVersion, rules, memoSlots, index, thresholds, patterns, junctions,
+                generated, definitions, leaves);
+    }
+
+    List<RuleDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    Map<Condition, CompiledPredicate> getLeaves() {
+        return leaves;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<CompiledRule> getRules() {
+        return rules;
+    }
+
+    public int getMemoSlots() {
+        return memoSlots;
+    }
+
+    public RuleIndex getIndex() {
+        return index;
+    }
+
+    public ThresholdIndex getThresholds() {
+        return thresholds;
+    }
+
+    public StringPatternIndex getPatterns() {
+        return patterns;
+    }
+
+    public Instant getCompiledAt() {
+        return compiledAt;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * The rules a transaction can match, as positions in {@link #getRules()},
+     * or {@code null} when the set has no index and every rule is a candidate.
+     * The set is reused by the next call on the same thread; copy it before
+     * handing it to another thread.
+     */
+    public BitSet candidateMask(TransactionDto transaction) {
+        return index.isEmpty() ? null : index.reusableCandidates(transaction);
+    }
+
+    /**
+     * Position in {@link #getRules()} of the {@code k}-th rule by descending
+     * weight, ties in document order.
+     */
+    public int decisionRule(int k) {
+        return decisionOrder[k];
+    }
+
+    /**
+     * Total weight of the rules from the {@code k}-th onwards in
+     * {@link #decisionRule} order.
+     */
+    public int remainingWeight(int k) {
+        return remainingWeight[k];
+    }
+
+    /**
+     * Reorders the operands of every AND/OR node from the samples collected
+     * since the last call and returns how many nodes changed order.
+     */
+    public int reorderOperands() {
+        int changed = 0;
+        for (Junction junction : junctions) {
+            if (junction.reorder()) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Forgets the operand samples, operand order and rule cost estimates
+     * collected so far, e.g. from synthetic warm-up traffic that does not
+     * reflect production.
+     */
+    public void resetStatistics() {
+        for (Junction junction : junctions) {
+            junction.reset();
+        }
+        for (CompiledRule rule : rules) {
+            rule.cost().reset();
+        }
+    }
+
+    public Map<String, String> describeOrdering() {
+        Map<String, String> ordering = new LinkedHashMap<>();
+        for (CompiledRule rule : rules) {
+            ordering.put(rule.id(), rule.condition().toString());
+        }
+        return ordering;
+    }
+
+    public boolean isGenerated() {
+        return generated != null;
+    }
+
+    /**
+     * Runs the generated evaluator, setting bit {@code i} of {@code matched}
+     * for every matching rule {@code i}. The array must hold at least
+     * {@link #matchWords()} words and is cleared first, so callers can reuse it.
+     */
+    public void matchGenerated(TransactionDto transaction, long[] matched) {
+        Arrays.fill(matched, 0, matchWords(), 0L);
+        generated.evaluate(transaction, matched);
+    }
+
+    public int matchWords() {
+        return (rules.size() + 63) >>> 6;
+    }
+
+    public EvaluationContext newContext(TransactionDto transaction) {
+        return new EvaluationContext(transaction, memoSlots, thresholds, patterns);
+    }
+
+    public boolean isCompiledFrom(RuleDto ruleDto) {
+        return ruleDto != null
+                && Objects.equals(ruleId, ruleDto.getRuleId())
+                && Objects.equals(version, ruleDto.getVersion());
+    }
+}
@@ -0,0 +1,83 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+
+import java.util.Arrays;
+
+/**
+ * Per-transaction evaluation state. Holds the outcome of every shared
+ * subexpression of a {@link CompiledRuleSet} in a pair of bitsets so each
+ * one is evaluated at most once per transaction, and the threshold class of
+ * each indexed numeric field and the pattern matches of each indexed string
+ * field once they have been looked up. Not thread-safe.
+ */
+public final class EvaluationContext {
+
+    private final TransactionDto transaction;
+    private final long[] evaluated;
+    private final long[] results;
+    private final ThresholdIndex thresholds;
+    private final int[] thresholdClasses;
+    private final StringPatternIndex patterns;
+    private final long[][] patternMatches;
+
+    public EvaluationContext(TransactionDto transaction, int memoSlots) {
+        this(transaction, memoSlots, ThresholdIndex.EMPTY, StringPatternIndex.EMPTY);
+    }
+
+    public EvaluationContext(TransactionDto transaction,
+                             int memoSlots,
+                             ThresholdIndex thresholds,
+                             StringPatternIndex patterns) {
+        this.transaction = transaction;
+        int words = (memoSlots + 63) >>> 6;
+        this.evaluated = new long[words];
+        this.results = new long[words];
+        this.thresholds = thresholds;
+        this.thresholdClasses = new int[thresholds.fieldCount()];
+        Arrays.fill(thresholdClasses, -1);
+        this.patterns = patterns;
+        this.patternMatches = new long[patterns.fieldCount()][];
+    }
+
+    public TransactionDto transaction() {
+        return transaction;
+    }
+
+    boolean isEvaluated(int slot) {
+        int word = slot >>> 6;
+        return word < evaluated.length && (evaluated[word] & (1L << slot)) != 0;
+    }
+
+    boolean result(int slot) {
+        return (results[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    boolean thresholdSatisfied(int field, int leaf) {
+        int valueClass = thresholdClasses[field];
+        if (valueClass < 0) {
+            valueClass = thresholds.classify(field, transaction);
+            thresholdClasses[field] = valueClass;
+        }
+        return thresholds.isSatisfied(field, valueClass, leaf);
+    }
+
+    boolean patternMatched(int field, int leaf) {
+        long[] matches = patternMatches[field];
+        if (matches == null) {
+            matches = patterns.match(field, transaction);
+            patternMatches[field] = matches;
+        }
+        int word = leaf >>> 6;
+        return word < matches.length && (matches[word] & (1L << leaf)) != 0;
+    }
+
+    void record(int slot, boolean result) {
+        int word = slot >>> 6;
+        if (word >= evaluated.length) return;
+        evaluated[word] |= 1L << slot;
+        if (result) {
+            results[word] |= 1L << slot;
+        }
+    }
+}
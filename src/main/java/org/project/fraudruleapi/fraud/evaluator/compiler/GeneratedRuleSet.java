@@ -0,0 +1,13 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+
+/**
+ * Contract implemented by the class {@link RuleSetClassGenerator} emits for a
+ * rule set. Sets bit {@code i} of {@code matched} for every rule {@code i}
+ * that matches; the caller clears the words beforehand.
+ */
+interface GeneratedRuleSet {
+
+    void evaluate(TransactionDto transaction, long[] matched);
+}
@@ -0,0 +1,8 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+/**
+ * Leaf answered from a rule-set wide index cached in the {@link EvaluationContext}.
+ * Such leaves are already evaluated at most once per transaction and are never memoized.
+ */
+interface IndexedLeaf extends CompiledCondition {
+}
@@ -0,0 +1,138 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Short-circuiting AND/OR node whose operand order adapts to observed
+ * behaviour. A small sample of evaluations records, per operand, how often it
+ * was reached, how often it passed and how long it took; {@link #reorder()}
+ * then sorts operands by expected cost per short-circuit. Both connectives are
+ * commutative, so the order only affects cost, never the outcome.
+ */
+abstract class Junction implements CompiledCondition {
+
+    private static final int SAMPLE_MASK = 63;
+    private static final double MIN_PROBABILITY = 1e-3;
+
+    private final String name;
+    private final CompiledCondition[] operands;
+    private final boolean shortCircuitOn;
+    private final AtomicLongArray reached;
+    private final AtomicLongArray passed;
+    private final AtomicLongArray nanos;
+    private volatile int[] order;
+
+    Junction(String name, CompiledCondition[] operands, boolean shortCircuitOn) {
+        this.name = name;
+        this.operands = operands;
+        this.shortCircuitOn = shortCircuitOn;
+        this.reached = new AtomicLongArray(operands.length);
+        this.passed = new AtomicLongArray(operands.length);
+        this.nanos = new AtomicLongArray(operands.length);
+        this.order = IntStream.range(0, operands.length).toArray();
+    }
+
+    @Override
+    public boolean matches(EvaluationContext context) {
+        int[] current = order;
+        if ((ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) != 0) {
+            for (int idx : current) {
+                if (operands[idx].matches(context) == shortCircuitOn) {
+                    return shortCircuitOn;
+                }
+            }
+            return !shortCircuitOn;
+        }
+
+        for (int idx : current) {
+            long start = System.nanoTime();
+            boolean result = operands[idx].matches(context);
+            nanos.addAndGet(idx, System.nanoTime() - start);
+            reached.incrementAndGet(idx);
+            if (result) {
+                passed.incrementAndGet(idx);
+            }
+            if (result == shortCircuitOn) {
+                return shortCircuitOn;
+            }
+        }
+        return !shortCircuitOn;
+    }
+
+    /**
+     * Recomputes the operand order from the samples collected so far and halves
+     * the counters so later samples weigh more. Returns whether the order changed.
+     */
+    boolean reorder() {
+        int n = operands.length;
+        if (n < 2) return false;
+
+        double[] cost = new double[n];
+        double knownCost = 0;
+        int known = 0;
+        for (int i = 0; i < n; i++) {
+            long r = reached.get(i);
+            if (r > 0) {
+                cost[i] = (double) nanos.get(i) / r;
+                knownCost += cost[i];
+                known++;
+            }
+        }
+        double defaultCost = known == 0 ? 1 : knownCost / known;
+
+        double[] rank = new double[n];
+        for (int i = 0; i < n; i++) {
+            long r = reached.get(i);
+            double operandCost = r > 0 ? cost[i] : defaultCost;
+            // Laplace-smoothed probability that this operand short-circuits the junction
+            double passRate = (passed.get(i) + 1.0) / (r + 2.0);
+            double stopRate = shortCircuitOn ? passRate : 1 - passRate;
+            rank[i] = operandCost / Math.max(stopRate, MIN_PROBABILITY);
+        }
+
+        int[] next = IntStream.range(0, n).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> rank[i]).thenComparingInt(i -> i))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        for (int i = 0; i < n; i++) {
+            reached.set(i, reached.get(i) / 2);
+            passed.set(i, passed.get(i) / 2);
+            nanos.set(i, nanos.get(i) / 2);
+        }
+
+        if (Arrays.equals(next, order)) return false;
+        order = next;
+        return true;
+    }
+
+    /**
+     * Discards the samples collected so far and restores document order.
+     */
+    void reset() {
+        for (int i = 0; i < operands.length; i++) {
+            reached.set(i, 0);
+            passed.set(i, 0);
+            nanos.set(i, 0);
+        }
+        order = IntStream.range(0, operands.length).toArray();
+    }
+
+    int[] currentOrder() {
+        return order.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", name + "(", ")");
+        for (int idx : order) {
+            joiner.add(operands[idx].toString());
+        }
+        return joiner.toString();
+    }
+}
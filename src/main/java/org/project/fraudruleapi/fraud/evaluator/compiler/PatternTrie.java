@@ -0,0 +1,169 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Character trie over a set of patterns, each tagged with a leaf bit. With
+ * failure links it doubles as an Aho-Corasick automaton, so {@link #scan}
+ * reports every pattern occurring anywhere in a text in one pass, while
+ * {@link #walkForward} and {@link #walkBackward} report the patterns that are
+ * prefixes or (for a trie built from reversed patterns) suffixes of it.
+ */
+final class PatternTrie {
+
+    private static final int ROOT = 0;
+
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[][] outputs;
+    private final int[] fail;
+    private final int[] outLink;
+
+    private PatternTrie(char[][] keys, int[][] targets, int[][] outputs, int[] fail, int[] outLink) {
+        this.keys = keys;
+        this.targets = targets;
+        this.outputs = outputs;
+        this.fail = fail;
+        this.outLink = outLink;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    void scan(String text, long[] matches) {
+        emit(ROOT, matches);
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = child(state, c);
+            while (next < 0 && state != ROOT) {
+                state = fail[state];
+                next = child(state, c);
+            }
+            state = next < 0 ? ROOT : next;
+            for (int s = state; s != ROOT; s = outLink[s]) {
+                emit(s, matches);
+            }
+        }
+    }
+
+    void walkForward(String text, long[] matches) {
+        emit(ROOT, matches);
+        int state = ROOT;
+        for (int i = 0; i < text.length() && state >= 0; i++) {
+            state = child(state, text.charAt(i));
+            if (state >= 0) {
+                emit(state, matches);
+            }
+        }
+    }
+
+    void walkBackward(String text, long[] matches) {
+        emit(ROOT, matches);
+        int state = ROOT;
+        for (int i = text.length() - 1; i >= 0 && state >= 0; i--) {
+            state = child(state, text.charAt(i));
+            if (state >= 0) {
+                emit(state, matches);
+            }
+        }
+    }
+
+    private int child(int state, char c) {
+        int idx = Arrays.binarySearch(keys[state], c);
+        return idx >= 0 ? targets[state][idx] : -1;
+    }
+
+    private void emit(int state, long[] matches) {
+        for (int leaf : outputs[state]) {
+            matches[leaf >>> 6] |= 1L << leaf;
+        }
+    }
+
+    static final class Builder {
+
+        private final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        private final List<List<Integer>> outputs = new ArrayList<>();
+        private final boolean reversed;
+
+        Builder(boolean reversed) {
+            this.reversed = reversed;
+            newNode();
+        }
+
+        boolean isEmpty() {
+            return children.size() == 1 && outputs.getFirst().isEmpty();
+        }
+
+        void add(String pattern, int leaf) {
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(reversed ? pattern.length() - 1 - i : i);
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = newNode();
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.get(state).add(leaf);
+        }
+
+        PatternTrie build() {
+            int size = children.size();
+            char[][] keys = new char[size][];
+            int[][] targets = new int[size][];
+            int[][] leafOutputs = new int[size][];
+            for (int s = 0; s < size; s++) {
+                TreeMap<Character, Integer> edges = children.get(s);
+                keys[s] = new char[edges.size()];
+                targets[s] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    keys[s][i] = edge.getKey();
+                    targets[s][i++] = edge.getValue();
+                }
+                leafOutputs[s] = outputs.get(s).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            int[] fail = new int[size];
+            int[] outLink = new int[size];
+            PatternTrie trie = new PatternTrie(keys, targets, leafOutputs, fail, outLink);
+
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int target : targets[ROOT]) {
+                queue.add(target);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < keys[state].length; i++) {
+                    char c = keys[state][i];
+                    int child = targets[state][i];
+                    int f = fail[state];
+                    int next = trie.child(f, c);
+                    while (next < 0 && f != ROOT) {
+                        f = fail[f];
+                        next = trie.child(f, c);
+                    }
+                    fail[child] = next < 0 ? ROOT : next;
+                    outLink[child] = leafOutputs[fail[child]].length > 0 ? fail[child] : outLink[fail[child]];
+                    queue.add(child);
+                }
+            }
+            return trie;
+        }
+
+        private int newNode() {
+            children.add(new TreeMap<>());
+            outputs.add(new ArrayList<>());
+            return children.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.strategy.ConditionEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.strategy.ConditionEvaluatorFactory;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.shared.enums.EvaluationEngine;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RuleCompiler {
+
+    private final ConditionEvaluatorFactory evaluatorFactory;
+
+    public CompiledRuleSet compile(String ruleId, Long version, List<RuleDefinition> rules) {
+        return compile(ruleId, version, rules, EvaluationEngine.COMPILED);
+    }
+
+    public CompiledRuleSet compile(String ruleId, Long version, List<RuleDefinition> rules, EvaluationEngine engine) {
+        return compile(ruleId, version, rules, engine, null);
+    }
+
+    /**
+     * Compiles a new version of a rule document, reusing what did not change
+     * in {@code previous}. When no rule definition changed the previous set is
+     * carried over as it is. Otherwise leaf predicates are only compiled for
+     * conditions the previous version did not have, and rules that are
+     * unchanged by id keep their cost estimates. The structures that span
+     * rules, shared subexpressions and the rule and leaf indexes, are rebuilt
+     * from the merged rules; that is cheap next to compiling leaves.
+     */
+    public CompiledRuleSet recompile(CompiledRuleSet previous, Long version, List<RuleDefinition> rules,
+                                     EvaluationEngine engine) {
+        if (rules.equals(previous.getDefinitions()) && previous.isGenerated() == (engine == EvaluationEngine.GENERATED)) {
+            log.info("Rule document {} version {} has the same {} rules as version {}, reusing the compiled set",
+                    previous.getRuleId(), version, rules.size(), previous.getVersion());
+            return previous.withVersion(version);
+        }
+        return compile(previous.getRuleId(), version, rules, engine, previous);
+    }
+
+    private CompiledRuleSet compile(String ruleId, Long version, List<RuleDefinition> rules, EvaluationEngine engine,
+                                    CompiledRuleSet previous) {
+        SubexpressionTable table = new SubexpressionTable();
+        int[] roots = new int[rules.size()];
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = table.addRoot(rules.get(i).condition());
+        }
+
+        LeafIndexes leafIndexes = new LeafIndexes(previous != null ? previous.getLeaves() : Map.of());
+        CompiledNodes nodes = compileNodes(table, leafIndexes);
+        ThresholdIndex thresholdIndex = leafIndexes.thresholds.build();
+        StringPatternIndex patternIndex = leafIndexes.patterns.build();
+        Map<String, Integer> previousPositions = positions(previous);
+        List<CompiledRule> compiledRules = new ArrayList<>(rules.size());
+        int unchanged = 0;
+        for (int i = 0; i < roots.length; i++) {
+            RuleDefinition rule = rules.get(i);
+            CompiledRule compiled = CompiledRule.of(rule, nodes.conditions()[roots[i]]);
+            Integer position = previousPositions.get(rule.id());
+            if (position != null && previous.getDefinitions().get(position).equals(rule)) {
+                compiled = new CompiledRule(compiled.id(), compiled.name(), compiled.description(), compiled.weight(),
+                        compiled.condition(), previous.getRules().get(position).cost());
+                unchanged++;
+            }
+            compiledRules.add(compiled);
+        }
+
+        RuleIndex index = RuleIndex.build(rules);
+        GeneratedRuleSet generated = engine == EvaluationEngine.GENERATED ? generate(ruleId, version, rules) : null;
+        log.info("Compiled {} rules for rule document {} (version {}): {} distinct conditions, {} shared, "
+                        + "indexed on {}, {} numeric and {} string fields with leaf indexes",
+                compiledRules.size(), ruleId, version, table.size(), nodes.memoSlots(),
+                index.getIndexedFields(), thresholdIndex.fieldCount(), patternIndex.fieldCount());
+        if (previous != null) {
+            log.info("Recompiled rule document {} from version {}: {} of {} rules unchanged, {} of {} leaf predicates reused",
+                    ruleId, previous.getVersion(), unchanged, rules.size(), leafIndexes.reused, leafIndexes.compiled.size());
+        }
+        return new CompiledRuleSet(ruleId, version, compiledRules, nodes.memoSlots(),
+                index, thresholdIndex, patternIndex, nodes.junctions(), generated,
+                List.copyOf(rules), Map.copyOf(leafIndexes.compiled));
+    }
+
+    private static Map<String, Integer> positions(CompiledRuleSet previous) {
+        if (previous == null) {
+            return Map.of();
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        List<RuleDefinition> definitions = previous.getDefinitions();
+        for (int i = 0; i < definitions.size(); i++) {
+            positions.putIfAbsent(definitions.get(i).id(), i);
+        }
+        return positions;
+    }
+
+    private GeneratedRuleSet generate(String ruleId, Long version, List<RuleDefinition> rules) {
+        try {
+            return RuleSetClassGenerator.generate(rules,
+                    cond -> evaluatorFactory.getEvaluatorOrThrow(cond.type()).compile(cond));
+        } catch (RuntimeException e) {
+            log.warn("Could not generate evaluator class for rule document {} (version {}), "
+                    + "falling back to the compiled evaluator", ruleId, version, e);
+            return null;
+        }
+    }
+
+    public CompiledCondition compile(Condition cond) {
+        SubexpressionTable table = new SubexpressionTable();
+        int root = table.addRoot(cond);
+        return compileNodes(table, null).conditions()[root];
+    }
+
+    private CompiledNodes compileNodes(SubexpressionTable table, LeafIndexes leafIndexes) {
+        CompiledCondition[] compiled = new CompiledCondition[table.size()];
+        List<Junction> junctions = new ArrayList<>();
+        int memoSlots = 0;
+        // operands are always interned before their parent, so ids are already in bottom-up order
+        for (int id = 0; id < compiled.length; id++) {
+            CompiledCondition node = compileNode(table.condition(id), table.children(id), compiled, leafIndexes);
+            if (node instanceof Junction junction) {
+                junctions.add(junction);
+            }
+            if (table.isShared(id) && isMemoizable(node)) {
+                node = new CompiledCondition.Memoized(memoSlots++, node);
+            }
+            compiled[id] = node;
+        }
+        return new CompiledNodes(compiled, memoSlots, junctions);
+    }
+
+    private boolean isMemoizable(CompiledCondition node) {
+        return node != CompiledCondition.ALWAYS_TRUE
+                && node != CompiledCondition.ALWAYS_FALSE
+                && !(node instanceof IndexedLeaf);
+    }
+
+    private CompiledCondition compileNode(Condition cond,
+                                          int[] children,
+                                          CompiledCondition[] compiled,
+                                          LeafIndexes leafIndexes) {
+        if (cond == null) {
+            log.warn("Null condition compiled, rule will never match");
+            return CompiledCondition.ALWAYS_FALSE;
+        }
+
+        return switch (cond.type()) {
+            case AND -> children.length == 0
+                    ? CompiledCondition.ALWAYS_TRUE
+                    : new CompiledCondition.And(operands(children, compiled));
+            case OR -> children.length == 0
+                    ? CompiledCondition.ALWAYS_FALSE
+                    : new CompiledCondition.Or(operands(children, compiled));
+            case NOT -> children.length == 0
+                    ? CompiledCondition.ALWAYS_TRUE
+                    : new CompiledCondition.Not(compiled[children[0]]);
+            default -> compileLeaf(cond, leafIndexes);
+        };
+    }
+
+    private CompiledCondition compileLeaf(Condition cond, LeafIndexes leafIndexes) {
+        ConditionEvaluator evaluator = evaluatorFactory.getEvaluatorOrThrow(cond.type());
+        if (leafIndexes == null) {
+            return new CompiledCondition.Leaf(evaluator.compile(cond), label(cond));
+        }
+        CompiledCondition indexed = leafIndexes.register(cond);
+        return indexed != null ? indexed : new CompiledCondition.Leaf(leafIndexes.predicate(cond, evaluator), label(cond));
+    }
+
+    static String label(Condition cond) {
+        return cond.type() + " " + cond.field() + " " + cond.value();
+    }
+
+    private CompiledCondition[] operands(int[] children, CompiledCondition[] compiled) {
+        CompiledCondition[] operands = new CompiledCondition[children.length];
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = compiled[children[i]];
+        }
+        return operands;
+    }
+
+    private record CompiledNodes(CompiledCondition[] conditions, int memoSlots, List<Junction> junctions) {
+    }
+
+    private static final class LeafIndexes {
+        private final ThresholdIndex.Builder thresholds = new ThresholdIndex.Builder();
+        private final StringPatternIndex.Builder patterns = new StringPatternIndex.Builder();
+        private final Map<Condition, CompiledPredicate> previous;
+        private final Map<Condition, CompiledPredicate> compiled = new HashMap<>();
+        private int reused;
+
+        private LeafIndexes(Map<Condition, CompiledPredicate> previous) {
+            this.previous = previous;
+        }
+
+        private CompiledPredicate predicate(Condition cond, ConditionEvaluator evaluator) {
+            CompiledPredicate predicate = previous.get(cond);
+            if (predicate != null) {
+                reused++;
+            } else {
+                predicate = evaluator.compile(cond);
+            }
+            compiled.put(cond, predicate);
+            return predicate;
+        }
+
+        private CompiledCondition register(Condition cond) {
+            CompiledCondition indexed = thresholds.register(cond);
+            return indexed != null ? indexed : patterns.register(cond);
+        }
+    }
+}
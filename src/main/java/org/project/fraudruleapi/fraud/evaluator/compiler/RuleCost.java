@@ -0,0 +1,26 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+/**
+ * Running estimate of how long one rule takes to evaluate, kept as an
+ * exponentially weighted moving average of sampled timings. Updates race
+ * benignly; the value is only used to balance parallel work.
+ */
+public final class RuleCost {
+
+    static final long DEFAULT_NANOS = 1_000;
+
+    private volatile long estimateNanos = DEFAULT_NANOS;
+
+    public long estimateNanos() {
+        return estimateNanos;
+    }
+
+    public void record(long nanos) {
+        long current = estimateNanos;
+        estimateNanos = current + (nanos - current) / 8;
+    }
+
+    public void reset() {
+        estimateNanos = DEFAULT_NANOS;
+    }
+}
@@ -0,0 +1,168 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.evaluator.field.FieldType;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Discrimination index over the equality guards of a rule document. A guard is
+ * an {@code EQUALS} on a low-cardinality field that every match of the rule
+ * requires, i.e. one reachable from the rule root through {@code AND} nodes only.
+ * For a transaction, a rule stays a candidate only if, for every indexed field,
+ * it either has no guard on that field or its guard value equals the
+ * transaction's value.
+ */
+public final class RuleIndex {
+
+    static final Set<TransactionField> INDEXED_FIELDS = EnumSet.of(
+            TransactionField.TRANSACTION_TYPE,
+            TransactionField.CHANNEL,
+            TransactionField.STATUS,
+            TransactionField.CURRENCY);
+
+    public static final RuleIndex EMPTY = new RuleIndex(0, new TransactionField[0], new BitSet[0], List.of());
+
+    // candidate and per-field scratch sets, so that selecting candidates does not allocate per transaction
+    private static final ThreadLocal<BitSet[]> SCRATCH = ThreadLocal.withInitial(() -> new BitSet[]{new BitSet(), new BitSet()});
+
+    private final int ruleCount;
+    private final TransactionField[] fields;
+    private final BitSet[] unguarded;
+    private final List<Map<Object, BitSet>> guarded;
+
+    private RuleIndex(int ruleCount, TransactionField[] fields, BitSet[] unguarded, List<Map<Object, BitSet>> guarded) {
+        this.ruleCount = ruleCount;
+        this.fields = fields;
+        this.unguarded = unguarded;
+        this.guarded = guarded;
+    }
+
+    public static RuleIndex build(List<RuleDefinition> rules) {
+        Map<TransactionField, Map<Object, BitSet>> byField = new EnumMap<>(TransactionField.class);
+        Map<TransactionField, BitSet> guardedRules = new EnumMap<>(TransactionField.class);
+
+        for (int i = 0; i < rules.size(); i++) {
+            Map<TransactionField, Object> guards = new EnumMap<>(TransactionField.class);
+            collectGuards(rules.get(i).condition(), guards);
+            for (Map.Entry<TransactionField, Object> guard : guards.entrySet()) {
+                byField.computeIfAbsent(guard.getKey(), RuleIndex::guardMap)
+                        .computeIfAbsent(guard.getValue(), k -> new BitSet(rules.size()))
+                        .set(i);
+                guardedRules.computeIfAbsent(guard.getKey(), f -> new BitSet(rules.size())).set(i);
+            }
+        }
+
+        if (byField.isEmpty()) {
+            return EMPTY;
+        }
+
+        TransactionField[] fields = byField.keySet().toArray(new TransactionField[0]);
+        BitSet[] unguarded = new BitSet[fields.length];
+        List<Map<Object, BitSet>> guarded = new ArrayList<>(fields.length);
+        for (int f = 0; f < fields.length; f++) {
+            BitSet all = new BitSet(rules.size());
+            all.set(0, rules.size());
+            all.andNot(guardedRules.get(fields[f]));
+            unguarded[f] = all;
+            guarded.add(byField.get(fields[f]));
+        }
+        return new RuleIndex(rules.size(), fields, unguarded, guarded);
+    }
+
+    public boolean isEmpty() {
+        return fields.length == 0;
+    }
+
+    public List<TransactionField> getIndexedFields() {
+        return List.of(fields);
+    }
+
+    public BitSet candidates(TransactionDto transaction) {
+        return (BitSet) reusableCandidates(transaction).clone();
+    }
+
+    /**
+     * Same as {@link #candidates}, written into a set owned by the calling
+     * thread. The set is overwritten by the next call on that thread, so it
+     * must be copied before it is handed to another thread or kept.
+     */
+    BitSet reusableCandidates(TransactionDto transaction) {
+        BitSet[] scratch = SCRATCH.get();
+        BitSet result = scratch[0];
+        BitSet allowed = scratch[1];
+        result.clear();
+        result.set(0, ruleCount);
+        for (int f = 0; f < fields.length && !result.isEmpty(); f++) {
+            Object key = transactionKey(fields[f], transaction);
+            BitSet matching = key == null ? null : guarded.get(f).get(key);
+            if (matching == null) {
+                result.and(unguarded[f]);
+            } else {
+                allowed.clear();
+                allowed.or(unguarded[f]);
+                allowed.or(matching);
+                result.and(allowed);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Enum guards are keyed by ordinal. String guards are compared ignoring
+     * case, so that a transaction value can be looked up without lowercasing
+     * a copy of it.
+     */
+    private static Map<Object, BitSet> guardMap(TransactionField field) {
+        if (field.getType() == FieldType.ENUM) {
+            return new HashMap<>();
+        }
+        return new TreeMap<>((a, b) -> String.CASE_INSENSITIVE_ORDER.compare((String) a, (String) b));
+    }
+
+    private static void collectGuards(Condition condition, Map<TransactionField, Object> guards) {
+        if (condition == null || condition.type() == null) return;
+
+        if (condition.type() == ConditionType.AND && condition.operands() != null) {
+            for (Condition operand : condition.operands()) {
+                collectGuards(operand, guards);
+            }
+            return;
+        }
+
+        if (condition.type() != ConditionType.EQUALS || condition.value() == null) return;
+
+        TransactionField field = TransactionField.resolve(condition.field()).orElse(null);
+        if (field == null || !INDEXED_FIELDS.contains(field)) return;
+
+        guards.putIfAbsent(field, literalKey(field, condition.value()));
+    }
+
+    private static Object literalKey(TransactionField field, Object literal) {
+        if (field.getType() == FieldType.ENUM) {
+            // an unknown literal maps to -1, which no transaction produces, so the rule is never a candidate
+            return field.ordinalOf(String.valueOf(literal));
+        }
+        return String.valueOf(literal);
+    }
+
+    private static Object transactionKey(TransactionField field, TransactionDto transaction) {
+        if (field.isNull(transaction)) return null;
+        if (field.getType() == FieldType.ENUM) {
+            return field.readOrdinal(transaction);
+        }
+        return String.valueOf(field.read(transaction));
+    }
+}
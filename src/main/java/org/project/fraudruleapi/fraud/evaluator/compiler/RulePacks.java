@@ -0,0 +1,142 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.rules.model.RuleRoute;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of every active rule pack, each compiled on its own, and
+ * the routing table that picks the packs a transaction is evaluated against:
+ * the packs without a route plus those routed on a value the transaction
+ * holds. With a single routing attribute, which is the usual layout, the
+ * combined list for each value is prepared up front and routing allocates
+ * nothing.
+ */
+@Slf4j
+public final class RulePacks {
+
+    public static final RulePacks EMPTY = new RulePacks(List.of());
+
+    private final List<Pack> packs;
+    private final List<CompiledRuleSet> unrouted;
+    private final TransactionField[] routeFields;
+    // [route field][enum ordinal] -> packs routed on that value only
+    private final List<CompiledRuleSet>[][] routed;
+    // [enum ordinal] -> unrouted + routed, only when there is exactly one route field
+    private final List<CompiledRuleSet>[] combined;
+
+    public record Pack(CompiledRuleSet ruleSet, RuleRoute route) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public RulePacks(List<Pack> packs) {
+        this.packs = List.copyOf(packs);
+
+        List<CompiledRuleSet> unroutedSets = new ArrayList<>();
+        Map<TransactionField, List<CompiledRuleSet>[]> byField = new LinkedHashMap<>();
+        for (Pack pack : this.packs) {
+            if (pack.route() == null) {
+                unroutedSets.add(pack.ruleSet());
+                continue;
+            }
+            TransactionField field = TransactionField.resolve(pack.route().field()).orElse(null);
+            int ordinal = field != null ? field.ordinalOf(pack.route().value()) : -1;
+            if (ordinal < 0) {
+                log.warn("Rule pack {} has an unknown route {} and will never be evaluated",
+                        pack.ruleSet().getRuleId(), pack.route());
+                continue;
+            }
+            List<CompiledRuleSet>[] byOrdinal = byField.computeIfAbsent(field,
+                    f -> new List[f.getEnumType().getEnumConstants().length]);
+            if (byOrdinal[ordinal] == null) {
+                byOrdinal[ordinal] = new ArrayList<>();
+            }
+            byOrdinal[ordinal].add(pack.ruleSet());
+        }
+
+        this.unrouted = List.copyOf(unroutedSets);
+        this.routeFields = byField.keySet().toArray(TransactionField[]::new);
+        this.routed = new List[routeFields.length][];
+        for (int f = 0; f < routeFields.length; f++) {
+            List<CompiledRuleSet>[] byOrdinal = byField.get(routeFields[f]);
+            for (int o = 0; o < byOrdinal.length; o++) {
+                byOrdinal[o] = byOrdinal[o] == null ? List.of() : List.copyOf(byOrdinal[o]);
+            }
+            routed[f] = byOrdinal;
+        }
+
+        if (routeFields.length == 1) {
+            combined = new List[routed[0].length];
+            for (int o = 0; o < combined.length; o++) {
+                List<CompiledRuleSet> applicable = new ArrayList<>(unrouted);
+                applicable.addAll(routed[0][o]);
+                combined[o] = List.copyOf(applicable);
+            }
+        } else {
+            combined = null;
+        }
+    }
+
+    /**
+     * The packs that apply to {@code transaction}, unrouted packs first.
+     */
+    public List<CompiledRuleSet> route(TransactionDto transaction) {
+        if (routeFields.length == 0) {
+            return unrouted;
+        }
+        if (combined != null) {
+            int ordinal = routeFields[0].readOrdinal(transaction);
+            return ordinal < 0 ? unrouted : combined[ordinal];
+        }
+        List<CompiledRuleSet> applicable = new ArrayList<>(unrouted);
+        for (int f = 0; f < routeFields.length; f++) {
+            int ordinal = routeFields[f].readOrdinal(transaction);
+            if (ordinal >= 0) {
+                applicable.addAll(routed[f][ordinal]);
+            }
+        }
+        return applicable;
+    }
+
+    public List<Pack> getPacks() {
+        return packs;
+    }
+
+    public List<CompiledRuleSet> getRuleSets() {
+        return packs.stream().map(Pack::ruleSet).toList();
+    }
+
+    public boolean isEmpty() {
+        return packs.isEmpty();
+    }
+
+    /**
+     * Whether this snapshot holds exactly the given active documents, at the
+     * same versions.
+     */
+    public boolean isCompiledFrom(List<RuleDto> ruleDtos) {
+        if (ruleDtos.size() != packs.size()) {
+            return false;
+        }
+        Map<String, Long> versions = new HashMap<>(packs.size() * 2);
+        for (Pack pack : packs) {
+            versions.put(pack.ruleSet().getRuleId(), pack.ruleSet().getVersion());
+        }
+        for (RuleDto ruleDto : ruleDtos) {
+            if (!versions.containsKey(ruleDto.getRuleId())
+                    || !Objects.equals(versions.get(ruleDto.getRuleId()), ruleDto.getVersion())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
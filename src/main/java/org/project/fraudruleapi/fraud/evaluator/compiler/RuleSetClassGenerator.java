@@ -0,0 +1,329 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.evaluator.field.FieldType;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.evaluator.strategy.AbstractConditionEvaluator;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Emits one hidden class per rule set whose {@code evaluate} method is every
+ * rule's condition tree flattened into straight-line branches. Numeric,
+ * enum and plain string comparisons read the {@link TransactionDto} record
+ * components directly and compare primitives; every other leaf calls the
+ * {@link CompiledPredicate} its strategy evaluator compiled, held in a
+ * constant array on the instance. The class is not strongly linked to its
+ * loader, so it is unloaded once the owning {@link CompiledRuleSet} is gone.
+ */
+final class RuleSetClassGenerator {
+
+    private static final int RULES_PER_METHOD = 64;
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String DTO = Type.getInternalName(TransactionDto.class);
+    private static final String PREDICATE = Type.getInternalName(CompiledPredicate.class);
+    private static final String PREDICATES_DESC = "[" + Type.getDescriptor(CompiledPredicate.class);
+    private static final String CHUNK_DESC = "(" + PREDICATES_DESC + "L" + DTO + ";[J)V";
+    private static final String SELF = Type.getInternalName(RuleSetClassGenerator.class);
+    private static final String PACKAGE = SELF.substring(0, SELF.lastIndexOf('/') + 1);
+
+    // locals of the generated chunk methods
+    private static final int PREDICATES = 0;
+    private static final int TRANSACTION = 1;
+    private static final int MATCHED = 2;
+    private static final int FIELD_VALUE = 3;
+
+    private static final Map<TransactionField, Class<?>> COMPONENT_TYPES = new EnumMap<>(TransactionField.class);
+
+    static {
+        for (TransactionField field : TransactionField.values()) {
+            for (RecordComponent component : TransactionDto.class.getRecordComponents()) {
+                if (component.getName().equals(field.getFieldName())) {
+                    COMPONENT_TYPES.put(field, component.getType());
+                }
+            }
+        }
+    }
+
+    private RuleSetClassGenerator() {
+    }
+
+    static GeneratedRuleSet generate(List<RuleDefinition> rules, Function<Condition, CompiledPredicate> fallback) {
+        Emitter emitter = new Emitter(fallback);
+        byte[] bytecode = emitter.emitClass(rules);
+        try {
+            Class<?> generated = MethodHandles.lookup().defineHiddenClass(bytecode, true).lookupClass();
+            return (GeneratedRuleSet) generated.getConstructor(CompiledPredicate[].class)
+                    .newInstance((Object) emitter.predicates.toArray(new CompiledPredicate[0]));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to load generated rule set class", e);
+        }
+    }
+
+    private static final class Emitter {
+        private final Function<Condition, CompiledPredicate> fallback;
+        private final List<CompiledPredicate> predicates = new ArrayList<>();
+        private MethodVisitor mv;
+
+        private Emitter(Function<Condition, CompiledPredicate> fallback) {
+            this.fallback = fallback;
+        }
+
+        private byte[] emitClass(List<RuleDefinition> rules) {
+            String name = PACKAGE + "GeneratedRuleSet$Impl";
+            ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+                @Override
+                protected String getCommonSuperClass(String type1, String type2) {
+                    // only reached for the scratch field-value local, which is re-stored before every read
+                    return OBJECT;
+                }
+            };
+            cw.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, name, null, OBJECT,
+                    new String[]{Type.getInternalName(GeneratedRuleSet.class)});
+            cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "predicates", PREDICATES_DESC, null, null).visitEnd();
+
+            mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "(" + PREDICATES_DESC + ")V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitFieldInsn(Opcodes.PUTFIELD, name, "predicates", PREDICATES_DESC);
+            mv.visitInsn(Opcodes.RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+
+            // split across methods to stay well inside the 64KB method limit and the JIT's inlining budget
+            int chunks = (rules.size() + RULES_PER_METHOD - 1) / RULES_PER_METHOD;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                mv = cw.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, "evaluate" + chunk, CHUNK_DESC, null, null);
+                mv.visitCode();
+                int end = Math.min(rules.size(), (chunk + 1) * RULES_PER_METHOD);
+                for (int i = chunk * RULES_PER_METHOD; i < end; i++) {
+                    emitRule(i, rules.get(i).condition());
+                }
+                mv.visitInsn(Opcodes.RETURN);
+                mv.visitMaxs(0, 0);
+                mv.visitEnd();
+            }
+
+            mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "evaluate", "(L" + DTO + ";[J)V", null, null);
+            mv.visitCode();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                mv.visitVarInsn(Opcodes.ALOAD, 0);
+                mv.visitFieldInsn(Opcodes.GETFIELD, name, "predicates", PREDICATES_DESC);
+                mv.visitVarInsn(Opcodes.ALOAD, 1);
+                mv.visitVarInsn(Opcodes.ALOAD, 2);
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, name, "evaluate" + chunk, CHUNK_DESC, false);
+            }
+            mv.visitInsn(Opcodes.RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        private void emitRule(int index, Condition condition) {
+            Label next = new Label();
+            emitCondition(condition, next, false);
+            mv.visitVarInsn(Opcodes.ALOAD, MATCHED);
+            mv.visitLdcInsn(index >>> 6);
+            mv.visitInsn(Opcodes.DUP2);
+            mv.visitInsn(Opcodes.LALOAD);
+            mv.visitLdcInsn(1L << index);
+            mv.visitInsn(Opcodes.LOR);
+            mv.visitInsn(Opcodes.LASTORE);
+            mv.visitLabel(next);
+        }
+
+        /**
+         * Emits code that jumps to {@code target} when the condition evaluates
+         * to {@code jumpIf} and falls through otherwise.
+         */
+        private void emitCondition(Condition cond, Label target, boolean jumpIf) {
+            if (cond == null) {
+                emitConstant(false, target, jumpIf);
+                return;
+            }
+
+            List<Condition> operands = cond.operands() == null ? List.of() : cond.operands();
+            switch (cond.type()) {
+                case AND -> emitJunction(operands, target, jumpIf, false);
+                case OR -> emitJunction(operands, target, jumpIf, true);
+                case NOT -> {
+                    if (operands.isEmpty()) {
+                        emitConstant(true, target, jumpIf);
+                    } else {
+                        emitCondition(operands.getFirst(), target, !jumpIf);
+                    }
+                }
+                default -> emitLeaf(cond, target, jumpIf);
+            }
+        }
+
+        private void emitJunction(List<Condition> operands, Label target, boolean jumpIf, boolean shortCircuitOn) {
+            if (operands.isEmpty()) {
+                emitConstant(!shortCircuitOn, target, jumpIf);
+                return;
+            }
+            if (jumpIf == shortCircuitOn) {
+                for (Condition operand : operands) {
+                    emitCondition(operand, target, jumpIf);
+                }
+                return;
+            }
+            Label done = new Label();
+            for (int i = 0; i < operands.size() - 1; i++) {
+                emitCondition(operands.get(i), done, shortCircuitOn);
+            }
+            emitCondition(operands.getLast(), target, jumpIf);
+            mv.visitLabel(done);
+        }
+
+        private void emitConstant(boolean value, Label target, boolean jumpIf) {
+            if (value == jumpIf) {
+                mv.visitJumpInsn(Opcodes.GOTO, target);
+            }
+        }
+
+        private void emitLeaf(Condition cond, Label target, boolean jumpIf) {
+            TransactionField field = TransactionField.resolve(cond.field()).orElse(null);
+            boolean inlined = field != null && switch (cond.type()) {
+                case GREATER_THAN, GREATER_THAN_OR_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL ->
+                        emitNumericComparison(cond, field, target, jumpIf);
+                case EQUALS, NOT_EQUALS -> emitEquality(cond, field, target, jumpIf);
+                default -> false;
+            };
+            if (!inlined) {
+                emitPredicateCall(cond, target, jumpIf);
+            }
+        }
+
+        private boolean emitNumericComparison(Condition cond, TransactionField field, Label target, boolean jumpIf) {
+            Double threshold = AbstractConditionEvaluator.tryParseToDouble(cond.value());
+            if (threshold == null || !field.getType().isNumeric()) {
+                return false;
+            }
+
+            // a null field matches no comparison, as in AbstractConditionEvaluator
+            Label done = readFieldOrConstant(field, false, target, jumpIf);
+            emitDoubleCompare(threshold);
+
+            int opcode = switch (cond.type()) {
+                case GREATER_THAN -> jumpIf ? Opcodes.IFGT : Opcodes.IFLE;
+                case GREATER_THAN_OR_EQUAL -> jumpIf ? Opcodes.IFGE : Opcodes.IFLT;
+                case LESS_THAN -> jumpIf ? Opcodes.IFLT : Opcodes.IFGE;
+                default -> jumpIf ? Opcodes.IFLE : Opcodes.IFGT;
+            };
+            mv.visitJumpInsn(opcode, target);
+            mv.visitLabel(done);
+            return true;
+        }
+
+        private boolean emitEquality(Condition cond, TransactionField field, Label target, boolean jumpIf) {
+            Object condVal = cond.value();
+            boolean equals = cond.type() == ConditionType.EQUALS;
+            // a null field equals only a null literal, as in EqualsEvaluator / NotEqualsEvaluator
+            boolean onNull = equals == (condVal == null);
+            boolean jumpOnEqual = jumpIf == equals;
+            Double numeric = AbstractConditionEvaluator.tryParseToDouble(condVal);
+
+            FieldType type = field.getType();
+            if (type == FieldType.ENUM) {
+                int ordinal = field.ordinalOf(String.valueOf(condVal));
+                Label done = readFieldOrConstant(field, onNull, target, jumpIf);
+                mv.visitVarInsn(Opcodes.ALOAD, FIELD_VALUE);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Enum", "ordinal", "()I", false);
+                mv.visitLdcInsn(ordinal);
+                mv.visitJumpInsn(jumpOnEqual ? Opcodes.IF_ICMPEQ : Opcodes.IF_ICMPNE, target);
+                mv.visitLabel(done);
+            } else if (type == FieldType.LONG && numeric != null && AbstractConditionEvaluator.isIntegral(numeric)) {
+                Label done = readFieldOrConstant(field, onNull, target, jumpIf);
+                mv.visitVarInsn(Opcodes.ALOAD, FIELD_VALUE);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Number", "longValue", "()J", false);
+                mv.visitLdcInsn(numeric.longValue());
+                mv.visitInsn(Opcodes.LCMP);
+                mv.visitJumpInsn(jumpOnEqual ? Opcodes.IFEQ : Opcodes.IFNE, target);
+                mv.visitLabel(done);
+            } else if (type.isNumeric() && numeric != null) {
+                Label done = readFieldOrConstant(field, onNull, target, jumpIf);
+                emitDoubleCompare(numeric);
+                mv.visitJumpInsn(jumpOnEqual ? Opcodes.IFEQ : Opcodes.IFNE, target);
+                mv.visitLabel(done);
+            } else if (type == FieldType.STRING) {
+                Label done = readFieldOrConstant(field, onNull, target, jumpIf);
+                mv.visitVarInsn(Opcodes.ALOAD, FIELD_VALUE);
+                mv.visitLdcInsn(String.valueOf(condVal));
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "equalsIgnoreCase",
+                        "(Ljava/lang/String;)Z", false);
+                mv.visitJumpInsn(jumpOnEqual ? Opcodes.IFNE : Opcodes.IFEQ, target);
+                mv.visitLabel(done);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Stores the field value in the scratch local and, when it is null,
+         * branches on {@code onNull}. Returns the label the caller must place
+         * after its comparison so the null path can skip it.
+         */
+        private Label readFieldOrConstant(TransactionField field, boolean onNull, Label target, boolean jumpIf) {
+            Label present = new Label();
+            Label done = new Label();
+            readField(field);
+            mv.visitJumpInsn(Opcodes.IFNONNULL, present);
+            mv.visitJumpInsn(Opcodes.GOTO, onNull == jumpIf ? target : done);
+            mv.visitLabel(present);
+            return done;
+        }
+
+        /**
+         * Reads the record component into the scratch local and leaves it on
+         * the stack.
+         */
+        private void readField(TransactionField field) {
+            Class<?> componentType = COMPONENT_TYPES.get(field);
+            mv.visitVarInsn(Opcodes.ALOAD, TRANSACTION);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DTO, field.getFieldName(),
+                    "()" + Type.getDescriptor(componentType), false);
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitVarInsn(Opcodes.ASTORE, FIELD_VALUE);
+        }
+
+        private void emitDoubleCompare(double constant) {
+            mv.visitVarInsn(Opcodes.ALOAD, FIELD_VALUE);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Number", "doubleValue", "()D", false);
+            mv.visitLdcInsn(constant);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Double", "compare", "(DD)I", false);
+        }
+
+        private void emitPredicateCall(Condition cond, Label target, boolean jumpIf) {
+            int slot = predicates.size();
+            predicates.add(fallback.apply(cond));
+            mv.visitVarInsn(Opcodes.ALOAD, PREDICATES);
+            mv.visitLdcInsn(slot);
+            mv.visitInsn(Opcodes.AALOAD);
+            mv.visitVarInsn(Opcodes.ALOAD, TRANSACTION);
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, PREDICATE, "test", "(L" + DTO + ";)Z", true);
+            mv.visitJumpInsn(jumpIf ? Opcodes.IFNE : Opcodes.IFEQ, target);
+        }
+    }
+}
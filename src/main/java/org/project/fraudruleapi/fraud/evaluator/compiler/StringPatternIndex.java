@@ -0,0 +1,165 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-pattern index over the {@code CONTAINS}, {@code STARTS_WITH} and
+ * {@code ENDS_WITH} leaves of a rule document. Per field, substring patterns
+ * are compiled into one Aho-Corasick automaton over the lower-cased value,
+ * prefixes into a trie and suffixes into a trie of reversed patterns, so a
+ * single pass over the field value reports every satisfied leaf as a bitset.
+ */
+public final class StringPatternIndex {
+
+    public static final StringPatternIndex EMPTY = new StringPatternIndex(new FieldPatterns[0]);
+
+    static final long[] NO_MATCHES = new long[0];
+
+    private final FieldPatterns[] fields;
+
+    private StringPatternIndex(FieldPatterns[] fields) {
+        this.fields = fields;
+    }
+
+    public int fieldCount() {
+        return fields.length;
+    }
+
+    public int leafCount(int field) {
+        return fields[field].leafCount;
+    }
+
+    long[] match(int field, TransactionDto transaction) {
+        FieldPatterns patterns = fields[field];
+        Object fieldVal = patterns.field.read(transaction);
+        if (fieldVal == null) {
+            return NO_MATCHES;
+        }
+
+        String value = String.valueOf(fieldVal);
+        long[] matches = new long[(patterns.leafCount + 63) >>> 6];
+        if (patterns.contains != null) {
+            patterns.contains.scan(value.toLowerCase(), matches);
+        }
+        if (patterns.prefixes != null) {
+            patterns.prefixes.walkForward(value, matches);
+        }
+        if (patterns.suffixes != null) {
+            patterns.suffixes.walkBackward(value, matches);
+        }
+        return matches;
+    }
+
+    private static final class FieldPatterns {
+        private final TransactionField field;
+        private final PatternTrie contains;
+        private final PatternTrie prefixes;
+        private final PatternTrie suffixes;
+        private final int leafCount;
+
+        private FieldPatterns(TransactionField field,
+                              PatternTrie contains,
+                              PatternTrie prefixes,
+                              PatternTrie suffixes,
+                              int leafCount) {
+            this.field = field;
+            this.contains = contains;
+            this.prefixes = prefixes;
+            this.suffixes = suffixes;
+            this.leafCount = leafCount;
+        }
+    }
+
+    static final class Leaf implements IndexedLeaf {
+        private final int field;
+        private final int bit;
+        private final String label;
+
+        private Leaf(int field, int bit, String label) {
+            this.field = field;
+            this.bit = bit;
+            this.label = label;
+        }
+
+        @Override
+        public boolean matches(EvaluationContext context) {
+            return context.patternMatched(field, bit);
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    static final class Builder {
+
+        private final Map<TransactionField, Integer> fieldIds = new EnumMap<>(TransactionField.class);
+        private final List<TransactionField> fields = new ArrayList<>();
+        private final List<FieldBuilder> builders = new ArrayList<>();
+
+        /**
+         * Registers a string-matching leaf, returning its indexed form, or
+         * {@code null} when the leaf is of another type or references an
+         * unknown field and must keep its strategy evaluator.
+         */
+        CompiledCondition register(Condition condition) {
+            ConditionType type = condition.type();
+            if (type != ConditionType.CONTAINS && type != ConditionType.STARTS_WITH && type != ConditionType.ENDS_WITH) {
+                return null;
+            }
+            TransactionField field = TransactionField.resolve(condition.field()).orElse(null);
+            if (field == null) return null;
+
+            String pattern = String.valueOf(condition.value());
+            FieldBuilder builder = builderFor(field);
+            int bit = builder.leafCount++;
+            switch (type) {
+                case CONTAINS -> builder.contains.add(pattern.toLowerCase(), bit);
+                case STARTS_WITH -> builder.prefixes.add(pattern, bit);
+                default -> builder.suffixes.add(pattern, bit);
+            }
+            return new Leaf(fieldIds.get(field), bit, RuleCompiler.label(condition));
+        }
+
+        StringPatternIndex build() {
+            if (fields.isEmpty()) {
+                return EMPTY;
+            }
+            FieldPatterns[] built = new FieldPatterns[fields.size()];
+            for (int f = 0; f < built.length; f++) {
+                FieldBuilder builder = builders.get(f);
+                built[f] = new FieldPatterns(fields.get(f),
+                        builder.contains.isEmpty() ? null : builder.contains.build(),
+                        builder.prefixes.isEmpty() ? null : builder.prefixes.build(),
+                        builder.suffixes.isEmpty() ? null : builder.suffixes.build(),
+                        builder.leafCount);
+            }
+            return new StringPatternIndex(built);
+        }
+
+        private FieldBuilder builderFor(TransactionField field) {
+            int id = fieldIds.computeIfAbsent(field, f -> {
+                fields.add(f);
+                builders.add(new FieldBuilder());
+                return fields.size() - 1;
+            });
+            return builders.get(id);
+        }
+    }
+
+    private static final class FieldBuilder {
+        private final PatternTrie.Builder contains = new PatternTrie.Builder(false);
+        private final PatternTrie.Builder prefixes = new PatternTrie.Builder(false);
+        private final PatternTrie.Builder suffixes = new PatternTrie.Builder(true);
+        private int leafCount;
+    }
+}
@@ -0,0 +1,115 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash-conses the condition trees of a rule document so structurally
+ * identical nodes share one id, and counts how many distinct parents
+ * (or rule roots) reference each node.
+ */
+final class SubexpressionTable {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final Map<Object, Integer> ids = new HashMap<>();
+    private final List<Condition> conditions = new ArrayList<>();
+    private final List<int[]> children = new ArrayList<>();
+    private final List<Integer> references = new ArrayList<>();
+
+    int addRoot(Condition condition) {
+        int id = intern(condition);
+        references.set(id, references.get(id) + 1);
+        return id;
+    }
+
+    int size() {
+        return conditions.size();
+    }
+
+    Condition condition(int id) {
+        return conditions.get(id);
+    }
+
+    int[] children(int id) {
+        return children.get(id);
+    }
+
+    boolean isShared(int id) {
+        return references.get(id) > 1;
+    }
+
+    private int intern(Condition condition) {
+        if (condition == null) {
+            return register(NULL_KEY, null, new int[0]);
+        }
+
+        ConditionType type = condition.type();
+        if (!type.isLogical()) {
+            return register(new LeafKey(type, canonicalField(condition.field()), canonicalValue(type, condition.value())),
+                    condition, new int[0]);
+        }
+
+        List<Condition> operands = operands(condition);
+        int[] childIds = new int[operands.size()];
+        List<Integer> key = new ArrayList<>(childIds.length);
+        for (int i = 0; i < childIds.length; i++) {
+            childIds[i] = intern(operands.get(i));
+            key.add(childIds[i]);
+        }
+
+        int before = conditions.size();
+        int id = register(new CompositeKey(type, key), condition, childIds);
+        if (id == before) {
+            for (int child : childIds) {
+                references.set(child, references.get(child) + 1);
+            }
+        }
+        return id;
+    }
+
+    private int register(Object key, Condition condition, int[] childIds) {
+        Integer existing = ids.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = conditions.size();
+        ids.put(key, id);
+        conditions.add(condition);
+        children.add(childIds);
+        references.add(0);
+        return id;
+    }
+
+    static List<Condition> operands(Condition condition) {
+        List<Condition> operands = condition.operands() == null ? List.of() : condition.operands();
+        if (condition.type() == ConditionType.NOT && operands.size() > 1) {
+            return operands.subList(0, 1);
+        }
+        return operands;
+    }
+
+    private static String canonicalField(String field) {
+        return TransactionField.resolve(field).map(TransactionField::getFieldName).orElse(field);
+    }
+
+    private static Object canonicalValue(ConditionType type, Object value) {
+        return switch (type) {
+            case GREATER_THAN, GREATER_THAN_OR_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL ->
+                    value instanceof Number number ? number.doubleValue() : value;
+            default -> value;
+        };
+    }
+
+    private record LeafKey(ConditionType type, String field, Object value) {
+    }
+
+    private record CompositeKey(ConditionType type, List<Integer> operands) {
+    }
+}
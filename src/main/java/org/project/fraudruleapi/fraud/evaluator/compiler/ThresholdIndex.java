@@ -0,0 +1,212 @@
+package org.project.fraudruleapi.fraud.evaluator.compiler;
+
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.evaluator.strategy.AbstractConditionEvaluator;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.DoubleStream;
+
+/**
+ * Sorted threshold index over the numeric comparison leaves of a rule document.
+ * <p>
+ * The distinct constants compared against a field split the number line into
+ * {@code 2n + 1} classes: each constant itself and the open intervals around
+ * them. Every comparison leaf is satisfied by a contiguous run of classes, so
+ * the satisfied leaves of each class are precomputed as a bitset and a single
+ * binary search per field and transaction answers all of them. A null field
+ * value falls in one extra class that satisfies no leaf.
+ */
+public final class ThresholdIndex {
+
+    public static final ThresholdIndex EMPTY = new ThresholdIndex(new FieldThresholds[0]);
+
+    private final FieldThresholds[] fields;
+
+    private ThresholdIndex(FieldThresholds[] fields) {
+        this.fields = fields;
+    }
+
+    public int fieldCount() {
+        return fields.length;
+    }
+
+    public int leafCount(int field) {
+        return fields[field].leafCount;
+    }
+
+    public int thresholdCount(int field) {
+        return fields[field].points.length;
+    }
+
+    int classify(int field, TransactionDto transaction) {
+        FieldThresholds thresholds = fields[field];
+        if (thresholds.field.isNull(transaction)) {
+            return thresholds.satisfied.length - 1;
+        }
+        return classOf(thresholds.points, thresholds.field.readDouble(transaction));
+    }
+
+    boolean isSatisfied(int field, int valueClass, int leaf) {
+        return (fields[field].satisfied[valueClass][leaf >>> 6] & (1L << leaf)) != 0;
+    }
+
+    private static int classOf(double[] points, double value) {
+        int idx = Arrays.binarySearch(points, value);
+        return idx >= 0 ? 2 * idx + 1 : 2 * (-idx - 1);
+    }
+
+    private static final class FieldThresholds {
+        private final TransactionField field;
+        private final double[] points;
+        private final long[][] satisfied;
+        private final int leafCount;
+
+        private FieldThresholds(TransactionField field, double[] points, long[][] satisfied, int leafCount) {
+            this.field = field;
+            this.points = points;
+            this.satisfied = satisfied;
+            this.leafCount = leafCount;
+        }
+    }
+
+    static final class Leaf implements IndexedLeaf {
+        private final int field;
+        private final int bit;
+        private final String label;
+
+        private Leaf(int field, int bit, String label) {
+            this.field = field;
+            this.bit = bit;
+            this.label = label;
+        }
+
+        @Override
+        public boolean matches(EvaluationContext context) {
+            return context.thresholdSatisfied(field, bit);
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    static final class Builder {
+
+        private final Map<TransactionField, Integer> fieldIds = new EnumMap<>(TransactionField.class);
+        private final List<TransactionField> fields = new ArrayList<>();
+        private final List<List<Range>> ranges = new ArrayList<>();
+
+        /**
+         * Registers a comparison leaf, returning its indexed form, or {@code null}
+         * when the leaf is not a numeric comparison on a numeric field with
+         * parseable constants and must keep its strategy evaluator.
+         */
+        CompiledCondition register(Condition condition) {
+            TransactionField field = TransactionField.resolve(condition.field()).orElse(null);
+            if (field == null || !field.getType().isNumeric()) return null;
+
+            Range range = range(condition.type(), condition.value());
+            if (range == null) return null;
+
+            int id = fieldIds.computeIfAbsent(field, f -> {
+                fields.add(f);
+                ranges.add(new ArrayList<>());
+                return fields.size() - 1;
+            });
+            List<Range> fieldRanges = ranges.get(id);
+            fieldRanges.add(range);
+            return new Leaf(id, fieldRanges.size() - 1, RuleCompiler.label(condition));
+        }
+
+        ThresholdIndex build() {
+            if (fields.isEmpty()) {
+                return EMPTY;
+            }
+            FieldThresholds[] built = new FieldThresholds[fields.size()];
+            for (int f = 0; f < built.length; f++) {
+                built[f] = build(fields.get(f), ranges.get(f));
+            }
+            return new ThresholdIndex(built);
+        }
+
+        private static FieldThresholds build(TransactionField field, List<Range> leaves) {
+            double[] points = leaves.stream()
+                    .flatMapToDouble(range -> DoubleStream.of(range.lower(), range.upper()))
+                    .filter(point -> !Double.isInfinite(point))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+
+            // the last class, after the 2n + 1 of the number line, is the null value
+            int classes = 2 * points.length + 2;
+            int words = (leaves.size() + 63) >>> 6;
+            long[][] satisfied = new long[classes][words];
+            for (int leaf = 0; leaf < leaves.size(); leaf++) {
+                Range range = leaves.get(leaf);
+                int from = lowerClass(points, range);
+                int to = upperClass(points, range);
+                for (int c = from; c <= to; c++) {
+                    satisfied[c][leaf >>> 6] |= 1L << leaf;
+                }
+            }
+            return new FieldThresholds(field, points, satisfied, leaves.size());
+        }
+
+        private static Range range(ConditionType type, Object value) {
+            return switch (type) {
+                case GREATER_THAN -> lowerBound(value, false);
+                case GREATER_THAN_OR_EQUAL -> lowerBound(value, true);
+                case LESS_THAN -> upperBound(value, false);
+                case LESS_THAN_OR_EQUAL -> upperBound(value, true);
+                case BETWEEN -> between(value);
+                default -> null;
+            };
+        }
+
+        private static Range lowerBound(Object value, boolean inclusive) {
+            Double constant = parseFinite(value);
+            return constant == null ? null : new Range(constant, inclusive, Double.POSITIVE_INFINITY, false);
+        }
+
+        private static Range upperBound(Object value, boolean inclusive) {
+            Double constant = parseFinite(value);
+            return constant == null ? null : new Range(Double.NEGATIVE_INFINITY, false, constant, inclusive);
+        }
+
+        private static Range between(Object value) {
+            if (!(value instanceof List<?> list) || list.size() != 2) return null;
+            Double min = parseFinite(list.get(0));
+            Double max = parseFinite(list.get(1));
+            if (min == null || max == null) return null;
+            return new Range(min, true, max, true);
+        }
+
+        private static Double parseFinite(Object value) {
+            Double parsed = AbstractConditionEvaluator.tryParseToDouble(value);
+            return parsed != null && Double.isFinite(parsed) ? parsed : null;
+        }
+
+        private static int lowerClass(double[] points, Range range) {
+            if (range.lower() == Double.NEGATIVE_INFINITY) return 0;
+            int pointClass = classOf(points, range.lower());
+            return range.lowerInclusive() ? pointClass : pointClass + 1;
+        }
+
+        private static int upperClass(double[] points, Range range) {
+            if (range.upper() == Double.POSITIVE_INFINITY) return 2 * points.length;
+            int pointClass = classOf(points, range.upper());
+            return range.upperInclusive() ? pointClass : pointClass - 1;
+        }
+    }
+
+    private record Range(double lower, boolean lowerInclusive, double upper, boolean upperInclusive) {
+    }
+}
@@ -0,0 +1,13 @@
+package org.project.fraudruleapi.fraud.evaluator.field;
+
+public enum FieldType {
+    STRING,
+    DOUBLE,
+    LONG,
+    ENUM,
+    TIMESTAMP;
+
+    public boolean isNumeric() {
+        return this == DOUBLE || this == LONG;
+    }
+}
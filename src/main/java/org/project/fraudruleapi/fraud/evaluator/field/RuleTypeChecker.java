@@ -0,0 +1,251 @@
+package org.project.fraudruleapi.fraud.evaluator.field;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.regex.RegexCompiler;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.rules.model.RuleRoute;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+import org.project.fraudruleapi.shared.enums.RegexEngine;
+import org.project.fraudruleapi.shared.exception.InvalidRuleException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Type-checks every condition of a rule document against the
+ * {@link TransactionField} schema before the document can be activated:
+ * fields must exist, operands must have the type the operator compares as,
+ * enum literals must name a constant, in any case, BETWEEN needs exactly
+ * {@code [min, max]} and a REGEX pattern must compile and pass the same
+ * cost calibration as at evaluation; a pack route must name an enum field
+ * and one of its constants. A document that passes cannot fail at evaluation time
+ * because of its own literals, and a null field value matches no numeric
+ * comparison.
+ */
+@Slf4j
+@Component
+public class RuleTypeChecker {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int MAX_PATTERN_LENGTH = 256;
+
+    private final RegexCompiler regexCompiler;
+
+    public RuleTypeChecker() {
+        this(new RegexCompiler(RegexEngine.LINEAR, RegexCompiler.DEFAULT_CACHE_SIZE));
+    }
+
+    @Autowired
+    public RuleTypeChecker(ApplicationConfiguration config) {
+        this(new RegexCompiler(config.getFraud().getEvaluation().getRegexEngine(),
+                config.getFraud().getEvaluation().getRegexCacheSize()));
+    }
+
+    private RuleTypeChecker(RegexCompiler regexCompiler) {
+        this.regexCompiler = regexCompiler;
+    }
+
+    /**
+     * @throws InvalidRuleException listing every problem found
+     */
+    public void check(JsonNode document) {
+        List<String> errors = new ArrayList<>();
+        try {
+            RuleRoute.fromDocument(document);
+        } catch (InvalidRuleException e) {
+            errors.addAll(e.getErrors());
+        }
+        JsonNode rulesNode = document.get("rules");
+        if (rulesNode != null && !rulesNode.isNull()) {
+            List<RuleDefinition> rules;
+            try {
+                rules = objectMapper.readValue(rulesNode.traverse(), new TypeReference<>() {});
+            } catch (IOException e) {
+                throw new InvalidRuleException(List.of("rules: " + e.getMessage()));
+            }
+            for (int i = 0; i < rules.size(); i++) {
+                RuleDefinition rule = rules.get(i);
+                String path = "rules[" + i + "]" + (rule.id() != null ? " (" + rule.id() + ")" : "");
+                if (rule.condition() == null) {
+                    errors.add(path + ": condition is required");
+                } else {
+                    checkCondition(rule.condition(), path + ".condition", errors);
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            log.warn("Rule document rejected with {} type errors", errors.size());
+            throw new InvalidRuleException(errors);
+        }
+    }
+
+    private void checkCondition(Condition cond, String path, List<String> errors) {
+        if (cond == null) {
+            errors.add(path + ": condition is required");
+            return;
+        }
+        if (cond.type() == null) {
+            errors.add(path + ": type is required");
+            return;
+        }
+        if (cond.type().isLogical()) {
+            checkLogical(cond, path, errors);
+            return;
+        }
+
+        TransactionField field = TransactionField.resolve(cond.field()).orElse(null);
+        if (field == null) {
+            errors.add(path + ": unknown field '" + cond.field() + "'");
+            return;
+        }
+
+        Object value = cond.value();
+        switch (cond.type()) {
+            case GREATER_THAN, GREATER_THAN_OR_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL -> {
+                requireNumericField(field, cond, path, errors);
+                if (!isNumeric(value)) {
+                    errors.add(path + ": " + cond.type() + " needs a numeric value, got " + describe(value));
+                }
+            }
+            case BETWEEN -> {
+                requireNumericField(field, cond, path, errors);
+                if (!(value instanceof List<?> range) || range.size() != 2) {
+                    errors.add(path + ": BETWEEN needs a [min, max] list, got " + describe(value));
+                } else if (!isNumeric(range.get(0)) || !isNumeric(range.get(1))) {
+                    errors.add(path + ": BETWEEN bounds must be numeric, got " + describe(value));
+                } else if (toDouble(range.get(0)) > toDouble(range.get(1))) {
+                    errors.add(path + ": BETWEEN min " + range.get(0) + " is greater than max " + range.get(1));
+                }
+            }
+            case EQUALS, NOT_EQUALS -> checkEquality(field, cond, path, errors);
+            case INCLUDE -> checkInclude(field, cond, path, errors);
+            case REGEX -> {
+                if (!(value instanceof String regex)) {
+                    errors.add(path + ": REGEX needs a string pattern, got " + describe(value));
+                } else if (regex.length() > MAX_PATTERN_LENGTH) {
+                    errors.add(path + ": REGEX pattern is longer than " + MAX_PATTERN_LENGTH + " characters");
+                } else {
+                    try {
+                        if (regexCompiler.compile(regex).isEmpty()) {
+                            errors.add(path + ": REGEX pattern is too expensive to match with the "
+                                    + regexCompiler.getEngine() + " engine");
+                        }
+                    } catch (PatternSyntaxException e) {
+                        errors.add(path + ": invalid REGEX pattern: " + e.getDescription());
+                    }
+                }
+            }
+            case STARTS_WITH, ENDS_WITH, CONTAINS -> {
+                if (!(value instanceof String)) {
+                    errors.add(path + ": " + cond.type() + " needs a string value, got " + describe(value));
+                }
+            }
+            default -> errors.add(path + ": unsupported condition type " + cond.type());
+        }
+    }
+
+    private void checkLogical(Condition cond, String path, List<String> errors) {
+        List<Condition> operands = cond.operands();
+        if (operands == null || operands.isEmpty()) {
+            errors.add(path + ": " + cond.type() + " needs at least one operand");
+            return;
+        }
+        if (cond.type() == ConditionType.NOT && operands.size() != 1) {
+            errors.add(path + ": NOT needs exactly one operand, got " + operands.size());
+        }
+        for (int i = 0; i < operands.size(); i++) {
+            checkCondition(operands.get(i), path + ".operands[" + i + "]", errors);
+        }
+    }
+
+    private void checkEquality(TransactionField field, Condition cond, String path, List<String> errors) {
+        Object value = cond.value();
+        if (value == null) {
+            // fine for a null field, but a present numeric field cannot be compared to it
+            if (field.getType().isNumeric()) {
+                errors.add(path + ": " + cond.type() + " on numeric field " + field.getFieldName()
+                        + " needs a numeric value, got null");
+            }
+            return;
+        }
+        if (value instanceof List<?> || value instanceof Map<?, ?>) {
+            errors.add(path + ": " + cond.type() + " needs a single value, got " + describe(value));
+            return;
+        }
+        switch (field.getType()) {
+            case DOUBLE, LONG -> {
+                if (!isNumeric(value)) {
+                    errors.add(path + ": " + cond.type() + " on numeric field " + field.getFieldName()
+                            + " needs a numeric value, got " + describe(value));
+                }
+            }
+            case ENUM -> requireEnumLiteral(field, value, path, errors);
+            default -> {
+            }
+        }
+    }
+
+    private void checkInclude(TransactionField field, Condition cond, String path, List<String> errors) {
+        Object value = cond.value();
+        if (!(value instanceof List<?> members)) {
+            if (!(value instanceof String)) {
+                errors.add(path + ": INCLUDE needs a list of values, got " + describe(value));
+            }
+            return;
+        }
+        for (Object member : members) {
+            if (member == null || member instanceof List<?> || member instanceof Map<?, ?>) {
+                errors.add(path + ": INCLUDE members must be single values, got " + describe(member));
+            } else if (field.getType() == FieldType.ENUM) {
+                requireEnumLiteral(field, member, path, errors);
+            } else if (field.getType().isNumeric() && !isNumeric(member)) {
+                errors.add(path + ": INCLUDE on numeric field " + field.getFieldName()
+                        + " has non-numeric member " + describe(member));
+            }
+        }
+    }
+
+    private static void requireNumericField(TransactionField field, Condition cond, String path, List<String> errors) {
+        if (!field.getType().isNumeric()) {
+            errors.add(path + ": " + cond.type() + " needs a numeric field, " + field.getFieldName()
+                    + " is " + field.getType());
+        }
+    }
+
+    private static void requireEnumLiteral(TransactionField field, Object literal, String path, List<String> errors) {
+        if (field.ordinalOf(String.valueOf(literal)) < 0) {
+            errors.add(path + ": '" + literal + "' is not a valid " + field.getEnumType().getSimpleName()
+                    + " for field " + field.getFieldName());
+        }
+    }
+
+    private static boolean isNumeric(Object value) {
+        if (value instanceof Number) return true;
+        if (!(value instanceof String text)) return false;
+        try {
+            return !Double.isNaN(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.parseDouble(value.toString());
+    }
+
+    private static String describe(Object value) {
+        if (value == null) return "null";
+        return value.getClass().getSimpleName() + " " + value;
+    }
+}
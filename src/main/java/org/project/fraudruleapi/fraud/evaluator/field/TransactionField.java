@@ -0,0 +1,130 @@
+package org.project.fraudruleapi.fraud.evaluator.field;
+
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.enums.ChannelType;
+import org.project.fraudruleapi.shared.enums.StatusType;
+import org.project.fraudruleapi.shared.enums.TransactionType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Field slots of {@link TransactionDto} that rule conditions can reference.
+ * Rule field names are resolved to a slot once when a rule is compiled; the
+ * slot then reads the record component directly through its accessor.
+ */
+public enum TransactionField {
+    TRANSACTION_ID("transactionId", FieldType.STRING, null, TransactionDto::transactionId),
+    ACCOUNT_ID("accountId", FieldType.LONG, null, TransactionDto::accountId),
+    USER_ID("userId", FieldType.LONG, null, TransactionDto::userId),
+    CURRENCY("currency", FieldType.STRING, null, TransactionDto::currency),
+    TRANSFER_AMOUNT("transferAmount", FieldType.DOUBLE, null, TransactionDto::transferAmount),
+    TIME_STAMP("timeStamp", FieldType.TIMESTAMP, null, TransactionDto::timeStamp),
+    TRANSACTION_TYPE("transactionType", FieldType.ENUM, TransactionType.class, TransactionDto::transactionType),
+    CHANNEL("channel", FieldType.ENUM, ChannelType.class, TransactionDto::channel),
+    MERCHANT_ID("merchantId", FieldType.STRING, null, TransactionDto::merchantId),
+    MERCHANT_NAME("merchantName", FieldType.STRING, null, TransactionDto::merchantName),
+    BENEFICIARY_ACCOUNT("beneficiaryAccount", FieldType.LONG, null, TransactionDto::beneficiaryAccount),
+    IP_ADDRESS("ipAddress", FieldType.STRING, null, TransactionDto::ipAddress),
+    DEVICE_ID("deviceId", FieldType.STRING, null, TransactionDto::deviceId),
+    LOCATION("location", FieldType.STRING, null, TransactionDto::location),
+    STATUS("status", FieldType.ENUM, StatusType.class, TransactionDto::status);
+
+    private static final Map<String, TransactionField> BY_NAME = new HashMap<>();
+
+    static {
+        for (TransactionField field : values()) {
+            BY_NAME.put(field.fieldName, field);
+        }
+    }
+
+    private final String fieldName;
+    private final FieldType type;
+    private final Class<? extends Enum<?>> enumType;
+    private final Function<TransactionDto, Object> accessor;
+
+    TransactionField(String fieldName,
+                     FieldType type,
+                     Class<? extends Enum<?>> enumType,
+                     Function<TransactionDto, Object> accessor) {
+        this.fieldName = fieldName;
+        this.type = type;
+        this.enumType = enumType;
+        this.accessor = accessor;
+    }
+
+    public static Optional<TransactionField> resolve(String name) {
+        if (name == null) return Optional.empty();
+        return Optional.ofNullable(BY_NAME.get(normalize(name)));
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public FieldType getType() {
+        return type;
+    }
+
+    public Class<? extends Enum<?>> getEnumType() {
+        return enumType;
+    }
+
+    public Object read(TransactionDto transaction) {
+        return accessor.apply(transaction);
+    }
+
+    public boolean isNull(TransactionDto transaction) {
+        return accessor.apply(transaction) == null;
+    }
+
+    public double readDouble(TransactionDto transaction) {
+        return ((Number) accessor.apply(transaction)).doubleValue();
+    }
+
+    public long readLong(TransactionDto transaction) {
+        return ((Number) accessor.apply(transaction)).longValue();
+    }
+
+    public int readOrdinal(TransactionDto transaction) {
+        Object value = accessor.apply(transaction);
+        return value == null ? -1 : ((Enum<?>) value).ordinal();
+    }
+
+    public int ordinalOf(String literal) {
+        if (enumType == null || literal == null) return -1;
+        for (Enum<?> constant : enumType.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(literal)) {
+                return constant.ordinal();
+            }
+        }
+        return -1;
+    }
+
+    static String normalize(String fieldName) {
+        return switch (fieldName) {
+            case "transferType", "transactionType", "transaction_type" -> "transactionType";
+            case "transferAmount", "amount" -> "transferAmount";
+            case "beneficiary_account", "beneficiaryAccount" -> "beneficiaryAccount";
+            case "accountId", "account" -> "accountId";
+            case "currency" -> "currency";
+            case "transactionId", "transaction" -> "transactionId";
+            default -> snakeToCamel(fieldName);
+        };
+    }
+
+    static String snakeToCamel(String value) {
+        if (!value.contains("_")) return value;
+        String[] parts = value.split("_");
+        StringBuilder sb = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            if (!parts[i].isEmpty()) {
+                sb.append(Character.toUpperCase(parts[i].charAt(0)))
+                        .append(parts[i].substring(1));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package org.project.fraudruleapi.fraud.evaluator.regex;
+
+import java.util.regex.Pattern;
+
+/**
+ * {@link java.util.regex} backend. The input is wrapped so every character
+ * the backtracking matcher reads counts as one step, which is what lets a
+ * runaway match be cut off.
+ */
+final class BacktrackingRegex extends CompiledRegex {
+
+    private final Pattern compiled;
+
+    BacktrackingRegex(Pattern compiled) {
+        super(compiled.pattern());
+        this.compiled = compiled;
+    }
+
+    @Override
+    public String engine() {
+        return "backtracking";
+    }
+
+    @Override
+    long run(CharSequence input, long budget) {
+        CountingSequence counted = new CountingSequence(input, budget);
+        try {
+            boolean matched = compiled.matcher(counted).matches();
+            return outcome(matched, counted.steps);
+        } catch (BudgetExceeded e) {
+            return EXCEEDED;
+        }
+    }
+
+    private static final class BudgetExceeded extends RuntimeException {
+        private static final BudgetExceeded INSTANCE = new BudgetExceeded();
+
+        private BudgetExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class CountingSequence implements CharSequence {
+        private final CharSequence delegate;
+        private final long budget;
+        private long steps;
+
+        private CountingSequence(CharSequence delegate, long budget) {
+            this.delegate = delegate;
+            this.budget = budget;
+        }
+
+        @Override
+        public int length() {
+            return delegate.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++steps > budget) {
+                throw BudgetExceeded.INSTANCE;
+            }
+            return delegate.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return delegate.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
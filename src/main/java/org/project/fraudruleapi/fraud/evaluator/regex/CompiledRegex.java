@@ -0,0 +1,75 @@
+package org.project.fraudruleapi.fraud.evaluator.regex;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A regex compiled for whole-input matching, with a per-match cost budget.
+ * Cost is counted in engine steps; a match that exceeds
+ * {@link #stepsPerChar()} times the input length is abandoned with a
+ * {@link RegexBudgetExceededException}, so a single input can never pin a
+ * CPU and the rule is reported as not evaluated instead of silently not
+ * matching.
+ */
+public abstract class CompiledRegex {
+
+    static final long EXCEEDED = -1;
+
+    private final String pattern;
+    private final LongAdder budgetExceeded = new LongAdder();
+    private volatile long stepsPerChar = Long.MAX_VALUE;
+
+    CompiledRegex(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    public abstract String engine();
+
+    public long stepsPerChar() {
+        return stepsPerChar;
+    }
+
+    public long budgetExceededCount() {
+        return budgetExceeded.sum();
+    }
+
+    /**
+     * @throws RegexBudgetExceededException if the match needs more steps than its budget
+     */
+    public boolean matches(CharSequence input) {
+        long perChar = stepsPerChar;
+        long length = input.length() + 1L;
+        long budget = perChar > Long.MAX_VALUE / length ? Long.MAX_VALUE : perChar * length;
+        long outcome = run(input, budget);
+        if (outcome == EXCEEDED) {
+            budgetExceeded.increment();
+            throw new RegexBudgetExceededException(pattern, budget, input.length());
+        }
+        return matched(outcome);
+    }
+
+    void setStepsPerChar(long stepsPerChar) {
+        this.stepsPerChar = stepsPerChar;
+    }
+
+    /**
+     * Matches the whole input, giving up after {@code budget} steps. Returns
+     * {@link #EXCEEDED} or an outcome encoded with {@link #outcome}.
+     */
+    abstract long run(CharSequence input, long budget);
+
+    static long outcome(boolean matched, long steps) {
+        return (steps << 1) | (matched ? 1 : 0);
+    }
+
+    static boolean matched(long outcome) {
+        return (outcome & 1) != 0;
+    }
+
+    static long steps(long outcome) {
+        return outcome >>> 1;
+    }
+}
@@ -0,0 +1,590 @@
+package org.project.fraudruleapi.fraud.evaluator.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Regex backend with guaranteed linear-time matching: the pattern is
+ * compiled to a Thompson NFA program and simulated breadth-first (a Pike VM
+ * without captures), so each input code point advances every live state at
+ * most once. Matching is whole-input, as with {@link java.util.regex.Matcher#matches()},
+ * where greedy and lazy quantifiers accept the same inputs.
+ * <p>
+ * Only the {@link java.util.regex} subset with identical semantics is
+ * accepted: literals, {@code .}, character classes with ranges and
+ * negation, {@code \d \w \s} and their negations, groups, alternation,
+ * greedy and lazy quantifiers, {@code ^ $} and a leading {@code (?i)}.
+ * {@link #parse} returns {@code null} for anything else (backreferences,
+ * lookaround, possessive quantifiers, other flags), and the caller falls
+ * back to the backtracking engine.
+ */
+final class LinearRegex extends CompiledRegex {
+
+    private static final int MAX_PROGRAM_SIZE = 10_000;
+
+    private static final int CHAR = 0;
+    private static final int CLASS = 1;
+    private static final int ANY = 2;
+    private static final int SPLIT = 3;
+    private static final int JUMP = 4;
+    private static final int BEGIN = 5;
+    private static final int END = 6;
+    private static final int MATCH = 7;
+
+    private static final IntPredicate DIGIT = cp -> cp >= '0' && cp <= '9';
+    private static final IntPredicate WORD = cp -> cp >= 'a' && cp <= 'z' || cp >= 'A' && cp <= 'Z'
+            || cp >= '0' && cp <= '9' || cp == '_';
+    private static final IntPredicate SPACE = cp -> cp == ' ' || cp >= '\t' && cp <= '\r';
+
+    private final int[] ops;
+    private final int[] args;
+    private final int[] alts;
+    private final IntPredicate[] classes;
+
+    private LinearRegex(String pattern, Program program) {
+        super(pattern);
+        int size = program.ops.size();
+        this.ops = new int[size];
+        this.args = new int[size];
+        this.alts = new int[size];
+        this.classes = program.classes.toArray(new IntPredicate[0]);
+        for (int pc = 0; pc < size; pc++) {
+            ops[pc] = program.ops.get(pc);
+            args[pc] = program.args.get(pc);
+            alts[pc] = program.alts.get(pc);
+        }
+    }
+
+    static LinearRegex parse(String pattern) {
+        try {
+            Node root = new Parser(pattern).parse();
+            Program program = new Program();
+            program.emit(root);
+            program.add(MATCH, 0, 0, null);
+            return new LinearRegex(pattern, program);
+        } catch (Unsupported e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String engine() {
+        return "linear";
+    }
+
+    /**
+     * Upper bound on steps per input code point: every state is visited at
+     * most once when following epsilon edges and once when consuming.
+     */
+    long maxStepsPerChar() {
+        return 2L * ops.length;
+    }
+
+    @Override
+    long run(CharSequence input, long budget) {
+        int length = input.length();
+        StateSet current = new StateSet(ops.length);
+        StateSet next = new StateSet(ops.length);
+        // each visited state pushes at most two successors
+        int[] stack = new int[2 * ops.length + 1];
+        long steps = follow(current, 0, input, 0, stack);
+
+        int pos = 0;
+        while (pos < length && current.size > 0) {
+            int cp = Character.codePointAt(input, pos);
+            int after = pos + Character.charCount(cp);
+            next.clear();
+            for (int i = 0; i < current.size; i++) {
+                int pc = current.dense[i];
+                boolean accepted = switch (ops[pc]) {
+                    case CHAR -> cp == args[pc];
+                    case CLASS -> classes[args[pc]].test(cp);
+                    case ANY -> !isLineTerminator(cp);
+                    default -> false;
+                };
+                if (accepted) {
+                    steps += follow(next, pc + 1, input, after, stack);
+                }
+            }
+            steps += current.size;
+            if (steps > budget) {
+                return EXCEEDED;
+            }
+            StateSet swap = current;
+            current = next;
+            next = swap;
+            pos = after;
+        }
+
+        boolean matched = false;
+        if (pos == length) {
+            for (int i = 0; i < current.size && !matched; i++) {
+                matched = ops[current.dense[i]] == MATCH;
+            }
+        }
+        return outcome(matched, steps);
+    }
+
+    /**
+     * Adds {@code start} and everything reachable from it through epsilon
+     * edges at {@code pos}, returning the number of states visited.
+     */
+    private long follow(StateSet set, int start, CharSequence input, int pos, int[] stack) {
+        long visited = 0;
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int pc = stack[--top];
+            if (!set.add(pc)) continue;
+            visited++;
+            switch (ops[pc]) {
+                case JUMP -> stack[top++] = args[pc];
+                case SPLIT -> {
+                    stack[top++] = alts[pc];
+                    stack[top++] = args[pc];
+                }
+                case BEGIN -> {
+                    if (pos == 0) stack[top++] = pc + 1;
+                }
+                case END -> {
+                    if (atEnd(input, pos)) stack[top++] = pc + 1;
+                }
+                default -> {
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * {@code $} without MULTILINE: end of input, or before a line terminator
+     * that ends the input, but never between {@code \r} and {@code \n}.
+     */
+    private static boolean atEnd(CharSequence input, int pos) {
+        int length = input.length();
+        if (pos == length) return true;
+        if (pos == length - 2) return input.charAt(pos) == '\r' && input.charAt(pos + 1) == '\n';
+        if (pos != length - 1) return false;
+        char ch = input.charAt(pos);
+        if (ch == '\n') return pos == 0 || input.charAt(pos - 1) != '\r';
+        return ch == '\r' || ch == 0x85 || (ch | 1) == 0x2029;
+    }
+
+    private static boolean isLineTerminator(int cp) {
+        return cp == '\n' || cp == '\r' || cp == 0x85 || (cp | 1) == 0x2029;
+    }
+
+    private static final class StateSet {
+        private final int[] dense;
+        private final int[] sparse;
+        private int size;
+
+        private StateSet(int capacity) {
+            this.dense = new int[capacity];
+            this.sparse = new int[capacity];
+        }
+
+        private boolean add(int pc) {
+            int slot = sparse[pc];
+            if (slot < size && dense[slot] == pc) return false;
+            sparse[pc] = size;
+            dense[size++] = pc;
+            return true;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+
+    private static final class Unsupported extends RuntimeException {
+        private Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+
+    private sealed interface Node permits Literal, CharClass, AnyChar, Begin, End, Sequence, Alternation, Repeat {
+    }
+
+    private record Literal(int codePoint) implements Node {
+    }
+
+    private record CharClass(IntPredicate predicate) implements Node {
+    }
+
+    private record AnyChar() implements Node {
+    }
+
+    private record Begin() implements Node {
+    }
+
+    private record End() implements Node {
+    }
+
+    private record Sequence(List<Node> items) implements Node {
+    }
+
+    private record Alternation(List<Node> options) implements Node {
+    }
+
+    private record Repeat(Node body, int min, int max) implements Node {
+    }
+
+    private static final class Program {
+        private final IntList ops = new IntList();
+        private final IntList args = new IntList();
+        private final IntList alts = new IntList();
+        private final List<IntPredicate> classes = new ArrayList<>();
+
+        private int add(int op, int arg, int alt, IntPredicate predicate) {
+            if (ops.size() >= MAX_PROGRAM_SIZE) throw new Unsupported();
+            if (predicate != null) {
+                arg = classes.size();
+                classes.add(predicate);
+            }
+            ops.add(op);
+            args.add(arg);
+            alts.add(alt);
+            return ops.size() - 1;
+        }
+
+        private int pc() {
+            return ops.size();
+        }
+
+        private void emit(Node node) {
+            switch (node) {
+                case Literal literal -> add(CHAR, literal.codePoint(), 0, null);
+                case CharClass charClass -> add(CLASS, 0, 0, charClass.predicate());
+                case AnyChar ignored -> add(ANY, 0, 0, null);
+                case Begin ignored -> add(BEGIN, 0, 0, null);
+                case End ignored -> add(END, 0, 0, null);
+                case Sequence sequence -> sequence.items().forEach(this::emit);
+                case Alternation alternation -> emitAlternation(alternation.options());
+                case Repeat repeat -> emitRepeat(repeat);
+            }
+        }
+
+        private void emitAlternation(List<Node> options) {
+            List<Integer> exits = new ArrayList<>();
+            for (int i = 0; i < options.size() - 1; i++) {
+                int split = add(SPLIT, 0, 0, null);
+                args.set(split, pc());
+                emit(options.get(i));
+                exits.add(add(JUMP, 0, 0, null));
+                alts.set(split, pc());
+            }
+            emit(options.getLast());
+            for (int exit : exits) {
+                args.set(exit, pc());
+            }
+        }
+
+        private void emitRepeat(Repeat repeat) {
+            for (int i = 0; i < repeat.min(); i++) {
+                emit(repeat.body());
+            }
+            if (repeat.max() < 0) {
+                int split = add(SPLIT, 0, 0, null);
+                args.set(split, pc());
+                emit(repeat.body());
+                add(JUMP, split, 0, null);
+                alts.set(split, pc());
+                return;
+            }
+            List<Integer> splits = new ArrayList<>();
+            for (int i = repeat.min(); i < repeat.max(); i++) {
+                int split = add(SPLIT, 0, 0, null);
+                args.set(split, pc());
+                splits.add(split);
+                emit(repeat.body());
+            }
+            for (int split : splits) {
+                alts.set(split, pc());
+            }
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        private int get(int index) {
+            return values[index];
+        }
+
+        private void set(int index, int value) {
+            values[index] = value;
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Recursive-descent parser over code points. Anything whose meaning in
+     * {@link java.util.regex} is not reproduced exactly throws {@link Unsupported}.
+     */
+    private static final class Parser {
+        private final int[] cps;
+        private int pos;
+        private boolean caseInsensitive;
+
+        private Parser(String pattern) {
+            this.cps = pattern.codePoints().toArray();
+        }
+
+        private Node parse() {
+            if (startsWith("(?i)")) {
+                caseInsensitive = true;
+                pos += 4;
+            }
+            Node node = alternation();
+            if (pos != cps.length) throw new Unsupported();
+            return node;
+        }
+
+        private Node alternation() {
+            List<Node> options = new ArrayList<>();
+            options.add(sequence());
+            while (peek() == '|') {
+                pos++;
+                options.add(sequence());
+            }
+            return options.size() == 1 ? options.getFirst() : new Alternation(options);
+        }
+
+        private Node sequence() {
+            List<Node> items = new ArrayList<>();
+            while (pos < cps.length && peek() != '|' && peek() != ')') {
+                items.add(quantified(atom()));
+            }
+            return items.size() == 1 ? items.getFirst() : new Sequence(items);
+        }
+
+        private Node quantified(Node atom) {
+            int min;
+            int max;
+            switch (peek()) {
+                case '*' -> { min = 0; max = -1; pos++; }
+                case '+' -> { min = 1; max = -1; pos++; }
+                case '?' -> { min = 0; max = 1; pos++; }
+                case '{' -> {
+                    pos++;
+                    min = number();
+                    max = min;
+                    if (peek() == ',') {
+                        pos++;
+                        max = peek() == '}' ? -1 : number();
+                    }
+                    expect('}');
+                }
+                default -> {
+                    return atom;
+                }
+            }
+            if (peek() == '?') {
+                pos++;
+            } else if (peek() == '+') {
+                throw new Unsupported();
+            }
+            if (peek() == '*' || peek() == '+' || peek() == '?' || peek() == '{') throw new Unsupported();
+            // java.util.regex stops iterating a body once it matches empty, with
+            // results that depend on backtracking order; leave those to it
+            if (nullable(atom)) throw new Unsupported();
+            return new Repeat(atom, min, max);
+        }
+
+        private static boolean nullable(Node node) {
+            return switch (node) {
+                case Begin b -> true;
+                case End e -> true;
+                case Sequence s -> s.items().stream().allMatch(Parser::nullable);
+                case Alternation a -> a.options().stream().anyMatch(Parser::nullable);
+                case Repeat r -> r.min() == 0 || nullable(r.body());
+                default -> false;
+            };
+        }
+
+        private Node atom() {
+            int cp = cps[pos++];
+            return switch (cp) {
+                case '(' -> {
+                    if (peek() == '?') {
+                        if (!startsWith("?:")) throw new Unsupported();
+                        pos += 2;
+                    }
+                    Node inner = alternation();
+                    expect(')');
+                    yield inner;
+                }
+                case '[' -> characterClass();
+                case '.' -> new AnyChar();
+                case '^' -> new Begin();
+                case '$' -> new End();
+                case '\\' -> {
+                    IntPredicate shorthand = shorthand();
+                    yield shorthand != null ? new CharClass(shorthand) : literal(escapedCodePoint());
+                }
+                case '*', '+', '?', '{' -> throw new Unsupported();
+                default -> literal(cp);
+            };
+        }
+
+        private Node literal(int cp) {
+            if (caseInsensitive && isAsciiLetter(cp)) {
+                int lower = Character.toLowerCase(cp);
+                int upper = Character.toUpperCase(cp);
+                return new CharClass(c -> c == lower || c == upper);
+            }
+            return new Literal(cp);
+        }
+
+        private Node characterClass() {
+            boolean negated = peek() == '^';
+            if (negated) pos++;
+            if (peek() == ']') throw new Unsupported();
+
+            List<IntPredicate> members = new ArrayList<>();
+            boolean first = true;
+            while (peek() != ']') {
+                if (pos >= cps.length || peek() == '[' || startsWith("&&")) throw new Unsupported();
+                int cp = cps[pos++];
+                if (cp == '\\') {
+                    IntPredicate shorthand = shorthand();
+                    if (shorthand != null) {
+                        if (peek() == '-' && pos + 1 < cps.length && cps[pos + 1] != ']') throw new Unsupported();
+                        members.add(shorthand);
+                        first = false;
+                        continue;
+                    }
+                    cp = escapedCodePoint();
+                } else if (cp == '-' && !first && peek() != ']') {
+                    throw new Unsupported();
+                }
+
+                if (peek() == '-' && pos + 1 < cps.length && cps[pos + 1] != ']') {
+                    pos++;
+                    int upper = cps[pos++];
+                    if (upper == '\\') {
+                        if (shorthand() != null) throw new Unsupported();
+                        upper = escapedCodePoint();
+                    } else if (upper == '[') {
+                        throw new Unsupported();
+                    }
+                    int lower = cp;
+                    int high = upper;
+                    members.add(c -> c >= lower && c <= high);
+                } else {
+                    int single = cp;
+                    members.add(c -> c == single);
+                }
+                first = false;
+            }
+            pos++;
+
+            IntPredicate[] union = members.toArray(new IntPredicate[0]);
+            IntPredicate predicate = c -> {
+                for (IntPredicate member : union) {
+                    if (member.test(c)) return true;
+                }
+                return false;
+            };
+            if (caseInsensitive) {
+                IntPredicate exact = predicate;
+                predicate = c -> exact.test(c)
+                        || c < 128 && (exact.test(Character.toUpperCase(c)) || exact.test(Character.toLowerCase(c)));
+            }
+            return new CharClass(negated ? predicate.negate() : predicate);
+        }
+
+        /**
+         * Consumes a predefined class after a backslash, or returns
+         * {@code null} without consuming anything.
+         */
+        private IntPredicate shorthand() {
+            IntPredicate predicate = switch (peek()) {
+                case 'd' -> DIGIT;
+                case 'D' -> DIGIT.negate();
+                case 'w' -> WORD;
+                case 'W' -> WORD.negate();
+                case 's' -> SPACE;
+                case 'S' -> SPACE.negate();
+                default -> null;
+            };
+            if (predicate != null) pos++;
+            return predicate;
+        }
+
+        private int escapedCodePoint() {
+            if (pos >= cps.length) throw new Unsupported();
+            int cp = cps[pos++];
+            return switch (cp) {
+                case 't' -> '\t';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 'f' -> '\f';
+                case 'a' -> '\u0007';
+                case 'e' -> '\u001B';
+                case 'x' -> hex(2);
+                case 'u' -> hex(4);
+                default -> {
+                    if (Character.isLetterOrDigit(cp)) throw new Unsupported();
+                    yield cp;
+                }
+            };
+        }
+
+        private int hex(int digits) {
+            if (pos + digits > cps.length) throw new Unsupported();
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(cps[pos++], 16);
+                if (digit < 0) throw new Unsupported();
+                value = value * 16 + digit;
+            }
+            if (Character.isSurrogate((char) value)) throw new Unsupported();
+            return value;
+        }
+
+        private int number() {
+            int start = pos;
+            int value = 0;
+            while (pos < cps.length && cps[pos] >= '0' && cps[pos] <= '9') {
+                value = value * 10 + (cps[pos++] - '0');
+                if (value > MAX_PROGRAM_SIZE) throw new Unsupported();
+            }
+            if (pos == start) throw new Unsupported();
+            return value;
+        }
+
+        private void expect(int cp) {
+            if (peek() != cp) throw new Unsupported();
+            pos++;
+        }
+
+        private int peek() {
+            return pos < cps.length ? cps[pos] : -1;
+        }
+
+        private boolean startsWith(String text) {
+            if (pos + text.length() > cps.length) return false;
+            for (int i = 0; i < text.length(); i++) {
+                if (cps[pos + i] != text.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        private static boolean isAsciiLetter(int cp) {
+            return cp >= 'a' && cp <= 'z' || cp >= 'A' && cp <= 'Z';
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.project.fraudruleapi.fraud.evaluator.regex;
+
+/**
+ * Thrown when a match is abandoned for exceeding its step budget. The
+ * evaluator reports the rule as not evaluated rather than as no match. It
+ * carries no stack trace, since it is raised on the request path.
+ */
+public class RegexBudgetExceededException extends RuntimeException {
+    public RegexBudgetExceededException(String pattern, long budget, int inputLength) {
+        super("Regex " + pattern + " exceeded its budget of " + budget + " steps on a "
+                + inputLength + "-char input", null, false, false);
+    }
+}
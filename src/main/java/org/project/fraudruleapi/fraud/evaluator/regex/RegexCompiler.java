@@ -0,0 +1,118 @@
+package org.project.fraudruleapi.fraud.evaluator.regex;
+
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.shared.enums.RegexEngine;
+import org.project.fraudruleapi.shared.util.LruCache;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles REGEX condition patterns for the configured engine and keeps
+ * them in a bounded LRU cache. Every pattern is calibrated on a few probe
+ * inputs when compiled: the steps it needs per input character set its
+ * match budget, and a pattern that already blows the probe budget is
+ * rejected instead of being allowed to run on live traffic.
+ */
+@Slf4j
+public final class RegexCompiler {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final int PROBE_LENGTH = 64;
+    private static final long PROBE_BUDGET = 1_000_000;
+    private static final long BUDGET_HEADROOM = 16;
+    private static final long MIN_STEPS_PER_CHAR = 256;
+
+    private final RegexEngine engine;
+    private final LruCache<String, Optional<CompiledRegex>> cache;
+
+    public RegexCompiler(RegexEngine engine, int cacheSize) {
+        this.engine = engine;
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    public RegexEngine getEngine() {
+        return engine;
+    }
+
+    public int cachedPatterns() {
+        return cache.size();
+    }
+
+    public long evictions() {
+        return cache.evictions();
+    }
+
+    /**
+     * Returns the compiled pattern, or empty when it was rejected as too
+     * expensive to match.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the pattern is invalid
+     */
+    public Optional<CompiledRegex> compile(String regex) {
+        return cache.computeIfAbsent(regex, this::compileUncached);
+    }
+
+    private Optional<CompiledRegex> compileUncached(String regex) {
+        Pattern validated = Pattern.compile(regex);
+        CompiledRegex compiled = null;
+        if (engine == RegexEngine.LINEAR) {
+            compiled = LinearRegex.parse(regex);
+            if (compiled == null) {
+                log.warn("Regex {} uses constructs the linear engine does not support, "
+                        + "falling back to the budgeted backtracking engine", regex);
+            }
+        }
+        if (compiled == null) {
+            compiled = new BacktrackingRegex(validated);
+        }
+
+        if (!calibrate(compiled)) {
+            log.warn("Regex {} exceeded {} steps on a {}-char probe, rejecting it", regex, PROBE_BUDGET, PROBE_LENGTH);
+            return Optional.empty();
+        }
+        log.debug("Compiled regex {} with the {} engine, budget {} steps per char",
+                regex, compiled.engine(), compiled.stepsPerChar());
+        return Optional.of(compiled);
+    }
+
+    private static boolean calibrate(CompiledRegex regex) {
+        long maxSteps = 0;
+        for (String probe : probes(regex.pattern())) {
+            long outcome = regex.run(probe, PROBE_BUDGET);
+            if (outcome == CompiledRegex.EXCEEDED) {
+                return false;
+            }
+            maxSteps = Math.max(maxSteps, CompiledRegex.steps(outcome));
+        }
+
+        long stepsPerChar = Math.max(MIN_STEPS_PER_CHAR, maxSteps * BUDGET_HEADROOM / (PROBE_LENGTH + 1));
+        if (regex instanceof LinearRegex linear) {
+            // never cut off a linear match below its theoretical bound
+            stepsPerChar = Math.max(stepsPerChar, linear.maxStepsPerChar());
+        }
+        regex.setStepsPerChar(stepsPerChar);
+        return true;
+    }
+
+    /**
+     * Inputs built from the pattern's own letters and digits, once as is and
+     * once with a trailing character that forces a backtracking matcher to
+     * exhaust its alternatives.
+     */
+    private static String[] probes(String pattern) {
+        StringBuilder alphabet = new StringBuilder();
+        pattern.chars().filter(Character::isLetterOrDigit).forEach(c -> alphabet.append((char) c));
+        if (alphabet.isEmpty()) {
+            alphabet.append('a');
+        }
+
+        StringBuilder cycled = new StringBuilder(PROBE_LENGTH);
+        while (cycled.length() < PROBE_LENGTH) {
+            cycled.append(alphabet, 0, Math.min(alphabet.length(), PROBE_LENGTH - cycled.length()));
+        }
+        String repeated = String.valueOf(alphabet.charAt(0)).repeat(PROBE_LENGTH);
+        return new String[]{cycled.toString(), cycled + "\u0000", repeated, repeated + "\u0000"};
+    }
+}
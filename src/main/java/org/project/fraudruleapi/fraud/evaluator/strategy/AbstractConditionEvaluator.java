@@ -1,67 +1,34 @@
 package org.project.fraudruleapi.fraud.evaluator.strategy;
 
 import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 
-import java.lang.reflect.Field;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
 
 @Slf4j
 public abstract class AbstractConditionEvaluator implements ConditionEvaluator {
 
-    private static final Map<String, Field> FIELD_CACHE = new ConcurrentHashMap<>();
-
     protected Object getFieldValue(TransactionDto transaction, String fieldName) {
         if (fieldName == null) return null;
-        String normalized = normalizeField(fieldName);
-
-        try {
-            Field field = FIELD_CACHE.computeIfAbsent(normalized, n -> {
-                try {
-                    Field f = TransactionDto.class.getDeclaredField(n);
-                    f.setAccessible(true);
-                    return f;
-                } catch (NoSuchFieldException e) {
-                    log.debug("Field not found: {}", n);
-                    return null;
-                }
-            });
 
-            if (field != null) {
-                return field.get(transaction);
-            }
-        } catch (Exception e) {
-            log.error("Failed to access field {} on TransactionDto", normalized, e);
+        TransactionField field = TransactionField.resolve(fieldName).orElse(null);
+        if (field != null) {
+            return field.read(transaction);
         }
 
-        log.warn("No such field found for {}", normalized);
+        log.warn("No such field found for {}", fieldName);
         return null;
     }
 
-    protected String normalizeField(String fieldName) {
-        return switch (fieldName) {
-            case "transferType", "transactionType", "transaction_type" -> "transactionType";
-            case "transferAmount", "amount" -> "transferAmount";
-            case "beneficiary_account", "beneficiaryAccount" -> "beneficiaryAccount";
-            case "accountId", "account" -> "accountId";
-            case "currency" -> "currency";
-            case "transactionId", "transaction" -> "transactionId";
-            default -> snakeToCamel(fieldName);
-        };
-    }
-
-    protected String snakeToCamel(String value) {
-        if (!value.contains("_")) return value;
-        String[] parts = value.split("_");
-        StringBuilder sb = new StringBuilder(parts[0]);
-        for (int i = 1; i < parts.length; i++) {
-            if (!parts[i].isEmpty()) {
-                sb.append(Character.toUpperCase(parts[i].charAt(0)))
-                        .append(parts[i].substring(1));
-            }
+    protected TransactionField resolveField(String fieldName) {
+        TransactionField field = TransactionField.resolve(fieldName).orElse(null);
+        if (field == null) {
+            log.warn("Rule references unknown field {}, it will always read as null", fieldName);
         }
-        return sb.toString();
+        return field;
     }
 
     protected Double parseToDouble(Object value) {
@@ -78,5 +45,44 @@ public abstract class AbstractConditionEvaluator implements ConditionEvaluator {
             throw new IllegalArgumentException("Invalid numeric value: " + value, ex);
         }
     }
-}
 
+    public static Double tryParseToDouble(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    public static boolean isIntegral(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 0x1p53;
+    }
+
+    /**
+     * A null field value matches no numeric comparison.
+     */
+    protected CompiledPredicate compileComparison(Condition condition, IntPredicate outcome) {
+        Double threshold = tryParseToDouble(condition.value());
+        TransactionField field = resolveField(condition.field());
+        if (threshold == null || field == null) {
+            return transaction -> evaluate(condition, transaction);
+        }
+
+        double conditionValue = threshold;
+        if (field.getType().isNumeric()) {
+            return transaction -> !field.isNull(transaction)
+                    && outcome.test(Double.compare(field.readDouble(transaction), conditionValue));
+        }
+        return transaction -> {
+            Object fieldVal = field.read(transaction);
+            if (fieldVal == null) return false;
+            return outcome.test(Double.compare(parseToDouble(fieldVal), conditionValue));
+        };
+    }
+}
@@ -1,6 +1,8 @@
 package org.project.fraudruleapi.fraud.evaluator.strategy;
 
 import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.enums.ConditionType;
@@ -20,9 +22,7 @@ public class BetweenEvaluator extends AbstractConditionEvaluator {
     @Override
     public boolean evaluate(Condition condition, TransactionDto transaction) {
         Object fieldVal = getFieldValue(transaction, condition.field());
-        if (fieldVal == null) {
-            throw new IllegalArgumentException("Field " + condition.field() + " is null, cannot compare numerically");
-        }
+        if (fieldVal == null) return false;
 
         List<?> range = parseRange(condition.value());
         if (range.size() != 2) {
@@ -42,5 +42,33 @@ public class BetweenEvaluator extends AbstractConditionEvaluator {
         }
         throw new IllegalArgumentException("BETWEEN condition value must be a list [min, max], got: " + value);
     }
-}
 
+    @Override
+    public CompiledPredicate compile(Condition condition) {
+        if (!(condition.value() instanceof List<?> range) || range.size() != 2) {
+            return transaction -> evaluate(condition, transaction);
+        }
+        Double min = tryParseToDouble(range.get(0));
+        Double max = tryParseToDouble(range.get(1));
+        TransactionField field = resolveField(condition.field());
+        if (min == null || max == null || field == null) {
+            return transaction -> evaluate(condition, transaction);
+        }
+
+        double lower = min;
+        double upper = max;
+        if (field.getType().isNumeric()) {
+            return transaction -> {
+                if (field.isNull(transaction)) return false;
+                double fieldValue = field.readDouble(transaction);
+                return Double.compare(fieldValue, lower) >= 0 && Double.compare(fieldValue, upper) <= 0;
+            };
+        }
+        return transaction -> {
+            Object fieldVal = field.read(transaction);
+            if (fieldVal == null) return false;
+            double fieldValue = parseToDouble(fieldVal);
+            return Double.compare(fieldValue, lower) >= 0 && Double.compare(fieldValue, upper) <= 0;
+        };
+    }
+}
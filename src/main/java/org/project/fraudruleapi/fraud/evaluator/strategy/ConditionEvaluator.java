@@ -1,5 +1,6 @@
 package org.project.fraudruleapi.fraud.evaluator.strategy;
 
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.enums.ConditionType;
@@ -9,5 +10,8 @@ public interface ConditionEvaluator {
     ConditionType getSupportedType();
 
     boolean evaluate(Condition condition, TransactionDto transaction);
-}
 
+    default CompiledPredicate compile(Condition condition) {
+        return transaction -> evaluate(condition, transaction);
+    }
+}
@@ -1,5 +1,7 @@
 package org.project.fraudruleapi.fraud.evaluator.strategy;
 
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.enums.ConditionType;
@@ -22,5 +24,18 @@ public class ContainsEvaluator extends AbstractConditionEvaluator {
         String searchValue = String.valueOf(condition.value()).toLowerCase();
         return fieldValue.contains(searchValue);
     }
-}
 
+    @Override
+    public CompiledPredicate compile(Condition condition) {
+        String searchValue = String.valueOf(condition.value()).toLowerCase();
+        TransactionField field = resolveField(condition.field());
+        if (field == null) {
+            return transaction -> false;
+        }
+        return transaction -> {
+            Object fieldVal = field.read(transaction);
+            if (fieldVal == null) return false;
+            return String.valueOf(fieldVal).toLowerCase().contains(searchValue);
+        };
+    }
+}
@@ -1,5 +1,8 @@
 package org.project.fraudruleapi.fraud.evaluator.strategy;
 
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
+import org.project.fraudruleapi.fraud.evaluator.field.FieldType;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.enums.ConditionType;
@@ -31,5 +34,46 @@ public class EqualsEvaluator extends AbstractConditionEvaluator {
             return String.valueOf(fieldVal).equalsIgnoreCase(String.valueOf(condVal));
         }
     }
-}
 
+    @Override
+    public CompiledPredicate compile(Condition condition) {
+        Object condVal = condition.value();
+        TransactionField field = resolveField(condition.field());
+        if (field == null) {
+            boolean outcome = condVal == null;
+            return transaction -> outcome;
+        }
+
+        if (field.getType() == FieldType.ENUM) {
+            int ordinal = field.ordinalOf(String.valueOf(condVal));
+            return transaction -> {
+                if (field.isNull(transaction)) return condVal == null;
+                return (field.readOrdinal(transaction) == ordinal);
+            };
+        }
+
+        Double numericValue = tryParseToDouble(condVal);
+        if (field.getType() == FieldType.LONG && numericValue != null && isIntegral(numericValue)) {
+            long conditionValue = numericValue.longValue();
+            return transaction -> {
+                if (field.isNull(transaction)) return condVal == null;
+                return field.readLong(transaction) == conditionValue;
+            };
+        }
+
+        if (field.getType().isNumeric()) {
+            return transaction -> {
+                if (field.isNull(transaction)) return condVal == null;
+                double conditionValue = numericValue != null ? numericValue : parseToDouble(condVal);
+                return Double.compare(field.readDouble(transaction), conditionValue) == 0;
+            };
+        }
+
+        String stringValue = String.valueOf(condVal);
+        return transaction -> {
+            Object fieldVal = field.read(transaction);
+            if (fieldVal == null) return condVal == null;
+            return String.valueOf(fieldVal).equalsIgnoreCase(stringValue);
+        };
+    }
+}
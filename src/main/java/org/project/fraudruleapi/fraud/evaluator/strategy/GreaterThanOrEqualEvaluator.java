@@ -1,5 +1,6 @@
 package org.project.fraudruleapi.fraud.evaluator.strategy;
 
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.enums.ConditionType;
@@ -16,13 +17,15 @@ public class GreaterThanOrEqualEvaluator extends AbstractConditionEvaluator {
     @Override
     public boolean evaluate(Condition condition, TransactionDto transaction) {
         Object fieldVal = getFieldValue(transaction, condition.field());
-        if (fieldVal == null) {
-            throw new IllegalArgumentException("Field " + condition.field() + " is null, cannot compare numerically");
-        }
+        if (fieldVal == null) return false;
 
         double fieldValue = parseToDouble(fieldVal);
         double conditionValue = parseToDouble(condition.value());
         return Double.compare(fieldValue, conditionValue) >= 0;
     }
-}
 
+    @Override
+    public CompiledPredicate compile(Condition condition) {
+        return compileComparison(condition, cmp -> cmp >= 0);
+    }
+}
@@ -3,14 +3,20 @@ package org.project.fraudruleapi.fraud.evaluator.strategy;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
+import org.project.fraudruleapi.fraud.evaluator.field.FieldType;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.enums.ConditionType;
+import org.project.fraudruleapi.shared.util.LongHashSet;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,6 +36,9 @@ public class IncludeEvaluator extends AbstractConditionEvaluator {
         if (fieldVal == null) return false;
 
         List<String> candidates = parseList(condition.value());
+        if (fieldVal instanceof Enum<?> constant) {
+            return candidates.stream().anyMatch(constant.name()::equalsIgnoreCase);
+        }
         String fieldValue = String.valueOf(fieldVal);
         return candidates.contains(fieldValue) || candidates.contains(removeQuotes(fieldValue));
     }
@@ -59,5 +68,63 @@ public class IncludeEvaluator extends AbstractConditionEvaluator {
     private String removeQuotes(String value) {
         return value.replaceAll("^\"|\"$", "");
     }
-}
 
+    @Override
+    public CompiledPredicate compile(Condition condition) {
+        List<String> candidates = parseList(condition.value());
+        TransactionField field = resolveField(condition.field());
+        if (field == null) {
+            return transaction -> false;
+        }
+
+        if (field.getType() == FieldType.LONG) {
+            LongHashSet members = toLongSet(candidates);
+            return transaction -> !field.isNull(transaction) && members.contains(field.readLong(transaction));
+        }
+
+        if (field.getType() == FieldType.ENUM) {
+            // members resolve to constants like EQUALS literals, ignoring case
+            boolean[] included = new boolean[field.getEnumType().getEnumConstants().length];
+            for (String candidate : candidates) {
+                int ordinal = field.ordinalOf(candidate);
+                if (ordinal >= 0) {
+                    included[ordinal] = true;
+                }
+            }
+            return transaction -> {
+                int ordinal = field.readOrdinal(transaction);
+                return ordinal >= 0 && included[ordinal];
+            };
+        }
+
+        Set<String> members = new HashSet<>(candidates);
+        return transaction -> {
+            Object fieldVal = field.read(transaction);
+            if (fieldVal == null) return false;
+
+            String fieldValue = String.valueOf(fieldVal);
+            return members.contains(fieldValue) || (isQuoted(fieldValue) && members.contains(removeQuotes(fieldValue)));
+        };
+    }
+
+    // a long field only ever renders as its canonical decimal form, so other candidates can never match
+    private LongHashSet toLongSet(List<String> candidates) {
+        LongHashSet members = new LongHashSet(candidates.size());
+        for (String candidate : candidates) {
+            if (candidate == null) continue;
+            try {
+                long value = Long.parseLong(candidate);
+                if (Long.toString(value).equals(candidate)) {
+                    members.add(value);
+                }
+            } catch (NumberFormatException ignored) {
+                // not a long, cannot equal a long field value
+            }
+        }
+        return members;
+    }
+
+    private boolean isQuoted(String value) {
+        return !value.isEmpty() && (value.charAt(0) == '"' || value.charAt(value.length() - 1) == '"');
+    }
+}
@@ -1,5 +1,6 @@
 package org.project.fraudruleapi.fraud.evaluator.strategy;
 
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.enums.ConditionType;
@@ -9,6 +10,7 @@ import java.util.Objects;
 
 @Component
 public class NotEqualsEvaluator extends AbstractConditionEvaluator {
+    private static final EqualsEvaluator EQUALS = new EqualsEvaluator();
 
     @Override
     public ConditionType getSupportedType() {
@@ -31,5 +33,14 @@ public class NotEqualsEvaluator extends AbstractConditionEvaluator {
             return !String.valueOf(fieldVal).equalsIgnoreCase(String.valueOf(condVal));
         }
     }
-}
 
+    /**
+     * Exactly the negation of {@link EqualsEvaluator#compile}, including for
+     * null fields and null literals.
+     */
+    @Override
+    public CompiledPredicate compile(Condition condition) {
+        CompiledPredicate equals = EQUALS.compile(condition);
+        return transaction -> !equals.test(transaction);
+    }
+}
@@ -1,23 +1,42 @@
 package org.project.fraudruleapi.fraud.evaluator.strategy;
 
 import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.evaluator.regex.CompiledRegex;
+import org.project.fraudruleapi.fraud.evaluator.regex.RegexCompiler;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
 import org.project.fraudruleapi.shared.enums.ConditionType;
+import org.project.fraudruleapi.shared.enums.RegexEngine;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 @Slf4j
 @Component
 public class RegexEvaluator extends AbstractConditionEvaluator {
 
-    private static final Map<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
     private static final int MAX_PATTERN_LENGTH = 256;
 
+    private final RegexCompiler regexCompiler;
+
+    public RegexEvaluator() {
+        this(new RegexCompiler(RegexEngine.LINEAR, RegexCompiler.DEFAULT_CACHE_SIZE));
+    }
+
+    @Autowired
+    public RegexEvaluator(ApplicationConfiguration config) {
+        this(new RegexCompiler(config.getFraud().getEvaluation().getRegexEngine(),
+                config.getFraud().getEvaluation().getRegexCacheSize()));
+    }
+
+    private RegexEvaluator(RegexCompiler regexCompiler) {
+        this.regexCompiler = regexCompiler;
+    }
+
     @Override
     public ConditionType getSupportedType() {
         return ConditionType.REGEX;
@@ -35,12 +54,43 @@ public class RegexEvaluator extends AbstractConditionEvaluator {
         }
 
         try {
-            Pattern pattern = PATTERN_CACHE.computeIfAbsent(regex, Pattern::compile);
-            return pattern.matcher(String.valueOf(fieldVal)).matches();
+            return regexCompiler.compile(regex)
+                    .map(pattern -> pattern.matches(String.valueOf(fieldVal)))
+                    .orElse(false);
         } catch (PatternSyntaxException e) {
             log.error("Invalid regex pattern: {}", regex, e);
             return false;
         }
     }
-}
 
+    @Override
+    public CompiledPredicate compile(Condition condition) {
+        String regex = String.valueOf(condition.value());
+        if (regex.length() > MAX_PATTERN_LENGTH) {
+            log.warn("Regex pattern too long ({} chars), rule leaf will never match", regex.length());
+            return transaction -> false;
+        }
+
+        CompiledRegex pattern;
+        try {
+            pattern = regexCompiler.compile(regex).orElse(null);
+        } catch (PatternSyntaxException e) {
+            log.error("Invalid regex pattern: {}, rule leaf will never match", regex, e);
+            return transaction -> false;
+        }
+
+        if (pattern == null) {
+            log.error("Regex pattern {} is too expensive to match, rule leaf will never match", regex);
+            return transaction -> false;
+        }
+        TransactionField field = resolveField(condition.field());
+        if (field == null) {
+            return transaction -> false;
+        }
+        return transaction -> {
+            Object fieldVal = field.read(transaction);
+            if (fieldVal == null) return false;
+            return pattern.matches(String.valueOf(fieldVal));
+        };
+    }
+}
@@ -11,6 +11,7 @@ public record FraudDetectionResponse(
         int riskScore,
         String severity,
         List<String> matchedRules,
+        List<String> unevaluatedRules,
         long processingTimeMs
 ) {}
 
@@ -0,0 +1,29 @@
+package org.project.fraudruleapi.fraud.model;
+
+import java.util.function.Supplier;
+
+/**
+ * A built-in check that fired. The description is only rendered when the
+ * match is persisted or returned in detail.
+ */
+public record RuleMatch(
+        String ruleId,
+        String ruleName,
+        int weight,
+        Supplier<String> describer
+) {
+    public String description() {
+        return describer.get();
+    }
+
+    public EvaluationResult toResult() {
+        return EvaluationResult.builder()
+                .ruleId(ruleId)
+                .ruleName(ruleName)
+                .description(description())
+                .matched(true)
+                .weight(weight)
+                .evaluationTimeMs(0)
+                .build();
+    }
+}
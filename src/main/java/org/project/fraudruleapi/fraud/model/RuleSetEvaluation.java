@@ -0,0 +1,26 @@
+package org.project.fraudruleapi.fraud.model;
+
+import lombok.Builder;
+import org.project.fraudruleapi.fraud.evaluator.MatchedRules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Builder
+public record RuleSetEvaluation(
+        MatchedRules matched,
+        List<String> unevaluatedRules
+) {
+    public static RuleSetEvaluation complete(MatchedRules matched) {
+        return new RuleSetEvaluation(matched, List.of());
+    }
+
+    public RuleSetEvaluation plus(RuleSetEvaluation other) {
+        List<String> unevaluated = unevaluatedRules;
+        if (!other.unevaluatedRules.isEmpty()) {
+            unevaluated = new ArrayList<>(unevaluatedRules);
+            unevaluated.addAll(other.unevaluatedRules);
+        }
+        return new RuleSetEvaluation(matched.plus(other.matched), unevaluated);
+    }
+}
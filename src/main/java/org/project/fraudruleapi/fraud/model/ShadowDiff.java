@@ -0,0 +1,31 @@
+package org.project.fraudruleapi.fraud.model;
+
+import java.util.List;
+
+/**
+ * How the shadow candidate's outcome for one transaction differs from the
+ * active rules. Rule lists are empty when the active rules ran in
+ * decision-only mode, since their matched list is then partial.
+ */
+public record ShadowDiff(
+        String transactionId,
+        String championSeverity,
+        String challengerSeverity,
+        int championScore,
+        int challengerScore,
+        boolean decisionChanged,
+        List<String> addedRules,
+        List<String> removedRules
+) {
+    public boolean severityChanged() {
+        return !championSeverity.equals(challengerSeverity);
+    }
+
+    public boolean rulesChanged() {
+        return !addedRules.isEmpty() || !removedRules.isEmpty();
+    }
+
+    public boolean hasDifferences() {
+        return decisionChanged || severityChanged() || rulesChanged();
+    }
+}
@@ -0,0 +1,9 @@
+package org.project.fraudruleapi.fraud.repository;
+
+import org.project.fraudruleapi.fraud.entity.ShadowDiffEntity;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ShadowDiffRepository extends ReactiveCrudRepository<ShadowDiffEntity, Long> {
+}
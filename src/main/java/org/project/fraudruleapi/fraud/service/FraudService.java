@@ -6,14 +6,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.project.fraudruleapi.fraud.entity.FraudEntity;
 import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.MatchedRules;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
 import org.project.fraudruleapi.fraud.mapper.TransactionMapper;
 import org.project.fraudruleapi.fraud.model.EvaluationResult;
 import org.project.fraudruleapi.fraud.model.FraudDetectionResponse;
-import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.RuleMatch;
+import org.project.fraudruleapi.fraud.model.RuleSetEvaluation;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.fraud.repository.FraudRepository;
 import org.project.fraudruleapi.fraud.repository.TransactionRepository;
-import org.project.fraudruleapi.shared.cache.RuleCache;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
 import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
 import org.project.fraudruleapi.shared.exception.ResourceNotFound;
 import org.springframework.stereotype.Service;
@@ -33,7 +36,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FraudService {
 
-    private final RuleCache ruleCache;
+    private final CompiledRuleCache compiledRuleCache;
     private final FraudEvaluator fraudEvaluator;
     private final FraudRepository fraudRepository;
     private final TransactionRepository transactionRepository;
@@ -43,6 +46,7 @@ public class FraudService {
     private final SelfTransferCheckService selfTransferCheckService;
     private final HighValueCheckService highValueCheckService;
     private final OffHoursCheckService offHoursCheckService;
+    private final ShadowEvaluationService shadowEvaluationService;
     private final Counter fraudDetectionCounter;
     private final Counter transactionProcessedCounter;
 
@@ -60,6 +64,7 @@ public class FraudService {
                                 .riskScore(0)
                                 .severity("DUPLICATE")
                                 .matchedRules(List.of())
+                                .unevaluatedRules(List.of())
                                 .processingTimeMs(0L)
                                 .build());
                     }
@@ -70,7 +75,8 @@ public class FraudService {
     private Mono<FraudDetectionResponse> processTransaction(TransactionDto transaction, Instant startTime) {
         return saveTransaction(transaction)
                 .then(performFraudChecks(transaction))
-                .flatMap(results -> {
+                .flatMap(evaluation -> {
+                    MatchedRules results = evaluation.matched();
                     boolean isFraud = !results.isEmpty();
                     int riskScore = fraudEvaluator.calculateRiskScore(results);
                     String severity = fraudEvaluator.determineSeverity(riskScore);
@@ -80,9 +86,11 @@ public class FraudService {
                             .isFraud(isFraud)
                             .riskScore(riskScore)
                             .severity(severity)
-                            .matchedRules(results.stream().map(EvaluationResult::ruleId).toList())
+                            .matchedRules(results.ruleIds())
+                            .unevaluatedRules(evaluation.unevaluatedRules())
                             .processingTimeMs(Duration.between(startTime, Instant.now()).toMillis())
                             .build();
+                    shadowEvaluationService.submit(transaction, results);
 
                     if (isFraud) {
                         return saveFraudEventsReactive(transaction, results, severity).thenReturn(response);
@@ -107,7 +115,10 @@ public class FraudService {
                 .then();
     }
 
-    private Mono<List<EvaluationResult>> performFraudChecks(TransactionDto transaction) {
+    private Mono<RuleSetEvaluation> performFraudChecks(TransactionDto transaction) {
+        if (config.getFraud().getEvaluation().isDecisionOnly()) {
+            return performDecisionChecks(transaction);
+        }
         return Mono.zip(
                 evaluateRules(transaction),
                 checkVelocity(transaction),
@@ -116,30 +127,62 @@ public class FraudService {
                 highValueCheckService.checkHighValue(transaction),
                 offHoursCheckService.checkOffHours(transaction)
         ).map(tuple -> {
-            List<EvaluationResult> allResults = new ArrayList<>(tuple.getT1());
-            allResults.addAll(tuple.getT2());
-            allResults.addAll(tuple.getT3());
-            allResults.addAll(tuple.getT4());
-            allResults.addAll(tuple.getT5());
-            allResults.addAll(tuple.getT6());
-            return allResults;
+            MatchedRules allResults = tuple.getT1().matched()
+                    .withChecks(tuple.getT2())
+                    .withChecks(tuple.getT3())
+                    .withChecks(tuple.getT4())
+                    .withChecks(tuple.getT5())
+                    .withChecks(tuple.getT6());
+            return new RuleSetEvaluation(allResults, tuple.getT1().unevaluatedRules());
         });
     }
 
-    private Mono<List<EvaluationResult>> evaluateRules(TransactionDto transaction) {
-        return ruleCache.getActiveRule()
-                .map(ruleDto -> {
-                    List<RuleDefinition> rules = fraudEvaluator.getRules(ruleDto);
-                    return fraudEvaluator.evaluateAllRules(rules, transaction);
-                })
-                .onErrorResume(ResourceNotFound.class, e -> {
-                    log.warn("No active rules found, skipping rule evaluation");
-                    return Mono.just(List.of());
-                })
+    /**
+     * Runs the built-in checks first so that rule evaluation can stop as soon
+     * as their combined score settles the decision. The fraud flag and
+     * severity are exact, but the risk score and the fraud events saved for
+     * the transaction only reflect the rules evaluated before stopping.
+     */
+    private Mono<RuleSetEvaluation> performDecisionChecks(TransactionDto transaction) {
+        return Mono.zip(
+                checkVelocity(transaction),
+                crossBorderCheckService.checkCrossBorder(transaction),
+                selfTransferCheckService.checkSelfTransfer(transaction),
+                highValueCheckService.checkHighValue(transaction),
+                offHoursCheckService.checkOffHours(transaction)
+        ).flatMap(tuple -> {
+            List<RuleMatch> checks = new ArrayList<>(tuple.getT1());
+            checks.addAll(tuple.getT2());
+            checks.addAll(tuple.getT3());
+            checks.addAll(tuple.getT4());
+            checks.addAll(tuple.getT5());
+            return applicableRuleSets(transaction)
+                    .map(ruleSets -> fraudEvaluator.evaluateDecision(ruleSets, transaction, checks))
+                    .subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    private Mono<RuleSetEvaluation> evaluateRules(TransactionDto transaction) {
+        return applicableRuleSets(transaction)
+                .map(ruleSets -> fraudEvaluator.evaluateRuleSets(ruleSets, transaction))
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
-    private Mono<List<EvaluationResult>> checkVelocity(TransactionDto transaction) {
+    /**
+     * The active rule packs routed to this transaction: every pack without a
+     * route plus the packs routed on one of its attribute values.
+     */
+    private Mono<List<CompiledRuleSet>> applicableRuleSets(TransactionDto transaction) {
+        return compiledRuleCache.snapshot()
+                .map(packs -> {
+                    if (packs.isEmpty()) {
+                        log.warn("No active rules found, skipping rule evaluation");
+                    }
+                    return packs.route(transaction);
+                });
+    }
+
+    private Mono<List<RuleMatch>> checkVelocity(TransactionDto transaction) {
         if (!config.getFraud().getVelocity().isEnabled()) {
             return Mono.just(List.of());
         }
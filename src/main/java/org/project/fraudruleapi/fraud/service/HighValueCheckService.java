@@ -2,13 +2,12 @@ package org.project.fraudruleapi.fraud.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.project.fraudruleapi.fraud.model.EvaluationResult;
+import org.project.fraudruleapi.fraud.model.RuleMatch;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -21,13 +20,12 @@ public class HighValueCheckService {
 
     private final ApplicationConfiguration config;
 
-    public Mono<List<EvaluationResult>> checkHighValue(TransactionDto transaction) {
+    public Mono<List<RuleMatch>> checkHighValue(TransactionDto transaction) {
         return Mono.fromCallable(() -> {
-            List<EvaluationResult> results = new ArrayList<>();
             var amountConfig = config.getFraud().getAmount();
 
             if (transaction.transferAmount() == null) {
-                return results;
+                return List.of();
             }
 
             double amount = transaction.transferAmount();
@@ -35,36 +33,22 @@ public class HighValueCheckService {
             double suspiciousThreshold = amountConfig.getSuspiciousThreshold().doubleValue();
 
             if (amount >= highValueThreshold) {
-                log.warn("High-value transaction detected for account {}: amount {} exceeds threshold {}",
+                log.debug("High-value transaction detected for account {}: amount {} exceeds threshold {}",
                         transaction.accountId(), amount, highValueThreshold);
 
-                results.add(EvaluationResult.builder()
-                        .ruleId(HIGH_VALUE_RULE_ID)
-                        .ruleName("High-Value Transaction Detection")
-                        .description(String.format(
-                                "Transaction amount %.2f exceeds high-value threshold %.2f for account %d",
-                                amount, highValueThreshold, transaction.accountId()))
-                        .matched(true)
-                        .weight(35)
-                        .evaluationTimeMs(0)
-                        .build());
+                return List.of(new RuleMatch(HIGH_VALUE_RULE_ID, "High-Value Transaction Detection", 35,
+                        () -> String.format("Transaction amount %.2f exceeds high-value threshold %.2f for account %d",
+                                amount, highValueThreshold, transaction.accountId())));
             } else if (amount >= suspiciousThreshold) {
-                log.info("Suspicious amount transaction detected for account {}: amount {} exceeds suspicious threshold {}",
+                log.debug("Suspicious amount transaction detected for account {}: amount {} exceeds suspicious threshold {}",
                         transaction.accountId(), amount, suspiciousThreshold);
 
-                results.add(EvaluationResult.builder()
-                        .ruleId(SUSPICIOUS_AMOUNT_RULE_ID)
-                        .ruleName("Suspicious Amount Detection")
-                        .description(String.format(
-                                "Transaction amount %.2f exceeds suspicious threshold %.2f for account %d",
-                                amount, suspiciousThreshold, transaction.accountId()))
-                        .matched(true)
-                        .weight(20)
-                        .evaluationTimeMs(0)
-                        .build());
+                return List.of(new RuleMatch(SUSPICIOUS_AMOUNT_RULE_ID, "Suspicious Amount Detection", 20,
+                        () -> String.format("Transaction amount %.2f exceeds suspicious threshold %.2f for account %d",
+                                amount, suspiciousThreshold, transaction.accountId())));
             }
 
-            return results;
+            return List.of();
         });
     }
 }
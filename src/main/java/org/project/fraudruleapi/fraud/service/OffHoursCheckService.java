@@ -2,7 +2,7 @@ package org.project.fraudruleapi.fraud.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.project.fraudruleapi.fraud.model.EvaluationResult;
+import org.project.fraudruleapi.fraud.model.RuleMatch;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
 import org.springframework.stereotype.Service;
@@ -10,7 +10,6 @@ import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -22,17 +21,16 @@ public class OffHoursCheckService {
 
     private final ApplicationConfiguration config;
 
-    public Mono<List<EvaluationResult>> checkOffHours(TransactionDto transaction) {
+    public Mono<List<RuleMatch>> checkOffHours(TransactionDto transaction) {
         return Mono.fromCallable(() -> {
-            List<EvaluationResult> results = new ArrayList<>();
             var offHoursConfig = config.getFraud().getOffHours();
 
             if (!offHoursConfig.isEnabled()) {
-                return results;
+                return List.of();
             }
 
             if (transaction.timeStamp() == null) {
-                return results;
+                return List.of();
             }
 
             LocalDateTime txTime = transaction.timeStamp();
@@ -41,22 +39,15 @@ public class OffHoursCheckService {
             int endHour = offHoursConfig.getBusinessEndHour();
 
             if (hour < startHour || hour >= endHour) {
-                log.warn("Off-hours transaction detected for account {}: transaction at {}:00 (business hours: {}:00 - {}:00)",
+                log.debug("Off-hours transaction detected for account {}: transaction at {}:00 (business hours: {}:00 - {}:00)",
                         transaction.accountId(), hour, startHour, endHour);
 
-                results.add(EvaluationResult.builder()
-                        .ruleId(RULE_ID)
-                        .ruleName("Off-Hours Transaction Detection")
-                        .description(String.format(
-                                "Transaction at %02d:00 is outside business hours (%02d:00 - %02d:00) for account %d",
-                                hour, startHour, endHour, transaction.accountId()))
-                        .matched(true)
-                        .weight(offHoursConfig.getWeight())
-                        .evaluationTimeMs(0)
-                        .build());
+                return List.of(new RuleMatch(RULE_ID, "Off-Hours Transaction Detection", offHoursConfig.getWeight(),
+                        () -> String.format("Transaction at %02d:00 is outside business hours (%02d:00 - %02d:00) for account %d",
+                                hour, startHour, endHour, transaction.accountId())));
             }
 
-            return results;
+            return List.of();
         });
     }
 }
@@ -0,0 +1,370 @@
+package org.project.fraudruleapi.fraud.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.entity.ShadowDiffEntity;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.MatchedRules;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.fraud.model.ShadowDiff;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.fraud.repository.ShadowDiffRepository;
+import org.project.fraudruleapi.rules.mapper.RuleMapper;
+import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.rules.model.RuleRoute;
+import org.project.fraudruleapi.rules.repository.RuleRepository;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Champion/challenger evaluation of a rule document before it is activated.
+ * A sample of validated transactions is handed to a single background thread
+ * through a bounded queue; when the queue is full the transaction is dropped
+ * rather than holding up the request. The thread re-evaluates each one with
+ * the candidate in place of the active pack on the candidate's route and
+ * records the differences as metrics, and optionally in
+ * {@code fraud.shadow_diffs}.
+ * <p>
+ * The thread's CPU time is capped at {@code cpu-budget} of one core: every
+ * evaluation draws its measured CPU time from a budget that refills at that
+ * rate, and queued transactions are dropped while it is spent. Persisted
+ * diffs go through a second bounded buffer written in batches, one batch at
+ * a time, and are dropped when the database falls behind.
+ */
+@Slf4j
+@Service
+public class ShadowEvaluationService {
+
+    private static final long BUDGET_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final CompiledRuleCache compiledRuleCache;
+    private final RuleRepository ruleRepository;
+    private final FraudEvaluator fraudEvaluator;
+    private final ShadowDiffRepository shadowDiffRepository;
+    private final ApplicationConfiguration config;
+    private final ApplicationConfiguration.ShadowConfig shadowConfig;
+    private final BlockingQueue<ShadowTask> queue;
+    private final BlockingQueue<ShadowDiffEntity> pendingDiffs;
+    private final AtomicBoolean persisting = new AtomicBoolean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Thread worker;
+
+    private final Counter evaluations;
+    private final Counter droppedOverload;
+    private final Counter droppedBudget;
+    private final Counter decisionDiffs;
+    private final Counter severityDiffs;
+    private final Counter ruleDiffs;
+    private final Counter droppedDiffs;
+    private final Timer evaluationTime;
+
+    private volatile Candidate candidate;
+    private volatile boolean running = true;
+
+    // only touched by the worker thread
+    private long budgetNanos;
+    private long budgetRefilledAt = System.nanoTime();
+
+    public ShadowEvaluationService(CompiledRuleCache compiledRuleCache, RuleRepository ruleRepository,
+                                   FraudEvaluator fraudEvaluator, ShadowDiffRepository shadowDiffRepository,
+                                   ApplicationConfiguration config, MeterRegistry registry) {
+        this.compiledRuleCache = compiledRuleCache;
+        this.ruleRepository = ruleRepository;
+        this.fraudEvaluator = fraudEvaluator;
+        this.shadowDiffRepository = shadowDiffRepository;
+        this.config = config;
+        this.shadowConfig = config.getFraud().getShadow();
+        this.queue = new ArrayBlockingQueue<>(shadowConfig.getQueueCapacity());
+        this.pendingDiffs = new ArrayBlockingQueue<>(shadowConfig.getQueueCapacity());
+
+        this.evaluations = Counter.builder("fraud.shadow.evaluations.total")
+                .description("Transactions evaluated against the shadow candidate")
+                .register(registry);
+        this.droppedOverload = Counter.builder("fraud.shadow.dropped.total")
+                .description("Sampled transactions dropped before shadow evaluation")
+                .tag("reason", "queue_full")
+                .register(registry);
+        this.droppedBudget = Counter.builder("fraud.shadow.dropped.total")
+                .description("Sampled transactions dropped before shadow evaluation")
+                .tag("reason", "cpu_budget")
+                .register(registry);
+        this.decisionDiffs = diffCounter(registry, "decision");
+        this.severityDiffs = diffCounter(registry, "severity");
+        this.ruleDiffs = diffCounter(registry, "rules");
+        this.droppedDiffs = Counter.builder("fraud.shadow.diffs.dropped.total")
+                .description("Shadow diffs not persisted because the write buffer was full")
+                .register(registry);
+        this.evaluationTime = Timer.builder("fraud.shadow.evaluation.cpu")
+                .description("CPU time spent on each shadow evaluation")
+                .register(registry);
+        registry.gauge("fraud.shadow.queue.size", queue, BlockingQueue::size);
+
+        if (shadowConfig.isEnabled()) {
+            this.worker = new Thread(this::run, "shadow-evaluator");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        } else {
+            this.worker = null;
+        }
+    }
+
+    private static Counter diffCounter(MeterRegistry registry, String kind) {
+        return Counter.builder("fraud.shadow.diffs.total")
+                .description("Shadow evaluations whose outcome differed from the active rules")
+                .tag("kind", kind)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Offers a validated transaction for shadow evaluation. Called on the
+     * request path, so it never blocks: unsampled transactions return at
+     * once and a full queue drops the transaction.
+     */
+    public void submit(TransactionDto transaction, MatchedRules champion) {
+        Candidate current = candidate;
+        if (current == null || ThreadLocalRandom.current().nextDouble() >= shadowConfig.getSampleRate()) {
+            return;
+        }
+        if (!queue.offer(new ShadowTask(current, transaction, champion))) {
+            droppedOverload.increment();
+        }
+    }
+
+    /**
+     * Reloads the candidate document named by {@code candidate-rule-id},
+     * recompiling it only when its version changed.
+     */
+    @Scheduled(fixedDelayString = "${app.fraud.shadow.refresh-interval-ms:30000}")
+    public Mono<Void> refreshCandidate() {
+        String candidateRuleId = shadowConfig.getCandidateRuleId();
+        if (!shadowConfig.isEnabled() || candidateRuleId == null || candidateRuleId.isBlank()) {
+            return Mono.empty();
+        }
+        return ruleRepository.findByRuleId(candidateRuleId)
+                .map(RuleMapper.INSTANCE::mapToRuleDto)
+                .doOnNext(this::load)
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    log.warn("Shadow candidate {} does not exist, shadow evaluation is paused", candidateRuleId);
+                    candidate = null;
+                }))
+                .onErrorResume(e -> {
+                    log.error("Failed to load shadow candidate {}", candidateRuleId, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void load(RuleDto ruleDto) {
+        if (Boolean.TRUE.equals(ruleDto.getActive())) {
+            if (candidate != null) {
+                log.info("Shadow candidate {} is now active, shadow evaluation is paused", ruleDto.getRuleId());
+            }
+            candidate = null;
+            return;
+        }
+        Candidate current = candidate;
+        if (current != null && current.ruleSet().isCompiledFrom(ruleDto)) {
+            return;
+        }
+        CompiledRuleSet ruleSet = compiledRuleCache.compile(ruleDto);
+        RuleRoute route = RuleRoute.of(ruleDto).orElse(null);
+        candidate = new Candidate(ruleSet, route, new RulePacks(List.of(new RulePacks.Pack(ruleSet, route))));
+        log.info("Shadow evaluating rule set {} (version {}) on {} of transactions{}", ruleSet.getRuleId(),
+                ruleSet.getVersion(), shadowConfig.getSampleRate(), route != null ? " routed to " + route : "");
+    }
+
+    /**
+     * Evaluates the current candidate against the active rules' outcome for
+     * one transaction on the calling thread. Empty when there is no candidate
+     * or it is routed away from the transaction.
+     */
+    public Optional<ShadowDiff> compare(TransactionDto transaction, MatchedRules champion) {
+        Candidate current = candidate;
+        return current == null ? Optional.empty() : compare(current, transaction, champion);
+    }
+
+    private Optional<ShadowDiff> compare(Candidate current, TransactionDto transaction, MatchedRules champion) {
+        if (current.routing().route(transaction).isEmpty()) {
+            return Optional.empty();
+        }
+        RulePacks packs = compiledRuleCache.current();
+        CompiledRuleSet replaced = null;
+        for (RulePacks.Pack pack : packs.getPacks()) {
+            if (Objects.equals(pack.route(), current.route())) {
+                replaced = pack.ruleSet();
+            }
+        }
+        List<CompiledRuleSet> challengerSets = new ArrayList<>();
+        for (CompiledRuleSet ruleSet : packs.route(transaction)) {
+            if (ruleSet != replaced) {
+                challengerSets.add(ruleSet);
+            }
+        }
+        challengerSets.add(current.ruleSet());
+
+        MatchedRules challenger = fraudEvaluator.evaluateInline(challengerSets, transaction)
+                .withChecks(champion.checks());
+        int championScore = fraudEvaluator.calculateRiskScore(champion);
+        int challengerScore = fraudEvaluator.calculateRiskScore(challenger);
+
+        List<String> added = List.of();
+        List<String> removed = List.of();
+        if (!config.getFraud().getEvaluation().isDecisionOnly()) {
+            added = difference(challenger.ruleIds(), champion.ruleIds());
+            removed = difference(champion.ruleIds(), challenger.ruleIds());
+        }
+        return Optional.of(new ShadowDiff(transaction.transactionId(),
+                fraudEvaluator.determineSeverity(championScore), fraudEvaluator.determineSeverity(challengerScore),
+                championScore, challengerScore, champion.isEmpty() != challenger.isEmpty(), added, removed));
+    }
+
+    private static List<String> difference(List<String> ids, List<String> excluded) {
+        Set<String> exclude = new HashSet<>(excluded);
+        List<String> remaining = new ArrayList<>(0);
+        for (String id : ids) {
+            if (!exclude.contains(id)) {
+                remaining.add(id);
+            }
+        }
+        return remaining;
+    }
+
+    private void run() {
+        while (running) {
+            ShadowTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!withinBudget()) {
+                droppedBudget.increment();
+                continue;
+            }
+            long start = cpuTime();
+            try {
+                compare(task.candidate(), task.transaction(), task.champion()).ifPresent(diff -> recordDiff(task, diff));
+            } catch (RuntimeException e) {
+                log.warn("Shadow evaluation of transaction {} failed: {}",
+                        task.transaction().transactionId(), e.getMessage());
+            } finally {
+                long spent = cpuTime() - start;
+                budgetNanos -= spent;
+                evaluationTime.record(spent, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private boolean withinBudget() {
+        long now = System.nanoTime();
+        double rate = shadowConfig.getCpuBudget();
+        budgetNanos = Math.min((long) (rate * BUDGET_WINDOW_NANOS),
+                budgetNanos + (long) ((now - budgetRefilledAt) * rate));
+        budgetRefilledAt = now;
+        return budgetNanos > 0;
+    }
+
+    private long cpuTime() {
+        long cpu = threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+        return cpu >= 0 ? cpu : System.nanoTime();
+    }
+
+    private void recordDiff(ShadowTask task, ShadowDiff diff) {
+        evaluations.increment();
+        if (!diff.hasDifferences()) {
+            return;
+        }
+        if (diff.decisionChanged()) {
+            decisionDiffs.increment();
+        }
+        if (diff.severityChanged()) {
+            severityDiffs.increment();
+        }
+        if (diff.rulesChanged()) {
+            ruleDiffs.increment();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Shadow candidate {} differs on transaction {}: {} -> {}, added {}, removed {}",
+                    task.candidate().ruleSet().getRuleId(), diff.transactionId(), diff.championSeverity(),
+                    diff.challengerSeverity(), diff.addedRules(), diff.removedRules());
+        }
+        if (shadowConfig.isPersistDiffs()) {
+            boolean buffered = pendingDiffs.offer(ShadowDiffEntity.builder()
+                            .candidateRuleId(task.candidate().ruleSet().getRuleId())
+                            .candidateVersion(task.candidate().ruleSet().getVersion())
+                            .transactionId(diff.transactionId())
+                            .championSeverity(diff.championSeverity())
+                            .challengerSeverity(diff.challengerSeverity())
+                            .championScore(diff.championScore())
+                            .challengerScore(diff.challengerScore())
+                            .addedRules(String.join(",", diff.addedRules()))
+                            .removedRules(String.join(",", diff.removedRules()))
+                            .detectedAt(Instant.now())
+                            .build());
+            if (!buffered) {
+                droppedDiffs.increment();
+            }
+            persistDiffs();
+        }
+    }
+
+    /**
+     * Writes the buffered diffs in batches with at most one batch in flight;
+     * the batch that completes starts the next one.
+     */
+    private void persistDiffs() {
+        if (pendingDiffs.isEmpty() || !persisting.compareAndSet(false, true)) {
+            return;
+        }
+        List<ShadowDiffEntity> batch = new ArrayList<>(shadowConfig.getPersistBatchSize());
+        pendingDiffs.drainTo(batch, shadowConfig.getPersistBatchSize());
+        shadowDiffRepository.saveAll(batch)
+                .then()
+                .doFinally(signal -> {
+                    persisting.set(false);
+                    persistDiffs();
+                })
+                .subscribe(null, e -> log.warn("Failed to persist {} shadow diffs: {}", batch.size(), e.getMessage()));
+    }
+
+    private record Candidate(CompiledRuleSet ruleSet, RuleRoute route, RulePacks routing) {
+    }
+
+    private record ShadowTask(Candidate candidate, TransactionDto transaction, MatchedRules champion) {
+    }
+}
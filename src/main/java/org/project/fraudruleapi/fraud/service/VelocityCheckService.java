@@ -2,7 +2,7 @@ package org.project.fraudruleapi.fraud.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.project.fraudruleapi.fraud.model.EvaluationResult;
+import org.project.fraudruleapi.fraud.model.RuleMatch;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.fraud.repository.TransactionRepository;
 import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
@@ -13,7 +13,6 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -28,33 +27,26 @@ public class VelocityCheckService {
     private final TransactionRepository transactionRepository;
     private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
 
-    public Mono<List<EvaluationResult>> checkVelocity(TransactionDto transaction) {
+    public Mono<List<RuleMatch>> checkVelocity(TransactionDto transaction) {
         var velocityConfig = config.getFraud().getVelocity();
         String key = VELOCITY_KEY_PREFIX + transaction.accountId();
 
         return incrementAndGetCount(key, velocityConfig.getWindowSeconds())
                 .map(count -> {
-                    List<EvaluationResult> results = new ArrayList<>();
-
                     if (count > velocityConfig.getMaxTransactions()) {
                         log.warn("Velocity limit exceeded for account {}: {} transactions in {}s window",
                                 transaction.accountId(), count, velocityConfig.getWindowSeconds());
 
-                        results.add(EvaluationResult.builder()
-                                .ruleId(VELOCITY_RULE_ID)
-                                .ruleName("Transaction Velocity Check")
-                                .description(String.format(
+                        return List.of(new RuleMatch(VELOCITY_RULE_ID, "Transaction Velocity Check", 0,
+                                () -> String.format(
                                         "Account %d exceeded velocity limit: %d transactions in %d seconds (max: %d)",
                                         transaction.accountId(),
                                         count,
                                         velocityConfig.getWindowSeconds(),
-                                        velocityConfig.getMaxTransactions()))
-                                .matched(true)
-                                .evaluationTimeMs(0)
-                                .build());
+                                        velocityConfig.getMaxTransactions())));
                     }
 
-                    return results;
+                    return List.<RuleMatch>of();
                 })
                 .onErrorResume(e -> {
                     log.error("Error checking velocity for account {}, falling back to DB check",
@@ -75,29 +67,22 @@ public class VelocityCheckService {
                 });
     }
 
-    private Mono<List<EvaluationResult>> checkVelocityFromDatabase(TransactionDto transaction) {
+    private Mono<List<RuleMatch>> checkVelocityFromDatabase(TransactionDto transaction) {
         var velocityConfig = config.getFraud().getVelocity();
         Instant windowStart = Instant.now().minus(velocityConfig.getWindowSeconds(), ChronoUnit.SECONDS);
 
         return transactionRepository.countByAccountIdAndTimeStampAfter(transaction.accountId(), windowStart)
                 .map(count -> {
-                    List<EvaluationResult> results = new ArrayList<>();
-
                     if (count >= velocityConfig.getMaxTransactions()) {
-                        results.add(EvaluationResult.builder()
-                                .ruleId(VELOCITY_RULE_ID)
-                                .ruleName("Transaction Velocity Check (DB Fallback)")
-                                .description(String.format(
+                        return List.of(new RuleMatch(VELOCITY_RULE_ID, "Transaction Velocity Check (DB Fallback)", 0,
+                                () -> String.format(
                                         "Account %d exceeded velocity limit: %d transactions in %d seconds",
                                         transaction.accountId(),
                                         count,
-                                        velocityConfig.getWindowSeconds()))
-                                .matched(true)
-                                .evaluationTimeMs(0)
-                                .build());
+                                        velocityConfig.getWindowSeconds())));
                     }
 
-                    return results;
+                    return List.<RuleMatch>of();
                 });
     }
 }
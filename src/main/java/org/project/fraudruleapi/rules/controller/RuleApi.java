@@ -144,7 +144,7 @@ public interface RuleApi {
     })
     Mono<ResponseEntity<Void>> delete(@NotBlank String ruleId);
 
-    @Operation(summary = "getActiveRule", description = "Get the active rule")
+    @Operation(summary = "getActiveRule", description = "Get the active rule pack without a route, which applies to every transaction")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
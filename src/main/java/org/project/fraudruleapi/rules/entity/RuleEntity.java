@@ -35,6 +35,12 @@ public class RuleEntity {
     @Column("active")
     private Boolean active;
 
+    @Column("route_field")
+    private String routeField;
+
+    @Column("route_value")
+    private String routeValue;
+
     @CreatedDate
     @Column("create_at")
     private Instant createAt;
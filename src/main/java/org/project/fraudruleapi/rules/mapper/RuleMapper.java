@@ -1,6 +1,7 @@
 package org.project.fraudruleapi.rules.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import org.project.fraudruleapi.rules.entity.RuleEntity;
 import org.project.fraudruleapi.rules.model.RuleDto;
@@ -9,6 +10,7 @@ import org.project.fraudruleapi.rules.model.RuleDto;
 public interface RuleMapper {
     RuleMapper INSTANCE = Mappers.getMapper(RuleMapper.class);
 
+    @Mapping(target = "definitions", ignore = true)
     RuleDto mapToRuleDto(RuleEntity ruleEntity);
 }
 
@@ -1,15 +1,18 @@
 package org.project.fraudruleapi.rules.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.List;
 
 @Getter
 @Setter
@@ -21,6 +24,11 @@ public class RuleDto implements Serializable {
     private JsonNode data;
     private Long version;
     private Boolean active;
+    private String routeField;
+    private String routeValue;
     private Instant createAt;
     private Instant updateAt;
+    // the parsed rules of data; only set on documents read from the rules cache, which stores no data
+    @JsonIgnore
+    private transient List<RuleDefinition> definitions;
 }
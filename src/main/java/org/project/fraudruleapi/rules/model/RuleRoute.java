@@ -0,0 +1,55 @@
+package org.project.fraudruleapi.rules.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.project.fraudruleapi.fraud.evaluator.field.FieldType;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.shared.exception.InvalidRuleException;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Routing key of a rule pack: the pack only applies to transactions whose
+ * enum {@code field} holds {@code value}. A pack without a route applies to
+ * every transaction.
+ */
+public record RuleRoute(String field, String value) {
+
+    public static Optional<RuleRoute> of(RuleDto ruleDto) {
+        if (ruleDto == null || ruleDto.getRouteField() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new RuleRoute(ruleDto.getRouteField(), ruleDto.getRouteValue()));
+    }
+
+    /**
+     * Reads the optional {@code route} object of a rule document, with the
+     * field and value in canonical form.
+     *
+     * @throws InvalidRuleException if the field is not an enum transaction
+     *                              field or the value names no constant of it
+     */
+    public static Optional<RuleRoute> fromDocument(JsonNode document) {
+        JsonNode route = document.get("route");
+        if (route == null || route.isNull()) {
+            return Optional.empty();
+        }
+        String fieldName = route.path("field").asText(null);
+        TransactionField field = TransactionField.resolve(fieldName)
+                .filter(candidate -> candidate.getType() == FieldType.ENUM)
+                .orElseThrow(() -> new InvalidRuleException(
+                        List.of("route: '" + fieldName + "' is not an enum transaction field")));
+        String literal = route.path("value").asText(null);
+        int ordinal = field.ordinalOf(literal);
+        if (ordinal < 0) {
+            throw new InvalidRuleException(List.of("route: '" + literal + "' is not a valid "
+                    + field.getEnumType().getSimpleName() + " for field " + field.getFieldName()));
+        }
+        return Optional.of(new RuleRoute(field.getFieldName(), field.getEnumType().getEnumConstants()[ordinal].name()));
+    }
+
+    @Override
+    public String toString() {
+        return field + "=" + value;
+    }
+}
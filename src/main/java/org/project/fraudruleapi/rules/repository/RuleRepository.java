@@ -4,6 +4,7 @@ import org.project.fraudruleapi.rules.entity.RuleEntity;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
@@ -11,10 +12,14 @@ public interface RuleRepository extends ReactiveCrudRepository<RuleEntity, Strin
 
     Mono<RuleEntity> findByRuleId(String ruleId);
 
-    Mono<RuleEntity> findByActiveIsTrue();
+    Flux<RuleEntity> findAllByActiveIsTrue();
 
-    @Query("SELECT * FROM fraud.fraud_rules WHERE active = true FOR UPDATE")
-    Mono<RuleEntity> findActiveIsTrueForUpdate();
+    Mono<RuleEntity> findByActiveIsTrueAndRouteFieldIsNull();
+
+    @Query("SELECT * FROM fraud.fraud_rules WHERE active = true "
+            + "AND route_field IS NOT DISTINCT FROM :routeField "
+            + "AND route_value IS NOT DISTINCT FROM :routeValue FOR UPDATE")
+    Mono<RuleEntity> findActiveForRouteForUpdate(String routeField, String routeValue);
 
     Mono<Void> deleteByRuleIdAndActiveIsFalse(String ruleId);
 }
@@ -2,19 +2,24 @@ package org.project.fraudruleapi.rules.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
+import org.project.fraudruleapi.fraud.evaluator.field.RuleTypeChecker;
 import org.project.fraudruleapi.rules.entity.RuleEntity;
 import org.project.fraudruleapi.rules.mapper.RuleMapper;
 import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.rules.model.RuleRoute;
 import org.project.fraudruleapi.rules.repository.RuleRepository;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
 import org.project.fraudruleapi.shared.cache.RuleCache;
+import org.project.fraudruleapi.shared.cache.RuleChangeNotifier;
 import org.project.fraudruleapi.shared.exception.ResourceNotFound;
 import org.project.fraudruleapi.shared.util.JsonSchemaValidator;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -23,37 +28,38 @@ public class RuleService {
 
     private final RuleRepository ruleRepository;
     private final JsonSchemaValidator jsonSchemaValidator;
+    private final RuleTypeChecker ruleTypeChecker;
     private final RuleCache ruleCache;
+    private final CompiledRuleCache compiledRuleCache;
+    private final RuleChangeNotifier ruleChangeNotifier;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final TransactionalOperator transactionalOperator;
 
-    @Transactional
     public Mono<String> createRule(final JsonNode ruleJson) {
         jsonSchemaValidator.validate(ruleJson);
+        ruleTypeChecker.check(ruleJson);
 
         String ruleId = ruleJson.has("ruleId")
                 ? ruleJson.get("ruleId").asText()
                 : UUID.randomUUID().toString();
+        Optional<RuleRoute> route = RuleRoute.fromDocument(ruleJson);
 
         RuleEntity newRule = RuleEntity.builder()
                 .ruleId(ruleId)
                 .data(ruleJson)
+                .version(1L)
                 .active(true)
+                .routeField(route.map(RuleRoute::field).orElse(null))
+                .routeValue(route.map(RuleRoute::value).orElse(null))
                 .build();
 
-        return ruleRepository.findActiveIsTrueForUpdate()
-                .flatMap(activeRule -> {
-                    activeRule.setActive(false);
-                    return ruleRepository.save(activeRule);
-                })
-                .then(r2dbcEntityTemplate.insert(newRule))
-                .then(Mono.fromRunnable(ruleCache::evictAll))
-                .then(ruleCache.getActiveRule())
+        return transactionalOperator.transactional(deactivateRoute(newRule).then(r2dbcEntityTemplate.insert(newRule)))
+                .then(Mono.defer(() -> refreshRules(ruleId, newRule.getVersion())))
                 .thenReturn(ruleId);
     }
 
-    @Transactional
     public Mono<Void> updateRule(final String ruleId, final RuleDto ruleDto) {
-        return ruleRepository.findByRuleId(ruleId)
+        Mono<RuleEntity> update = ruleRepository.findByRuleId(ruleId)
                 .switchIfEmpty(Mono.error(new ResourceNotFound(String.format("Rule %s does not exist", ruleId))))
                 .flatMap(ruleEntity -> {
                     if (ruleDto.getVersion() != null && !ruleDto.getVersion().equals(ruleEntity.getVersion())) {
@@ -62,34 +68,56 @@ public class RuleService {
 
                     if (ruleDto.getData() != null) {
                         jsonSchemaValidator.validate(ruleDto.getData());
+                        ruleTypeChecker.check(ruleDto.getData());
+                        Optional<RuleRoute> route = RuleRoute.fromDocument(ruleDto.getData());
                         ruleEntity.setData(ruleDto.getData());
+                        ruleEntity.setRouteField(route.map(RuleRoute::field).orElse(null));
+                        ruleEntity.setRouteValue(route.map(RuleRoute::value).orElse(null));
+                        ruleEntity.setVersion(ruleEntity.getVersion() != null ? ruleEntity.getVersion() + 1 : 1L);
                     }
 
-                    if (Boolean.TRUE.equals(ruleDto.getActive()) && !ruleEntity.getActive()) {
-                        return ruleRepository.findActiveIsTrueForUpdate()
-                                .flatMap(activeRule -> {
-                                    activeRule.setActive(false);
-                                    return ruleRepository.save(activeRule);
-                                })
-                                .then(Mono.fromCallable(() -> {
-                                    ruleEntity.setActive(true);
-                                    return ruleEntity;
-                                }));
-                    } else {
-                        ruleEntity.setActive(ruleDto.getActive() != null ? ruleDto.getActive() : ruleEntity.getActive());
-                        return Mono.just(ruleEntity);
+                    ruleEntity.setActive(ruleDto.getActive() != null ? ruleDto.getActive() : ruleEntity.getActive());
+                    if (Boolean.TRUE.equals(ruleEntity.getActive())) {
+                        return deactivateRoute(ruleEntity).thenReturn(ruleEntity);
                     }
+                    return Mono.just(ruleEntity);
+                })
+                .flatMap(ruleRepository::save);
+        return transactionalOperator.transactional(update)
+                .flatMap(saved -> refreshRules(saved.getRuleId(), saved.getVersion()));
+    }
+
+    /**
+     * Rewrites the shared Redis copy of the active packs, swaps the new
+     * compiled snapshot in locally so this node serves the change at once,
+     * and tells the other nodes to reload theirs. Only called once the
+     * database transaction has committed, so that neither the shared copy
+     * nor any node ever serves a write that is rolled back, and the reloaded
+     * list holds every pack committed before it was read.
+     */
+    private Mono<Void> refreshRules(String ruleId, Long version) {
+        return ruleCache.refreshActiveRules()
+                .flatMap(compiledRuleCache::resolveAllReactive)
+                .then(Mono.defer(() -> ruleChangeNotifier.publish(ruleId, version)));
+    }
+
+    /**
+     * Deactivates whichever other pack is active on the same route as
+     * {@code rule}, so that each route keeps exactly one active pack.
+     */
+    private Mono<Void> deactivateRoute(RuleEntity rule) {
+        return ruleRepository.findActiveForRouteForUpdate(rule.getRouteField(), rule.getRouteValue())
+                .filter(activeRule -> !activeRule.getRuleId().equals(rule.getRuleId()))
+                .flatMap(activeRule -> {
+                    activeRule.setActive(false);
+                    return ruleRepository.save(activeRule);
                 })
-                .flatMap(ruleRepository::save)
-                .then(Mono.fromRunnable(ruleCache::evictAll))
-                .then(ruleCache.getActiveRule())
                 .then();
     }
 
-    @Transactional
     public Mono<Void> deleteRule(final String ruleId) {
-        return ruleRepository.deleteByRuleIdAndActiveIsFalse(ruleId)
-                .then(Mono.fromRunnable(ruleCache::evictAll));
+        return transactionalOperator.transactional(ruleRepository.deleteByRuleIdAndActiveIsFalse(ruleId))
+                .then(Mono.defer(() -> refreshRules(ruleId, null)));
     }
 
     public Mono<RuleDto> findRule(String ruleId) {
@@ -104,9 +132,18 @@ public class RuleService {
                 .collectList();
     }
 
+    /**
+     * The active pack without a route, which applies to every transaction.
+     */
     public Mono<RuleDto> findActiveRule() {
-        return ruleRepository.findByActiveIsTrue()
+        return ruleRepository.findByActiveIsTrueAndRouteFieldIsNull()
                 .switchIfEmpty(Mono.error(new ResourceNotFound("No active rule found")))
                 .map(RuleMapper.INSTANCE::mapToRuleDto);
     }
+
+    public Mono<List<RuleDto>> findActiveRules() {
+        return ruleRepository.findAllByActiveIsTrue()
+                .map(RuleMapper.INSTANCE::mapToRuleDto)
+                .collectList();
+    }
 }
@@ -1,5 +1,13 @@
 package org.project.fraudruleapi.shared.cache;
 
+import reactor.core.publisher.Mono;
+
+/**
+ * A startup step that has to finish before the instance takes traffic.
+ * Warmers run one after another in {@link org.springframework.core.annotation.Order}
+ * and the readiness probe stays down until every returned {@link Mono} has
+ * completed; one that fails is retried.
+ */
 public interface CacheWarmer {
-    void warmUp();
+    Mono<Void> warmUp();
 }
@@ -1,31 +1,89 @@
 package org.project.fraudruleapi.shared.cache;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Runs the {@link CacheWarmer}s in the background at startup. Startup itself
+ * is not held up; instead {@link WarmupHealthIndicator} keeps the readiness
+ * probe down until every warmer has completed.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class CacheWarmupRunner implements CommandLineRunner {
-    private final List<CacheWarmer> cacheWarmers;
     private static final String TRACE_ID = "traceId";
 
+    private final List<CacheWarmer> cacheWarmers;
+    private final Map<String, String> status = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile boolean warm;
+
+    public CacheWarmupRunner(List<CacheWarmer> cacheWarmers) {
+        this.cacheWarmers = cacheWarmers;
+        cacheWarmers.forEach(warmer -> status.put(nameOf(warmer), "PENDING"));
+    }
+
     @Override
     public void run(String... args) {
         String startupTraceId = UUID.randomUUID().toString();
         MDC.put(TRACE_ID, startupTraceId);
-        cacheWarmers.forEach(warmer -> {
-            try {
-                warmer.warmUp();
-            } catch (Exception e) {
-                log.error("Failed warming cache with {}", warmer.getClass().getSimpleName(), e);
-            }
-        });
+        warmUpAll().subscribe();
+    }
+
+    Mono<Void> warmUpAll() {
+        long start = System.nanoTime();
+        return Flux.fromIterable(cacheWarmers)
+                .concatMap(this::warmUp)
+                .then()
+                .doOnSuccess(done -> {
+                    warm = true;
+                    log.info("Warm-up finished in {} ms, ready for traffic", (System.nanoTime() - start) / 1_000_000);
+                });
+    }
+
+    private Mono<Void> warmUp(CacheWarmer warmer) {
+        String name = nameOf(warmer);
+        return Mono.defer(() -> {
+                    status.put(name, "RUNNING");
+                    return warmer.warmUp();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> {
+                            status.put(name, "RETRYING");
+                            log.error("Failed warming cache with {}, retrying", name, signal.failure());
+                        }))
+                .doOnSuccess(done -> status.put(name, "DONE"));
+    }
+
+    private static String nameOf(CacheWarmer warmer) {
+        return warmer.getClass().getSimpleName();
+    }
+
+    /**
+     * Whether every warmer has completed.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * The state of each warmer, in the order they run.
+     */
+    public Map<String, String> getStatus() {
+        synchronized (status) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(status));
+        }
     }
 }
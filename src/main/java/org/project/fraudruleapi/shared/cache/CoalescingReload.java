@@ -0,0 +1,54 @@
+package org.project.fraudruleapi.shared.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Turns rule change signals into background snapshot reloads. A reload
+ * starts after a random delay of up to {@code maxJitterMs}, so instances
+ * signalled at the same moment do not all reload at once, and signals
+ * arriving while one is pending are folded into it.
+ */
+@Slf4j
+final class CoalescingReload {
+    private final String source;
+    private final long maxJitterMs;
+    private final Supplier<Mono<RulePacks>> reload;
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    CoalescingReload(String source, long maxJitterMs, Supplier<Mono<RulePacks>> reload) {
+        this.source = source;
+        this.maxJitterMs = maxJitterMs;
+        this.reload = reload;
+    }
+
+    /**
+     * @param change what changed, for the log
+     */
+    Mono<Void> request(String change) {
+        if (!pending.compareAndSet(false, true)) {
+            log.debug("{} folded into the reload already scheduled", change);
+            return Mono.empty();
+        }
+
+        long delayMs = maxJitterMs > 0 ? ThreadLocalRandom.current().nextLong(maxJitterMs + 1) : 0;
+        return Mono.delay(Duration.ofMillis(delayMs), Schedulers.boundedElastic())
+                // cleared before reading so that a change arriving during the reload schedules another one
+                .doOnNext(tick -> pending.set(false))
+                .then(Mono.defer(reload))
+                .doOnNext(packs -> log.info("Reloaded rules after {} signalled over {}", change, source))
+                .onErrorResume(e -> {
+                    pending.set(false);
+                    log.warn("Could not reload rules after {}: {}", change, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,204 @@
+package org.project.fraudruleapi.shared.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCompiler;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.rules.model.RuleRoute;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-process (L1) tier of the rule cache: the compiled routing snapshot of
+ * every active pack. Transactions read it with a single volatile load; the
+ * Redis-backed {@link RuleCache} (L2) is only consulted to build the first
+ * snapshot and on refresh, when a new snapshot is compiled only if the active
+ * packs changed.
+ */
+@Slf4j
+@Component
+public class CompiledRuleCache {
+
+    private final FraudEvaluator fraudEvaluator;
+    private final RuleCompiler ruleCompiler;
+    private final RuleCache ruleCache;
+    private final ApplicationConfiguration config;
+
+    private final Map<String, CompiledRuleSet> compiled = new ConcurrentHashMap<>();
+    private final AtomicReference<RulePacks> current = new AtomicReference<>(RulePacks.EMPTY);
+    private final ReentrantLock rebuild = new ReentrantLock();
+    // the latest active packs not yet rebuilt because another caller held the lock
+    private final AtomicReference<List<RuleDto>> pending = new AtomicReference<>();
+    // System.nanoTime() of the last refresh from L2; 0 until the first snapshot is loaded
+    private volatile long refreshedAt;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CompiledRuleCache(FraudEvaluator fraudEvaluator, RuleCompiler ruleCompiler, RuleCache ruleCache,
+                             ApplicationConfiguration config, MeterRegistry registry) {
+        this.fraudEvaluator = fraudEvaluator;
+        this.ruleCompiler = ruleCompiler;
+        this.ruleCache = ruleCache;
+        this.config = config;
+        this.hits = Counter.builder("fraud.rules.snapshot.requests")
+                .description("Rule lookups served by the in-process snapshot or falling through to Redis")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("fraud.rules.snapshot.requests")
+                .description("Rule lookups served by the in-process snapshot or falling through to Redis")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("fraud.rules.snapshot.age", this, CompiledRuleCache::snapshotAgeSeconds)
+                .description("Seconds since the in-process rule snapshot was last refreshed from Redis")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * The current routing snapshot. Once loaded this is a volatile read;
+     * before that the active packs are read from L2 and compiled.
+     */
+    public Mono<RulePacks> snapshot() {
+        if (refreshedAt != 0) {
+            hits.increment();
+            return Mono.just(current.get());
+        }
+        misses.increment();
+        return refresh();
+    }
+
+    /**
+     * Re-reads the active packs from L2 and swaps in a new snapshot if they
+     * changed. On failure the snapshot already loaded stays in use.
+     */
+    public Mono<RulePacks> refresh() {
+        return ruleCache.getActiveRules().flatMap(this::resolveAllReactive);
+    }
+
+    /**
+     * {@link #resolveAll} for reactive callers. An unchanged list is answered
+     * in place; a rebuild compiles, and before the first snapshot waits for
+     * it, so it runs on the bounded elastic scheduler rather than on the
+     * Redis or R2DBC thread that emitted the list.
+     */
+    public Mono<RulePacks> resolveAllReactive(List<RuleDto> activeRules) {
+        Mono<RulePacks> resolved = Mono.fromCallable(() -> resolveAll(activeRules));
+        return current.get().isCompiledFrom(activeRules)
+                ? resolved
+                : resolved.subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private double snapshotAgeSeconds() {
+        long at = refreshedAt;
+        return at == 0 ? Double.NaN : (System.nanoTime() - at) / 1e9;
+    }
+
+    /**
+     * The compiled form of one rule pack. Each pack is compiled on its own,
+     * so changing one pack leaves the others untouched.
+     */
+    public CompiledRuleSet resolve(RuleDto ruleDto) {
+        CompiledRuleSet existing = compiled.get(ruleDto.getRuleId());
+        if (existing != null && existing.isCompiledFrom(ruleDto)) {
+            return existing;
+        }
+
+        CompiledRuleSet fresh = existing != null
+                ? ruleCompiler.recompile(existing, ruleDto.getVersion(), fraudEvaluator.getRules(ruleDto),
+                        config.getFraud().getEvaluation().getEngine())
+                : compile(ruleDto);
+        compiled.put(fresh.getRuleId(), fresh);
+        log.info("Swapped in compiled rule set {} (version {})", fresh.getRuleId(), fresh.getVersion());
+        return fresh;
+    }
+
+    /**
+     * Compiles a rule document without caching it, for packs that are not
+     * active such as a shadow candidate.
+     */
+    public CompiledRuleSet compile(RuleDto ruleDto) {
+        return ruleCompiler.compile(ruleDto.getRuleId(), ruleDto.getVersion(),
+                fraudEvaluator.getRules(ruleDto), config.getFraud().getEvaluation().getEngine());
+    }
+
+    /**
+     * The routing snapshot for the given active packs, rebuilt only when the
+     * set of active packs or one of their versions changes. The new snapshot
+     * is published with a single reference swap. Only one caller rebuilds;
+     * while it does, the others keep evaluating against the snapshot already
+     * published, so an update never leaves a window without compiled rules.
+     * A caller that finds a rebuild in progress leaves its packs as pending,
+     * and whoever holds the lock next rebuilds from the latest pending list,
+     * so no update is lost to a concurrent one.
+     */
+    public RulePacks resolveAll(List<RuleDto> activeRules) {
+        RulePacks packs = current.get();
+        if (packs.isCompiledFrom(activeRules)) {
+            refreshedAt = System.nanoTime();
+            return packs;
+        }
+        pending.set(activeRules);
+        if (packs.isEmpty()) {
+            // nothing to serve yet, so wait for the first snapshot
+            rebuild.lock();
+            rebuildPending();
+        }
+        while (pending.get() != null && rebuild.tryLock()) {
+            rebuildPending();
+        }
+        return current.get();
+    }
+
+    /**
+     * Called with the rebuild lock held; releases it.
+     */
+    private void rebuildPending() {
+        try {
+            List<RuleDto> activeRules = pending.getAndSet(null);
+            if (activeRules != null) {
+                if (!current.get().isCompiledFrom(activeRules)) {
+                    rebuild(activeRules);
+                }
+                refreshedAt = System.nanoTime();
+            }
+        } finally {
+            rebuild.unlock();
+        }
+    }
+
+    private RulePacks rebuild(List<RuleDto> activeRules) {
+        List<RulePacks.Pack> resolved = new ArrayList<>(activeRules.size());
+        for (RuleDto ruleDto : activeRules) {
+            resolved.add(new RulePacks.Pack(resolve(ruleDto), RuleRoute.of(ruleDto).orElse(null)));
+        }
+        RulePacks fresh = new RulePacks(resolved);
+        Set<String> activeIds = activeRules.stream().map(RuleDto::getRuleId).collect(Collectors.toSet());
+        compiled.keySet().retainAll(activeIds);
+        current.set(fresh);
+        log.info("Routing {} active rule packs: {}", resolved.size(),
+                resolved.stream().map(pack -> pack.ruleSet().getRuleId()
+                        + (pack.route() != null ? " [" + pack.route() + "]" : "")).toList());
+        return fresh;
+    }
+
+    public RulePacks current() {
+        return current.get();
+    }
+}
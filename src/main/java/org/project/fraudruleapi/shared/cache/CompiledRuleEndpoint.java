@@ -0,0 +1,47 @@
+package org.project.fraudruleapi.shared.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "compiledrules")
+@RequiredArgsConstructor
+public class CompiledRuleEndpoint {
+    private final CompiledRuleCache compiledRuleCache;
+
+    @ReadOperation
+    public Map<String, Object> compiledRules() {
+        RulePacks packs = compiledRuleCache.current();
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (packs.isEmpty()) {
+            body.put("status", "NOT_COMPILED");
+            return body;
+        }
+
+        List<Map<String, Object>> described = new ArrayList<>();
+        for (RulePacks.Pack pack : packs.getPacks()) {
+            CompiledRuleSet ruleSet = pack.ruleSet();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("ruleId", ruleSet.getRuleId());
+            entry.put("version", ruleSet.getVersion());
+            entry.put("route", pack.route() != null ? pack.route().toString() : "ALL");
+            entry.put("compiledAt", ruleSet.getCompiledAt().toString());
+            entry.put("rules", ruleSet.size());
+            entry.put("sharedSubexpressions", ruleSet.getMemoSlots());
+            entry.put("indexedFields", ruleSet.getIndex().getIndexedFields());
+            entry.put("ordering", ruleSet.describeOrdering());
+            described.add(entry);
+        }
+        body.put("packs", described);
+        return body;
+    }
+}
@@ -0,0 +1,57 @@
+package org.project.fraudruleapi.shared.cache;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Opens the database pool up to its initial size and the Redis connection
+ * before traffic arrives, so the first requests do not pay for the TCP and
+ * authentication handshakes. Redis is only warmed on a best-effort basis:
+ * the service can run without it, so it must not hold up readiness.
+ */
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class ConnectionWarmer implements CacheWarmer {
+    private static final Duration REDIS_PING_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConnectionFactory connectionFactory;
+    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+
+    @Override
+    public Mono<Void> warmUp() {
+        return warmDatabase().then(warmRedis());
+    }
+
+    private Mono<Void> warmDatabase() {
+        if (connectionFactory instanceof ConnectionPool pool) {
+            return pool.warmup()
+                    .doOnNext(opened -> log.info("Opened {} pooled database connections", opened))
+                    .then();
+        }
+        return Mono.usingWhen(connectionFactory.create(), connection -> Mono.empty(), Connection::close);
+    }
+
+    private Mono<Void> warmRedis() {
+        return reactiveRedisTemplate.execute(ReactiveRedisConnection::ping)
+                .then()
+                .timeout(REDIS_PING_TIMEOUT)
+                .doOnSuccess(done -> log.info("Redis connection warmed"))
+                .onErrorResume(e -> {
+                    log.warn("Could not reach Redis while warming connections, continuing without it: {}",
+                            e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,182 @@
+package org.project.fraudruleapi.shared.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.MatchedRules;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.fraud.service.CrossBorderCheckService;
+import org.project.fraudruleapi.fraud.service.HighValueCheckService;
+import org.project.fraudruleapi.fraud.service.OffHoursCheckService;
+import org.project.fraudruleapi.fraud.service.SelfTransferCheckService;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.project.fraudruleapi.shared.enums.ChannelType;
+import org.project.fraudruleapi.shared.enums.StatusType;
+import org.project.fraudruleapi.shared.enums.TransactionType;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Replays a corpus of transactions through the compiled rules and the
+ * built-in checks once the rules are loaded, until the time per transaction
+ * stops improving between batches, i.e. the hot paths have been compiled by
+ * C2. Only code without side effects runs: nothing is persisted and the
+ * velocity check, which counts in Redis, is left out. The operand samples
+ * and cost estimates the replay leaves behind are reset afterwards, so the
+ * adaptive ordering starts from production traffic.
+ */
+@Slf4j
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class EvaluatorWarmer implements CacheWarmer {
+    private static final String[] CURRENCIES = {"ZAR", "USD", "EUR", "GBP"};
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+    private static final ChannelType[] CHANNELS = ChannelType.values();
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final CompiledRuleCache compiledRuleCache;
+    private final FraudEvaluator fraudEvaluator;
+    private final CrossBorderCheckService crossBorderCheckService;
+    private final SelfTransferCheckService selfTransferCheckService;
+    private final HighValueCheckService highValueCheckService;
+    private final OffHoursCheckService offHoursCheckService;
+    private final ResourceLoader resourceLoader;
+    private final ApplicationConfiguration config;
+
+    @Override
+    public Mono<Void> warmUp() {
+        ApplicationConfiguration.WarmupConfig warmup = config.getFraud().getWarmup();
+        if (!warmup.isEnabled() || warmup.getMaxTransactions() == 0) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> evaluate(warmup))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * @return the number of transactions replayed
+     */
+    int evaluate(ApplicationConfiguration.WarmupConfig warmup) {
+        RulePacks packs = compiledRuleCache.current();
+        if (packs.isEmpty()) {
+            log.warn("No active rules loaded, skipping evaluator warm-up");
+            return 0;
+        }
+        List<TransactionDto> corpus = loadCorpus(warmup.getCorpus());
+        SplittableRandom random = new SplittableRandom(warmup.getMaxTransactions());
+        LocalDateTime now = LocalDateTime.now();
+
+        long start = System.nanoTime();
+        long previous = -1;
+        int stable = 0;
+        int replayed = 0;
+        try {
+            while (replayed < warmup.getMaxTransactions()
+                    && (replayed < warmup.getMinTransactions() || stable < warmup.getStableBatches())) {
+                int batch = Math.min(warmup.getBatchSize(), warmup.getMaxTransactions() - replayed);
+                long batchStart = System.nanoTime();
+                for (int i = 0; i < batch; i++, replayed++) {
+                    replay(packs, corpus.isEmpty()
+                            ? syntheticTransaction(replayed, random, now)
+                            : corpus.get(replayed % corpus.size()));
+                }
+                long perTransaction = (System.nanoTime() - batchStart) / batch;
+                boolean converged = previous >= 0
+                        && Math.abs(perTransaction - previous) <= previous * warmup.getConvergenceTolerance();
+                stable = converged ? stable + 1 : 0;
+                previous = perTransaction;
+            }
+        } finally {
+            packs.getRuleSets().forEach(CompiledRuleSet::resetStatistics);
+        }
+        log.info("Evaluator warmed with {} {} transactions in {} ms, {} at {} us per transaction",
+                replayed, corpus.isEmpty() ? "synthetic" : "corpus", (System.nanoTime() - start) / 1_000_000,
+                stable >= warmup.getStableBatches() ? "converged" : "stopped before converging",
+                previous / 1000.0);
+        return replayed;
+    }
+
+    // the same CPU work FraudService does per transaction, minus the velocity check and all I/O
+    private void replay(RulePacks packs, TransactionDto transaction) {
+        MatchedRules matched = fraudEvaluator.evaluateRuleSets(packs.route(transaction), transaction).matched()
+                .withChecks(crossBorderCheckService.checkCrossBorder(transaction).block())
+                .withChecks(selfTransferCheckService.checkSelfTransfer(transaction).block())
+                .withChecks(highValueCheckService.checkHighValue(transaction).block())
+                .withChecks(offHoursCheckService.checkOffHours(transaction).block());
+        fraudEvaluator.determineSeverity(fraudEvaluator.calculateRiskScore(matched));
+    }
+
+    private List<TransactionDto> loadCorpus(String location) {
+        if (location == null || location.isBlank()) {
+            return List.of();
+        }
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            log.warn("Warm-up corpus {} not found, generating synthetic transactions", location);
+            return List.of();
+        }
+        List<TransactionDto> corpus = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    corpus.add(objectMapper.readValue(line, TransactionDto.class));
+                } catch (IOException e) {
+                    skipped++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read warm-up corpus {}, generating synthetic transactions", location, e);
+            return List.of();
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} unreadable transactions in warm-up corpus {}", skipped, location);
+        }
+        return corpus;
+    }
+
+    static TransactionDto syntheticTransaction(int sequence, SplittableRandom random, LocalDateTime now) {
+        // amounts spread over several orders of magnitude so that threshold rules take both branches
+        double amount = Math.round(Math.pow(10, random.nextDouble(0, 6.5)) * 100) / 100.0;
+        return TransactionDto.builder()
+                .transactionId("warmup-" + sequence)
+                .accountId(random.nextLong(1, 100_000))
+                .userId(random.nextLong(1, 100_000))
+                .currency(CURRENCIES[random.nextInt(CURRENCIES.length)])
+                .transferAmount(amount)
+                .timeStamp(now.minusMinutes(random.nextInt(7 * 24 * 60)))
+                .transactionType(TRANSACTION_TYPES[random.nextInt(TRANSACTION_TYPES.length)])
+                .channel(CHANNELS[random.nextInt(CHANNELS.length)])
+                .merchantId("M" + random.nextInt(1000))
+                .merchantName("Warm-up merchant " + random.nextInt(1000))
+                .beneficiaryAccount(random.nextLong(1, 100_000))
+                .ipAddress("10.0." + random.nextInt(256) + "." + random.nextInt(256))
+                .deviceId("device-" + random.nextInt(10_000))
+                .location("ZA")
+                .status(StatusType.PENDING)
+                .build();
+    }
+}
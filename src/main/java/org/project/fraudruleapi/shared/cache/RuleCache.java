@@ -4,22 +4,40 @@ import lombok.RequiredArgsConstructor;
 import org.project.fraudruleapi.rules.mapper.RuleMapper;
 import org.project.fraudruleapi.rules.model.RuleDto;
 import org.project.fraudruleapi.rules.repository.RuleRepository;
-import org.project.fraudruleapi.shared.exception.ResourceNotFound;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class RuleCache {
     private final RuleRepository ruleRepository;
 
+    /**
+     * Every active rule pack; empty when none is active.
+     */
     @Cacheable(value = "rules", key = "'active'")
-    public Mono<RuleDto> getActiveRule() {
-        return ruleRepository.findByActiveIsTrue()
-                .switchIfEmpty(Mono.error(new ResourceNotFound("No active rule found")))
-                .map(RuleMapper.INSTANCE::mapToRuleDto);
+    public Mono<List<RuleDto>> getActiveRules() {
+        return ruleRepository.findAllByActiveIsTrue()
+                .map(RuleMapper.INSTANCE::mapToRuleDto)
+                .collectList();
+    }
+
+    /**
+     * Reloads the active packs and overwrites the cached list in place.
+     * Unlike evicting, the previous list stays readable until the new one is
+     * stored, so concurrent transactions never find the cache empty and all
+     * go to the database at once.
+     */
+    @CachePut(value = "rules", key = "'active'")
+    public Mono<List<RuleDto>> refreshActiveRules() {
+        return ruleRepository.findAllByActiveIsTrue()
+                .map(RuleMapper.INSTANCE::mapToRuleDto)
+                .collectList();
     }
 
     @CacheEvict(value = "rules", allEntries = true)
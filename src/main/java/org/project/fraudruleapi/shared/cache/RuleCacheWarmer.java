@@ -2,19 +2,38 @@ package org.project.fraudruleapi.shared.cache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.project.fraudruleapi.rules.service.RuleService;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.rules.mapper.RuleMapper;
+import org.project.fraudruleapi.rules.repository.RuleRepository;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
+/**
+ * Loads the first rule snapshot through Redis, or straight from the
+ * database when Redis is unavailable, so that readiness does not depend on
+ * Redis.
+ */
 @Slf4j
 @Component
+@Order(1)
 @RequiredArgsConstructor
 public class RuleCacheWarmer implements CacheWarmer {
-    private final RuleService ruleService;
+    private final CompiledRuleCache compiledRuleCache;
+    private final RuleRepository ruleRepository;
 
     @Override
-    public void warmUp() {
-        ruleService.findActiveRule()
-                .doOnSuccess(rule -> log.info("Cache warmed with rule: {}", rule.getRuleId()))
-                .subscribe();
+    public Mono<Void> warmUp() {
+        return compiledRuleCache.refresh()
+                .onErrorResume(e -> {
+                    log.warn("Could not load rules through Redis, loading them from the database: {}", e.getMessage());
+                    return ruleRepository.findAllByActiveIsTrue()
+                            .map(RuleMapper.INSTANCE::mapToRuleDto)
+                            .collectList()
+                            .flatMap(compiledRuleCache::resolveAllReactive);
+                })
+                .doOnSuccess(packs -> log.info("Cache warmed with rule packs: {}",
+                        packs.getRuleSets().stream().map(CompiledRuleSet::getRuleId).toList()))
+                .then();
     }
 }
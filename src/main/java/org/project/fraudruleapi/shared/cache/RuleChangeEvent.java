@@ -0,0 +1,12 @@
+package org.project.fraudruleapi.shared.cache;
+
+/**
+ * Published on the rule events channel after a rule write, so that every
+ * other instance reloads its rule snapshot.
+ *
+ * @param origin  id of the instance that made the change, which ignores its own event
+ * @param ruleId  the rule that changed
+ * @param version its version after the change; {@code null} when it was deleted
+ */
+public record RuleChangeEvent(String origin, String ruleId, Long version) {
+}
@@ -0,0 +1,118 @@
+package org.project.fraudruleapi.shared.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Propagates rule changes between instances over Redis pub/sub. The instance
+ * that writes a rule publishes a {@link RuleChangeEvent}; every other
+ * instance reloads its compiled snapshot through a {@link CoalescingReload},
+ * so a change reaches the whole cluster within seconds without every
+ * instance reloading at the same moment. The periodic snapshot refresh and
+ * {@link RuleNotificationListener} still cover events lost while Redis is
+ * down.
+ */
+@Slf4j
+@Component
+public class RuleChangeNotifier {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    private final ApplicationConfiguration.RuleEventsConfig ruleEvents;
+    private final CoalescingReload reload;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter published;
+    private final Counter received;
+    private Disposable subscription;
+
+    public RuleChangeNotifier(ReactiveRedisTemplate<String, String> reactiveRedisTemplate,
+                              CompiledRuleCache compiledRuleCache, ApplicationConfiguration config,
+                              MeterRegistry registry) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.ruleEvents = config.getFraud().getRuleEvents();
+        this.reload = new CoalescingReload("Redis", ruleEvents.getMaxJitterMs(), compiledRuleCache::refresh);
+        this.published = Counter.builder("fraud.rules.events.published.total")
+                .description("Rule change events published to other instances")
+                .register(registry);
+        this.received = Counter.builder("fraud.rules.events.received.total")
+                .description("Rule change events received from other instances")
+                .register(registry);
+    }
+
+    /**
+     * Tells the other instances that {@code ruleId} changed. A failure to
+     * publish is logged and does not fail the rule write.
+     */
+    public Mono<Void> publish(String ruleId, Long version) {
+        if (!ruleEvents.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(new RuleChangeEvent(instanceId, ruleId, version)))
+                .flatMap(payload -> reactiveRedisTemplate.convertAndSend(ruleEvents.getChannel(), payload))
+                .doOnNext(receivers -> {
+                    published.increment();
+                    log.debug("Published change of rule {} (version {}) to {} subscribers", ruleId, version, receivers);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Could not publish change of rule {}, other instances pick it up on their next snapshot refresh: {}",
+                            ruleId, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (!ruleEvents.isEnabled()) {
+            return;
+        }
+        subscription = reactiveRedisTemplate.listenToChannel(ruleEvents.getChannel())
+                .map(ReactiveSubscription.Message::getMessage)
+                .flatMap(this::onMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Rule events subscription lost, resubscribing: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+        log.info("Listening for rule changes on channel {}", ruleEvents.getChannel());
+    }
+
+    Mono<Void> onMessage(String payload) {
+        RuleChangeEvent event;
+        try {
+            event = objectMapper.readValue(payload, RuleChangeEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed rule change event: {}", payload);
+            return Mono.empty();
+        }
+        if (instanceId.equals(event.origin())) {
+            return Mono.empty();
+        }
+        received.increment();
+        return reload.request("change of rule " + event.ruleId() + " (version " + event.version() + ")");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.project.fraudruleapi.shared.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.rules.mapper.RuleMapper;
+import org.project.fraudruleapi.rules.repository.RuleRepository;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Second rule change channel that does not depend on Redis: the fraud_rules
+ * trigger (V1_0_5) sends a {@code NOTIFY} with the rule id, version and
+ * active flag, and every instance {@code LISTEN}s on a dedicated connection
+ * outside the pool. The snapshot is reloaded from the database only when the
+ * notified version or state differs from the one being served, so an
+ * instance ignores the notifications for its own writes and for packs that
+ * are not active. While listening, the periodic full reload and snapshot
+ * refresh in {@link org.project.fraudruleapi.shared.scheduler.RuleScheduler}
+ * are skipped.
+ */
+@Slf4j
+@Component
+public class RuleNotificationListener {
+    // the channel the V1_0_5 trigger notifies on; fixed in the migration, so not configurable
+    static final String CHANNEL = "fraud_rule_changes";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConnectionFactory connectionFactory;
+    private final CompiledRuleCache compiledRuleCache;
+    private final ApplicationConfiguration.RuleEventsConfig ruleEvents;
+    private final CoalescingReload reload;
+
+    private final Counter received;
+    private final Counter ignored;
+    private volatile boolean listening;
+    private Disposable subscription;
+
+    record RuleNotification(String ruleId, Long version, boolean active) {
+    }
+
+    @Autowired
+    public RuleNotificationListener(R2dbcProperties r2dbcProperties, CompiledRuleCache compiledRuleCache,
+                                    RuleRepository ruleRepository, ApplicationConfiguration config,
+                                    MeterRegistry registry) {
+        this(listenerConnectionFactory(r2dbcProperties), compiledRuleCache, ruleRepository, config, registry);
+    }
+
+    RuleNotificationListener(ConnectionFactory connectionFactory, CompiledRuleCache compiledRuleCache,
+                             RuleRepository ruleRepository, ApplicationConfiguration config,
+                             MeterRegistry registry) {
+        this.connectionFactory = connectionFactory;
+        this.compiledRuleCache = compiledRuleCache;
+        this.ruleEvents = config.getFraud().getRuleEvents();
+        this.reload = new CoalescingReload("Postgres", ruleEvents.getMaxJitterMs(),
+                () -> ruleRepository.findAllByActiveIsTrue()
+                        .map(RuleMapper.INSTANCE::mapToRuleDto)
+                        .collectList()
+                        .flatMap(compiledRuleCache::resolveAllReactive));
+        this.received = Counter.builder("fraud.rules.notifications.total")
+                .description("Rule change notifications received from Postgres")
+                .tag("result", "reloaded")
+                .register(registry);
+        this.ignored = Counter.builder("fraud.rules.notifications.total")
+                .description("Rule change notifications received from Postgres")
+                .tag("result", "unchanged")
+                .register(registry);
+    }
+
+    /**
+     * The listening connection is opened straight from the driver rather than
+     * borrowed from the pool, since it stays open for the life of the instance.
+     */
+    private static ConnectionFactory listenerConnectionFactory(R2dbcProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        return ConnectionFactories.get(options.build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (!ruleEvents.isPostgresEnabled()) {
+            return;
+        }
+        subscription = Flux.usingWhen(connectionFactory.create(),
+                        connection -> listen((PostgresqlConnection) connection),
+                        Connection::close)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> {
+                            listening = false;
+                            log.warn("Rule notification connection lost, reconnecting: {}",
+                                    signal.failure().getMessage());
+                        }))
+                .subscribe();
+    }
+
+    private Flux<Void> listen(PostgresqlConnection connection) {
+        return connection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .then(Mono.fromRunnable(() -> {
+                    listening = true;
+                    log.info("Listening for rule changes on Postgres channel {}", CHANNEL);
+                }))
+                // changes made while not listening were missed, so catch up once
+                .then(Mono.defer(() -> reload.request("changes missed while not listening")))
+                .thenMany(connection.getNotifications())
+                .mapNotNull(Notification::getParameter)
+                .flatMap(this::onNotification)
+                .concatWith(Mono.error(() -> new IllegalStateException("notification stream closed")));
+    }
+
+    Mono<Void> onNotification(String payload) {
+        RuleNotification notification;
+        try {
+            notification = objectMapper.readValue(payload, RuleNotification.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed rule notification: {}", payload);
+            return Mono.empty();
+        }
+        if (!changesSnapshot(notification)) {
+            ignored.increment();
+            return Mono.empty();
+        }
+        received.increment();
+        return reload.request("change of rule " + notification.ruleId() + " (version " + notification.version() + ")");
+    }
+
+    private boolean changesSnapshot(RuleNotification notification) {
+        for (RulePacks.Pack pack : compiledRuleCache.current().getPacks()) {
+            CompiledRuleSet ruleSet = pack.ruleSet();
+            if (ruleSet.getRuleId().equals(notification.ruleId())) {
+                return !notification.active() || !Objects.equals(ruleSet.getVersion(), notification.version());
+            }
+        }
+        return notification.active();
+    }
+
+    /**
+     * Whether notifications are currently being received, in which case the
+     * snapshot does not need to be reloaded periodically.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        listening = false;
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
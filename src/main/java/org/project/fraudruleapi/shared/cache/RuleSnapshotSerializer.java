@@ -0,0 +1,331 @@
+package org.project.fraudruleapi.shared.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Binary encoding of the active rule packs held in the Redis rules cache.
+ * Instead of the documents as JSON it stores their metadata and the parsed,
+ * already validated rule definitions, so an instance reading the cache
+ * decodes straight into what the compiler consumes and never parses JSON;
+ * the documents it returns carry {@link RuleDto#getDefinitions()} and no
+ * data. Entries start with a magic and a format version. Anything this
+ * version cannot read, such as entries written by an older release, is
+ * treated as a cache miss and rewritten from the database.
+ */
+@Slf4j
+public class RuleSnapshotSerializer implements RedisSerializer<Object> {
+    static final byte[] MAGIC = {'F', 'R', 'S'};
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte LIST = 6;
+    private static final byte BIG_DECIMAL = 7;
+    private static final byte BIG_INTEGER = 8;
+    private static final byte MAP = 9;
+
+    private final Function<RuleDto, List<RuleDefinition>> definitions;
+    private final Timer decodeTimer;
+    private final DistributionSummary payloadSize;
+
+    /**
+     * @param definitions parses the rules of a document loaded from the database
+     */
+    public RuleSnapshotSerializer(Function<RuleDto, List<RuleDefinition>> definitions, MeterRegistry registry) {
+        this.definitions = definitions;
+        this.decodeTimer = Timer.builder("fraud.rules.snapshot.decode")
+                .description("Time to decode the active rule packs read from Redis")
+                .tag("format", "v" + FORMAT_VERSION)
+                .register(registry);
+        this.payloadSize = DistributionSummary.builder("fraud.rules.snapshot.payload")
+                .description("Size of the encoded active rule packs stored in Redis")
+                .baseUnit("bytes")
+                .tag("format", "v" + FORMAT_VERSION)
+                .register(registry);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (!(value instanceof List<?> ruleDtos)) {
+            throw new SerializationException("Rules cache only holds lists of rule documents, got "
+                    + (value == null ? "null" : value.getClass().getName()));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(ruleDtos.size());
+            for (Object ruleDto : ruleDtos) {
+                writeRuleDto(out, (RuleDto) ruleDto);
+            }
+        } catch (IOException | ClassCastException e) {
+            throw new SerializationException("Unable to encode rule snapshot", e);
+        }
+        byte[] encoded = bytes.toByteArray();
+        payloadSize.record(encoded.length);
+        return encoded;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (!hasCurrentHeader(bytes)) {
+            log.info("Ignoring cached rule snapshot in an unknown format, it will be reloaded");
+            return null;
+        }
+        long start = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(bytes, MAGIC.length + 1, bytes.length - MAGIC.length - 1))) {
+            int count = in.readInt();
+            List<RuleDto> ruleDtos = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ruleDtos.add(readRuleDto(in));
+            }
+            return ruleDtos;
+        } catch (IOException | IllegalArgumentException | ClassCastException e) {
+            throw new SerializationException("Unable to decode rule snapshot", e);
+        } finally {
+            decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean hasCurrentHeader(byte[] bytes) {
+        if (bytes.length < MAGIC.length + 1) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return bytes[MAGIC.length] == FORMAT_VERSION;
+    }
+
+    private void writeRuleDto(DataOutputStream out, RuleDto ruleDto) throws IOException {
+        writeString(out, ruleDto.getRuleId());
+        writeValue(out, ruleDto.getVersion());
+        writeValue(out, ruleDto.getActive());
+        writeString(out, ruleDto.getRouteField());
+        writeString(out, ruleDto.getRouteValue());
+        writeInstant(out, ruleDto.getCreateAt());
+        writeInstant(out, ruleDto.getUpdateAt());
+
+        List<RuleDefinition> rules = definitions.apply(ruleDto);
+        out.writeInt(rules.size());
+        for (RuleDefinition rule : rules) {
+            writeString(out, rule.id());
+            writeString(out, rule.name());
+            writeString(out, rule.description());
+            out.writeInt(rule.weight());
+            writeCondition(out, rule.condition());
+        }
+    }
+
+    private static RuleDto readRuleDto(DataInputStream in) throws IOException {
+        RuleDto ruleDto = RuleDto.builder()
+                .ruleId(readString(in))
+                .version((Long) readValue(in))
+                .active((Boolean) readValue(in))
+                .routeField(readString(in))
+                .routeValue(readString(in))
+                .createAt(readInstant(in))
+                .updateAt(readInstant(in))
+                .build();
+
+        int count = in.readInt();
+        List<RuleDefinition> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = readString(in);
+            String name = readString(in);
+            String description = readString(in);
+            int weight = in.readInt();
+            rules.add(new RuleDefinition(id, name, description, readCondition(in), weight));
+        }
+        ruleDto.setDefinitions(List.copyOf(rules));
+        return ruleDto;
+    }
+
+    private static void writeCondition(DataOutputStream out, Condition condition) throws IOException {
+        if (condition == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        writeString(out, condition.type() != null ? condition.type().name() : null);
+        writeString(out, condition.field());
+        writeValue(out, condition.value());
+        List<Condition> operands = condition.operands();
+        out.writeInt(operands != null ? operands.size() : -1);
+        if (operands != null) {
+            for (Condition operand : operands) {
+                writeCondition(out, operand);
+            }
+        }
+    }
+
+    private static Condition readCondition(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String type = readString(in);
+        String field = readString(in);
+        Object value = readValue(in);
+        int count = in.readInt();
+        List<Condition> operands = null;
+        if (count >= 0) {
+            operands = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                operands.add(readCondition(in));
+            }
+        }
+        return new Condition(type != null ? ConditionType.valueOf(type) : null, field, value, operands);
+    }
+
+    /**
+     * Literal values keep the Java type Jackson gave them, so a decoded
+     * condition compiles and compares exactly like a freshly parsed one.
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case String s -> {
+                out.writeByte(STRING);
+                writeString(out, s);
+            }
+            case Integer i -> {
+                out.writeByte(INTEGER);
+                out.writeInt(i);
+            }
+            case Long l -> {
+                out.writeByte(LONG);
+                out.writeLong(l);
+            }
+            case Double d -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(d);
+            }
+            case Boolean b -> {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(b);
+            }
+            case BigDecimal d -> {
+                out.writeByte(BIG_DECIMAL);
+                writeString(out, d.toString());
+            }
+            case BigInteger i -> {
+                out.writeByte(BIG_INTEGER);
+                writeString(out, i.toString());
+            }
+            case List<?> list -> {
+                out.writeByte(LIST);
+                out.writeInt(list.size());
+                for (Object element : list) {
+                    writeValue(out, element);
+                }
+            }
+            case Map<?, ?> map -> {
+                out.writeByte(MAP);
+                out.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeString(out, String.valueOf(entry.getKey()));
+                    writeValue(out, entry.getValue());
+                }
+            }
+            default -> throw new SerializationException("Unsupported literal type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> readString(in);
+            case INTEGER -> in.readInt();
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case BOOLEAN -> in.readBoolean();
+            case BIG_DECIMAL -> new BigDecimal(readString(in));
+            case BIG_INTEGER -> new BigInteger(readString(in));
+            case LIST -> {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case MAP -> {
+                int size = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>(size * 2);
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in));
+                }
+                yield map;
+            }
+            default -> throw new IOException("Unknown literal tag " + tag);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeBoolean(instant != null);
+        if (instant != null) {
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
@@ -0,0 +1,23 @@
+package org.project.fraudruleapi.shared.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until the startup warm-up has completed. Part of the
+ * readiness group, so no traffic is routed to an instance whose rules are
+ * not compiled or whose connections are still cold.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+    private final CacheWarmupRunner cacheWarmupRunner;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmupRunner.isWarm() ? Health.up() : Health.outOfService();
+        return builder.withDetails(cacheWarmupRunner.getStatus()).build();
+    }
+}
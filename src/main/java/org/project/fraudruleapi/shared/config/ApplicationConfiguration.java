@@ -1,10 +1,15 @@
 package org.project.fraudruleapi.shared.config;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Getter;
 import lombok.Setter;
+import org.project.fraudruleapi.shared.enums.EvaluationEngine;
+import org.project.fraudruleapi.shared.enums.RegexEngine;
 import org.project.fraudruleapi.shared.validator.ValidCron;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
@@ -53,6 +58,15 @@ public class ApplicationConfiguration {
 
         @NotNull
         private OffHoursConfig offHours = new OffHoursConfig();
+
+        @NotNull
+        private ShadowConfig shadow = new ShadowConfig();
+
+        @NotNull
+        private RuleEventsConfig ruleEvents = new RuleEventsConfig();
+
+        @NotNull
+        private WarmupConfig warmup = new WarmupConfig();
     }
 
     @Getter
@@ -66,6 +80,38 @@ public class ApplicationConfiguration {
 
         @Positive
         private int maxConcurrentEvaluations = 100;
+
+        @Positive
+        private long reorderIntervalMs = 30000;
+
+        @Min(0)
+        private int parallelThreads = 0;
+
+        @Positive
+        private long minChunkCostMicros = 50;
+
+        @NotNull
+        private EvaluationEngine engine = EvaluationEngine.COMPILED;
+
+        @NotNull
+        private RegexEngine regexEngine = RegexEngine.LINEAR;
+
+        @Positive
+        private int regexCacheSize = 1024;
+
+        // stop evaluating once the severity is settled; risk scores and saved fraud events are then partial
+        private boolean decisionOnly = false;
+
+        private boolean partitioned = false;
+
+        @Min(1)
+        private int partitionThreshold = 10000;
+
+        @Positive
+        private int ringBufferSize = 1024;
+
+        @Positive
+        private long snapshotRefreshMs = 10000;
     }
 
     @Getter
@@ -131,4 +177,72 @@ public class ApplicationConfiguration {
         @Min(0)
         private int weight = 15;
     }
+
+    @Getter
+    @Setter
+    public static class ShadowConfig {
+        private boolean enabled = false;
+
+        private String candidateRuleId;
+
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double sampleRate = 0.1;
+
+        @Positive
+        private int queueCapacity = 1000;
+
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double cpuBudget = 0.05;
+
+        private boolean persistDiffs = false;
+
+        @Positive
+        private int persistBatchSize = 100;
+
+        @Positive
+        private long refreshIntervalMs = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class RuleEventsConfig {
+        private boolean enabled = true;
+
+        @NotBlank
+        private String channel = "fraud:rules:changed";
+
+        @Min(0)
+        private long maxJitterMs = 2000;
+
+        private boolean postgresEnabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class WarmupConfig {
+        private boolean enabled = true;
+
+        // transactions replayed through the evaluator, one JSON object per line;
+        // when blank or missing, synthetic transactions are generated instead
+        private String corpus = "classpath:warmup/transactions.jsonl";
+
+        @Positive
+        private int batchSize = 1000;
+
+        // replayed before convergence is considered, at least C2's invocation threshold
+        @Min(0)
+        private int minTransactions = 15000;
+
+        @Min(0)
+        private int maxTransactions = 200000;
+
+        // relative change in per-transaction time between batches still counted as stable
+        @DecimalMin("0.0")
+        private double convergenceTolerance = 0.05;
+
+        @Min(1)
+        private int stableBatches = 3;
+    }
 }
@@ -2,7 +2,11 @@ package org.project.fraudruleapi.shared.config;
 
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.SocketOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.shared.cache.RuleSnapshotSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
@@ -82,4 +86,16 @@ public class RedisConfig {
 
         return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
     }
+
+    /**
+     * Stores the active rule packs in their compact binary form rather than
+     * as serialized Java objects; other caches keep the defaults.
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer rulesCacheSerializer(FraudEvaluator fraudEvaluator,
+                                                                   MeterRegistry registry) {
+        RuleSnapshotSerializer serializer = new RuleSnapshotSerializer(fraudEvaluator::getRules, registry);
+        return builder -> builder.withCacheConfiguration("rules", builder.cacheDefaults()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer)));
+    }
 }
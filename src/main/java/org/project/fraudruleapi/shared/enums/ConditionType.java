@@ -15,6 +15,9 @@ public enum ConditionType {
     REGEX,
     STARTS_WITH,
     ENDS_WITH,
-    CONTAINS
-}
+    CONTAINS;
 
+    public boolean isLogical() {
+        return this == AND || this == OR || this == NOT;
+    }
+}
@@ -0,0 +1,6 @@
+package org.project.fraudruleapi.shared.enums;
+
+public enum RegexEngine {
+    BACKTRACKING,
+    LINEAR
+}
@@ -25,6 +25,12 @@ public class GlobalExceptionHandler {
                 List.of(e.getMessage()));
     }
 
+    @ExceptionHandler(InvalidRuleException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRuleException(InvalidRuleException e) {
+        log.warn("Rule rejected: {}", e.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Rule failed type check", e.getErrors());
+    }
+
     @ExceptionHandler(ResourceNotFound.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFound e) {
         log.info("Resource not found: {}", e.getMessage());
@@ -0,0 +1,16 @@
+package org.project.fraudruleapi.shared.exception;
+
+import java.util.List;
+
+public class InvalidRuleException extends RuntimeException {
+    private final List<String> errors;
+
+    public InvalidRuleException(List<String> errors) {
+        super("Rule failed type check: " + String.join("; ", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
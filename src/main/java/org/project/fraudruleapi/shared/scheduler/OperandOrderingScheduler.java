@@ -0,0 +1,26 @@
+package org.project.fraudruleapi.shared.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OperandOrderingScheduler {
+    private final CompiledRuleCache compiledRuleCache;
+
+    @Scheduled(fixedDelayString = "${app.fraud.evaluation.reorder-interval-ms:30000}")
+    public void reorderOperands() {
+        for (CompiledRuleSet ruleSet : compiledRuleCache.current().getRuleSets()) {
+            int changed = ruleSet.reorderOperands();
+            if (changed > 0) {
+                log.info("Reordered operands of {} AND/OR nodes in rule set {} (version {})",
+                        changed, ruleSet.getRuleId(), ruleSet.getVersion());
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.project.fraudruleapi.shared.scheduler;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
 import org.project.fraudruleapi.shared.cache.RuleCache;
+import org.project.fraudruleapi.shared.cache.RuleNotificationListener;
 import org.slf4j.MDC;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -9,17 +12,46 @@ import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class RuleScheduler {
     private final RuleCache ruleCache;
+    private final CompiledRuleCache compiledRuleCache;
+    private final RuleNotificationListener ruleNotificationListener;
 
+    /**
+     * Periodic full reload from the database, only needed while rule change
+     * notifications from Postgres are not being received.
+     */
     @Scheduled(cron = "${app.schedule.updateRules}")
     public Mono<Void> updateCachedRules() {
+        if (ruleNotificationListener.isListening()) {
+            log.debug("Skipping periodic rule reload, rule changes arrive as notifications");
+            return Mono.empty();
+        }
         MDC.put("traceId", UUID.randomUUID().toString());
 
-        return Mono.fromRunnable(ruleCache::evictAll)
-                .then(ruleCache.getActiveRule())
+        return ruleCache.refreshActiveRules().then();
+    }
+
+    /**
+     * Pulls the active packs from Redis into the in-process snapshot, picking
+     * up changes made on other nodes, only while rule change notifications
+     * from Postgres are not being received; otherwise every expiry of the
+     * Redis entry would read the active table again. If Redis is unreachable
+     * the snapshot already loaded keeps serving.
+     */
+    @Scheduled(fixedDelayString = "${app.fraud.evaluation.snapshot-refresh-ms:10000}")
+    public Mono<Void> refreshSnapshot() {
+        if (ruleNotificationListener.isListening()) {
+            return Mono.empty();
+        }
+        return compiledRuleCache.refresh()
+                .onErrorResume(e -> {
+                    log.warn("Could not refresh the rule snapshot, keeping the current one: {}", e.getMessage());
+                    return Mono.empty();
+                })
                 .then();
     }
-}
\ No newline at end of file
+}
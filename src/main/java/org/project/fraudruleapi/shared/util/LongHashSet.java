@@ -0,0 +1,91 @@
+package org.project.fraudruleapi.shared.util;
+
+/**
+ * Open-addressing hash set of primitive {@code long} values with linear probing.
+ * Membership checks neither box nor allocate. Not thread-safe while being
+ * populated; safe to share once fully built.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean containsEmpty;
+
+    public LongHashSet(int expectedSize) {
+        int capacity = tableSizeFor(Math.max(expectedSize, 4) * 2);
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) return false;
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+
+        int slot = index(value, mask);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) return false;
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        if (++size * 2 > table.length) {
+            resize();
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) return containsEmpty;
+
+        int slot = index(value, mask);
+        long current;
+        while ((current = table[slot]) != EMPTY) {
+            if (current == value) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void resize() {
+        if (table.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("LongHashSet capacity exceeded");
+        }
+        long[] old = table;
+        table = new long[old.length * 2];
+        mask = table.length - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int slot = index(value, mask);
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    private static int index(long value, int mask) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int minimum) {
+        int capacity = Integer.highestOneBit(Math.max(minimum - 1, 1)) << 1;
+        return Math.min(Math.max(capacity, 8), MAX_CAPACITY);
+    }
+}
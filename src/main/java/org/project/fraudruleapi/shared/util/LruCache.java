@@ -0,0 +1,52 @@
+package org.project.fraudruleapi.shared.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Size-bounded map that evicts the least recently used entry once full.
+ * All operations synchronize on the cache; meant for values that are
+ * expensive to build but looked up far less often than a hot-path read.
+ */
+public final class LruCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, V> entries;
+    private long evictions;
+
+    public LruCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("LruCache size must be positive, got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= LruCache.this.maxSize) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        return entries.computeIfAbsent(key, loader);
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,10 @@
+-- V1_0_3: Several active rule packs, each optionally routed by one transaction attribute.
+-- A pack without a route applies to every transaction.
+
+ALTER TABLE fraud.fraud_rules ADD COLUMN IF NOT EXISTS route_field VARCHAR(50);
+ALTER TABLE fraud.fraud_rules ADD COLUMN IF NOT EXISTS route_value VARCHAR(100);
+
+-- At most one active pack per route
+CREATE UNIQUE INDEX IF NOT EXISTS uq_fraud_rules_active_route
+    ON fraud.fraud_rules (COALESCE(route_field, ''), COALESCE(route_value, ''))
+    WHERE active = true;
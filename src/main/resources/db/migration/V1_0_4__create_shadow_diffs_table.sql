@@ -0,0 +1,18 @@
+-- V1_0_4: Transactions on which a shadow (challenger) rule pack disagreed with the active rules.
+
+CREATE TABLE IF NOT EXISTS fraud.shadow_diffs
+(
+    id                  BIGSERIAL PRIMARY KEY,
+    candidate_rule_id   VARCHAR(255) NOT NULL,
+    candidate_version   BIGINT,
+    transaction_id      VARCHAR(255) NOT NULL,
+    champion_severity   VARCHAR(50),
+    challenger_severity VARCHAR(50),
+    champion_score      INTEGER,
+    challenger_score    INTEGER,
+    added_rules         TEXT,
+    removed_rules       TEXT,
+    detected_at         TIMESTAMPTZ DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_shadow_diffs_candidate ON fraud.shadow_diffs (candidate_rule_id, candidate_version);
@@ -0,0 +1,32 @@
+-- V1_0_5: Notify listening instances when a rule pack changes, so they reload on change instead of polling.
+-- Payload: {"ruleId": ..., "version": ..., "active": ...}; a deleted pack is reported as inactive.
+
+CREATE OR REPLACE FUNCTION fraud.notify_rule_change() RETURNS trigger AS $$
+DECLARE
+    changed fraud.fraud_rules%ROWTYPE;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+        changed.active := false;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    IF TG_OP = 'UPDATE'
+        AND OLD.version IS NOT DISTINCT FROM NEW.version
+        AND OLD.active = NEW.active THEN
+        RETURN NULL;
+    END IF;
+
+    PERFORM pg_notify('fraud_rule_changes', json_build_object(
+            'ruleId', changed.rule_id,
+            'version', changed.version,
+            'active', changed.active)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_fraud_rules_notify ON fraud.fraud_rules;
+CREATE TRIGGER trg_fraud_rules_notify
+    AFTER INSERT OR UPDATE OR DELETE ON fraud.fraud_rules
+    FOR EACH ROW EXECUTE FUNCTION fraud.notify_rule_change();
@@ -91,11 +91,10 @@ class ConditionEvaluatorStrategyTest {
     }
 
     @Test
-    void gte_shouldThrow_whenFieldNull() {
+    void gte_shouldReturnFalse_whenFieldNull() {
         var eval = new GreaterThanOrEqualEvaluator();
         var txNull = TransactionDto.builder().build();
-        assertThrows(IllegalArgumentException.class,
-                () -> eval.evaluate(new Condition(ConditionType.GREATER_THAN_OR_EQUAL, "transferAmount", 100.0, null), txNull));
+        assertFalse(eval.evaluate(new Condition(ConditionType.GREATER_THAN_OR_EQUAL, "transferAmount", 100.0, null), txNull));
     }
 
     @Test
@@ -112,11 +111,10 @@ class ConditionEvaluatorStrategyTest {
     }
 
     @Test
-    void lt_shouldThrow_whenFieldNull() {
+    void lt_shouldReturnFalse_whenFieldNull() {
         var eval = new LessThanEvaluator();
         var txNull = TransactionDto.builder().build();
-        assertThrows(IllegalArgumentException.class,
-                () -> eval.evaluate(new Condition(ConditionType.LESS_THAN, "transferAmount", 100.0, null), txNull));
+        assertFalse(eval.evaluate(new Condition(ConditionType.LESS_THAN, "transferAmount", 100.0, null), txNull));
     }
 
     @Test
@@ -185,10 +183,9 @@ class ConditionEvaluatorStrategyTest {
     }
 
     @Test
-    void parseToDouble_shouldThrowOnNull() {
+    void gt_shouldReturnFalse_whenFieldNull() {
         var eval = new GreaterThanEvaluator();
         var txNull = TransactionDto.builder().build();
-        assertThrows(IllegalArgumentException.class,
-                () -> eval.evaluate(new Condition(ConditionType.GREATER_THAN, "transferAmount", 100, null), txNull));
+        assertFalse(eval.evaluate(new Condition(ConditionType.GREATER_THAN, "transferAmount", 100, null), txNull));
     }
 }
@@ -1,14 +1,24 @@
 package org.project.fraudruleapi.fraud;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.MatchedRules;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledCondition;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCompiler;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCost;
 import org.project.fraudruleapi.fraud.evaluator.strategy.*;
 import org.project.fraudruleapi.fraud.model.Condition;
 import org.project.fraudruleapi.fraud.model.EvaluationResult;
 import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.RuleMatch;
+import org.project.fraudruleapi.fraud.model.RuleSetEvaluation;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.rules.model.RuleDto;
 import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
@@ -16,9 +26,20 @@ import org.project.fraudruleapi.shared.enums.ChannelType;
 import org.project.fraudruleapi.shared.enums.ConditionType;
 import org.project.fraudruleapi.shared.enums.StatusType;
 import org.project.fraudruleapi.shared.enums.TransactionType;
+import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +48,7 @@ import static org.mockito.Mockito.mock;
 class FraudEvaluatorTest {
 
     private FraudEvaluator fraudEvaluator;
+    private RuleCompiler ruleCompiler;
     private ObjectMapper objectMapper;
     private TransactionDto transactionDto;
 
@@ -51,9 +73,11 @@ class FraudEvaluatorTest {
         evaluationConfig.setParallelThreshold(5);
         evaluationConfig.setTimeoutMs(5000L);
         fraudConfig.setEvaluation(evaluationConfig);
+        fraudConfig.setRisk(new ApplicationConfiguration.RiskConfig());
         config.setFraud(fraudConfig);
 
         fraudEvaluator = new FraudEvaluator(factory, config);
+        ruleCompiler = new RuleCompiler(factory);
         objectMapper = new ObjectMapper();
 
         transactionDto = TransactionDto.builder()
@@ -293,6 +317,8 @@ class FraudEvaluatorTest {
         ApplicationConfiguration.EvaluationConfig evaluationConfig = new ApplicationConfiguration.EvaluationConfig();
         evaluationConfig.setParallelThreshold(1);
         evaluationConfig.setTimeoutMs(1000);
+        evaluationConfig.setParallelThreads(2);
+        evaluationConfig.setMinChunkCostMicros(1);
         fraudConfig.setEvaluation(evaluationConfig);
         config.setFraud(fraudConfig);
 
@@ -330,6 +356,361 @@ class FraudEvaluatorTest {
         assertThat(results.getFirst().ruleId()).isEqualTo("rule1");
     }
 
+    @Test
+    void testParallelEvaluation_reportsRulesCutOffByDeadline() {
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.EvaluationConfig evaluationConfig = new ApplicationConfiguration.EvaluationConfig();
+        evaluationConfig.setParallelThreshold(1);
+        evaluationConfig.setTimeoutMs(100);
+        evaluationConfig.setParallelThreads(2);
+        evaluationConfig.setMinChunkCostMicros(1);
+        fraudConfig.setEvaluation(evaluationConfig);
+        config.setFraud(fraudConfig);
+
+        FraudEvaluator parallelEvaluator = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), config);
+        AtomicBoolean release = new AtomicBoolean();
+        CompiledCondition stuck = context -> {
+            while (!release.get()) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            return true;
+        };
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, List.of(
+                new CompiledRule("slow", "Slow", "Never finishes", 25, stuck, new RuleCost()),
+                new CompiledRule("queued", "Queued", "Behind the slow rule", 25, CompiledCondition.ALWAYS_TRUE, new RuleCost()),
+                new CompiledRule("fast", "Fast", "Own chunk", 25, CompiledCondition.ALWAYS_TRUE, new RuleCost())));
+
+        try {
+            RuleSetEvaluation evaluation = parallelEvaluator.evaluateRuleSet(ruleSet, transactionDto);
+
+            assertThat(evaluation.matched()).extracting(EvaluationResult::ruleId).containsExactly("fast");
+            assertThat(evaluation.unevaluatedRules()).containsExactly("slow", "queued");
+        } finally {
+            release.set(true);
+            parallelEvaluator.shutdown();
+        }
+    }
+
+    @Test
+    void testPartitionedEvaluation_matchesSequentialEvaluationUnderConcurrency() throws Exception {
+        FraudEvaluator partitionedEvaluator = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), partitionedConfig(1000));
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int threshold = i * 10;
+            rules.add(new CompiledRule("rule" + i, "Rule " + i, "Amount above " + threshold, 1 + i % 7,
+                    context -> context.transaction().transferAmount() > threshold, new RuleCost()));
+        }
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, rules);
+        List<String> expected = fraudEvaluator.evaluateRuleSet(ruleSet, transactionDto).matched().ruleIds();
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(callers.submit(() -> {
+                    RuleSetEvaluation evaluation = partitionedEvaluator.evaluateRuleSet(ruleSet, transactionDto);
+                    assertThat(evaluation.unevaluatedRules()).isEmpty();
+                    return evaluation.matched().ruleIds();
+                }));
+            }
+            for (Future<List<String>> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+            }
+        } finally {
+            callers.shutdownNow();
+            partitionedEvaluator.shutdown();
+        }
+        assertThat(expected).hasSize(100);
+    }
+
+    @Test
+    void testPartitionedEvaluation_skipsRulesTheIndexRulesOut() {
+        FraudEvaluator partitionedEvaluator = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), partitionedConfig(1000));
+        List<RuleDefinition> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String type = i % 2 == 0 ? "TRANSFER" : "WITHDRAWAL";
+            rules.add(rule("rule" + i, new Condition(ConditionType.AND, null, null, List.of(
+                    new Condition(ConditionType.EQUALS, "transactionType", type, null),
+                    new Condition(ConditionType.GREATER_THAN, "amount", i * 10, null)))));
+        }
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, rules);
+
+        try {
+            RuleSetEvaluation evaluation = partitionedEvaluator.evaluateRuleSet(ruleSet, transactionDto);
+
+            assertThat(evaluation.unevaluatedRules()).isEmpty();
+            assertThat(evaluation.matched().ruleIds())
+                    .isEqualTo(fraudEvaluator.evaluateRuleSet(ruleSet, transactionDto).matched().ruleIds())
+                    .hasSize(50);
+        } finally {
+            partitionedEvaluator.shutdown();
+        }
+    }
+
+    @Test
+    void testPartitionedEvaluation_reportsRulesCutOffByDeadlineOrFailing() {
+        FraudEvaluator partitionedEvaluator = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), partitionedConfig(100));
+        AtomicBoolean release = new AtomicBoolean();
+        CompiledCondition stuck = context -> {
+            while (!release.get()) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            return true;
+        };
+        List<CompiledRule> rules = new ArrayList<>();
+        rules.add(new CompiledRule("slow", "Slow", "Never finishes", 25, stuck, new RuleCost()));
+        rules.add(new CompiledRule("queued", "Queued", "Behind the slow rule", 25, CompiledCondition.ALWAYS_TRUE, new RuleCost()));
+        for (int i = 2; i < 64; i++) {
+            rules.add(new CompiledRule("filler" + i, "Filler", "Never matches", 1, CompiledCondition.ALWAYS_FALSE, new RuleCost()));
+        }
+        rules.add(new CompiledRule("fast", "Fast", "Second slice", 25, CompiledCondition.ALWAYS_TRUE, new RuleCost()));
+        rules.add(new CompiledRule("broken", "Broken", "Throws", 25, context -> {
+            throw new IllegalStateException("boom");
+        }, new RuleCost()));
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, rules);
+
+        try {
+            RuleSetEvaluation evaluation = partitionedEvaluator.evaluateRuleSet(ruleSet, transactionDto);
+
+            assertThat(evaluation.matched()).extracting(EvaluationResult::ruleId).containsExactly("fast");
+            assertThat(evaluation.unevaluatedRules()).startsWith("slow", "queued").endsWith("broken").hasSize(65);
+        } finally {
+            release.set(true);
+            partitionedEvaluator.shutdown();
+        }
+    }
+
+    @Test
+    void testPartitionedEvaluation_givesUpAtTheDeadlineWhenTheRingIsStuck() {
+        FraudEvaluator partitionedEvaluator = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), partitionedConfig(50));
+        AtomicBoolean release = new AtomicBoolean();
+        CompiledCondition stuck = context -> {
+            while (!release.get()) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            return true;
+        };
+        List<CompiledRule> rules = new ArrayList<>();
+        rules.add(new CompiledRule("slow", "Slow", "Blocks its worker", 25, stuck, new RuleCost()));
+        for (int i = 1; i < 65; i++) {
+            rules.add(new CompiledRule("filler" + i, "Filler", "Never matches", 1, CompiledCondition.ALWAYS_FALSE, new RuleCost()));
+        }
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, rules);
+
+        try {
+            // the blocked worker never hands back any of the four slots
+            for (int i = 0; i < 4; i++) {
+                partitionedEvaluator.evaluateRuleSet(ruleSet, transactionDto);
+            }
+            long start = System.nanoTime();
+            RuleSetEvaluation evaluation = partitionedEvaluator.evaluateRuleSet(ruleSet, transactionDto);
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+            assertThat(evaluation.matched().size()).isZero();
+            assertThat(evaluation.unevaluatedRules()).hasSize(65);
+        } finally {
+            release.set(true);
+            partitionedEvaluator.shutdown();
+        }
+    }
+
+    private static ApplicationConfiguration partitionedConfig(long timeoutMs) {
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.EvaluationConfig evaluationConfig = new ApplicationConfiguration.EvaluationConfig();
+        evaluationConfig.setPartitioned(true);
+        evaluationConfig.setPartitionThreshold(1);
+        evaluationConfig.setRingBufferSize(4);
+        evaluationConfig.setParallelThreads(2);
+        evaluationConfig.setTimeoutMs(timeoutMs);
+        fraudConfig.setEvaluation(evaluationConfig);
+        config.setFraud(fraudConfig);
+        return config;
+    }
+
+    @Test
+    void testEvaluateRuleSet_materializesResultsOnlyWhenRead() {
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, List.of(
+                new CompiledRule("hit", "Hit", "Always matches", 30, CompiledCondition.ALWAYS_TRUE, new RuleCost()),
+                new CompiledRule("miss", "Miss", "Never matches", 40, context -> false, new RuleCost()),
+                new CompiledRule("hit2", "Hit 2", "Always matches", 20, CompiledCondition.ALWAYS_TRUE, new RuleCost())));
+
+        MatchedRules matched = fraudEvaluator.evaluateRuleSet(ruleSet, transactionDto).matched();
+
+        assertThat(matched.ruleIds()).containsExactly("hit", "hit2");
+        assertThat(matched.totalWeight()).isEqualTo(50);
+        assertThat(fraudEvaluator.calculateRiskScore(matched)).isEqualTo(50);
+        assertThat(matched).extracting(EvaluationResult::description).containsExactly("Always matches", "Always matches");
+        assertThat(matched.get(1).weight()).isEqualTo(20);
+    }
+
+    @Test
+    void testEvaluateRuleSet_allocatesLittlePerTransaction() {
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, List.of(
+                new CompiledRule("a", "A", "A", 25, CompiledCondition.ALWAYS_TRUE, new RuleCost()),
+                new CompiledRule("b", "B", "B", 25, context -> false, new RuleCost()),
+                new CompiledRule("c", "C", "C", 25, CompiledCondition.ALWAYS_TRUE, new RuleCost())));
+
+        assertThat(allocatedBytesPerCall(() -> fraudEvaluator.evaluateRuleSet(ruleSet, transactionDto))).isLessThan(768);
+    }
+
+    @Test
+    void testEvaluateRuleSet_allocatesLittlePerTransactionWithAnIndex() {
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, List.of(
+                rule("transfer", new Condition(ConditionType.AND, null, null, List.of(
+                        new Condition(ConditionType.EQUALS, "transactionType", "TRANSFER", null),
+                        new Condition(ConditionType.GREATER_THAN, "amount", 500, null)))),
+                rule("withdrawal", new Condition(ConditionType.EQUALS, "transactionType", "WITHDRAWAL", null)),
+                rule("usd", new Condition(ConditionType.EQUALS, "currency", "USD", null))));
+
+        assertThat(ruleSet.getIndex().isEmpty()).isFalse();
+        assertThat(fraudEvaluator.evaluateRuleSet(ruleSet, transactionDto).matched().ruleIds())
+                .containsExactly("transfer", "usd");
+        // less than a single BitSet copy, which selecting candidates used to make per indexed field
+        assertThat(allocatedBytesPerCall(() -> ruleSet.candidateMask(transactionDto))).isLessThan(64);
+        assertThat(allocatedBytesPerCall(() -> fraudEvaluator.evaluateRuleSet(ruleSet, transactionDto))).isLessThan(768);
+    }
+
+    private static long allocatedBytesPerCall(Runnable call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // debug logging formats its arguments; measure the evaluation itself
+        Logger logger = (Logger) LoggerFactory.getLogger(FraudEvaluator.class);
+        Level level = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                call.run();
+            }
+
+            int iterations = 20_000;
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < iterations; i++) {
+                call.run();
+            }
+            return (threads.getCurrentThreadAllocatedBytes() - before) / iterations;
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    private RuleDefinition rule(String id, Condition condition) {
+        return RuleDefinition.builder().id(id).name(id).weight(10).condition(condition).build();
+    }
+
+    @Test
+    void testEvaluateDecision_stopsOnceScoreSaturates() {
+        AtomicInteger lowWeightCalls = new AtomicInteger();
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, List.of(
+                new CompiledRule("low", "Low", "Low", 10, context -> lowWeightCalls.incrementAndGet() > 0, new RuleCost()),
+                new CompiledRule("high", "High", "High", 60, CompiledCondition.ALWAYS_TRUE, new RuleCost()),
+                new CompiledRule("mid", "Mid", "Mid", 50, CompiledCondition.ALWAYS_TRUE, new RuleCost())));
+
+        MatchedRules matched = fraudEvaluator.evaluateDecision(ruleSet, transactionDto, List.of()).matched();
+
+        assertThat(matched.ruleIds()).containsExactly("high", "mid");
+        assertThat(lowWeightCalls).hasValue(0);
+        assertThat(fraudEvaluator.determineSeverity(fraudEvaluator.calculateRiskScore(matched)))
+                .isEqualTo(fraudEvaluator.determineSeverity(fraudEvaluator.calculateRiskScore(
+                        fraudEvaluator.evaluateRuleSet(ruleSet, transactionDto).matched())));
+    }
+
+    @Test
+    void testEvaluateDecision_stopsWhenRemainingWeightCannotChangeBand() {
+        AtomicInteger calls = new AtomicInteger();
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, List.of(
+                new CompiledRule("a", "A", "A", 10, context -> calls.incrementAndGet() > 0, new RuleCost()),
+                new CompiledRule("b", "B", "B", 5, context -> calls.incrementAndGet() > 0, new RuleCost())));
+        List<RuleMatch> checks = List.of(new RuleMatch("CHECK", "Check", 30, () -> "fired"));
+
+        MatchedRules matched = fraudEvaluator.evaluateDecision(ruleSet, transactionDto, checks).matched();
+
+        // 30 and 45 both fall in the MEDIUM band
+        assertThat(calls).hasValue(0);
+        assertThat(matched.ruleIds()).containsExactly("CHECK");
+        assertThat(fraudEvaluator.determineSeverity(fraudEvaluator.calculateRiskScore(matched))).isEqualTo("MEDIUM");
+    }
+
+    @Test
+    void testEvaluateDecision_agreesWithFullEvaluationOnFlagAndSeverityOnly() {
+        Random random = new Random(14);
+        boolean sawPartialScore = false;
+        for (int round = 0; round < 500; round++) {
+            List<CompiledRule> rules = new ArrayList<>();
+            for (int i = random.nextInt(8); i >= 0; i--) {
+                rules.add(new CompiledRule("r" + i, "R" + i, "R" + i, 1 + random.nextInt(40),
+                        random.nextBoolean() ? CompiledCondition.ALWAYS_TRUE : CompiledCondition.ALWAYS_FALSE,
+                        new RuleCost()));
+            }
+            CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, rules);
+            List<RuleMatch> checks = random.nextBoolean()
+                    ? List.of()
+                    : List.of(new RuleMatch("CHECK", "Check", random.nextInt(40), () -> "fired"));
+
+            MatchedRules full = fraudEvaluator.evaluateRuleSet(ruleSet, transactionDto).matched().withChecks(checks);
+            MatchedRules decided = fraudEvaluator.evaluateDecision(ruleSet, transactionDto, checks).matched();
+
+            int fullScore = fraudEvaluator.calculateRiskScore(full);
+            int decidedScore = fraudEvaluator.calculateRiskScore(decided);
+            assertThat(decided.isEmpty()).isEqualTo(full.isEmpty());
+            assertThat(fraudEvaluator.determineSeverity(decidedScore)).isEqualTo(fraudEvaluator.determineSeverity(fullScore));
+            assertThat(decidedScore).isLessThanOrEqualTo(fullScore);
+            assertThat(full.ruleIds()).containsAll(decided.ruleIds());
+            sawPartialScore |= decidedScore < fullScore;
+        }
+        assertThat(sawPartialScore).isTrue();
+    }
+
+    @Test
+    void testEvaluateDecision_keepsEvaluatingUntilFlagged() {
+        CompiledRuleSet ruleSet = new CompiledRuleSet("doc", 1L, List.of(
+                new CompiledRule("miss", "Miss", "Miss", 10, context -> false, new RuleCost()),
+                new CompiledRule("hit", "Hit", "Hit", 5, CompiledCondition.ALWAYS_TRUE, new RuleCost())));
+
+        MatchedRules matched = fraudEvaluator.evaluateDecision(ruleSet, transactionDto, List.of()).matched();
+
+        assertThat(matched.ruleIds()).containsExactly("hit");
+    }
+
+    @Test
+    void testEvaluateDecision_countsWeightOfLaterPacksBeforeSettling() {
+        AtomicInteger calls = new AtomicInteger();
+        CompiledRuleSet defaultPack = new CompiledRuleSet("default", 1L, List.of(
+                new CompiledRule("a", "A", "A", 10, context -> calls.incrementAndGet() > 0, new RuleCost())));
+        CompiledRuleSet routedPack = new CompiledRuleSet("atm", 1L, List.of(
+                new CompiledRule("b", "B", "B", 30, CompiledCondition.ALWAYS_TRUE, new RuleCost())));
+        List<RuleMatch> checks = List.of(new RuleMatch("CHECK", "Check", 30, () -> "fired"));
+
+        MatchedRules matched = fraudEvaluator.evaluateDecision(List.of(defaultPack, routedPack), transactionDto, checks)
+                .matched();
+
+        // alone, the default pack could not move 30 out of its band, but the routed pack still can
+        assertThat(calls).hasValue(1);
+        assertThat(matched.ruleIds()).containsExactly("a", "b", "CHECK");
+        assertThat(fraudEvaluator.calculateRiskScore(matched)).isEqualTo(70);
+    }
+
+    @Test
+    void testEvaluateRuleSets_mergesMatchesOfEveryPack() {
+        CompiledRuleSet defaultPack = new CompiledRuleSet("default", 1L, List.of(
+                new CompiledRule("miss", "Miss", "Never matches", 40, CompiledCondition.ALWAYS_FALSE, new RuleCost()),
+                new CompiledRule("hit", "Hit", "Always matches", 30, CompiledCondition.ALWAYS_TRUE, new RuleCost())));
+        CompiledRuleSet routedPack = new CompiledRuleSet("atm", 1L, List.of(
+                new CompiledRule("atm-hit", "ATM Hit", "ATM rule", 20, CompiledCondition.ALWAYS_TRUE, new RuleCost())));
+        CompiledRuleSet quietPack = new CompiledRuleSet("quiet", 1L, List.of(
+                new CompiledRule("quiet-miss", "Quiet", "Never matches", 20, CompiledCondition.ALWAYS_FALSE, new RuleCost())));
+
+        RuleSetEvaluation evaluation = fraudEvaluator.evaluateRuleSets(
+                List.of(defaultPack, quietPack, routedPack), transactionDto);
+
+        assertThat(evaluation.unevaluatedRules()).isEmpty();
+        assertThat(evaluation.matched().ruleIds()).containsExactly("hit", "atm-hit");
+        assertThat(evaluation.matched().totalWeight()).isEqualTo(50);
+        assertThat(evaluation.matched()).extracting(EvaluationResult::description)
+                .containsExactly("Always matches", "ATM rule");
+        assertThat(fraudEvaluator.evaluateRuleSets(List.of(), transactionDto).matched()).isEmpty();
+    }
+
     @Test
     void testAndCondition() {
         Condition andCond = new Condition(ConditionType.AND, null, null,
@@ -416,10 +797,10 @@ class FraudEvaluatorTest {
     }
 
     @Test
-    void between_shouldThrow_whenNullField() {
+    void between_shouldReturnFalse_whenNullField() {
         var evaluator = new BetweenEvaluator();
         var cond = new Condition(ConditionType.BETWEEN, "nonExistentField", List.of(1, 2), null);
-        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(cond, tx));
+        assertFalse(evaluator.evaluate(cond, tx));
     }
 
     @Test
@@ -11,9 +11,15 @@ import org.mockito.quality.Strictness;
 import org.project.fraudruleapi.fraud.entity.FraudEntity;
 import org.project.fraudruleapi.fraud.entity.TransactionEntity;
 import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.MatchedRules;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledCondition;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
 import org.project.fraudruleapi.fraud.model.Condition;
-import org.project.fraudruleapi.fraud.model.EvaluationResult;
 import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.RuleMatch;
+import org.project.fraudruleapi.fraud.model.RuleSetEvaluation;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.fraud.repository.FraudRepository;
 import org.project.fraudruleapi.fraud.repository.TransactionRepository;
@@ -22,9 +28,9 @@ import org.project.fraudruleapi.fraud.service.FraudService;
 import org.project.fraudruleapi.fraud.service.HighValueCheckService;
 import org.project.fraudruleapi.fraud.service.OffHoursCheckService;
 import org.project.fraudruleapi.fraud.service.SelfTransferCheckService;
+import org.project.fraudruleapi.fraud.service.ShadowEvaluationService;
 import org.project.fraudruleapi.fraud.service.VelocityCheckService;
-import org.project.fraudruleapi.rules.model.RuleDto;
-import org.project.fraudruleapi.shared.cache.RuleCache;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
 import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
 import org.project.fraudruleapi.shared.enums.ChannelType;
 import org.project.fraudruleapi.shared.enums.ConditionType;
@@ -39,6 +45,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,7 +55,7 @@ import static org.mockito.Mockito.when;
 class FraudServiceTest {
 
     @Mock
-    private RuleCache ruleCache;
+    private CompiledRuleCache compiledRuleCache;
     @Mock
     private FraudEvaluator fraudEvaluator;
     @Mock
@@ -68,23 +75,28 @@ class FraudServiceTest {
     @Mock
     private OffHoursCheckService offHoursCheckService;
     @Mock
+    private ShadowEvaluationService shadowEvaluationService;
+    @Mock
     private ApplicationConfiguration.FraudConfiguration fraudConfig;
     @Mock
     private ApplicationConfiguration.VelocityConfig velocityConfig;
     @Mock
     private ApplicationConfiguration.RiskConfig riskConfig;
     @Mock
+    private ApplicationConfiguration.EvaluationConfig evaluationConfig;
+    @Mock
     private Counter counter;
 
     private FraudService fraudService;
 
     @BeforeEach
     void setup() {
-        fraudService = new FraudService(ruleCache, fraudEvaluator, fraudRepository,
+        fraudService = new FraudService(compiledRuleCache, fraudEvaluator, fraudRepository,
                 transactionRepository, config, velocityCheckService,
                 crossBorderCheckService, selfTransferCheckService,
-                highValueCheckService, offHoursCheckService,
+                highValueCheckService, offHoursCheckService, shadowEvaluationService,
                 counter, counter);
+        when(fraudConfig.getEvaluation()).thenReturn(evaluationConfig);
     }
 
     @Test
@@ -107,15 +119,7 @@ class FraudServiceTest {
                 .condition(new Condition(ConditionType.GREATER_THAN, "amount", 100, null))
                 .build();
 
-        List<EvaluationResult> results = List.of(
-                EvaluationResult.builder()
-                        .ruleId("rule1")
-                        .ruleName("High Amount")
-                        .description("Amount > 100")
-                        .matched(true)
-                        .evaluationTimeMs(10)
-                        .build()
-        );
+        MatchedRules results = MatchedRules.of(List.of(CompiledRule.of(rule, CompiledCondition.ALWAYS_TRUE)));
 
         when(config.getFraud()).thenReturn(fraudConfig);
         when(fraudConfig.getVelocity()).thenReturn(velocityConfig);
@@ -127,9 +131,9 @@ class FraudServiceTest {
 
         when(transactionRepository.existsByTransactionId("tx123")).thenReturn(Mono.just(false));
         when(transactionRepository.save(any())).thenReturn(Mono.just(txEntity));
-        when(ruleCache.getActiveRule()).thenReturn(Mono.just(new RuleDto()));
-        when(fraudEvaluator.getRules(any())).thenReturn(List.of(rule));
-        when(fraudEvaluator.evaluateAllRules(any(), any())).thenReturn(results);
+        when(compiledRuleCache.snapshot()).thenReturn(Mono.just(new RulePacks(List.of(new RulePacks.Pack(new CompiledRuleSet("rules", 1L,
+                List.of(CompiledRule.of(rule, CompiledCondition.ALWAYS_TRUE))), null)))));
+        when(fraudEvaluator.evaluateRuleSets(any(), any())).thenReturn(RuleSetEvaluation.complete(results));
         when(fraudEvaluator.calculateRiskScore(any())).thenReturn(25);
         when(fraudEvaluator.determineSeverity(25)).thenReturn("MEDIUM");
         when(fraudRepository.saveAll(any(Iterable.class))).thenReturn(Flux.empty());
@@ -146,6 +150,7 @@ class FraudServiceTest {
                 .verifyComplete();
 
         verify(transactionRepository).save(any());
+        verify(shadowEvaluationService).submit(tx, results);
     }
 
     @Test
@@ -168,15 +173,7 @@ class FraudServiceTest {
                 .condition(new Condition(ConditionType.GREATER_THAN, "amount", 100, null))
                 .build();
 
-        List<EvaluationResult> results = List.of(
-                EvaluationResult.builder()
-                        .ruleId("rule1")
-                        .ruleName("High Amount")
-                        .description("Amount > 100")
-                        .matched(true)
-                        .evaluationTimeMs(10)
-                        .build()
-        );
+        MatchedRules results = MatchedRules.of(List.of(CompiledRule.of(rule, CompiledCondition.ALWAYS_TRUE)));
 
         when(config.getFraud()).thenReturn(fraudConfig);
         when(fraudConfig.getVelocity()).thenReturn(velocityConfig);
@@ -190,9 +187,9 @@ class FraudServiceTest {
 
         when(transactionRepository.existsByTransactionId("tx123")).thenReturn(Mono.just(false));
         when(transactionRepository.save(any())).thenReturn(Mono.just(txEntity));
-        when(ruleCache.getActiveRule()).thenReturn(Mono.just(new RuleDto()));
-        when(fraudEvaluator.getRules(any())).thenReturn(List.of(rule));
-        when(fraudEvaluator.evaluateAllRules(any(), any())).thenReturn(results);
+        when(compiledRuleCache.snapshot()).thenReturn(Mono.just(new RulePacks(List.of(new RulePacks.Pack(new CompiledRuleSet("rules", 1L,
+                List.of(CompiledRule.of(rule, CompiledCondition.ALWAYS_TRUE))), null)))));
+        when(fraudEvaluator.evaluateRuleSets(any(), any())).thenReturn(RuleSetEvaluation.complete(results));
         when(fraudEvaluator.calculateRiskScore(any())).thenReturn(25);
         when(fraudEvaluator.determineSeverity(25)).thenReturn("MEDIUM");
         when(fraudRepository.saveAll(any(Iterable.class))).thenReturn(Flux.empty());
@@ -211,6 +208,52 @@ class FraudServiceTest {
         verify(velocityCheckService, times(1)).checkVelocity(tx);
     }
 
+    @Test
+    void validate_decisionOnly_evaluatesRulesFromCheckScore() {
+        TransactionDto tx = new TransactionDto(
+                "tx123", 1L, 10L, "USD", 500.0,
+                LocalDateTime.now(), TransactionType.TRANSFER,
+                ChannelType.MOBILE_APP, "M123", "Amazon",
+                200L, "127.0.0.1", "device1", "NYC",
+                StatusType.PENDING
+        );
+
+        TransactionEntity txEntity = new TransactionEntity();
+        txEntity.setTransactionId("tx123");
+
+        List<RuleMatch> checks = List.of(new RuleMatch("HIGH_VALUE_CHECK", "High-Value Transaction Detection", 35,
+                () -> "Transaction amount exceeds high-value threshold"));
+        CompiledRuleSet ruleSet = new CompiledRuleSet("rules", 1L, List.of());
+
+        when(config.getFraud()).thenReturn(fraudConfig);
+        when(fraudConfig.getVelocity()).thenReturn(velocityConfig);
+        when(velocityConfig.isEnabled()).thenReturn(false);
+        when(evaluationConfig.isDecisionOnly()).thenReturn(true);
+
+        when(transactionRepository.existsByTransactionId("tx123")).thenReturn(Mono.just(false));
+        when(transactionRepository.save(any())).thenReturn(Mono.just(txEntity));
+        when(compiledRuleCache.snapshot()).thenReturn(Mono.just(new RulePacks(List.of(new RulePacks.Pack(ruleSet, null)))));
+        when(crossBorderCheckService.checkCrossBorder(any())).thenReturn(Mono.just(List.of()));
+        when(selfTransferCheckService.checkSelfTransfer(any())).thenReturn(Mono.just(List.of()));
+        when(highValueCheckService.checkHighValue(any())).thenReturn(Mono.just(checks));
+        when(offHoursCheckService.checkOffHours(any())).thenReturn(Mono.just(List.of()));
+        when(fraudEvaluator.evaluateDecision(List.of(ruleSet), tx, checks))
+                .thenReturn(RuleSetEvaluation.complete(MatchedRules.none().withChecks(checks)));
+        when(fraudEvaluator.calculateRiskScore(any())).thenReturn(35);
+        when(fraudEvaluator.determineSeverity(35)).thenReturn("MEDIUM");
+        when(fraudRepository.saveAll(any(Iterable.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(fraudService.validate(tx))
+                .expectNextMatches(response ->
+                        response.isFraud() &&
+                                response.matchedRules().equals(List.of("HIGH_VALUE_CHECK")) &&
+                                "MEDIUM".equals(response.severity()))
+                .verifyComplete();
+
+        verify(fraudEvaluator).evaluateDecision(List.of(ruleSet), tx, checks);
+        verify(fraudEvaluator, never()).evaluateRuleSets(any(), any());
+    }
+
     @Test
     void getFlaggedItem_notFound_error() {
         when(fraudRepository.findById(99L)).thenReturn(Mono.empty());
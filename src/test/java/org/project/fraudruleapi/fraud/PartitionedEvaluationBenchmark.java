@@ -0,0 +1,134 @@
+package org.project.fraudruleapi.fraud;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCost;
+import org.project.fraudruleapi.fraud.evaluator.strategy.ConditionEvaluatorFactory;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Throughput and p99 of the partitioned workers against the chunked parallel
+ * path on a 20k rule pack. Skipped by default; run with
+ * {@code mvn test -Dtest=PartitionedEvaluationBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PartitionedEvaluationBenchmark {
+
+    private static final int RULES = 20_000;
+    private static final int CALLERS = 8;
+    private static final int WARMUP_PER_CALLER = 500;
+    private static final int MEASURED_PER_CALLER = 2_000;
+
+    @Test
+    void compareWithChunkedParallelEvaluation() throws Exception {
+        Logger evaluatorLogger = (Logger) LoggerFactory.getLogger("org.project.fraudruleapi");
+        Level previous = evaluatorLogger.getLevel();
+        evaluatorLogger.setLevel(Level.INFO);
+
+        List<CompiledRule> rules = new ArrayList<>(RULES);
+        for (int i = 0; i < RULES; i++) {
+            double threshold = i * 7.5;
+            long account = i;
+            rules.add(new CompiledRule("rule" + i, "Rule " + i, "Synthetic rule " + i, 1 + i % 5,
+                    context -> context.transaction().transferAmount() > threshold
+                            && context.transaction().accountId() % 97 != account % 97,
+                    new RuleCost()));
+        }
+        CompiledRuleSet ruleSet = new CompiledRuleSet("benchmark", 1L, rules);
+        TransactionDto transaction = TransactionDto.builder()
+                .transactionId("TX-BENCH")
+                .transferAmount(50_000.0)
+                .accountId(123456L)
+                .build();
+
+        FraudEvaluator chunked = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), config(false));
+        FraudEvaluator partitioned = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), config(true));
+        try {
+            List<String> expected = chunked.evaluateRuleSet(ruleSet, transaction).matched().ruleIds();
+            assertThat(partitioned.evaluateRuleSet(ruleSet, transaction).matched().ruleIds()).isEqualTo(expected);
+
+            report("chunked", run(chunked, ruleSet, transaction));
+            report("partitioned", run(partitioned, ruleSet, transaction));
+        } finally {
+            chunked.shutdown();
+            partitioned.shutdown();
+            evaluatorLogger.setLevel(previous);
+        }
+    }
+
+    private static Result run(FraudEvaluator evaluator, CompiledRuleSet ruleSet, TransactionDto transaction)
+            throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            measure(callers, evaluator, ruleSet, transaction, WARMUP_PER_CALLER);
+            long start = System.nanoTime();
+            long[] latencies = measure(callers, evaluator, ruleSet, transaction, MEASURED_PER_CALLER);
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+            return new Result(latencies.length * 1e9 / elapsed,
+                    latencies[latencies.length / 2],
+                    latencies[(int) (latencies.length * 0.99)]);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static long[] measure(ExecutorService callers, FraudEvaluator evaluator, CompiledRuleSet ruleSet,
+                                  TransactionDto transaction, int perCaller) throws Exception {
+        List<Future<long[]>> futures = new ArrayList<>(CALLERS);
+        for (int c = 0; c < CALLERS; c++) {
+            futures.add(callers.submit(() -> {
+                long[] latencies = new long[perCaller];
+                for (int i = 0; i < perCaller; i++) {
+                    long start = System.nanoTime();
+                    evaluator.evaluateRuleSet(ruleSet, transaction);
+                    latencies[i] = System.nanoTime() - start;
+                }
+                return latencies;
+            }));
+        }
+        long[] all = new long[CALLERS * perCaller];
+        for (int c = 0; c < CALLERS; c++) {
+            System.arraycopy(futures.get(c).get(5, TimeUnit.MINUTES), 0, all, c * perCaller, perCaller);
+        }
+        return all;
+    }
+
+    private static void report(String mode, Result result) {
+        System.out.printf("%-12s %10.0f tx/s   p50 %8.1fus   p99 %8.1fus%n", mode, result.throughput(),
+                result.p50Nanos() / 1e3, result.p99Nanos() / 1e3);
+    }
+
+    private static ApplicationConfiguration config(boolean partitioned) {
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.EvaluationConfig evaluationConfig = new ApplicationConfiguration.EvaluationConfig();
+        evaluationConfig.setPartitioned(partitioned);
+        evaluationConfig.setMinChunkCostMicros(1);
+        evaluationConfig.setTimeoutMs(10_000);
+        fraudConfig.setEvaluation(evaluationConfig);
+        config.setFraud(fraudConfig);
+        return config;
+    }
+
+    private record Result(double throughput, long p50Nanos, long p99Nanos) {
+    }
+}
@@ -0,0 +1,145 @@
+package org.project.fraudruleapi.fraud;
+
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.fraud.evaluator.regex.CompiledRegex;
+import org.project.fraudruleapi.fraud.evaluator.regex.RegexBudgetExceededException;
+import org.project.fraudruleapi.fraud.evaluator.regex.RegexCompiler;
+import org.project.fraudruleapi.shared.enums.RegexEngine;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegexCompilerTest {
+
+    private final RegexCompiler linear = new RegexCompiler(RegexEngine.LINEAR, 64);
+
+    @Test
+    void linear_shouldAgreeWithJavaRegexOnSupportedSyntax() {
+        List<String> patterns = List.of(
+                "192\\.168\\..*", "(?i).*crypto.*", "(?i)[a-c]+x", "[^a-z]*", "\\d{3}-\\d{2,4}", "\\w+@\\w+\\.com",
+                "\\s*\\S+\\s*", "(ab|a)(c|bcd)", "a{0}b", "a{2,}", "(?:x|y)?z+?", "^abc$", "abc$", "a$\\n", "$", "^",
+                "[a-]+", "[-.]x", "[\\d\\s]+", "\\x41\\u0042", "()", "a|", ".", "..", "[\\]\\[]+", "(?i)\\x41");
+        List<String> inputs = List.of(
+                "", "a", "A", "ab", "abc", "abc\n", "abc\r\n", "abc\r", "abc ", "abc\n\n", "a\n", "\n",
+                "192.168.1.1", "10.0.0.1", "Crypto Exchange", "bbx", "ABX", "123-4567", "joe@mail.com",
+                "  token ", "abcd", "acd", "aaa", "xz", "yzzz", "-.-", "x", "AB", "b", "aab", "😀", "[]");
+
+        for (String regex : patterns) {
+            CompiledRegex compiled = linear.compile(regex).orElseThrow();
+            assertEquals("linear", compiled.engine(), () -> regex + " should use the linear engine");
+            Pattern reference = Pattern.compile(regex);
+            for (String input : inputs) {
+                assertEquals(reference.matcher(input).matches(), compiled.matches(input),
+                        () -> "Mismatch for /" + regex + "/ on \"" + input + "\"");
+            }
+        }
+    }
+
+    @Test
+    void linear_shouldAgreeWithJavaRegexOnRandomPatterns() {
+        Random random = new Random(3);
+        String[] atoms = {"a", "b", "A", ".", "[ab]", "[^a]", "[a-c]", "\\d", "\\w", "\\s", "^", "$", "\\n"};
+        String[] quantifiers = {"", "", "", "*", "+", "?", "{2}", "{1,3}", "{2,}", "*?", "+?"};
+        String[] alphabet = {"a", "b", "A", "B", "c", "1", " ", "\n", "\r"};
+
+        int linearCount = 0;
+        for (int p = 0; p < 400; p++) {
+            String regex = (random.nextInt(4) == 0 ? "(?i)" : "") + randomPattern(random, atoms, quantifiers, 2);
+            CompiledRegex compiled = linear.compile(regex).orElse(null);
+            if (compiled == null) continue; // a fallback pattern rejected as too expensive
+            if (compiled.engine().equals("linear")) linearCount++;
+            Pattern reference = Pattern.compile(regex);
+            for (int i = 0; i < 40; i++) {
+                StringBuilder input = new StringBuilder();
+                for (int n = random.nextInt(7); n > 0; n--) {
+                    input.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+                String text = input.toString();
+                boolean matched;
+                try {
+                    matched = compiled.matches(text);
+                } catch (RegexBudgetExceededException e) {
+                    continue; // abandoned by a fallback pattern, there is no answer to compare
+                }
+                assertEquals(reference.matcher(text).matches(), matched,
+                        () -> "Mismatch for /" + regex + "/ on \"" + text + "\"");
+            }
+        }
+        assertThat(linearCount).isGreaterThan(200);
+    }
+
+    @Test
+    void linear_shouldMatchCatastrophicPatternInLinearTime() {
+        CompiledRegex compiled = linear.compile("(a+)+$").orElseThrow();
+        String input = "a".repeat(10_000) + "!";
+
+        long start = System.nanoTime();
+        assertFalse(compiled.matches(input));
+        assertTrue(compiled.matches("a".repeat(10_000)));
+
+        assertThat(System.nanoTime() - start).isLessThan(2_000_000_000L);
+        assertEquals(0, compiled.budgetExceededCount());
+    }
+
+    @Test
+    void linear_shouldFallBackToBacktrackingForUnsupportedConstructs() {
+        for (String regex : List.of("(a)\\1", "(a*)*b", "(?=a)a", "a++", "\\bword\\b", "(?s)a.b", "[a&&[b]]")) {
+            CompiledRegex compiled = linear.compile(regex).orElseThrow();
+            assertEquals("backtracking", compiled.engine(), () -> regex + " should fall back");
+        }
+        assertTrue(linear.compile("(a)\\1").orElseThrow().matches("aa"));
+    }
+
+    @Test
+    void backtracking_shouldRejectPatternThatExplodesOnProbe() {
+        RegexCompiler backtracking = new RegexCompiler(RegexEngine.BACKTRACKING, 64);
+
+        assertTrue(backtracking.compile("(.*a){12}").isEmpty());
+        assertTrue(backtracking.compile("192\\.168\\..*").orElseThrow().matches("192.168.0.1"));
+    }
+
+    @Test
+    void backtracking_shouldAbandonMatchOverBudget() {
+        RegexCompiler backtracking = new RegexCompiler(RegexEngine.BACKTRACKING, 64);
+        CompiledRegex compiled = backtracking.compile("(.*a){3}").orElseThrow();
+
+        assertTrue(compiled.matches("aaa"));
+        assertThrows(RegexBudgetExceededException.class, () -> compiled.matches("a".repeat(5_000) + "!"));
+        assertEquals(1, compiled.budgetExceededCount());
+    }
+
+    @Test
+    void compile_shouldRejectInvalidSyntaxAndBoundTheCache() {
+        RegexCompiler small = new RegexCompiler(RegexEngine.LINEAR, 2);
+
+        assertThrows(PatternSyntaxException.class, () -> small.compile("[invalid"));
+        small.compile("a");
+        small.compile("b");
+        small.compile("c");
+
+        assertEquals(2, small.cachedPatterns());
+        assertEquals(1, small.evictions());
+    }
+
+    private static String randomPattern(Random random, String[] atoms, String[] quantifiers, int depth) {
+        StringBuilder pattern = new StringBuilder();
+        for (int n = 1 + random.nextInt(3); n > 0; n--) {
+            if (depth > 0 && random.nextInt(4) == 0) {
+                pattern.append(random.nextBoolean() ? "(" : "(?:")
+                        .append(randomPattern(random, atoms, quantifiers, depth - 1))
+                        .append('|')
+                        .append(randomPattern(random, atoms, quantifiers, depth - 1))
+                        .append(')');
+            } else {
+                pattern.append(atoms[random.nextInt(atoms.length)]);
+            }
+            pattern.append(quantifiers[random.nextInt(quantifiers.length)]);
+        }
+        return pattern.toString();
+    }
+}
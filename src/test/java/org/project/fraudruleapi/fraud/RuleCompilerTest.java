@@ -0,0 +1,570 @@
+package org.project.fraudruleapi.fraud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.compiler.BatchMatches;
+import org.project.fraudruleapi.fraud.evaluator.compiler.ColumnarBatch;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledCondition;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledPredicate;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCompiler;
+import org.project.fraudruleapi.fraud.evaluator.strategy.*;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.EvaluationResult;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.RuleSetEvaluation;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.project.fraudruleapi.shared.enums.ChannelType;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+import org.project.fraudruleapi.shared.enums.EvaluationEngine;
+import org.project.fraudruleapi.shared.enums.StatusType;
+import org.project.fraudruleapi.shared.enums.TransactionType;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleCompilerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FraudEvaluator fraudEvaluator;
+    private RuleCompiler ruleCompiler;
+
+    @BeforeEach
+    void setUp() {
+        ConditionEvaluatorFactory factory = new ConditionEvaluatorFactory(List.of(
+                new EqualsEvaluator(), new NotEqualsEvaluator(),
+                new GreaterThanEvaluator(), new GreaterThanOrEqualEvaluator(),
+                new LessThanEvaluator(), new LessThanOrEqualEvaluator(),
+                new BetweenEvaluator(), new IncludeEvaluator(), new RegexEvaluator(),
+                new StartsWithEvaluator(), new EndsWithEvaluator(), new ContainsEvaluator()
+        ));
+        factory.init();
+
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.EvaluationConfig evaluationConfig = new ApplicationConfiguration.EvaluationConfig();
+        evaluationConfig.setParallelThreshold(100);
+        fraudConfig.setEvaluation(evaluationConfig);
+        config.setFraud(fraudConfig);
+
+        fraudEvaluator = new FraudEvaluator(factory, config);
+        ruleCompiler = new RuleCompiler(factory);
+    }
+
+    @Test
+    void compile_seededRules_shouldMatchInterpretedEvaluation() throws Exception {
+        List<RuleDefinition> rules = fraudEvaluator.getRules(seededRules());
+        CompiledRuleSet ruleSet = ruleCompiler.compile("fraud-rule-001", 4L, rules);
+
+        assertThat(ruleSet.size()).isEqualTo(rules.size());
+
+        for (TransactionDto tx : sampleTransactions()) {
+            List<String> compiled = fraudEvaluator.evaluateRuleSet(ruleSet, tx).matched().stream()
+                    .map(EvaluationResult::ruleId).toList();
+            List<String> interpreted = fraudEvaluator.evaluateAllRules(rules, tx).stream()
+                    .map(EvaluationResult::ruleId).toList();
+            assertEquals(interpreted, compiled, () -> "Mismatch for " + tx.transactionId());
+        }
+    }
+
+    @Test
+    void compile_shouldDefaultWeight() {
+        RuleDefinition rule = RuleDefinition.builder().id("r1").name("Rule")
+                .condition(new Condition(ConditionType.EQUALS, "currency", "USD", null)).build();
+
+        CompiledRule compiled = ruleCompiler.compile("doc", 1L, List.of(rule)).getRules().getFirst();
+
+        assertThat(compiled.weight()).isEqualTo(25);
+    }
+
+    @Test
+    void compile_nullCondition_shouldNeverMatch() {
+        CompiledCondition condition = ruleCompiler.compile(null);
+        assertFalse(condition.matches(TransactionDto.builder().build()));
+    }
+
+    @Test
+    void compile_numericLeaf_shouldNotMatchWhenFieldNull() {
+        Condition greaterThan = new Condition(ConditionType.GREATER_THAN, "transferAmount", 100, null);
+        Condition between = new Condition(ConditionType.BETWEEN, "transferAmount", List.of(0, 100), null);
+        TransactionDto tx = TransactionDto.builder().build();
+
+        assertFalse(ruleCompiler.compile(greaterThan).matches(tx));
+        assertFalse(ruleCompiler.compile(between).matches(tx));
+        assertTrue(ruleCompiler.compile(new Condition(ConditionType.NOT, null, null, List.of(greaterThan))).matches(tx));
+        assertFalse(fraudEvaluator.evaluateCondition(greaterThan, tx));
+    }
+
+    @Test
+    void compile_invalidNumericConstant_shouldFailLikeInterpreted() {
+        CompiledCondition condition = ruleCompiler.compile(
+                new Condition(ConditionType.GREATER_THAN, "transferAmount", "ABC", null));
+        TransactionDto tx = TransactionDto.builder().transferAmount(10.0).build();
+
+        assertThrows(IllegalArgumentException.class, () -> condition.matches(tx));
+    }
+
+    @Test
+    void evaluateRuleSet_regexOverBudget_shouldReportRuleAsUnevaluated() {
+        List<RuleDefinition> rules = List.of(
+                // the word boundary is not supported by the linear engine, so this backtracks
+                rule("adversarial", new Condition(ConditionType.REGEX, "merchantName", "(.*a){3}\\b", null)),
+                rule("usd", new Condition(ConditionType.EQUALS, "currency", "USD", null)));
+        TransactionDto tx = TransactionDto.builder().currency("USD").merchantName("a".repeat(2000) + "!").build();
+
+        for (EvaluationEngine engine : EvaluationEngine.values()) {
+            RuleSetEvaluation evaluation = fraudEvaluator.evaluateRuleSet(ruleCompiler.compile("doc", 1L, rules, engine), tx);
+
+            assertThat(evaluation.matched().ruleIds()).as(engine.name()).containsExactly("usd");
+            assertThat(evaluation.unevaluatedRules()).as(engine.name()).containsExactly("adversarial");
+        }
+    }
+
+    @Test
+    void compile_invalidRegex_shouldNeverMatch() {
+        CompiledCondition condition = ruleCompiler.compile(
+                new Condition(ConditionType.REGEX, "ipAddress", "[invalid", null));
+        TransactionDto tx = TransactionDto.builder().ipAddress("10.0.0.1").build();
+
+        assertFalse(condition.matches(tx));
+    }
+
+    @Test
+    void compile_shouldShareIdenticalConditionsAcrossRules() {
+        Condition transfer = new Condition(ConditionType.EQUALS, "transactionType", "TRANSFER", null);
+        Condition zar = new Condition(ConditionType.EQUALS, "currency", "ZAR", null);
+        List<RuleDefinition> rules = List.of(
+                rule("r1", new Condition(ConditionType.AND, null, null, List.of(transfer, zar))),
+                rule("r2", new Condition(ConditionType.AND, null, null, List.of(
+                        new Condition(ConditionType.EQUALS, "transferType", "TRANSFER", null),
+                        new Condition(ConditionType.GREATER_THAN, "amount", 100, null)))),
+                rule("r3", new Condition(ConditionType.AND, null, null, List.of(transfer, zar))));
+
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, rules);
+
+        // the transfer leaf (also reached via its alias) and the whole AND shared by r1 and r3
+        assertThat(ruleSet.getMemoSlots()).isEqualTo(2);
+    }
+
+    @Test
+    void evaluateRuleSet_shouldRunSharedPredicateOncePerTransaction() {
+        AtomicInteger invocations = new AtomicInteger();
+        ConditionEvaluator counting = new RegexEvaluator() {
+            @Override
+            public CompiledPredicate compile(Condition condition) {
+                CompiledPredicate delegate = super.compile(condition);
+                return transaction -> {
+                    invocations.incrementAndGet();
+                    return delegate.test(transaction);
+                };
+            }
+        };
+        ConditionEvaluatorFactory factory = new ConditionEvaluatorFactory(List.of(counting, new EqualsEvaluator()));
+        factory.init();
+        RuleCompiler compiler = new RuleCompiler(factory);
+
+        Condition crypto = new Condition(ConditionType.REGEX, "merchantName", "(?i).*crypto.*", null);
+        List<RuleDefinition> rules = List.of(
+                rule("r1", crypto),
+                rule("r2", new Condition(ConditionType.AND, null, null, List.of(
+                        new Condition(ConditionType.EQUALS, "currency", "USD", null), crypto))),
+                rule("r3", new Condition(ConditionType.NOT, null, null, List.of(crypto))));
+        TransactionDto tx = transaction("tx-1", 10.0, TransactionType.TRANSFER, ChannelType.WEB,
+                "USD", "Crypto Exchange", 1L, "1.1.1.1");
+
+        List<String> matched = fraudEvaluator.evaluateRuleSet(compiler.compile("doc", 1L, rules), tx).matched().stream()
+                .map(EvaluationResult::ruleId).toList();
+
+        assertEquals(List.of("r1", "r2"), matched);
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void compile_amountBands_shouldUseThresholdIndexAndMatchInterpreted() {
+        List<RuleDefinition> rules = List.of(
+                rule("gt-1000", new Condition(ConditionType.GREATER_THAN, "transferAmount", 1000, null)),
+                rule("gte-1000", new Condition(ConditionType.GREATER_THAN_OR_EQUAL, "amount", "1000", null)),
+                rule("lt-500", new Condition(ConditionType.LESS_THAN, "transferAmount", 500.0, null)),
+                rule("lte-500", new Condition(ConditionType.LESS_THAN_OR_EQUAL, "transferAmount", 500, null)),
+                rule("band", new Condition(ConditionType.BETWEEN, "transferAmount", List.of(500, 1000), null)),
+                rule("empty-band", new Condition(ConditionType.BETWEEN, "transferAmount", List.of(900, 100), null)),
+                rule("account", new Condition(ConditionType.GREATER_THAN, "accountId", 5, null)),
+                rule("and", new Condition(ConditionType.AND, null, null, List.of(
+                        new Condition(ConditionType.GREATER_THAN, "transferAmount", 1000, null),
+                        new Condition(ConditionType.LESS_THAN, "transferAmount", 5000, null)))));
+
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, rules);
+
+        assertThat(ruleSet.getThresholds().fieldCount()).isEqualTo(2);
+        assertThat(ruleSet.getThresholds().thresholdCount(0)).isEqualTo(5);
+
+        for (double amount : new double[]{-1, 0, 100, 499.99, 500, 500.01, 900, 999.99, 1000, 1000.01, 5000, 1e9}) {
+            TransactionDto tx = TransactionDto.builder().transferAmount(amount).accountId((long) amount).build();
+            List<String> compiled = fraudEvaluator.evaluateRuleSet(ruleSet, tx).matched().stream()
+                    .map(EvaluationResult::ruleId).toList();
+            List<String> interpreted = fraudEvaluator.evaluateAllRules(rules, tx).stream()
+                    .map(EvaluationResult::ruleId).toList();
+            assertEquals(interpreted, compiled, () -> "Mismatch for amount " + amount);
+        }
+    }
+
+    @Test
+    void compile_thresholdLeaf_shouldNotMatchWhenFieldNull() {
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, List.of(
+                rule("gt", new Condition(ConditionType.GREATER_THAN, "transferAmount", 100, null)),
+                rule("le", new Condition(ConditionType.LESS_THAN_OR_EQUAL, "transferAmount", 100, null))));
+
+        RuleSetEvaluation evaluation = fraudEvaluator.evaluateRuleSet(ruleSet, TransactionDto.builder().build());
+
+        assertThat(evaluation.matched().size()).isZero();
+        assertThat(evaluation.unevaluatedRules()).isEmpty();
+    }
+
+    @Test
+    void compile_stringPatterns_shouldUsePatternIndexAndMatchInterpreted() {
+        List<RuleDefinition> rules = new ArrayList<>();
+        for (String keyword : List.of("he", "she", "his", "hers", "Casino", "crypto", "", "ex")) {
+            rules.add(rule("contains-" + keyword, new Condition(ConditionType.CONTAINS, "merchantName", keyword, null)));
+        }
+        for (String prefix : List.of("10.", "172.", "192.168.", "1", "")) {
+            rules.add(rule("prefix-" + prefix, new Condition(ConditionType.STARTS_WITH, "ipAddress", prefix, null)));
+        }
+        for (String suffix : List.of(".1", "0.1", "Store", "store")) {
+            rules.add(rule("suffix-" + suffix, new Condition(ConditionType.ENDS_WITH, "merchant_name", suffix, null)));
+        }
+
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, rules);
+
+        assertThat(ruleSet.getPatterns().fieldCount()).isEqualTo(2);
+
+        List<String> merchants = Arrays.asList("ushers", "CASINO royale", "Crypto Exchange", "Online Store", "h", "", null);
+        List<String> ips = Arrays.asList("10.0.0.1", "172.16.0.1", "192.168.1.1", "8.8.8.8", "1", "", null);
+        for (String merchant : merchants) {
+            for (String ip : ips) {
+                TransactionDto tx = TransactionDto.builder().merchantName(merchant).ipAddress(ip).build();
+                List<String> compiled = fraudEvaluator.evaluateRuleSet(ruleSet, tx).matched().stream()
+                        .map(EvaluationResult::ruleId).toList();
+                List<String> interpreted = fraudEvaluator.evaluateAllRules(rules, tx).stream()
+                        .map(EvaluationResult::ruleId).toList();
+                assertEquals(interpreted, compiled, () -> "Mismatch for " + merchant + " / " + ip);
+            }
+        }
+    }
+
+    @Test
+    void compile_include_shouldUseTypedSetsAndMatchInterpreted() {
+        List<RuleDefinition> rules = List.of(
+                rule("blocked-accounts", new Condition(ConditionType.INCLUDE, "beneficiary_account",
+                        List.of("32142347", "57437955", "007", "-5", "abc"), null)),
+                rule("blocked-numeric", new Condition(ConditionType.INCLUDE, "beneficiaryAccount", List.of(80923904, 0), null)),
+                rule("json-string", new Condition(ConditionType.INCLUDE, "accountId", "[\"1\", \"2\"]", null)),
+                rule("channels", new Condition(ConditionType.INCLUDE, "channel", "ATM, \"BRANCH\"", null)),
+                rule("currencies", new Condition(ConditionType.INCLUDE, "currency", List.of("ZAR", "USD"), null)));
+
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, rules);
+
+        List<Long> accounts = Arrays.asList(32142347L, 57437955L, 7L, -5L, 80923904L, 0L, 1L, 2L, null);
+        List<ChannelType> channels = Arrays.asList(ChannelType.ATM, ChannelType.BRANCH, ChannelType.WEB, null);
+        List<String> currencies = Arrays.asList("ZAR", "zar", "\"USD\"", "EUR", null);
+        for (Long account : accounts) {
+            for (ChannelType channel : channels) {
+                for (String currency : currencies) {
+                    TransactionDto tx = TransactionDto.builder().beneficiaryAccount(account).accountId(account)
+                            .channel(channel).currency(currency).build();
+                    List<String> compiled = fraudEvaluator.evaluateRuleSet(ruleSet, tx).matched().stream()
+                            .map(EvaluationResult::ruleId).toList();
+                    List<String> interpreted = fraudEvaluator.evaluateAllRules(rules, tx).stream()
+                            .map(EvaluationResult::ruleId).toList();
+                    assertEquals(interpreted, compiled, () -> "Mismatch for " + tx);
+                }
+            }
+        }
+    }
+
+    @Test
+    void reorderOperands_shouldMoveSelectiveOperandFirstWithoutChangingOutcome() {
+        List<RuleDefinition> rules = List.of(rule("r1", new Condition(ConditionType.AND, null, null, List.of(
+                new Condition(ConditionType.REGEX, "merchantName", "(?i).*(store|shop|mart).*", null),
+                new Condition(ConditionType.EQUALS, "deviceId", "device-7", null)))));
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, rules);
+
+        assertThat(ruleSet.describeOrdering().get("r1")).startsWith("AND(REGEX");
+
+        List<TransactionDto> transactions = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            transactions.add(TransactionDto.builder().merchantName("Online Store").deviceId("device-" + (i % 10)).build());
+        }
+        List<Integer> before = transactions.stream().map(tx -> fraudEvaluator.evaluateRuleSet(ruleSet, tx).matched().size()).toList();
+
+        assertEquals(1, ruleSet.reorderOperands());
+        assertThat(ruleSet.describeOrdering().get("r1")).startsWith("AND(EQUALS deviceId device-7");
+
+        List<Integer> after = transactions.stream().map(tx -> fraudEvaluator.evaluateRuleSet(ruleSet, tx).matched().size()).toList();
+        assertEquals(before, after);
+
+        ruleSet.resetStatistics();
+        assertThat(ruleSet.describeOrdering().get("r1")).startsWith("AND(REGEX");
+        assertEquals(0, ruleSet.reorderOperands());
+    }
+
+    @Test
+    void compile_generatedEngine_seededRules_shouldMatchInterpretedEvaluation() throws Exception {
+        List<RuleDefinition> rules = fraudEvaluator.getRules(seededRules());
+        CompiledRuleSet ruleSet = ruleCompiler.compile("fraud-rule-001", 4L, rules, EvaluationEngine.GENERATED);
+
+        assertTrue(ruleSet.isGenerated());
+
+        for (TransactionDto tx : sampleTransactions()) {
+            List<String> generated = fraudEvaluator.evaluateRuleSet(ruleSet, tx).matched().stream()
+                    .map(EvaluationResult::ruleId).toList();
+            List<String> interpreted = fraudEvaluator.evaluateAllRules(rules, tx).stream()
+                    .map(EvaluationResult::ruleId).toList();
+            assertEquals(interpreted, generated, () -> "Mismatch for " + tx.transactionId());
+        }
+    }
+
+    @Test
+    void compile_generatedEngine_randomRules_shouldMatchInterpretedEvaluation() {
+        Random random = new Random(7);
+        List<RuleDefinition> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rules.add(rule("r" + i, randomCondition(random, 3)));
+        }
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, rules, EvaluationEngine.GENERATED);
+
+        assertTrue(ruleSet.isGenerated());
+
+        for (int i = 0; i < 500; i++) {
+            TransactionDto tx = TransactionDto.builder()
+                    .transferAmount(pick(random, 0.0, 99.99, 100.0, 100.01, 5000.0, Double.NaN))
+                    .accountId(pick(random, 1L, 5L, 7L))
+                    .beneficiaryAccount(pick(random, 7L, 32142347L, null))
+                    .channel(pick(random, ChannelType.WEB, ChannelType.ATM, null))
+                    .status(pick(random, StatusType.PENDING, null))
+                    .currency(pick(random, "ZAR", "zar", "USD", null))
+                    .merchantName(pick(random, "Crypto Exchange", "Online Store", null))
+                    .build();
+            List<String> generated = fraudEvaluator.evaluateRuleSet(ruleSet, tx).matched().stream()
+                    .map(EvaluationResult::ruleId).toList();
+            List<String> interpreted = fraudEvaluator.evaluateAllRules(rules, tx).stream()
+                    .map(EvaluationResult::ruleId).toList();
+            assertEquals(interpreted, generated, () -> "Mismatch for " + tx);
+        }
+    }
+
+    @Test
+    void compile_generatedEngine_numericLeaf_shouldNotMatchWhenFieldNull() {
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, List.of(
+                rule("gt", new Condition(ConditionType.GREATER_THAN, "amount", 100, null)),
+                rule("not-gt", new Condition(ConditionType.NOT, null, null, List.of(
+                        new Condition(ConditionType.GREATER_THAN, "amount", 100, null))))), EvaluationEngine.GENERATED);
+
+        RuleSetEvaluation evaluation = fraudEvaluator.evaluateRuleSet(ruleSet, TransactionDto.builder().build());
+
+        assertThat(evaluation.matched().stream().map(EvaluationResult::ruleId)).containsExactly("not-gt");
+    }
+
+    @Test
+    void evaluateBatch_randomRules_shouldMatchPerTransactionEvaluation() {
+        Random random = new Random(11);
+        List<RuleDefinition> rules = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rules.add(rule("r" + i, randomCondition(random, 3)));
+        }
+        rules.add(rule("band", new Condition(ConditionType.BETWEEN, "transferAmount", List.of(99.99, "5000"), null)));
+        rules.add(rule("guarded", new Condition(ConditionType.AND, null, null, List.of(
+                new Condition(ConditionType.EQUALS, "channel", "ATM", null),
+                new Condition(ConditionType.GREATER_THAN, "beneficiaryAccount", 10, null)))));
+
+        List<TransactionDto> transactions = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ChannelType channel = pick(random, ChannelType.WEB, ChannelType.ATM, null);
+            transactions.add(TransactionDto.builder()
+                    .transferAmount(pick(random, -0.0, 0.0, 99.99, 100.0, 5000.0, Double.NaN))
+                    .accountId(pick(random, 1L, 5L, 7L))
+                    // the guarded comparison only ever reaches ATM rows, which always carry a beneficiary
+                    .beneficiaryAccount(channel == ChannelType.ATM ? pick(random, 7L, 32142347L) : pick(random, 7L, null))
+                    .channel(channel)
+                    .status(pick(random, StatusType.PENDING, null))
+                    .currency(pick(random, "ZAR", "zar", "USD", null))
+                    .merchantName(pick(random, "Crypto Exchange", "Online Store", null))
+                    .build());
+        }
+
+        BatchMatches batch = fraudEvaluator.evaluateBatch(ruleCompiler.compile("doc", 1L, rules), transactions);
+
+        assertThat(batch.size()).isEqualTo(transactions.size());
+        assertThat(batch.ruleCount()).isEqualTo(rules.size());
+        for (int t = 0; t < transactions.size(); t++) {
+            TransactionDto tx = transactions.get(t);
+            List<String> interpreted = fraudEvaluator.evaluateAllRules(rules, tx).stream()
+                    .map(EvaluationResult::ruleId).toList();
+            assertEquals(interpreted, batch.matchedRules(t), () -> "Mismatch for " + tx);
+        }
+    }
+
+    @Test
+    void evaluateBatch_shouldReportRowsARuleCannotEvaluateAsFailed() {
+        List<RuleDefinition> rules = List.of(
+                rule("gt", new Condition(ConditionType.GREATER_THAN, "amount", 100, null)),
+                // an unparseable constant only fails on rows with an amount to compare
+                rule("invalid", new Condition(ConditionType.GREATER_THAN, "amount", "lots", null)),
+                rule("web", new Condition(ConditionType.EQUALS, "channel", "WEB", null)));
+        List<TransactionDto> transactions = List.of(
+                TransactionDto.builder().transferAmount(500.0).build(),
+                TransactionDto.builder().channel(ChannelType.WEB).build());
+
+        BatchMatches batch = fraudEvaluator.evaluateBatch(ruleCompiler.compile("doc", 1L, rules), transactions);
+
+        assertThat(batch.matchedRules(0)).containsExactly("gt");
+        assertThat(batch.failedRules(0)).containsExactly("invalid");
+        assertThat(batch.matchedRules(1)).containsExactly("web");
+        assertThat(batch.failedRules(1)).isEmpty();
+        assertThat(batch.failedTransactions().stream().toArray()).containsExactly(0);
+    }
+
+    @Test
+    void evaluateBatch_shouldReuseTheLeafPredicatesOfTheCompiledRuleSet() {
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 1L, List.of(
+                rule("blocked", new Condition(ConditionType.INCLUDE, "accountId", List.of(5, 7), null)),
+                rule("zar", new Condition(ConditionType.EQUALS, "currency", "ZAR", null))));
+        List<TransactionDto> transactions = List.of(
+                TransactionDto.builder().accountId(7L).currency("USD").build(),
+                TransactionDto.builder().accountId(1L).currency("ZAR").build());
+
+        BatchMatches batch = new ColumnarBatch(transactions, cond -> {
+            throw new AssertionError("Recompiled " + cond);
+        }).evaluate(ruleSet);
+
+        assertThat(batch.matchedRules(0)).containsExactly("blocked");
+        assertThat(batch.matchedRules(1)).containsExactly("zar");
+    }
+
+    @Test
+    void compile_includeOnEnumField_shouldMatchMembersIgnoringCase() {
+        Condition include = new Condition(ConditionType.INCLUDE, "channel", List.of("atm", "Web"), null);
+        TransactionDto atm = TransactionDto.builder().channel(ChannelType.ATM).build();
+
+        assertTrue(ruleCompiler.compile(include).matches(atm));
+        assertTrue(fraudEvaluator.evaluateCondition(include, atm));
+        assertFalse(ruleCompiler.compile(include).matches(TransactionDto.builder().build()));
+    }
+
+    @Test
+    void recompile_shouldReuseUnchangedLeavesAndRuleCosts() {
+        AtomicInteger compiledLeaves = new AtomicInteger();
+        ConditionEvaluator counting = new RegexEvaluator() {
+            @Override
+            public CompiledPredicate compile(Condition condition) {
+                compiledLeaves.incrementAndGet();
+                return super.compile(condition);
+            }
+        };
+        ConditionEvaluatorFactory factory = new ConditionEvaluatorFactory(List.of(counting, new EqualsEvaluator()));
+        factory.init();
+        RuleCompiler compiler = new RuleCompiler(factory);
+
+        Condition crypto = new Condition(ConditionType.REGEX, "merchantName", "(?i).*crypto.*", null);
+        Condition casino = new Condition(ConditionType.REGEX, "merchantName", "(?i).*casino.*", null);
+        Condition forex = new Condition(ConditionType.REGEX, "merchantName", "(?i).*forex.*", null);
+        CompiledRuleSet v1 = compiler.compile("doc", 1L, List.of(rule("r1", crypto), rule("r2", casino)),
+                EvaluationEngine.COMPILED);
+        assertEquals(2, compiledLeaves.get());
+
+        CompiledRuleSet v2 = compiler.recompile(v1, 2L, List.of(rule("r1", crypto), rule("r2", casino)),
+                EvaluationEngine.COMPILED);
+        CompiledRuleSet v3 = compiler.recompile(v2, 3L, List.of(rule("r1", crypto), rule("r2", forex)),
+                EvaluationEngine.COMPILED);
+
+        assertEquals(3, compiledLeaves.get());
+        assertEquals(2L, v2.getVersion());
+        assertThat(v2.getRules()).isEqualTo(v1.getRules());
+        assertThat(v3.getRules().get(0).cost()).isSameAs(v1.getRules().get(0).cost());
+        assertThat(v3.getRules().get(1).cost()).isNotSameAs(v1.getRules().get(1).cost());
+        TransactionDto tx = transaction("tx-1", 10.0, TransactionType.TRANSFER, ChannelType.WEB,
+                "USD", "Forex Traders", 1L, "1.1.1.1");
+        assertEquals(List.of("r2"), fraudEvaluator.evaluateRuleSet(v3, tx).matched().ruleIds());
+    }
+
+    @Test
+    void isCompiledFrom_shouldCompareRuleIdAndVersion() {
+        CompiledRuleSet ruleSet = ruleCompiler.compile("doc", 2L, List.of());
+
+        assertTrue(ruleSet.isCompiledFrom(RuleDto.builder().ruleId("doc").version(2L).build()));
+        assertFalse(ruleSet.isCompiledFrom(RuleDto.builder().ruleId("doc").version(3L).build()));
+        assertFalse(ruleSet.isCompiledFrom(RuleDto.builder().ruleId("other").version(2L).build()));
+    }
+
+    private RuleDto seededRules() throws Exception {
+        try (InputStream is = getClass().getResourceAsStream("/rules.json")) {
+            return RuleDto.builder().ruleId("fraud-rule-001").version(4L).data(objectMapper.readTree(is)).build();
+        }
+    }
+
+    private Condition randomCondition(Random random, int depth) {
+        int kind = random.nextInt(depth > 0 ? 14 : 10);
+        return switch (kind) {
+            case 0 -> new Condition(ConditionType.GREATER_THAN, "transferAmount", pick(random, 100, "100", 99.99, "NaN"), null);
+            case 1 -> new Condition(ConditionType.LESS_THAN_OR_EQUAL, "accountId", pick(random, 5, 5.5, "7"), null);
+            case 2 -> new Condition(ConditionType.EQUALS, "amount", pick(random, 100, "100.0", 5000), null);
+            case 3 -> new Condition(pick(random, ConditionType.EQUALS, ConditionType.NOT_EQUALS),
+                    "beneficiary_account", pick(random, 7, "32142347", 7.5), null);
+            case 4 -> new Condition(pick(random, ConditionType.EQUALS, ConditionType.NOT_EQUALS),
+                    "channel", pick(random, "web", "ATM", "UNKNOWN", null), null);
+            case 5 -> new Condition(pick(random, ConditionType.EQUALS, ConditionType.NOT_EQUALS),
+                    "currency", pick(random, "zar", "USD", null), null);
+            case 6 -> new Condition(ConditionType.EQUALS, "status", "pending", null);
+            case 7 -> new Condition(ConditionType.CONTAINS, "merchantName", pick(random, "crypto", "store"), null);
+            case 8 -> new Condition(ConditionType.INCLUDE, "currency", List.of("ZAR", "EUR"), null);
+            case 9 -> new Condition(ConditionType.EQUALS, "unknownField", pick(random, "x", null), null);
+            case 10 -> new Condition(ConditionType.NOT, null, null,
+                    random.nextBoolean() ? List.of(randomCondition(random, depth - 1)) : List.of());
+            default -> {
+                List<Condition> operands = new ArrayList<>();
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    operands.add(randomCondition(random, depth - 1));
+                }
+                yield new Condition(kind == 11 ? ConditionType.AND : ConditionType.OR, null, null, operands);
+            }
+        };
+    }
+
+    @SafeVarargs
+    private static <T> T pick(Random random, T... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private RuleDefinition rule(String id, Condition condition) {
+        return RuleDefinition.builder().id(id).name(id).weight(10).condition(condition).build();
+    }
+
+    private List<TransactionDto> sampleTransactions() {
+        return List.of(
+                transaction("tx-1", 1_500_000.0, TransactionType.TRANSFER, ChannelType.WEB, "ZAR", "Online Store", 32142347L, "8.8.8.8"),
+                transaction("tx-2", 750_000.0, TransactionType.WIRE_TRANSFER, ChannelType.BRANCH, "USD", "Crypto Exchange", 200L, "192.168.1.50"),
+                transaction("tx-3", 150_000.0, TransactionType.MOBILE_PAYMENT, ChannelType.MOBILE_APP, "ZAR", "Forex Traders", 300L, "10.1.1.1"),
+                transaction("tx-4", 25_000.0, TransactionType.WITHDRAWAL, ChannelType.ATM, "ZAR", "ATM", 400L, "172.16.0.1"),
+                transaction("tx-5", 50.0, TransactionType.CARD_PAYMENT, ChannelType.WEB, "EUR", "Grocer", 500L, "1.1.1.1")
+        );
+    }
+
+    private TransactionDto transaction(String id, double amount, TransactionType type, ChannelType channel,
+                                       String currency, String merchant, long beneficiary, String ip) {
+        return new TransactionDto(id, 1L, 10L, currency, amount, LocalDateTime.now(), type, channel,
+                "M001", merchant, beneficiary, ip, "device1", "Cape Town", StatusType.PENDING);
+    }
+}
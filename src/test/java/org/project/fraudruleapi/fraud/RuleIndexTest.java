@@ -0,0 +1,84 @@
+package org.project.fraudruleapi.fraud;
+
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleIndex;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.model.Condition;
+import org.project.fraudruleapi.fraud.model.RuleDefinition;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.enums.ChannelType;
+import org.project.fraudruleapi.shared.enums.ConditionType;
+import org.project.fraudruleapi.shared.enums.TransactionType;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleIndexTest {
+
+    private final List<RuleDefinition> rules = List.of(
+            rule("transfer-zar", and(
+                    equals("transferType", "TRANSFER"),
+                    new Condition(ConditionType.GREATER_THAN, "transferAmount", 1000, null),
+                    equals("currency", "zar"))),
+            rule("withdrawal-atm", and(equals("transactionType", "WITHDRAWAL"), equals("channel", "ATM"))),
+            rule("mobile-or-transfer", new Condition(ConditionType.OR, null, null, List.of(
+                    equals("channel", "MOBILE_APP"), equals("transactionType", "TRANSFER")))),
+            rule("unknown-type", equals("transactionType", "TELEPORT")));
+
+    @Test
+    void build_shouldIndexOnlyGuardedFields() {
+        RuleIndex index = RuleIndex.build(rules);
+
+        assertThat(index.getIndexedFields()).containsExactlyInAnyOrder(
+                TransactionField.TRANSACTION_TYPE, TransactionField.CHANNEL, TransactionField.CURRENCY);
+    }
+
+    @Test
+    void candidates_shouldSkipRulesWhoseGuardsCannotMatch() {
+        RuleIndex index = RuleIndex.build(rules);
+
+        BitSet transfer = index.candidates(tx(TransactionType.TRANSFER, ChannelType.WEB, "ZAR"));
+        BitSet withdrawal = index.candidates(tx(TransactionType.WITHDRAWAL, ChannelType.ATM, "ZAR"));
+        BitSet usdTransfer = index.candidates(tx(TransactionType.TRANSFER, ChannelType.WEB, "USD"));
+
+        assertEquals(BitSet.valueOf(new long[]{0b0101}), transfer);
+        assertEquals(BitSet.valueOf(new long[]{0b0110}), withdrawal);
+        assertEquals(BitSet.valueOf(new long[]{0b0100}), usdTransfer);
+    }
+
+    @Test
+    void candidates_shouldKeepOnlyUnguardedRulesWhenFieldIsNull() {
+        RuleIndex index = RuleIndex.build(rules);
+
+        BitSet candidates = index.candidates(TransactionDto.builder().build());
+
+        assertEquals(BitSet.valueOf(new long[]{0b0100}), candidates);
+    }
+
+    @Test
+    void build_withoutGuards_shouldBeEmpty() {
+        RuleIndex index = RuleIndex.build(List.of(rule("or", new Condition(ConditionType.OR, null, null, List.of(
+                equals("channel", "WEB"), equals("channel", "ATM"))))));
+
+        assertTrue(index.isEmpty());
+    }
+
+    private static RuleDefinition rule(String id, Condition condition) {
+        return RuleDefinition.builder().id(id).name(id).weight(10).condition(condition).build();
+    }
+
+    private static Condition and(Condition... operands) {
+        return new Condition(ConditionType.AND, null, null, List.of(operands));
+    }
+
+    private static Condition equals(String field, Object value) {
+        return new Condition(ConditionType.EQUALS, field, value, null);
+    }
+
+    private static TransactionDto tx(TransactionType type, ChannelType channel, String currency) {
+        return TransactionDto.builder().transactionType(type).channel(channel).currency(currency).transferAmount(5000.0).build();
+    }
+}
@@ -0,0 +1,76 @@
+package org.project.fraudruleapi.fraud;
+
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.rules.model.RuleRoute;
+import org.project.fraudruleapi.shared.enums.ChannelType;
+import org.project.fraudruleapi.shared.enums.TransactionType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RulePacksTest {
+
+    private final CompiledRuleSet everyTransaction = new CompiledRuleSet("default", 1L, List.of());
+    private final CompiledRuleSet atm = new CompiledRuleSet("atm", 1L, List.of());
+    private final CompiledRuleSet ecommerce = new CompiledRuleSet("ecommerce", 3L, List.of());
+    private final CompiledRuleSet withdrawals = new CompiledRuleSet("withdrawals", 1L, List.of());
+
+    @Test
+    void route_shouldPickUnroutedPacksPlusTheChannelPack() {
+        RulePacks packs = new RulePacks(List.of(
+                new RulePacks.Pack(atm, new RuleRoute("channel", "ATM")),
+                new RulePacks.Pack(everyTransaction, null),
+                new RulePacks.Pack(ecommerce, new RuleRoute("channel", "WEB"))));
+
+        assertThat(packs.route(transaction(ChannelType.ATM, TransactionType.WITHDRAWAL)))
+                .containsExactly(everyTransaction, atm);
+        assertThat(packs.route(transaction(ChannelType.WEB, TransactionType.CARD_PAYMENT)))
+                .containsExactly(everyTransaction, ecommerce);
+        assertThat(packs.route(transaction(ChannelType.BRANCH, TransactionType.DEPOSIT)))
+                .containsExactly(everyTransaction);
+        assertThat(packs.route(transaction(null, TransactionType.DEPOSIT)))
+                .containsExactly(everyTransaction);
+    }
+
+    @Test
+    void route_shouldCombinePacksRoutedOnDifferentAttributes() {
+        RulePacks packs = new RulePacks(List.of(
+                new RulePacks.Pack(atm, new RuleRoute("channel", "ATM")),
+                new RulePacks.Pack(withdrawals, new RuleRoute("transactionType", "WITHDRAWAL"))));
+
+        assertThat(packs.route(transaction(ChannelType.ATM, TransactionType.WITHDRAWAL)))
+                .containsExactly(atm, withdrawals);
+        assertThat(packs.route(transaction(ChannelType.WEB, TransactionType.WITHDRAWAL)))
+                .containsExactly(withdrawals);
+        assertThat(packs.route(transaction(ChannelType.WEB, TransactionType.CARD_PAYMENT))).isEmpty();
+    }
+
+    @Test
+    void isCompiledFrom_shouldCompareIdsAndVersionsInAnyOrder() {
+        RulePacks packs = new RulePacks(List.of(
+                new RulePacks.Pack(everyTransaction, null),
+                new RulePacks.Pack(ecommerce, new RuleRoute("channel", "WEB"))));
+
+        assertThat(packs.isCompiledFrom(List.of(dto("ecommerce", 3L), dto("default", 1L)))).isTrue();
+        assertThat(packs.isCompiledFrom(List.of(dto("ecommerce", 4L), dto("default", 1L)))).isFalse();
+        assertThat(packs.isCompiledFrom(List.of(dto("default", 1L)))).isFalse();
+        assertThat(RulePacks.EMPTY.isCompiledFrom(List.of())).isTrue();
+    }
+
+    private static TransactionDto transaction(ChannelType channel, TransactionType type) {
+        return TransactionDto.builder()
+                .transactionId("TX1")
+                .channel(channel)
+                .transactionType(type)
+                .build();
+    }
+
+    private static RuleDto dto(String ruleId, long version) {
+        return RuleDto.builder().ruleId(ruleId).version(version).build();
+    }
+}
@@ -0,0 +1,118 @@
+package org.project.fraudruleapi.fraud;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.fraud.evaluator.field.RuleTypeChecker;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.project.fraudruleapi.shared.enums.RegexEngine;
+import org.project.fraudruleapi.shared.exception.InvalidRuleException;
+
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuleTypeCheckerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RuleTypeChecker checker = new RuleTypeChecker();
+
+    @Test
+    void check_shouldAcceptBundledRuleDocument() throws Exception {
+        try (InputStream is = getClass().getResourceAsStream("/rules.json")) {
+            JsonNode document = objectMapper.readTree(is);
+            assertDoesNotThrow(() -> checker.check(document));
+        }
+    }
+
+    @Test
+    void check_shouldAcceptDocumentWithoutRules() throws Exception {
+        assertDoesNotThrow(() -> checker.check(objectMapper.readTree("{\"ruleId\": \"r\"}")));
+    }
+
+    @Test
+    void check_shouldReportEveryTypeErrorWithItsPath() throws Exception {
+        JsonNode document = objectMapper.readTree("""
+                {"rules": [
+                  {"id": "r1", "condition": {"type": "AND", "operands": [
+                    {"type": "GREATER_THAN", "field": "transferAmount", "value": "ABC"},
+                    {"type": "GREATER_THAN", "field": "currency", "value": 10},
+                    {"type": "EQUALS", "field": "noSuchField", "value": "x"},
+                    {"type": "EQUALS", "field": "transactionType", "value": "TELEPORT"},
+                    {"type": "BETWEEN", "field": "amount", "value": [1]},
+                    {"type": "BETWEEN", "field": "amount", "value": [10, 1]},
+                    {"type": "INCLUDE", "field": "channel", "value": ["MOBILE_APP", "PIGEON"]},
+                    {"type": "INCLUDE", "field": "accountId", "value": ["12", "twelve"]},
+                    {"type": "REGEX", "field": "merchantName", "value": "[unclosed"},
+                    {"type": "EQUALS", "field": "accountId", "value": null},
+                    {"type": "NOT", "operands": []}
+                  ]}},
+                  {"id": "r2", "condition": {"type": "STARTS_WITH", "field": "merchantName", "value": 5}}
+                ]}
+                """);
+
+        InvalidRuleException e = assertThrows(InvalidRuleException.class, () -> checker.check(document));
+
+        assertThat(e.getErrors()).containsExactly(
+                "rules[0] (r1).condition.operands[0]: GREATER_THAN needs a numeric value, got String ABC",
+                "rules[0] (r1).condition.operands[1]: GREATER_THAN needs a numeric field, currency is STRING",
+                "rules[0] (r1).condition.operands[2]: unknown field 'noSuchField'",
+                "rules[0] (r1).condition.operands[3]: 'TELEPORT' is not a valid TransactionType for field transactionType",
+                "rules[0] (r1).condition.operands[4]: BETWEEN needs a [min, max] list, got ArrayList [1]",
+                "rules[0] (r1).condition.operands[5]: BETWEEN min 10 is greater than max 1",
+                "rules[0] (r1).condition.operands[6]: 'PIGEON' is not a valid ChannelType for field channel",
+                "rules[0] (r1).condition.operands[7]: INCLUDE on numeric field accountId has non-numeric member String twelve",
+                "rules[0] (r1).condition.operands[8]: invalid REGEX pattern: Unclosed character class",
+                "rules[0] (r1).condition.operands[9]: EQUALS on numeric field accountId needs a numeric value, got null",
+                "rules[0] (r1).condition.operands[10]: NOT needs at least one operand",
+                "rules[1] (r2).condition: STARTS_WITH needs a string value, got Integer 5");
+    }
+
+    @Test
+    void check_shouldRejectRegexThatFailsCalibrationForTheConfiguredEngine() throws Exception {
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.EvaluationConfig evaluationConfig = new ApplicationConfiguration.EvaluationConfig();
+        evaluationConfig.setRegexEngine(RegexEngine.BACKTRACKING);
+        fraudConfig.setEvaluation(evaluationConfig);
+        config.setFraud(fraudConfig);
+        JsonNode document = objectMapper.readTree("""
+                {"rules": [{"id": "r1", "condition": {"type": "REGEX", "field": "merchantName", "value": "(.*a){12}"}}]}
+                """);
+
+        InvalidRuleException e = assertThrows(InvalidRuleException.class,
+                () -> new RuleTypeChecker(config).check(document));
+
+        assertThat(e.getErrors()).containsExactly(
+                "rules[0] (r1).condition: REGEX pattern is too expensive to match with the BACKTRACKING engine");
+        assertDoesNotThrow(() -> checker.check(document));
+    }
+
+    @Test
+    void check_shouldRejectRouteOnUnknownOrNonEnumFieldOrValue() throws Exception {
+        InvalidRuleException notEnum = assertThrows(InvalidRuleException.class, () -> checker.check(
+                objectMapper.readTree("{\"route\": {\"field\": \"merchantName\", \"value\": \"x\"}}")));
+        InvalidRuleException badValue = assertThrows(InvalidRuleException.class, () -> checker.check(
+                objectMapper.readTree("{\"route\": {\"field\": \"channel\", \"value\": \"PIGEON\"}}")));
+
+        assertThat(notEnum.getErrors()).containsExactly("route: 'merchantName' is not an enum transaction field");
+        assertThat(badValue.getErrors()).containsExactly("route: 'PIGEON' is not a valid ChannelType for field channel");
+        assertDoesNotThrow(() -> checker.check(
+                objectMapper.readTree("{\"route\": {\"field\": \"channel\", \"value\": \"atm\"}}")));
+    }
+
+    @Test
+    void check_shouldAcceptEnumLiteralsCaseInsensitivelyAndNullLiteralOnStrings() throws Exception {
+        JsonNode document = objectMapper.readTree("""
+                {"rules": [{"id": "r1", "condition": {"type": "OR", "operands": [
+                  {"type": "EQUALS", "field": "status", "value": "pending"},
+                  {"type": "NOT_EQUALS", "field": "merchantId", "value": null},
+                  {"type": "LESS_THAN_OR_EQUAL", "field": "accountId", "value": "1000"}
+                ]}}]}
+                """);
+
+        assertDoesNotThrow(() -> checker.check(document));
+    }
+}
@@ -0,0 +1,203 @@
+package org.project.fraudruleapi.fraud;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.project.fraudruleapi.fraud.entity.ShadowDiffEntity;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.MatchedRules;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCost;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.fraud.evaluator.strategy.ConditionEvaluatorFactory;
+import org.project.fraudruleapi.fraud.model.ShadowDiff;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.fraud.repository.ShadowDiffRepository;
+import org.project.fraudruleapi.fraud.service.ShadowEvaluationService;
+import org.project.fraudruleapi.rules.entity.RuleEntity;
+import org.project.fraudruleapi.rules.model.RuleRoute;
+import org.project.fraudruleapi.rules.repository.RuleRepository;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.project.fraudruleapi.shared.enums.ChannelType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShadowEvaluationServiceTest {
+
+    private final CompiledRuleSet everyTransaction = ruleSet("default", rule("d1", 10, true));
+    private final CompiledRuleSet atm = ruleSet("atm", rule("a1", 30, true));
+    private final CompiledRuleSet candidate = ruleSet("atm-v2", rule("c1", 60, true), rule("c2", 5, false));
+
+    private final CompiledRuleCache compiledRuleCache = mock(CompiledRuleCache.class);
+    private final RuleRepository ruleRepository = mock(RuleRepository.class);
+    private final ShadowDiffRepository shadowDiffRepository = mock(ShadowDiffRepository.class);
+    private ApplicationConfiguration config;
+    private FraudEvaluator fraudEvaluator;
+    private RulePacks packs;
+    private ShadowEvaluationService service;
+    @SuppressWarnings("unchecked")
+    private final ArgumentCaptor<Iterable<ShadowDiffEntity>> saved = ArgumentCaptor.forClass(Iterable.class);
+
+    @BeforeEach
+    void setUp() {
+        config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.EvaluationConfig evaluationConfig = new ApplicationConfiguration.EvaluationConfig();
+        ApplicationConfiguration.ShadowConfig shadowConfig = new ApplicationConfiguration.ShadowConfig();
+        shadowConfig.setEnabled(true);
+        shadowConfig.setCandidateRuleId("atm-v2");
+        shadowConfig.setSampleRate(1.0);
+        shadowConfig.setCpuBudget(1.0);
+        fraudConfig.setEvaluation(evaluationConfig);
+        fraudConfig.setRisk(new ApplicationConfiguration.RiskConfig());
+        fraudConfig.setShadow(shadowConfig);
+        config.setFraud(fraudConfig);
+        fraudEvaluator = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), config);
+
+        packs = new RulePacks(List.of(
+                new RulePacks.Pack(everyTransaction, null),
+                new RulePacks.Pack(atm, new RuleRoute("channel", "ATM"))));
+        when(compiledRuleCache.current()).thenReturn(packs);
+        when(compiledRuleCache.compile(any())).thenReturn(candidate);
+        when(ruleRepository.findByRuleId("atm-v2")).thenReturn(Mono.just(RuleEntity.builder()
+                .ruleId("atm-v2").version(1L).active(false).routeField("channel").routeValue("ATM").build()));
+        when(shadowDiffRepository.saveAll(anyIterable()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<ShadowDiffEntity>>getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+        fraudEvaluator.shutdown();
+    }
+
+    @Test
+    void compare_shouldReplaceTheActivePackOnTheCandidateRoute() {
+        service = newService();
+        StepVerifier.create(service.refreshCandidate()).verifyComplete();
+        TransactionDto tx = transaction("TX1", ChannelType.ATM);
+
+        Optional<ShadowDiff> diff = service.compare(tx, champion(tx));
+
+        assertThat(diff).hasValueSatisfying(d -> {
+            assertThat(d.championScore()).isEqualTo(40);
+            assertThat(d.challengerScore()).isEqualTo(70);
+            assertThat(d.championSeverity()).isEqualTo("MEDIUM");
+            assertThat(d.challengerSeverity()).isEqualTo("HIGH");
+            assertThat(d.decisionChanged()).isFalse();
+            assertThat(d.addedRules()).containsExactly("c1");
+            assertThat(d.removedRules()).containsExactly("a1");
+        });
+        assertThat(service.compare(transaction("TX2", ChannelType.WEB), MatchedRules.none())).isEmpty();
+    }
+
+    @Test
+    void submit_shouldEvaluateOffTheCallerThreadAndPersistDiffs() {
+        config.getFraud().getShadow().setPersistDiffs(true);
+        service = newService();
+        StepVerifier.create(service.refreshCandidate()).verifyComplete();
+        TransactionDto tx = transaction("TX1", ChannelType.ATM);
+
+        service.submit(tx, champion(tx));
+
+        verify(shadowDiffRepository, timeout(2000)).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(diff -> {
+            assertThat(diff.getCandidateRuleId()).isEqualTo("atm-v2");
+            assertThat(diff.getTransactionId()).isEqualTo("TX1");
+            assertThat(diff.getAddedRules()).isEqualTo("c1");
+            assertThat(diff.getRemovedRules()).isEqualTo("a1");
+        });
+    }
+
+    @Test
+    void submit_shouldWriteDiffsInBatchesWithOneInFlight() {
+        config.getFraud().getShadow().setPersistDiffs(true);
+        Sinks.Empty<Void> firstWrite = Sinks.empty();
+        when(shadowDiffRepository.saveAll(anyIterable()))
+                .thenReturn(firstWrite.asMono().thenMany(Flux.empty()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<ShadowDiffEntity>>getArgument(0)));
+        service = newService();
+        StepVerifier.create(service.refreshCandidate()).verifyComplete();
+
+        TransactionDto first = transaction("TX1", ChannelType.ATM);
+        service.submit(first, champion(first));
+        verify(shadowDiffRepository, timeout(2000)).saveAll(saved.capture());
+        for (int i = 2; i <= 4; i++) {
+            TransactionDto tx = transaction("TX" + i, ChannelType.ATM);
+            service.submit(tx, champion(tx));
+        }
+        verify(shadowDiffRepository, after(200).times(1)).saveAll(anyIterable());
+
+        firstWrite.tryEmitEmpty();
+
+        verify(shadowDiffRepository, timeout(2000).times(2)).saveAll(saved.capture());
+        assertThat(saved.getAllValues().get(saved.getAllValues().size() - 1))
+                .extracting(ShadowDiffEntity::getTransactionId)
+                .containsExactly("TX2", "TX3", "TX4");
+    }
+
+    @Test
+    void refreshCandidate_shouldPauseWhenCandidateIsActiveOrShadowIsDisabled() {
+        when(ruleRepository.findByRuleId("atm-v2")).thenReturn(Mono.just(RuleEntity.builder()
+                .ruleId("atm-v2").version(1L).active(true).build()));
+        service = newService();
+        StepVerifier.create(service.refreshCandidate()).verifyComplete();
+        TransactionDto tx = transaction("TX1", ChannelType.ATM);
+
+        assertThat(service.compare(tx, champion(tx))).isEmpty();
+        verify(compiledRuleCache, never()).compile(any());
+
+        service.shutdown();
+        config.getFraud().getShadow().setEnabled(false);
+        service = newService();
+        StepVerifier.create(service.refreshCandidate()).verifyComplete();
+        service.submit(tx, champion(tx));
+        verify(ruleRepository).findByRuleId("atm-v2");
+    }
+
+    private ShadowEvaluationService newService() {
+        return new ShadowEvaluationService(compiledRuleCache, ruleRepository, fraudEvaluator,
+                shadowDiffRepository, config, new SimpleMeterRegistry());
+    }
+
+    private MatchedRules champion(TransactionDto tx) {
+        return fraudEvaluator.evaluateRuleSets(packs.route(tx), tx).matched();
+    }
+
+    private static TransactionDto transaction(String id, ChannelType channel) {
+        return TransactionDto.builder()
+                .transactionId(id)
+                .channel(channel)
+                .transferAmount(100.0)
+                .build();
+    }
+
+    private static CompiledRuleSet ruleSet(String id, CompiledRule... rules) {
+        return new CompiledRuleSet(id, 1L, List.of(rules));
+    }
+
+    private static CompiledRule rule(String id, int weight, boolean matches) {
+        return new CompiledRule(id, id, id, weight, context -> matches, new RuleCost());
+    }
+}
@@ -0,0 +1,61 @@
+package org.project.fraudruleapi.fraud;
+
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.fraud.evaluator.field.FieldType;
+import org.project.fraudruleapi.fraud.evaluator.field.TransactionField;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.shared.enums.ChannelType;
+import org.project.fraudruleapi.shared.enums.TransactionType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionFieldTest {
+
+    @Test
+    void resolve_shouldHandleAliasesAndSnakeCase() {
+        assertThat(TransactionField.resolve("amount")).contains(TransactionField.TRANSFER_AMOUNT);
+        assertThat(TransactionField.resolve("transferType")).contains(TransactionField.TRANSACTION_TYPE);
+        assertThat(TransactionField.resolve("beneficiary_account")).contains(TransactionField.BENEFICIARY_ACCOUNT);
+        assertThat(TransactionField.resolve("merchant_name")).contains(TransactionField.MERCHANT_NAME);
+        assertThat(TransactionField.resolve("ip_address")).contains(TransactionField.IP_ADDRESS);
+    }
+
+    @Test
+    void resolve_shouldReturnEmptyForUnknownField() {
+        assertThat(TransactionField.resolve("nonExistent")).isEmpty();
+        assertThat(TransactionField.resolve(null)).isEmpty();
+    }
+
+    @Test
+    void typedReads_shouldReturnPrimitiveValues() {
+        TransactionDto tx = TransactionDto.builder()
+                .transferAmount(1500.5)
+                .accountId(42L)
+                .beneficiaryAccount(32142347L)
+                .channel(ChannelType.MOBILE_APP)
+                .build();
+
+        assertEquals(1500.5, TransactionField.TRANSFER_AMOUNT.readDouble(tx));
+        assertEquals(42L, TransactionField.ACCOUNT_ID.readLong(tx));
+        assertEquals(32142347L, TransactionField.BENEFICIARY_ACCOUNT.readLong(tx));
+        assertEquals(ChannelType.MOBILE_APP.ordinal(), TransactionField.CHANNEL.readOrdinal(tx));
+        assertEquals(-1, TransactionField.TRANSACTION_TYPE.readOrdinal(tx));
+        assertTrue(TransactionField.TRANSACTION_TYPE.isNull(tx));
+    }
+
+    @Test
+    void ordinalOf_shouldResolveLiteralCaseInsensitively() {
+        assertEquals(TransactionType.TRANSFER.ordinal(), TransactionField.TRANSACTION_TYPE.ordinalOf("transfer"));
+        assertEquals(-1, TransactionField.TRANSACTION_TYPE.ordinalOf("UNKNOWN"));
+        assertEquals(-1, TransactionField.CURRENCY.ordinalOf("USD"));
+    }
+
+    @Test
+    void fieldTypes_shouldMatchRecordComponents() {
+        assertEquals(FieldType.DOUBLE, TransactionField.TRANSFER_AMOUNT.getType());
+        assertEquals(FieldType.LONG, TransactionField.ACCOUNT_ID.getType());
+        assertEquals(FieldType.ENUM, TransactionField.STATUS.getType());
+        assertEquals(FieldType.STRING, TransactionField.CURRENCY.getType());
+    }
+}
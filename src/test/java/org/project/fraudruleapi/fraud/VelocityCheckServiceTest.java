@@ -5,7 +5,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.project.fraudruleapi.fraud.model.EvaluationResult;
 import org.project.fraudruleapi.fraud.model.TransactionDto;
 import org.project.fraudruleapi.fraud.repository.TransactionRepository;
 import org.project.fraudruleapi.fraud.service.VelocityCheckService;
@@ -74,7 +73,7 @@ class VelocityCheckServiceTest {
                 .assertNext(results -> {
                     assertThat(results).hasSize(1);
                     assertThat(results.get(0).ruleId()).isEqualTo("VELOCITY_CHECK");
-                    assertThat(results.get(0).matched()).isTrue();
+                    assertThat(results.get(0).description()).contains("exceeded velocity limit");
                 })
                 .verifyComplete();
     }
@@ -9,10 +9,11 @@ import org.project.fraudruleapi.rules.entity.RuleEntity;
 import org.project.fraudruleapi.rules.repository.RuleRepository;
 import org.project.fraudruleapi.rules.service.RuleService;
 import org.project.fraudruleapi.shared.cache.RuleCache;
-import org.project.fraudruleapi.shared.exception.ResourceNotFound;
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,30 +29,51 @@ class RuleCacheTest {
     private RuleCache rulesCache;
 
     @Test
-    void getRules_shouldReturnRules_whenFound() {
-        RuleEntity ruleEntity = RuleEntity.builder()
+    void getRules_shouldReturnEveryActivePack() {
+        RuleEntity defaultPack = RuleEntity.builder()
                 .ruleId("rule-123")
                 .active(true)
                 .build();
+        RuleEntity atmPack = RuleEntity.builder()
+                .ruleId("atm-rules")
+                .active(true)
+                .routeField("channel")
+                .routeValue("ATM")
+                .build();
 
-        when(ruleRepository.findByActiveIsTrue()).thenReturn(Mono.just(ruleEntity));
+        when(ruleRepository.findAllByActiveIsTrue()).thenReturn(Flux.just(defaultPack, atmPack));
 
-        StepVerifier.create(rulesCache.getActiveRule())
-                .expectNextMatches(ruleDto -> ruleDto.getRuleId().equals("rule-123"))
+        StepVerifier.create(rulesCache.getActiveRules())
+                .expectNextMatches(rules -> rules.size() == 2
+                        && rules.get(0).getRuleId().equals("rule-123")
+                        && rules.get(1).getRouteValue().equals("ATM"))
                 .verifyComplete();
 
-        verify(ruleRepository, times(1)).findByActiveIsTrue();
+        verify(ruleRepository, times(1)).findAllByActiveIsTrue();
     }
 
     @Test
-    void getRules_shouldError_whenNotFound() {
-        when(ruleRepository.findByActiveIsTrue()).thenReturn(Mono.empty());
+    void getRules_shouldBeEmpty_whenNoneActive() {
+        when(ruleRepository.findAllByActiveIsTrue()).thenReturn(Flux.empty());
+
+        StepVerifier.create(rulesCache.getActiveRules())
+                .expectNext(List.of())
+                .verifyComplete();
+
+        verify(ruleRepository, times(1)).findAllByActiveIsTrue();
+    }
 
-        StepVerifier.create(rulesCache.getActiveRule())
-                .expectError(ResourceNotFound.class)
-                .verify();
+    @Test
+    void refreshActiveRules_shouldReloadFromRepository() {
+        RuleEntity defaultPack = RuleEntity.builder()
+                .ruleId("rule-123")
+                .active(true)
+                .build();
+        when(ruleRepository.findAllByActiveIsTrue()).thenReturn(Flux.just(defaultPack));
 
-        verify(ruleRepository, times(1)).findByActiveIsTrue();
+        StepVerifier.create(rulesCache.refreshActiveRules())
+                .expectNextMatches(rules -> rules.size() == 1 && rules.getFirst().getRuleId().equals("rule-123"))
+                .verifyComplete();
     }
 
     @Test
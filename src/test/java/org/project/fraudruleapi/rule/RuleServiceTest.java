@@ -1,27 +1,41 @@
 package org.project.fraudruleapi.rule;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.fraud.evaluator.field.RuleTypeChecker;
 import org.project.fraudruleapi.rules.entity.RuleEntity;
 import org.project.fraudruleapi.rules.mapper.RuleMapper;
 import org.project.fraudruleapi.rules.model.RuleDto;
 import org.project.fraudruleapi.rules.repository.RuleRepository;
 import org.project.fraudruleapi.rules.service.RuleService;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
 import org.project.fraudruleapi.shared.cache.RuleCache;
+import org.project.fraudruleapi.shared.cache.RuleChangeNotifier;
+import org.project.fraudruleapi.shared.exception.InvalidRuleException;
 import org.project.fraudruleapi.shared.exception.ResourceNotFound;
 import org.project.fraudruleapi.shared.util.JsonSchemaValidator;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,12 +47,24 @@ class RuleServiceTest {
     @Mock
     private JsonSchemaValidator jsonSchemaValidator;
 
+    @Mock
+    private RuleTypeChecker ruleTypeChecker;
+
     @Mock
     private RuleCache ruleCache;
 
+    @Mock
+    private CompiledRuleCache compiledRuleCache;
+
+    @Mock
+    private RuleChangeNotifier ruleChangeNotifier;
+
     @Mock
     private R2dbcEntityTemplate r2dbcEntityTemplate;
 
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     @InjectMocks
     private RuleService ruleService;
 
@@ -47,6 +73,9 @@ class RuleServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
         activeRule = RuleEntity.builder()
                 .ruleId("active-rule")
                 .active(true)
@@ -75,23 +104,107 @@ class RuleServiceTest {
                 .data(ruleJson)
                 .build();
 
-        when(ruleRepository.findActiveIsTrueForUpdate()).thenReturn(Mono.just(activeRule));
+        when(ruleRepository.findActiveForRouteForUpdate(null, null)).thenReturn(Mono.just(activeRule));
         when(ruleRepository.save(any(RuleEntity.class))).thenReturn(Mono.just(activeRule)); // return the saved entity
         when(r2dbcEntityTemplate.insert(any(RuleEntity.class))).thenReturn(Mono.just(newRule));
-        when(ruleCache.getActiveRule()).thenReturn(Mono.just(RuleMapper.INSTANCE.mapToRuleDto(newRule))); // return new active rule
+        List<RuleDto> activeRules = List.of(RuleMapper.INSTANCE.mapToRuleDto(newRule));
+        when(ruleCache.refreshActiveRules()).thenReturn(Mono.just(activeRules)); // return new active rule
+        when(compiledRuleCache.resolveAllReactive(activeRules)).thenReturn(Mono.just(RulePacks.EMPTY));
+        when(ruleChangeNotifier.publish("new-rule", 1L)).thenReturn(Mono.empty());
 
         StepVerifier.create(ruleService.createRule(ruleJson))
                 .expectNext("new-rule")
                 .verifyComplete();
 
         verify(jsonSchemaValidator, times(1)).validate(ruleJson);
+        verify(ruleTypeChecker, times(1)).check(ruleJson);
         verify(ruleRepository, times(1)).save(any(RuleEntity.class)); // only one save for deactivating
         verify(r2dbcEntityTemplate, times(1)).insert(any(RuleEntity.class));
-        verify(ruleCache, times(1)).evictAll();
-        verify(ruleCache, times(1)).getActiveRule();
+        verify(ruleCache, never()).evictAll();
+        verify(ruleCache, times(1)).refreshActiveRules();
+        verify(compiledRuleCache, times(1)).resolveAllReactive(activeRules);
+        verify(ruleChangeNotifier, times(1)).publish("new-rule", 1L);
     }
 
 
+    @Test
+    void createRule_shouldRefreshCachesOnlyAfterCommit() throws Exception {
+        JsonNode ruleJson = new ObjectMapper().readTree("{\"ruleId\": \"new-rule\", \"rules\": []}");
+        AtomicBoolean committed = new AtomicBoolean();
+        AtomicBoolean refreshedAfterCommit = new AtomicBoolean();
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation ->
+                invocation.<Mono<?>>getArgument(0).doOnSuccess(ignored -> committed.set(true)));
+        when(ruleRepository.findActiveForRouteForUpdate(null, null)).thenReturn(Mono.empty());
+        when(r2dbcEntityTemplate.insert(any(RuleEntity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(ruleCache.refreshActiveRules()).thenAnswer(invocation -> {
+            refreshedAfterCommit.set(committed.get());
+            return Mono.just(List.of());
+        });
+        when(compiledRuleCache.resolveAllReactive(List.of())).thenReturn(Mono.just(RulePacks.EMPTY));
+        when(ruleChangeNotifier.publish("new-rule", 1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(ruleService.createRule(ruleJson))
+                .expectNext("new-rule")
+                .verifyComplete();
+
+        assertTrue(refreshedAfterCommit.get());
+    }
+
+    @Test
+    void createRule_shouldOnlyReplaceActivePackOnSameRoute() throws Exception {
+        JsonNode ruleJson = new ObjectMapper().readTree(
+                "{\"ruleId\": \"atm-pack\", \"route\": {\"field\": \"channel\", \"value\": \"atm\"}, \"rules\": []}");
+        RuleEntity activeAtmPack = RuleEntity.builder().ruleId("old-atm-pack").active(true)
+                .routeField("channel").routeValue("ATM").build();
+
+        when(ruleRepository.findActiveForRouteForUpdate("channel", "ATM")).thenReturn(Mono.just(activeAtmPack));
+        when(ruleRepository.save(any(RuleEntity.class))).thenReturn(Mono.just(activeAtmPack));
+        when(r2dbcEntityTemplate.insert(any(RuleEntity.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(ruleCache.refreshActiveRules()).thenReturn(Mono.just(List.of()));
+        when(compiledRuleCache.resolveAllReactive(List.of())).thenReturn(Mono.just(RulePacks.EMPTY));
+        when(ruleChangeNotifier.publish("atm-pack", 1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(ruleService.createRule(ruleJson))
+                .expectNext("atm-pack")
+                .verifyComplete();
+
+        ArgumentCaptor<RuleEntity> inserted = ArgumentCaptor.forClass(RuleEntity.class);
+        verify(r2dbcEntityTemplate).insert(inserted.capture());
+        assertEquals("channel", inserted.getValue().getRouteField());
+        assertEquals("ATM", inserted.getValue().getRouteValue());
+        assertFalse(activeAtmPack.getActive());
+        verify(ruleRepository, never()).findActiveForRouteForUpdate(null, null);
+    }
+
+    @Test
+    void createRule_shouldRejectRuleThatFailsTypeCheck() {
+        JsonNode ruleJson = mock(JsonNode.class);
+        doThrow(new InvalidRuleException(List.of("rules[0].condition: unknown field 'x'")))
+                .when(ruleTypeChecker).check(ruleJson);
+
+        assertThrows(InvalidRuleException.class, () -> ruleService.createRule(ruleJson));
+
+        verify(r2dbcEntityTemplate, never()).insert(any(RuleEntity.class));
+        verify(ruleCache, never()).refreshActiveRules();
+    }
+
+    @Test
+    void updateRule_shouldRejectDataThatFailsTypeCheck() {
+        JsonNode data = mock(JsonNode.class);
+        RuleDto dto = RuleDto.builder().ruleId("inactive-rule").data(data).build();
+        when(ruleRepository.findByRuleId("inactive-rule")).thenReturn(Mono.just(inactiveRule));
+        doThrow(new InvalidRuleException(List.of("rules[0].condition: unknown field 'x'")))
+                .when(ruleTypeChecker).check(data);
+
+        StepVerifier.create(ruleService.updateRule("inactive-rule", dto))
+                .expectError(InvalidRuleException.class)
+                .verify();
+
+        verify(ruleRepository, never()).save(any(RuleEntity.class));
+        verify(ruleCache, never()).refreshActiveRules();
+        verify(ruleChangeNotifier, never()).publish(any(), any());
+    }
+
     @Test
     void updateRule_shouldUpdateActiveRule() {
         RuleDto dto = RuleDto.builder()
@@ -102,26 +215,35 @@ class RuleServiceTest {
                 .build();
 
         when(ruleRepository.findByRuleId("inactive-rule")).thenReturn(Mono.just(inactiveRule));
-        when(ruleRepository.findActiveIsTrueForUpdate()).thenReturn(Mono.just(activeRule));
+        when(ruleRepository.findActiveForRouteForUpdate(null, null)).thenReturn(Mono.just(activeRule));
         when(ruleRepository.save(any(RuleEntity.class))).thenReturn(Mono.just(inactiveRule));
-        when(ruleCache.getActiveRule()).thenReturn(Mono.just(RuleMapper.INSTANCE.mapToRuleDto(activeRule)));
+        List<RuleDto> activeRules = List.of(RuleMapper.INSTANCE.mapToRuleDto(activeRule));
+        when(ruleCache.refreshActiveRules()).thenReturn(Mono.just(activeRules));
+        when(compiledRuleCache.resolveAllReactive(activeRules)).thenReturn(Mono.just(RulePacks.EMPTY));
+        when(ruleChangeNotifier.publish("inactive-rule", 2L)).thenReturn(Mono.empty());
 
         StepVerifier.create(ruleService.updateRule("inactive-rule", dto))
                 .verifyComplete();
 
         verify(ruleRepository, times(2)).save(any(RuleEntity.class));
-        verify(ruleCache, times(1)).evictAll();
-        verify(ruleCache, times(1)).getActiveRule();
+        verify(ruleCache, never()).evictAll();
+        verify(ruleCache, times(1)).refreshActiveRules();
+        verify(compiledRuleCache, times(1)).resolveAllReactive(activeRules);
+        verify(ruleChangeNotifier, times(1)).publish("inactive-rule", 2L);
     }
 
     @Test
-    void deleteRule_shouldCallRepositoryAndEvictCache() {
+    void deleteRule_shouldCallRepositoryAndRefreshCache() {
         when(ruleRepository.deleteByRuleIdAndActiveIsFalse("inactive-rule")).thenReturn(Mono.empty());
+        when(ruleCache.refreshActiveRules()).thenReturn(Mono.just(List.of()));
+        when(compiledRuleCache.resolveAllReactive(List.of())).thenReturn(Mono.just(RulePacks.EMPTY));
+        when(ruleChangeNotifier.publish("inactive-rule", null)).thenReturn(Mono.empty());
         StepVerifier.create(ruleService.deleteRule("inactive-rule"))
                 .verifyComplete();
 
         verify(ruleRepository, times(1)).deleteByRuleIdAndActiveIsFalse("inactive-rule");
-        verify(ruleCache, times(1)).evictAll();
+        verify(ruleCache, times(1)).refreshActiveRules();
+        verify(ruleChangeNotifier, times(1)).publish("inactive-rule", null);
     }
 
     @Test
@@ -153,16 +275,27 @@ class RuleServiceTest {
 
     @Test
     void findActiveRule_shouldReturnActive() {
-        when(ruleRepository.findByActiveIsTrue()).thenReturn(Mono.just(activeRule));
+        when(ruleRepository.findByActiveIsTrueAndRouteFieldIsNull()).thenReturn(Mono.just(activeRule));
 
         StepVerifier.create(ruleService.findActiveRule())
                 .expectNextMatches(dto -> dto.getRuleId().equals("active-rule"))
                 .verifyComplete();
     }
 
+    @Test
+    void findActiveRules_shouldReturnEveryActivePack() {
+        RuleEntity routedRule = RuleEntity.builder().ruleId("atm-pack").active(true)
+                .routeField("channel").routeValue("ATM").build();
+        when(ruleRepository.findAllByActiveIsTrue()).thenReturn(Flux.just(activeRule, routedRule));
+
+        StepVerifier.create(ruleService.findActiveRules())
+                .expectNextMatches(list -> list.size() == 2 && "ATM".equals(list.get(1).getRouteValue()))
+                .verifyComplete();
+    }
+
     @Test
     void findActiveRule_shouldErrorWhenNone() {
-        when(ruleRepository.findByActiveIsTrue()).thenReturn(Mono.empty());
+        when(ruleRepository.findByActiveIsTrueAndRouteFieldIsNull()).thenReturn(Mono.empty());
 
         StepVerifier.create(ruleService.findActiveRule())
                 .expectError(ResourceNotFound.class)
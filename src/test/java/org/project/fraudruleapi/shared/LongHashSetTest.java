@@ -0,0 +1,54 @@
+package org.project.fraudruleapi.shared;
+
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.shared.util.LongHashSet;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void add_shouldIgnoreDuplicatesAndTrackZero() {
+        LongHashSet set = new LongHashSet(2);
+
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.add(-1L));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(-1L));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertFalse(set.contains(1L));
+    }
+
+    @Test
+    void contains_shouldAgreeWithHashSetAcrossResizes() {
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            long value = random.nextInt(200_000) * 1024L;
+            assertEquals(expected.add(value), set.add(value));
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long probe = 0; probe < 200_000L * 1024; probe += 512) {
+            assertEquals(expected.contains(probe), set.contains(probe));
+        }
+    }
+
+    @Test
+    void emptySet_shouldContainNothing() {
+        LongHashSet set = new LongHashSet(0);
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(42L));
+    }
+}
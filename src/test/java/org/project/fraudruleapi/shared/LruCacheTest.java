@@ -0,0 +1,41 @@
+package org.project.fraudruleapi.shared;
+
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.shared.util.LruCache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    @Test
+    void computeIfAbsent_shouldLoadOncePerKey() {
+        LruCache<String, Integer> cache = new LruCache<>(4);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, cache.computeIfAbsent("a", key -> loads.incrementAndGet()));
+        assertEquals(1, cache.computeIfAbsent("a", key -> loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void computeIfAbsent_shouldEvictLeastRecentlyUsed() {
+        LruCache<String, String> cache = new LruCache<>(2);
+        cache.computeIfAbsent("a", key -> key);
+        cache.computeIfAbsent("b", key -> key);
+        cache.get("a");
+        cache.computeIfAbsent("c", key -> key);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0));
+    }
+}
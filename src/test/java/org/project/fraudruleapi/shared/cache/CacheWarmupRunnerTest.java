@@ -2,11 +2,16 @@ package org.project.fraudruleapi.shared.cache;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,23 +24,41 @@ class CacheWarmupRunnerTest {
     private CacheWarmer cacheWarmer2;
 
     @Test
-    void run_shouldCallWarmUpOnAllCacheWarmers() {
+    void warmUpAll_shouldRunEveryWarmerInOrderBeforeReportingWarm() {
+        when(cacheWarmer1.warmUp()).thenReturn(Mono.empty());
+        when(cacheWarmer2.warmUp()).thenReturn(Mono.empty());
         CacheWarmupRunner runner = new CacheWarmupRunner(List.of(cacheWarmer1, cacheWarmer2));
 
-        runner.run();
+        assertThat(runner.isWarm()).isFalse();
+        StepVerifier.create(runner.warmUpAll()).verifyComplete();
 
-        verify(cacheWarmer1, times(1)).warmUp();
-        verify(cacheWarmer2, times(1)).warmUp();
+        InOrder inOrder = inOrder(cacheWarmer1, cacheWarmer2);
+        inOrder.verify(cacheWarmer1).warmUp();
+        inOrder.verify(cacheWarmer2).warmUp();
+        assertThat(runner.isWarm()).isTrue();
+        assertThat(runner.getStatus()).containsValue("DONE").doesNotContainValue("PENDING");
     }
 
     @Test
-    void run_shouldContinueOnException() {
+    void warmUpAll_shouldRetryAFailedWarmerAndStayNotWarmMeanwhile() {
+        when(cacheWarmer1.warmUp())
+                .thenThrow(new RuntimeException("Warmup failed"))
+                .thenReturn(Mono.error(new RuntimeException("Still failing")))
+                .thenReturn(Mono.empty());
+        when(cacheWarmer2.warmUp()).thenReturn(Mono.empty());
         CacheWarmupRunner runner = new CacheWarmupRunner(List.of(cacheWarmer1, cacheWarmer2));
-        doThrow(new RuntimeException("Warmup failed")).when(cacheWarmer1).warmUp();
 
-        runner.run();
+        StepVerifier.withVirtualTime(runner::warmUpAll)
+                .expectSubscription()
+                .then(() -> {
+                    assertThat(runner.isWarm()).isFalse();
+                    verify(cacheWarmer2, never()).warmUp();
+                })
+                .thenAwait(Duration.ofMinutes(1))
+                .verifyComplete();
 
-        verify(cacheWarmer1, times(1)).warmUp();
+        verify(cacheWarmer1, times(3)).warmUp();
         verify(cacheWarmer2, times(1)).warmUp();
+        assertThat(runner.isWarm()).isTrue();
     }
 }
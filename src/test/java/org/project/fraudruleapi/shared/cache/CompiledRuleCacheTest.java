@@ -0,0 +1,245 @@
+package org.project.fraudruleapi.shared.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCompiler;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.rules.model.RuleRoute;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.project.fraudruleapi.shared.enums.EvaluationEngine;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompiledRuleCacheTest {
+
+    @Mock
+    private FraudEvaluator fraudEvaluator;
+
+    @Mock
+    private RuleCompiler ruleCompiler;
+
+    @Mock
+    private RuleCache ruleCache;
+
+    private SimpleMeterRegistry registry;
+    private CompiledRuleCache compiledRuleCache;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        fraudConfig.setEvaluation(new ApplicationConfiguration.EvaluationConfig());
+        config.setFraud(fraudConfig);
+        registry = new SimpleMeterRegistry();
+        compiledRuleCache = new CompiledRuleCache(fraudEvaluator, ruleCompiler, ruleCache, config, registry);
+    }
+
+    @Test
+    void resolve_shouldCompileOncePerVersion() {
+        RuleDto ruleDto = RuleDto.builder().ruleId("doc").version(1L).build();
+        when(fraudEvaluator.getRules(ruleDto)).thenReturn(List.of());
+        when(ruleCompiler.compile("doc", 1L, List.of(), EvaluationEngine.COMPILED)).thenReturn(new CompiledRuleSet("doc", 1L, List.of()));
+
+        CompiledRuleSet first = compiledRuleCache.resolve(ruleDto);
+        CompiledRuleSet second = compiledRuleCache.resolve(RuleDto.builder().ruleId("doc").version(1L).build());
+
+        assertThat(second).isSameAs(first);
+        verify(ruleCompiler, times(1)).compile("doc", 1L, List.of(), EvaluationEngine.COMPILED);
+    }
+
+    @Test
+    void resolve_shouldSwapWhenVersionChanges() {
+        RuleDto v1 = RuleDto.builder().ruleId("doc").version(1L).build();
+        RuleDto v2 = RuleDto.builder().ruleId("doc").version(2L).build();
+        when(fraudEvaluator.getRules(any())).thenReturn(List.of());
+        when(ruleCompiler.compile("doc", 1L, List.of(), EvaluationEngine.COMPILED)).thenReturn(new CompiledRuleSet("doc", 1L, List.of()));
+        when(ruleCompiler.recompile(any(), eq(2L), eq(List.of()), eq(EvaluationEngine.COMPILED)))
+                .thenReturn(new CompiledRuleSet("doc", 2L, List.of()));
+
+        CompiledRuleSet first = compiledRuleCache.resolve(v1);
+        CompiledRuleSet second = compiledRuleCache.resolve(v2);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getVersion()).isEqualTo(2L);
+        verify(ruleCompiler).recompile(first, 2L, List.of(), EvaluationEngine.COMPILED);
+    }
+
+    @Test
+    void resolveAll_shouldRecompileOnlyThePackThatChanged() {
+        RuleDto defaultPack = RuleDto.builder().ruleId("default").version(1L).build();
+        RuleDto atmV1 = RuleDto.builder().ruleId("atm").version(1L).routeField("channel").routeValue("ATM").build();
+        RuleDto atmV2 = RuleDto.builder().ruleId("atm").version(2L).routeField("channel").routeValue("ATM").build();
+        when(fraudEvaluator.getRules(any())).thenReturn(List.of());
+        when(ruleCompiler.compile(anyString(), anyLong(), eq(List.of()), eq(EvaluationEngine.COMPILED)))
+                .thenAnswer(invocation -> new CompiledRuleSet(invocation.getArgument(0), invocation.getArgument(1), List.of()));
+
+        RulePacks first = compiledRuleCache.resolveAll(List.of(defaultPack, atmV1));
+        when(ruleCompiler.recompile(any(), anyLong(), eq(List.of()), eq(EvaluationEngine.COMPILED)))
+                .thenAnswer(invocation -> new CompiledRuleSet("atm", invocation.getArgument(1), List.of()));
+        RulePacks same = compiledRuleCache.resolveAll(List.of(atmV1, defaultPack));
+        RulePacks second = compiledRuleCache.resolveAll(List.of(defaultPack, atmV2));
+
+        assertThat(same).isSameAs(first);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getRuleSets().getFirst()).isSameAs(first.getRuleSets().getFirst());
+        assertThat(second.getPacks().get(1).route()).isEqualTo(new RuleRoute("channel", "ATM"));
+        assertThat(compiledRuleCache.current()).isSameAs(second);
+        verify(ruleCompiler, times(1)).compile("default", 1L, List.of(), EvaluationEngine.COMPILED);
+        verify(ruleCompiler, times(1)).recompile(first.getRuleSets().get(1), 2L, List.of(), EvaluationEngine.COMPILED);
+    }
+
+    @Test
+    void resolveAll_shouldKeepServingPublishedSnapshotWhileAnotherCallerRebuilds() throws Exception {
+        RuleDto v1 = RuleDto.builder().ruleId("doc").version(1L).build();
+        RuleDto v2 = RuleDto.builder().ruleId("doc").version(2L).build();
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(fraudEvaluator.getRules(any())).thenReturn(List.of());
+        when(ruleCompiler.compile("doc", 1L, List.of(), EvaluationEngine.COMPILED)).thenReturn(new CompiledRuleSet("doc", 1L, List.of()));
+        when(ruleCompiler.recompile(any(), eq(2L), eq(List.of()), eq(EvaluationEngine.COMPILED))).thenAnswer(invocation -> {
+            rebuilding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new CompiledRuleSet("doc", 2L, List.of());
+        });
+        RulePacks published = compiledRuleCache.resolveAll(List.of(v1));
+
+        ExecutorService rebuilder = Executors.newSingleThreadExecutor();
+        try {
+            Future<RulePacks> rebuilt = rebuilder.submit(() -> compiledRuleCache.resolveAll(List.of(v2)));
+            assertThat(rebuilding.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(compiledRuleCache.resolveAll(List.of(v2))).isSameAs(published);
+
+            release.countDown();
+            assertThat(rebuilt.get(5, TimeUnit.SECONDS).getRuleSets().getFirst().getVersion()).isEqualTo(2L);
+            assertThat(compiledRuleCache.resolveAll(List.of(v2))).isSameAs(compiledRuleCache.current());
+            verify(ruleCompiler, times(1)).recompile(any(), eq(2L), eq(List.of()), eq(EvaluationEngine.COMPILED));
+        } finally {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    @Test
+    void resolveAll_shouldRebuildAnUpdateThatArrivesDuringARebuild() throws Exception {
+        RuleDto v1 = RuleDto.builder().ruleId("doc").version(1L).build();
+        RuleDto v2 = RuleDto.builder().ruleId("doc").version(2L).build();
+        RuleDto v3 = RuleDto.builder().ruleId("doc").version(3L).build();
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(fraudEvaluator.getRules(any())).thenReturn(List.of());
+        when(ruleCompiler.compile("doc", 1L, List.of(), EvaluationEngine.COMPILED)).thenReturn(new CompiledRuleSet("doc", 1L, List.of()));
+        when(ruleCompiler.recompile(any(), eq(2L), eq(List.of()), eq(EvaluationEngine.COMPILED))).thenAnswer(invocation -> {
+            rebuilding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new CompiledRuleSet("doc", 2L, List.of());
+        });
+        when(ruleCompiler.recompile(any(), eq(3L), eq(List.of()), eq(EvaluationEngine.COMPILED)))
+                .thenReturn(new CompiledRuleSet("doc", 3L, List.of()));
+        compiledRuleCache.resolveAll(List.of(v1));
+
+        ExecutorService rebuilder = Executors.newSingleThreadExecutor();
+        try {
+            Future<RulePacks> rebuilt = rebuilder.submit(() -> compiledRuleCache.resolveAll(List.of(v2)));
+            assertThat(rebuilding.await(5, TimeUnit.SECONDS)).isTrue();
+
+            compiledRuleCache.resolveAll(List.of(v3));
+
+            release.countDown();
+            rebuilt.get(5, TimeUnit.SECONDS);
+            assertThat(compiledRuleCache.current().getRuleSets().getFirst().getVersion()).isEqualTo(3L);
+        } finally {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    @Test
+    void resolveAll_shouldDropPacksThatAreNoLongerActive() {
+        RuleDto defaultPack = RuleDto.builder().ruleId("default").version(1L).build();
+        RuleDto atm = RuleDto.builder().ruleId("atm").version(1L).routeField("channel").routeValue("ATM").build();
+        when(fraudEvaluator.getRules(any())).thenReturn(List.of());
+        when(ruleCompiler.compile(anyString(), anyLong(), eq(List.of()), eq(EvaluationEngine.COMPILED)))
+                .thenAnswer(invocation -> new CompiledRuleSet(invocation.getArgument(0), invocation.getArgument(1), List.of()));
+
+        compiledRuleCache.resolveAll(List.of(defaultPack, atm));
+        RulePacks remaining = compiledRuleCache.resolveAll(List.of(defaultPack));
+        compiledRuleCache.resolveAll(List.of(defaultPack, atm));
+
+        assertThat(remaining.getRuleSets()).extracting(CompiledRuleSet::getRuleId).containsExactly("default");
+        verify(ruleCompiler, times(2)).compile("atm", 1L, List.of(), EvaluationEngine.COMPILED);
+    }
+
+    @Test
+    void snapshot_shouldLoadFromRedisOnceThenServeFromMemory() {
+        RuleDto ruleDto = RuleDto.builder().ruleId("doc").version(1L).build();
+        when(ruleCache.getActiveRules()).thenReturn(Mono.just(List.of(ruleDto)));
+        when(fraudEvaluator.getRules(any())).thenReturn(List.of());
+        when(ruleCompiler.compile("doc", 1L, List.of(), EvaluationEngine.COMPILED)).thenReturn(new CompiledRuleSet("doc", 1L, List.of()));
+
+        assertThat(registry.get("fraud.rules.snapshot.age").gauge().value()).isNaN();
+        RulePacks loaded = compiledRuleCache.snapshot().block();
+        StepVerifier.create(compiledRuleCache.snapshot())
+                .expectNext(loaded)
+                .verifyComplete();
+
+        verify(ruleCache, times(1)).getActiveRules();
+        assertThat(registry.get("fraud.rules.snapshot.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("fraud.rules.snapshot.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("fraud.rules.snapshot.age").gauge().value()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void refresh_shouldCompileOffTheThreadThatEmittedTheRules() {
+        RuleDto ruleDto = RuleDto.builder().ruleId("doc").version(1L).build();
+        AtomicReference<String> compiledOn = new AtomicReference<>();
+        when(ruleCache.getActiveRules()).thenReturn(Mono.just(List.of(ruleDto)));
+        when(fraudEvaluator.getRules(any())).thenReturn(List.of());
+        when(ruleCompiler.compile("doc", 1L, List.of(), EvaluationEngine.COMPILED)).thenAnswer(invocation -> {
+            compiledOn.set(Thread.currentThread().getName());
+            return new CompiledRuleSet("doc", 1L, List.of());
+        });
+
+        StepVerifier.create(compiledRuleCache.refresh())
+                .expectNextMatches(packs -> packs.getRuleSets().size() == 1)
+                .verifyComplete();
+
+        assertThat(compiledOn.get()).startsWith("boundedElastic");
+    }
+
+    @Test
+    void refresh_shouldKeepTheSnapshotWhenRedisFails() {
+        RuleDto ruleDto = RuleDto.builder().ruleId("doc").version(1L).build();
+        when(ruleCache.getActiveRules())
+                .thenReturn(Mono.just(List.of(ruleDto)))
+                .thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(fraudEvaluator.getRules(any())).thenReturn(List.of());
+        when(ruleCompiler.compile("doc", 1L, List.of(), EvaluationEngine.COMPILED)).thenReturn(new CompiledRuleSet("doc", 1L, List.of()));
+        RulePacks loaded = compiledRuleCache.refresh().block();
+
+        StepVerifier.create(compiledRuleCache.refresh())
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(compiledRuleCache.snapshot())
+                .expectNext(loaded)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,55 @@
+package org.project.fraudruleapi.shared.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledCondition;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCost;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.rules.model.RuleRoute;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompiledRuleEndpointTest {
+
+    @Mock
+    private CompiledRuleCache compiledRuleCache;
+
+    @InjectMocks
+    private CompiledRuleEndpoint endpoint;
+
+    @Test
+    void compiledRules_shouldDescribeCurrentRuleSet() {
+        CompiledRule rule = new CompiledRule("r1", "Rule", null, 10,
+                new CompiledCondition.Leaf(tx -> true, "EQUALS currency ZAR"), new RuleCost());
+        when(compiledRuleCache.current()).thenReturn(new RulePacks(List.of(
+                new RulePacks.Pack(new CompiledRuleSet("doc", 3L, List.of(rule)), null),
+                new RulePacks.Pack(new CompiledRuleSet("atm", 1L, List.of()), new RuleRoute("channel", "ATM")))));
+
+        Map<String, Object> body = endpoint.compiledRules();
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> packs = (List<Map<String, Object>>) body.get("packs");
+        assertThat(packs).hasSize(2);
+        assertThat(packs.get(0)).containsEntry("ruleId", "doc").containsEntry("version", 3L)
+                .containsEntry("route", "ALL").containsEntry("rules", 1);
+        assertThat(packs.get(0).get("ordering")).isEqualTo(Map.of("r1", "EQUALS currency ZAR"));
+        assertThat(packs.get(1)).containsEntry("ruleId", "atm").containsEntry("route", "channel=ATM");
+    }
+
+    @Test
+    void compiledRules_shouldReportWhenNothingCompiled() {
+        when(compiledRuleCache.current()).thenReturn(RulePacks.EMPTY);
+
+        assertThat(endpoint.compiledRules()).containsEntry("status", "NOT_COMPILED");
+    }
+}
@@ -0,0 +1,58 @@
+package org.project.fraudruleapi.shared.cache;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionWarmerTest {
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @InjectMocks
+    private ConnectionWarmer connectionWarmer;
+
+    @Test
+    void warmUp_shouldCompleteWhenRedisIsDown() {
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        doReturn(Mono.empty()).when(connection).close();
+        when(reactiveRedisTemplate.execute(any(ReactiveRedisCallback.class)))
+                .thenReturn(Flux.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(connectionWarmer.warmUp()).verifyComplete();
+
+        verify(connection).close();
+    }
+
+    @Test
+    void warmUp_shouldNotWaitLongerThanThePingTimeoutForRedis() {
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        doReturn(Mono.empty()).when(connection).close();
+        when(reactiveRedisTemplate.execute(any(ReactiveRedisCallback.class))).thenReturn(Flux.never());
+
+        StepVerifier.withVirtualTime(() -> connectionWarmer.warmUp())
+                .thenAwait(Duration.ofSeconds(2))
+                .verifyComplete();
+    }
+}
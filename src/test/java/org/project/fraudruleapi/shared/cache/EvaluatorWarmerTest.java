@@ -0,0 +1,132 @@
+package org.project.fraudruleapi.shared.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.MatchedRules;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledCondition;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRule;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RuleCost;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.fraud.model.RuleSetEvaluation;
+import org.project.fraudruleapi.fraud.model.TransactionDto;
+import org.project.fraudruleapi.fraud.service.CrossBorderCheckService;
+import org.project.fraudruleapi.fraud.service.HighValueCheckService;
+import org.project.fraudruleapi.fraud.service.OffHoursCheckService;
+import org.project.fraudruleapi.fraud.service.SelfTransferCheckService;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.springframework.core.io.DefaultResourceLoader;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EvaluatorWarmerTest {
+
+    @Mock
+    private CompiledRuleCache compiledRuleCache;
+
+    @Mock
+    private FraudEvaluator fraudEvaluator;
+
+    @Mock
+    private CrossBorderCheckService crossBorderCheckService;
+
+    @Mock
+    private SelfTransferCheckService selfTransferCheckService;
+
+    @Mock
+    private HighValueCheckService highValueCheckService;
+
+    @Mock
+    private OffHoursCheckService offHoursCheckService;
+
+    private ApplicationConfiguration config;
+    private EvaluatorWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.WarmupConfig warmupConfig = new ApplicationConfiguration.WarmupConfig();
+        warmupConfig.setBatchSize(10);
+        warmupConfig.setMinTransactions(0);
+        warmupConfig.setMaxTransactions(25);
+        fraudConfig.setWarmup(warmupConfig);
+        config.setFraud(fraudConfig);
+        warmer = new EvaluatorWarmer(compiledRuleCache, fraudEvaluator, crossBorderCheckService,
+                selfTransferCheckService, highValueCheckService, offHoursCheckService,
+                new DefaultResourceLoader(), config);
+    }
+
+    @Test
+    void warmUp_shouldReplayTheBundledCorpusThroughRulesAndChecksThenResetTheirStatistics() {
+        config.getFraud().getWarmup().setStableBatches(100);
+        RuleCost cost = new RuleCost();
+        stubEvaluation(new CompiledRule("r1", "Rule", "Sampled while warming", 10, CompiledCondition.ALWAYS_TRUE, cost));
+        when(fraudEvaluator.evaluateRuleSets(any(), any())).thenAnswer(invocation -> {
+            cost.record(1_000_000);
+            return RuleSetEvaluation.complete(MatchedRules.none());
+        });
+
+        StepVerifier.create(warmer.warmUp()).verifyComplete();
+
+        ArgumentCaptor<TransactionDto> replayed = ArgumentCaptor.forClass(TransactionDto.class);
+        verify(fraudEvaluator, times(25)).evaluateRuleSets(any(), replayed.capture());
+        assertThat(replayed.getAllValues()).first().satisfies(tx -> {
+            assertThat(tx.transactionId()).isEqualTo("corpus-0001");
+            assertThat(tx.currency()).isEqualTo("GBP");
+            assertThat(tx.timeStamp()).isNotNull();
+        });
+        verify(offHoursCheckService, times(25)).checkOffHours(any());
+        assertThat(cost.estimateNanos()).isEqualTo(new RuleCost().estimateNanos());
+    }
+
+    @Test
+    void evaluate_shouldStopOnceBatchTimesConvergeAndFallBackToSyntheticTransactions() {
+        ApplicationConfiguration.WarmupConfig warmup = config.getFraud().getWarmup();
+        warmup.setCorpus("classpath:warmup/missing.jsonl");
+        warmup.setMaxTransactions(1000);
+        warmup.setConvergenceTolerance(1000);
+        warmup.setStableBatches(2);
+        stubEvaluation();
+
+        assertThat(warmer.evaluate(warmup)).isEqualTo(30);
+
+        ArgumentCaptor<TransactionDto> replayed = ArgumentCaptor.forClass(TransactionDto.class);
+        verify(fraudEvaluator, times(30)).evaluateRuleSets(any(), replayed.capture());
+        assertThat(replayed.getValue().transactionId()).isEqualTo("warmup-29");
+    }
+
+    @Test
+    void warmUp_shouldDoNothingWhenDisabledOrWithoutRules() {
+        config.getFraud().getWarmup().setEnabled(false);
+        StepVerifier.create(warmer.warmUp()).verifyComplete();
+        verifyNoInteractions(compiledRuleCache);
+
+        config.getFraud().getWarmup().setEnabled(true);
+        when(compiledRuleCache.current()).thenReturn(RulePacks.EMPTY);
+        StepVerifier.create(warmer.warmUp()).verifyComplete();
+        verifyNoInteractions(fraudEvaluator, crossBorderCheckService);
+    }
+
+    private void stubEvaluation(CompiledRule... rules) {
+        when(compiledRuleCache.current()).thenReturn(new RulePacks(List.of(
+                new RulePacks.Pack(new CompiledRuleSet("default", 1L, List.of(rules)), null))));
+        lenient().when(fraudEvaluator.evaluateRuleSets(any(), any())).thenReturn(RuleSetEvaluation.complete(MatchedRules.none()));
+        when(crossBorderCheckService.checkCrossBorder(any())).thenReturn(Mono.just(List.of()));
+        when(selfTransferCheckService.checkSelfTransfer(any())).thenReturn(Mono.just(List.of()));
+        when(highValueCheckService.checkHighValue(any())).thenReturn(Mono.just(List.of()));
+        when(offHoursCheckService.checkOffHours(any())).thenReturn(Mono.just(List.of()));
+    }
+}
@@ -5,29 +5,61 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.project.fraudruleapi.rules.model.RuleDto;
-import org.project.fraudruleapi.rules.service.RuleService;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.rules.entity.RuleEntity;
+import org.project.fraudruleapi.rules.repository.RuleRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class RuleCacheWarmerTest {
 
     @Mock
-    private RuleService ruleService;
+    private CompiledRuleCache compiledRuleCache;
+
+    @Mock
+    private RuleRepository ruleRepository;
 
     @InjectMocks
     private RuleCacheWarmer ruleCacheWarmer;
 
     @Test
-    void warmUp_shouldCallFindActiveRule() {
-        RuleDto ruleDto = new RuleDto();
-        ruleDto.setRuleId("active-rule");
-        when(ruleService.findActiveRule()).thenReturn(Mono.just(ruleDto));
+    void warmUp_shouldCompleteOnceTheRuleSnapshotIsLoaded() {
+        RulePacks packs = new RulePacks(List.of(
+                new RulePacks.Pack(new CompiledRuleSet("active-rule", 1L, List.of()), null)));
+        when(compiledRuleCache.refresh()).thenReturn(Mono.just(packs));
+
+        StepVerifier.create(ruleCacheWarmer.warmUp()).verifyComplete();
+
+        verify(compiledRuleCache, times(1)).refresh();
+    }
+
+    @Test
+    void warmUp_shouldLoadFromTheDatabaseWhenRedisIsDown() {
+        RuleEntity active = RuleEntity.builder().ruleId("active-rule").version(1L).active(true).build();
+        when(compiledRuleCache.refresh()).thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(ruleRepository.findAllByActiveIsTrue()).thenReturn(Flux.just(active));
+        when(compiledRuleCache.resolveAllReactive(anyList())).thenReturn(Mono.just(RulePacks.EMPTY));
+
+        StepVerifier.create(ruleCacheWarmer.warmUp()).verifyComplete();
 
-        ruleCacheWarmer.warmUp();
+        verify(compiledRuleCache).resolveAllReactive(argThat(rules ->
+                rules.size() == 1 && rules.getFirst().getRuleId().equals("active-rule")));
+    }
+
+    @Test
+    void warmUp_shouldFailWhenRulesCannotBeLoadedAtAll() {
+        when(compiledRuleCache.refresh()).thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(ruleRepository.findAllByActiveIsTrue()).thenReturn(Flux.error(new IllegalStateException("database down")));
 
-        verify(ruleService, times(1)).findActiveRule();
+        StepVerifier.create(ruleCacheWarmer.warmUp()).verifyError(IllegalStateException.class);
     }
 }
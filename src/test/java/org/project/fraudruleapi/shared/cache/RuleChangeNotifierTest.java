@@ -0,0 +1,90 @@
+package org.project.fraudruleapi.shared.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RuleChangeNotifierTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+
+    @Mock
+    private CompiledRuleCache compiledRuleCache;
+
+    private RuleChangeNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.RuleEventsConfig ruleEvents = new ApplicationConfiguration.RuleEventsConfig();
+        ruleEvents.setMaxJitterMs(0);
+        fraudConfig.setRuleEvents(ruleEvents);
+        config.setFraud(fraudConfig);
+        notifier = new RuleChangeNotifier(reactiveRedisTemplate, compiledRuleCache, config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void publish_shouldSendTheChangeAndSwallowRedisFailures() throws Exception {
+        when(reactiveRedisTemplate.convertAndSend(eq("fraud:rules:changed"), anyString()))
+                .thenReturn(Mono.just(2L))
+                .thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(notifier.publish("atm-pack", 3L)).verifyComplete();
+        StepVerifier.create(notifier.publish("atm-pack", 4L)).verifyComplete();
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(reactiveRedisTemplate, times(2)).convertAndSend(eq("fraud:rules:changed"), payload.capture());
+        RuleChangeEvent event = objectMapper.readValue(payload.getAllValues().getFirst(), RuleChangeEvent.class);
+        assertThat(event.ruleId()).isEqualTo("atm-pack");
+        assertThat(event.version()).isEqualTo(3L);
+        assertThat(event.origin()).isNotBlank();
+    }
+
+    @Test
+    void onMessage_shouldReloadOnceForABurstOfChangesFromOtherInstances() throws Exception {
+        when(compiledRuleCache.refresh()).thenReturn(Mono.just(RulePacks.EMPTY));
+        String first = objectMapper.writeValueAsString(new RuleChangeEvent("other-node", "atm-pack", 2L));
+        String second = objectMapper.writeValueAsString(new RuleChangeEvent("other-node", "web-pack", 5L));
+
+        Mono<Void> reload = notifier.onMessage(first);
+        StepVerifier.create(notifier.onMessage(second)).verifyComplete();
+        StepVerifier.create(reload).verifyComplete();
+        verify(compiledRuleCache, times(1)).refresh();
+
+        StepVerifier.create(notifier.onMessage(second)).verifyComplete();
+        verify(compiledRuleCache, times(2)).refresh();
+    }
+
+    @Test
+    void onMessage_shouldIgnoreOwnAndMalformedEvents() {
+        when(reactiveRedisTemplate.convertAndSend(eq("fraud:rules:changed"), anyString())).thenReturn(Mono.just(1L));
+        StepVerifier.create(notifier.publish("atm-pack", 3L)).verifyComplete();
+        ArgumentCaptor<String> own = ArgumentCaptor.forClass(String.class);
+        verify(reactiveRedisTemplate).convertAndSend(eq("fraud:rules:changed"), own.capture());
+
+        StepVerifier.create(notifier.onMessage(own.getValue())).verifyComplete();
+        StepVerifier.create(notifier.onMessage("not json")).verifyComplete();
+
+        verify(compiledRuleCache, never()).refresh();
+    }
+}
@@ -0,0 +1,82 @@
+package org.project.fraudruleapi.shared.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.rules.entity.RuleEntity;
+import org.project.fraudruleapi.rules.repository.RuleRepository;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RuleNotificationListenerTest {
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private CompiledRuleCache compiledRuleCache;
+
+    @Mock
+    private RuleRepository ruleRepository;
+
+    private RuleNotificationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        ApplicationConfiguration.RuleEventsConfig ruleEvents = new ApplicationConfiguration.RuleEventsConfig();
+        ruleEvents.setMaxJitterMs(0);
+        fraudConfig.setRuleEvents(ruleEvents);
+        config.setFraud(fraudConfig);
+        listener = new RuleNotificationListener(connectionFactory, compiledRuleCache, ruleRepository, config,
+                new SimpleMeterRegistry());
+
+        when(compiledRuleCache.current()).thenReturn(new RulePacks(List.of(
+                new RulePacks.Pack(new CompiledRuleSet("default", 3L, List.of()), null))));
+    }
+
+    @Test
+    void onNotification_shouldIgnoreVersionsAlreadyServedAndInactivePacks() {
+        StepVerifier.create(listener.onNotification("{\"ruleId\": \"default\", \"version\": 3, \"active\": true}"))
+                .verifyComplete();
+        StepVerifier.create(listener.onNotification("{\"ruleId\": \"draft\", \"version\": 1, \"active\": false}"))
+                .verifyComplete();
+        StepVerifier.create(listener.onNotification("not json"))
+                .verifyComplete();
+
+        verifyNoInteractions(ruleRepository);
+        assertThat(listener.isListening()).isFalse();
+    }
+
+    @Test
+    void onNotification_shouldReloadFromDatabaseWhenTheServedPackChanged() {
+        when(ruleRepository.findAllByActiveIsTrue()).thenReturn(Flux.just(
+                RuleEntity.builder().ruleId("default").version(4L).active(true).build()));
+        when(compiledRuleCache.resolveAllReactive(anyList())).thenReturn(Mono.just(RulePacks.EMPTY));
+
+        StepVerifier.create(listener.onNotification("{\"ruleId\": \"default\", \"version\": 4, \"active\": true}"))
+                .verifyComplete();
+        StepVerifier.create(listener.onNotification("{\"ruleId\": \"default\", \"version\": 3, \"active\": false}"))
+                .verifyComplete();
+
+        verify(ruleRepository, times(2)).findAllByActiveIsTrue();
+        verify(compiledRuleCache, times(2)).resolveAllReactive(argThat(rules ->
+                rules.size() == 1 && rules.getFirst().getVersion() == 4L));
+    }
+}
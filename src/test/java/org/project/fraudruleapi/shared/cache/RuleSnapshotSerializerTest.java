@@ -0,0 +1,89 @@
+package org.project.fraudruleapi.shared.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.project.fraudruleapi.fraud.evaluator.strategy.ConditionEvaluatorFactory;
+import org.project.fraudruleapi.rules.model.RuleDto;
+import org.project.fraudruleapi.shared.config.ApplicationConfiguration;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RuleSnapshotSerializerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FraudEvaluator fraudEvaluator;
+    private RuleSnapshotSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationConfiguration config = new ApplicationConfiguration();
+        ApplicationConfiguration.FraudConfiguration fraudConfig = new ApplicationConfiguration.FraudConfiguration();
+        fraudConfig.setEvaluation(new ApplicationConfiguration.EvaluationConfig());
+        config.setFraud(fraudConfig);
+        fraudEvaluator = new FraudEvaluator(mock(ConditionEvaluatorFactory.class), config);
+        serializer = new RuleSnapshotSerializer(fraudEvaluator::getRules, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fraudEvaluator.shutdown();
+    }
+
+    @Test
+    void roundTrip_shouldDecodeIntoTheParsedDefinitionsWithoutTheDocument() throws Exception {
+        RuleDto ruleDto;
+        try (InputStream is = getClass().getResourceAsStream("/rules.json")) {
+            ruleDto = RuleDto.builder()
+                    .ruleId("fraud-rule-001")
+                    .version(7L)
+                    .active(true)
+                    .routeField("channel")
+                    .routeValue("ATM")
+                    .createAt(Instant.parse("2025-09-30T16:00:00.123456Z"))
+                    .data(new ObjectMapper().readTree(is))
+                    .build();
+        }
+
+        byte[] encoded = serializer.serialize(new ArrayList<>(List.of(ruleDto)));
+        @SuppressWarnings("unchecked")
+        List<RuleDto> decoded = (List<RuleDto>) serializer.deserialize(encoded);
+
+        assertThat(decoded).singleElement().satisfies(d -> {
+            assertThat(d.getRuleId()).isEqualTo("fraud-rule-001");
+            assertThat(d.getVersion()).isEqualTo(7L);
+            assertThat(d.getActive()).isTrue();
+            assertThat(d.getRouteField()).isEqualTo("channel");
+            assertThat(d.getRouteValue()).isEqualTo("ATM");
+            assertThat(d.getCreateAt()).isEqualTo(ruleDto.getCreateAt());
+            assertThat(d.getUpdateAt()).isNull();
+            assertThat(d.getData()).isNull();
+            assertThat(fraudEvaluator.getRules(d)).isEqualTo(fraudEvaluator.getRules(ruleDto));
+        });
+        assertThat(encoded.length).isLessThan(new JdkSerializationRedisSerializer().serialize(List.of(ruleDto)).length);
+        assertThat(registry.get("fraud.rules.snapshot.decode").tag("format", "v1").timer().count()).isEqualTo(1);
+        assertThat(registry.get("fraud.rules.snapshot.payload").tag("format", "v1").summary().totalAmount())
+                .isEqualTo(encoded.length);
+    }
+
+    @Test
+    void deserialize_shouldTreatOtherFormatsAsAMiss() {
+        byte[] olderFormat = serializer.serialize(List.of());
+        olderFormat[RuleSnapshotSerializer.MAGIC.length] = 0;
+
+        assertThat(serializer.deserialize(olderFormat)).isNull();
+        assertThat(serializer.deserialize(new JdkSerializationRedisSerializer().serialize(List.of()))).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThat(serializer.deserialize(serializer.serialize(List.of()))).isEqualTo(List.of());
+    }
+}
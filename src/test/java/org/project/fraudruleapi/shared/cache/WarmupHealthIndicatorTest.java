@@ -0,0 +1,27 @@
+package org.project.fraudruleapi.shared.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WarmupHealthIndicatorTest {
+
+    private final CacheWarmupRunner cacheWarmupRunner = mock(CacheWarmupRunner.class);
+    private final WarmupHealthIndicator indicator = new WarmupHealthIndicator(cacheWarmupRunner);
+
+    @Test
+    void health_shouldBeOutOfServiceUntilWarm() {
+        when(cacheWarmupRunner.getStatus()).thenReturn(Map.of("RuleCacheWarmer", "RUNNING"));
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(indicator.health().getDetails()).containsEntry("RuleCacheWarmer", "RUNNING");
+
+        when(cacheWarmupRunner.isWarm()).thenReturn(true);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+}
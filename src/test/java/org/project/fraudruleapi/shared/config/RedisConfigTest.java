@@ -1,6 +1,10 @@
 package org.project.fraudruleapi.shared.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.project.fraudruleapi.fraud.evaluator.FraudEvaluator;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -9,6 +13,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 class RedisConfigTest {
 
@@ -51,5 +56,19 @@ class RedisConfigTest {
         ReactiveRedisTemplate<String, String> template = config.reactiveRedisTemplate(factory);
         assertThat(template).isNotNull();
     }
-}
 
+    @Test
+    void rulesCacheSerializer_shouldOnlyChangeTheRulesCacheValueSerializer() {
+        RedisConfig config = new RedisConfig();
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(5));
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder().cacheDefaults(defaults);
+
+        config.rulesCacheSerializer(mock(FraudEvaluator.class), new SimpleMeterRegistry()).customize(builder);
+
+        assertThat(builder.getCacheConfigurationFor("rules")).hasValueSatisfying(rules -> {
+            assertThat(rules.getTtlFunction().getTimeToLive(null, null)).isEqualTo(Duration.ofMinutes(5));
+            assertThat(rules.getValueSerializationPair().getReader()).isNotNull();
+            assertThat(rules.getValueSerializationPair()).isNotSameAs(defaults.getValueSerializationPair());
+        });
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,6 +31,17 @@ class GlobalExceptionHandlerTest {
         assertEquals("Unable to convert data", response.getBody().getMessage());
     }
 
+    @Test
+    void handleInvalidRuleException_shouldReturnBadRequestWithEveryError() {
+        InvalidRuleException ex = new InvalidRuleException(List.of("first", "second"));
+
+        ResponseEntity<ErrorResponse> response = handler.handleInvalidRuleException(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Rule failed type check", response.getBody().getMessage());
+        assertEquals(List.of("first", "second"), response.getBody().getErrors());
+    }
+
     @Test
     void handleResourceNotFound_shouldReturnNotFound() {
         ResourceNotFound ex = new ResourceNotFound("Resource not found");
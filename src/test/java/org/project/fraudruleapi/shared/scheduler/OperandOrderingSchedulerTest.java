@@ -0,0 +1,46 @@
+package org.project.fraudruleapi.shared.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.project.fraudruleapi.fraud.evaluator.compiler.CompiledRuleSet;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OperandOrderingSchedulerTest {
+
+    @Mock
+    private CompiledRuleCache compiledRuleCache;
+
+    @InjectMocks
+    private OperandOrderingScheduler scheduler;
+
+    @Test
+    void reorderOperands_shouldReorderEveryActivePack() {
+        CompiledRuleSet ruleSet = mock(CompiledRuleSet.class);
+        CompiledRuleSet routed = mock(CompiledRuleSet.class);
+        when(compiledRuleCache.current()).thenReturn(new RulePacks(List.of(
+                new RulePacks.Pack(ruleSet, null), new RulePacks.Pack(routed, null))));
+
+        scheduler.reorderOperands();
+
+        verify(ruleSet, times(1)).reorderOperands();
+        verify(routed, times(1)).reorderOperands();
+    }
+
+    @Test
+    void reorderOperands_shouldSkipWhenNothingCompiled() {
+        when(compiledRuleCache.current()).thenReturn(RulePacks.EMPTY);
+
+        scheduler.reorderOperands();
+
+        verify(compiledRuleCache, times(1)).current();
+    }
+}
@@ -5,11 +5,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.project.fraudruleapi.fraud.evaluator.compiler.RulePacks;
+import org.project.fraudruleapi.shared.cache.CompiledRuleCache;
 import org.project.fraudruleapi.shared.cache.RuleCache;
+import org.project.fraudruleapi.shared.cache.RuleNotificationListener;
 import org.project.fraudruleapi.rules.model.RuleDto;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -18,17 +23,61 @@ class RuleSchedulerTest {
     @Mock
     private RuleCache ruleCache;
 
+    @Mock
+    private CompiledRuleCache compiledRuleCache;
+
+    @Mock
+    private RuleNotificationListener ruleNotificationListener;
+
     @InjectMocks
     private RuleScheduler ruleScheduler;
 
     @Test
-    void updateCachedRules_shouldEvictAndReload() {
-        when(ruleCache.getActiveRule()).thenReturn(Mono.just(new RuleDto()));
+    void updateCachedRules_shouldRefreshInPlaceWithoutEvicting() {
+        when(ruleCache.refreshActiveRules()).thenReturn(Mono.just(List.of(new RuleDto())));
 
         StepVerifier.create(ruleScheduler.updateCachedRules())
                 .verifyComplete();
 
-        verify(ruleCache, times(1)).evictAll();
-        verify(ruleCache, times(1)).getActiveRule();
+        verify(ruleCache, times(1)).refreshActiveRules();
+        verify(ruleCache, never()).evictAll();
+    }
+
+    @Test
+    void updateCachedRules_shouldSkipWhileReceivingNotifications() {
+        when(ruleNotificationListener.isListening()).thenReturn(true);
+
+        StepVerifier.create(ruleScheduler.updateCachedRules())
+                .verifyComplete();
+
+        verify(ruleCache, never()).refreshActiveRules();
+    }
+
+    @Test
+    void refreshSnapshot_shouldPullFromRedisIntoTheSnapshot() {
+        when(compiledRuleCache.refresh()).thenReturn(Mono.just(RulePacks.EMPTY));
+
+        StepVerifier.create(ruleScheduler.refreshSnapshot())
+                .verifyComplete();
+
+        verify(compiledRuleCache, times(1)).refresh();
+    }
+
+    @Test
+    void refreshSnapshot_shouldSkipWhileReceivingNotifications() {
+        when(ruleNotificationListener.isListening()).thenReturn(true);
+
+        StepVerifier.create(ruleScheduler.refreshSnapshot())
+                .verifyComplete();
+
+        verify(compiledRuleCache, never()).refresh();
+    }
+
+    @Test
+    void refreshSnapshot_shouldKeepServingWhenRedisIsDown() {
+        when(compiledRuleCache.refresh()).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(ruleScheduler.refreshSnapshot())
+                .verifyComplete();
     }
 }